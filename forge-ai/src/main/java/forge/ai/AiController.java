@@ -87,6 +87,7 @@ public class AiController {
     private boolean useSimulation;
     private SpellAbilityPicker simPicker;
     private int lastAttackAggression;
+    private final ManaSourceTable[] manaSourceTables = new ManaSourceTable[2];
 
     public AiController(final Player computerPlayer, final Game game0) {
         player = computerPlayer;
@@ -130,6 +131,14 @@ public class AiController {
         return memory;
     }
 
+    ManaSourceTable getManaSourceTable(final boolean checkPlayable) {
+        return manaSourceTables[checkPlayable ? 1 : 0];
+    }
+
+    void setManaSourceTable(final boolean checkPlayable, final ManaSourceTable table) {
+        manaSourceTables[checkPlayable ? 1 : 0] = table;
+    }
+
     public Combat getPredictedCombat() {
         if (predictedCombat == null) {
             AiAttackController aiAtk = new AiAttackController(player);
@@ -68,10 +68,11 @@ import forge.util.collect.FCollection;
  */
 public class ComputerUtilCombat {
 
-    // A special flag used in ComputerUtil#canRegenerate to avoid recursive reentry and stack overflow
-    private static boolean dontTestRegen = false;
+    // A special flag used in ComputerUtil#canRegenerate to avoid recursive reentry and stack overflow,
+    // kept per thread so that games simulated side by side don't see each other's flag
+    private static final ThreadLocal<Boolean> dontTestRegen = ThreadLocal.withInitial(() -> false);
     public static void setCombatRegenTestSuppression(boolean shouldSuppress) {
-        dontTestRegen = shouldSuppress;
+        dontTestRegen.set(shouldSuppress);
     }
 
     /**
@@ -1825,7 +1826,7 @@ public class ComputerUtilCombat {
             }
         } // flanking
 
-        if (blocker.hasKeyword(Keyword.INDESTRUCTIBLE) || dontTestRegen
+        if (blocker.hasKeyword(Keyword.INDESTRUCTIBLE) || dontTestRegen.get()
                 || ComputerUtil.canRegenerate(blocker.getController(), blocker)) {
             return false;
         }
@@ -1457,6 +1457,31 @@ public class ComputerUtilMana {
 
     //This method is currently used by AI to estimate available mana
     public static CardCollection getAvailableManaSources(final Player ai, final boolean checkPlayable) {
+        return new CardCollection(getManaSourceTable(ai, checkPlayable).getSources());
+    }
+
+    /**
+     * @return the mana sources of the player, as kept by its AI while nothing
+     *         they depend on changes.
+     */
+    private static ManaSourceTable getManaSourceTable(final Player ai, final boolean checkPlayable) {
+        final Game game = ai.getGame();
+        if (!(ai.getController() instanceof PlayerControllerAi) || !ManaSourceTable.canKeep(ai)) {
+            final ManaSourceTable table = new ManaSourceTable(game);
+            table.setSources(findAvailableManaSources(ai, checkPlayable));
+            return table;
+        }
+        final AiController aic = ((PlayerControllerAi) ai.getController()).getAi();
+        ManaSourceTable table = aic.getManaSourceTable(checkPlayable);
+        if (table == null || !table.isCurrent(game)) {
+            table = new ManaSourceTable(game);
+            table.setSources(findAvailableManaSources(ai, checkPlayable));
+            aic.setManaSourceTable(checkPlayable, table);
+        }
+        return table;
+    }
+
+    private static CardCollection findAvailableManaSources(final Player ai, final boolean checkPlayable) {
         final CardCollectionView list = CardCollection.combine(ai.getCardsIn(ZoneType.Battlefield), ai.getCardsIn(ZoneType.Hand));
         final List<Card> manaSources = CardLists.filter(list, new Predicate<Card>() {
             @Override
@@ -1576,11 +1601,26 @@ public class ComputerUtilMana {
 
     //This method is currently used by AI to estimate mana available
     private static ListMultimap<Integer, SpellAbility> groupSourcesByManaColor(final Player ai, boolean checkPlayable) {
+        final ManaSourceTable table = getManaSourceTable(ai, checkPlayable);
+        ListMultimap<Integer, SpellAbility> manaMap = table.getSourcesByColor();
+        if (manaMap == null) {
+            manaMap = Multimaps.unmodifiableListMultimap(groupSourcesByManaColor(ai, table.getSources(), checkPlayable));
+            table.setSourcesByColor(manaMap);
+        } else {
+            // every ability is in the generic list
+            for (final SpellAbility m : manaMap.get(ManaAtom.GENERIC)) {
+                m.setActivatingPlayer(ai);
+            }
+        }
+        return manaMap;
+    }
+
+    private static ListMultimap<Integer, SpellAbility> groupSourcesByManaColor(final Player ai, final CardCollectionView sources, boolean checkPlayable) {
         final ListMultimap<Integer, SpellAbility> manaMap = ArrayListMultimap.create();
         final Game game = ai.getGame();
 
         // Loop over all current available mana sources
-        for (final Card sourceCard : getAvailableManaSources(ai, checkPlayable)) {
+        for (final Card sourceCard : sources) {
             if (DEBUG_MANA_PAYMENT) {
                 System.out.println("DEBUG_MANA_PAYMENT: groupSourcesByManaColor sourceCard = " + sourceCard);
             }
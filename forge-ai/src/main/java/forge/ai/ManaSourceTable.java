@@ -0,0 +1,91 @@
+package forge.ai;
+
+import com.google.common.collect.ListMultimap;
+
+import forge.game.Game;
+import forge.game.card.CardCollectionView;
+import forge.game.phase.PhaseType;
+import forge.game.player.Player;
+import forge.game.spellability.SpellAbility;
+
+/**
+ * The mana sources {@link ComputerUtilMana} found for a player, kept by the
+ * player's {@link AiController} so that all the spells it looks at while it
+ * has priority are checked against the same sources, instead of going through
+ * the battlefield again for each of them.
+ *
+ * A table only holds for the game state it was made in. It is made again once
+ * a card is tapped, untapped or changes zones, counters, life or mana pools
+ * change, anything gets a new timestamp, priority passes or the continuous
+ * effects are applied again. Since the restrictions of mana abilities can
+ * also depend on what happened this turn, it's made again as well once an
+ * ability is activated or resolves, a spell is cast or a land is played.
+ */
+final class ManaSourceTable {
+    private final long stateHash;
+    private final long timestamp;
+    private final long staticGeneration;
+    private final Player priorityPlayer;
+    private final int activations;
+    private final int spellsCast;
+    private final int landsPlayed;
+    private CardCollectionView sources;
+    private ListMultimap<Integer, SpellAbility> sourcesByColor;
+
+    /** Make a table for the current state of the game, before the sources are looked for. */
+    ManaSourceTable(final Game game) {
+        this.stateHash = game.getStateHash();
+        this.timestamp = game.getTimestamp();
+        this.staticGeneration = game.getStaticEffects().getGeneration();
+        this.priorityPlayer = game.getPhaseHandler().getPriorityPlayer();
+        this.activations = game.getActivationCount();
+        this.spellsCast = game.getStack().getSpellsCastThisTurn().size();
+        this.landsPlayed = getLandsPlayed(game);
+    }
+
+    private static int getLandsPlayed(final Game game) {
+        int lands = 0;
+        for (final Player p : game.getPlayers()) {
+            lands += p.getLandsPlayedThisTurn();
+        }
+        return lands;
+    }
+
+    /**
+     * @return whether a table can be kept for the player at all. While it
+     *         declares attackers, which sources it can use depends on the
+     *         attackers it has in mind.
+     */
+    static boolean canKeep(final Player ai) {
+        return !ai.getGame().getPhaseHandler().is(PhaseType.COMBAT_DECLARE_ATTACKERS, ai);
+    }
+
+    /** @return whether nothing the table was made from has changed. */
+    boolean isCurrent(final Game game) {
+        return timestamp == game.getTimestamp()
+                && staticGeneration == game.getStaticEffects().getGeneration()
+                && priorityPlayer == game.getPhaseHandler().getPriorityPlayer()
+                && activations == game.getActivationCount()
+                && spellsCast == game.getStack().getSpellsCastThisTurn().size()
+                && landsPlayed == getLandsPlayed(game)
+                && stateHash == game.getStateHash();
+    }
+
+    /** @return the sources as sorted by {@link ComputerUtilMana#getAvailableManaSources}, not to be changed. */
+    CardCollectionView getSources() {
+        return sources;
+    }
+
+    void setSources(final CardCollectionView sources) {
+        this.sources = sources;
+    }
+
+    /** @return the mana abilities of the sources grouped by the color they make, or null if not grouped yet. */
+    ListMultimap<Integer, SpellAbility> getSourcesByColor() {
+        return sourcesByColor;
+    }
+
+    void setSourcesByColor(final ListMultimap<Integer, SpellAbility> sourcesByColor) {
+        this.sourcesByColor = sourcesByColor;
+    }
+}
@@ -6,10 +6,13 @@ import java.util.Map;
 
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Table;
+import com.google.common.collect.TreeBasedTable;
 
 import forge.LobbyPlayer;
 import forge.ai.AIOption;
@@ -54,6 +57,8 @@ public class GameCopier {
     private BiMap<Player, Player> playerMap = HashBiMap.create();
     private BiMap<Card, Card> cardMap = HashBiMap.create();
     private CopiedGameObjectMap gameObjectMap;
+    // timestamp and static ability id of the changes made by static effects, which aren't copied
+    private final Multimap<Long, Long> staticEffectKeys = HashMultimap.create();
 
     public GameCopier(Game origGame) {
         this.origGame = origGame;
@@ -140,11 +145,6 @@ public class GameCopier {
             }
         }
 
-        // Undo effects first before calculating them below, to avoid them applying twice.
-        for (StaticEffect effect : origGame.getStaticEffects().getEffects()) {
-            effect.removeMapped(gameObjectMap);
-        }
-
         if (origPhaseHandler.getCombat() != null) {
             newGame.getPhaseHandler().setCombat(new Combat(origPhaseHandler.getCombat(), gameObjectMap));
         }
@@ -215,6 +215,19 @@ public class GameCopier {
             newGame.setMonarch(playerMap.get(origGame.getMonarch()));
         }
 
+        // Static effects are calculated again for the copy below, so leave out what they changed instead of
+        // copying it and undoing it afterwards.
+        for (StaticEffect effect : origGame.getStaticEffects().getEffects()) {
+            if (effect.getStaticAbility() != null) {
+                staticEffectKeys.put(effect.getTimestamp(), (long) effect.getStaticAbility().getId());
+            }
+        }
+
+        // Every card is made again for the copy, from the template of its paper card, hidden zones included.
+        // Sharing an untouched library with the original until the copy changes it wouldn't save that: the
+        // triggers, replacement effects and static abilities are collected from all cards in the game on every
+        // event, and the ones without TriggerZones or ActiveZones are active in the library as well, so the
+        // first state check of the copy would make all of its cards anyway.
         for (ZoneType zone : ZONES) {
             for (Card card : origGame.getCardsIn(zone)) {
                 addCard(newGame, zone, card);
@@ -254,6 +267,7 @@ public class GameCopier {
     }
 
     private static final boolean USE_FROM_PAPER_CARD = true;
+
     private Card createCardCopy(Game newGame, Player newOwner, Card c) {
         if (c.isToken() && !c.isImmutable()) {
             Card result = new TokenInfo(c).makeOneToken(newOwner);
@@ -261,15 +275,15 @@ public class GameCopier {
             return result;
         }
         if (USE_FROM_PAPER_CARD && !c.isImmutable() && c.getPaperCard() != null) {
-            Card newCard = Card.fromPaperCard(c.getPaperCard(), newOwner);
+            Card newCard = CardFactory.getCardFromTemplate(c.getPaperCard(), newOwner, newGame);
             newCard.setCommander(c.isCommander());
             return newCard;
         }
 
-        // TODO: The above is very expensive and accounts for the vast majority of GameCopier execution time.
-        // The issue is that it requires parsing the original card from scratch from the paper card. We should
-        // improve the copier to accurately copy the card from its actual state, so that the paper card shouldn't
-        // be needed. Once the below code accurately copies the card, remove the USE_FROM_PAPER_CARD code path.
+        // TODO: The above still copies every ability of the card, even if the card is hidden in a library and
+        // nothing will ever look at it. We should improve the copier to accurately copy the card from its actual
+        // state, so that the paper card shouldn't be needed. Once the below code accurately copies the card,
+        // remove the USE_FROM_PAPER_CARD code path.
         Card newCard = new Card(newGame.nextCardId(), c.getPaperCard(), newGame);
         newCard.setOwner(newOwner);
         newCard.setName(c.getName());
@@ -304,22 +318,22 @@ public class GameCopier {
 
             newCard.setCameUnderControlSinceLastUpkeep(c.cameUnderControlSinceLastUpkeep());
 
-            newCard.setPTTable(c.getSetPTTable());
-            newCard.setPTCharacterDefiningTable(c.getSetPTCharacterDefiningTable());
+            newCard.setPTTable(withoutStaticEffects(c.getSetPTTable()));
+            newCard.setPTCharacterDefiningTable(withoutStaticEffects(c.getSetPTCharacterDefiningTable()));
 
-            newCard.setPTBoost(c.getPTBoostTable());
+            newCard.setPTBoost(withoutStaticEffects(c.getPTBoostTable()));
             // TODO copy by map
             newCard.setDamage(c.getDamage());
 
-            newCard.setChangedCardColors(c.getChangedCardColorsTable());
-            newCard.setChangedCardColorsCharacterDefining(c.getChangedCardColorsCharacterDefiningTable());
+            newCard.setChangedCardColors(withoutStaticEffects(c.getChangedCardColorsTable()));
+            newCard.setChangedCardColorsCharacterDefining(withoutStaticEffects(c.getChangedCardColorsCharacterDefiningTable()));
 
-            newCard.setChangedCardTypes(c.getChangedCardTypesTable());
-            newCard.setChangedCardTypesCharacterDefining(c.getChangedCardTypesCharacterDefiningTable());
-            newCard.setChangedCardKeywords(c.getChangedCardKeywords());
-            newCard.setChangedCardNames(c.getChangedCardNames());
+            newCard.setChangedCardTypes(withoutStaticEffects(c.getChangedCardTypesTable()));
+            newCard.setChangedCardTypesCharacterDefining(withoutStaticEffects(c.getChangedCardTypesCharacterDefiningTable()));
+            newCard.setChangedCardKeywords(withoutStaticEffects(c.getChangedCardKeywords()));
+            newCard.setChangedCardNames(withoutStaticEffects(c.getChangedCardNames()));
 
-            for (Table.Cell<Long, Long, List<String>> kw : c.getHiddenExtrinsicKeywordsTable().cellSet()) {
+            for (Table.Cell<Long, Long, List<String>> kw : withoutStaticEffects(c.getHiddenExtrinsicKeywordsTable()).cellSet()) {
                 newCard.addHiddenExtrinsicKeywords(kw.getRowKey(), kw.getColumnKey(), kw.getValue());
             }
             newCard.updateKeywordsCache(newCard.getCurrentState());
@@ -390,6 +404,19 @@ public class GameCopier {
         }
     }
 
+    private <T> Table<Long, Long, T> withoutStaticEffects(Table<Long, Long, T> table) {
+        if (staticEffectKeys.isEmpty() || table.isEmpty()) {
+            return table;
+        }
+        Table<Long, Long, T> result = TreeBasedTable.create();
+        for (Table.Cell<Long, Long, T> cell : table.cellSet()) {
+            if (!staticEffectKeys.containsEntry(cell.getRowKey(), cell.getColumnKey())) {
+                result.put(cell.getRowKey(), cell.getColumnKey(), cell.getValue());
+            }
+        }
+        return result;
+    }
+
     private static SpellAbility findSAInCard(SpellAbility sa, Card c) {
         String saDesc = sa.getDescription();
         for (SpellAbility cardSa : c.getAllSpellAbilities()) {
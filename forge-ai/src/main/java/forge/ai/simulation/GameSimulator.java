@@ -38,7 +38,7 @@ public class GameSimulator {
         eval = new GameStateEvaluator();
 
         origLines = new ArrayList<>();
-        debugLines = origLines;
+        debugLines.set(origLines);
 
         debugPrint = false;
         origScore = eval.getScoreForGameState(origGame, origAiPlayer);
@@ -52,7 +52,7 @@ public class GameSimulator {
         // want to compare to the eval score after simulating.
         if (COPY_STACK && !origGame.getStackZone().isEmpty()) {
             origLines = new ArrayList<>();
-            debugLines = origLines;
+            debugLines.set(origLines);
             Game copyOrigGame = copier.makeCopy();
             Player copyOrigAiPlayer = copyOrigGame.getPlayers().get(1);
             resolveStack(copyOrigGame, copyOrigGame.getPlayers().get(0));
@@ -60,18 +60,18 @@ public class GameSimulator {
         }
 
         debugPrint = false;
-        debugLines = null;
+        debugLines.remove();
     }
 
     private void ensureGameCopyScoreMatches(Game origGame, Player origAiPlayer) {
         eval.setDebugging(true);
         List<String> simLines = new ArrayList<>();
-        debugLines = simLines;
+        debugLines.set(simLines);
         Score simScore = eval.getScoreForGameState(simGame, aiPlayer);
         if (!simScore.equals(origScore)) {
             // Re-eval orig with debug printing.
             origLines = new ArrayList<>();
-            debugLines = origLines;
+            debugLines.set(origLines);
             eval.getScoreForGameState(origGame, origAiPlayer);
             // Print debug info.
             printDiff(origLines, simLines);
@@ -115,13 +115,15 @@ public class GameSimulator {
     }
 
     public static boolean debugPrint;
-    public static List<String> debugLines;
+    // per thread, since the picker can simulate several abilities at the same time
+    private static final ThreadLocal<List<String>> debugLines = new ThreadLocal<>();
     public static void debugPrint(String str) {
         if (debugPrint) {
             System.out.println(str);
         }
-        if (debugLines != null) {
-            debugLines.add(str);
+        List<String> lines = debugLines.get();
+        if (lines != null) {
+            lines.add(str);
         }
     }
 
@@ -130,6 +132,11 @@ public class GameSimulator {
         if (sa.getHostCard().getGame().equals(this.simGame)) {
             return sa;
         }
+        return findSaInCopy(copier, sa);
+    }
+
+    /** @return the ability in the game made by the copier that matches the given one of the original game, or null */
+    static SpellAbility findSaInCopy(final GameCopier copier, final SpellAbility sa) {
         Card origHostCard = sa.getHostCard();
         Card hostCard = (Card) copier.find(origHostCard);
         String desc = sa.getDescription();
@@ -222,24 +229,34 @@ public class GameSimulator {
         if (debugPrint) {
             debugPrint("SimGame:");
             simLines = new ArrayList<>();
-            debugLines = simLines;
+            debugLines.set(simLines);
             debugPrint = false;
         }
         Score score = eval.getScoreForGameState(simGame, aiPlayer);
         if (simLines != null) {
-            debugLines = null;
+            debugLines.remove();
             debugPrint = true;
             printDiff(origLines, simLines);
         }
         controller.possiblyCacheResult(score, origSa);
         if (controller.shouldRecurse() && !simGame.isGameOver()) {
-            controller.push(sa, score, this);
-            SpellAbilityPicker sim = new SpellAbilityPicker(simGame, aiPlayer);
-            SpellAbility nextSa = sim.chooseSpellAbilityToPlay(controller);
-            if (nextSa != null) {
-                score = sim.getScoreForChosenAbility();
+            // the same state may have been reached before by playing things in another order
+            final long stateHash = simGame.getStateHash();
+            final Score cached = controller.getTransposition(stateHash, score);
+            if (cached != null) {
+                debugPrint("Transposition, best score " + cached);
+                score = cached;
+            } else {
+                final Score stateScore = score;
+                controller.push(sa, score, this);
+                SpellAbilityPicker sim = new SpellAbilityPicker(simGame, aiPlayer);
+                SpellAbility nextSa = sim.chooseSpellAbilityToPlay(controller);
+                if (nextSa != null) {
+                    score = sim.getScoreForChosenAbility();
+                }
+                controller.pop(score, nextSa);
+                controller.addTransposition(stateHash, stateScore, score);
             }
-            controller.pop(score, nextSa);
         }
 
         return score;
@@ -12,6 +12,7 @@ import forge.game.spellability.SpellAbility;
 
 public class SimulationController {
     private static int MAX_DEPTH = 3;
+    private static final int TRANSPOSITION_TABLE_SIZE = 4096;
 
     private List<Plan.Decision> currentStack;
     private List<Score> scoreStack;
@@ -19,7 +20,9 @@ public class SimulationController {
     private Plan.Decision bestSequence; // last action of sequence
     private Score bestScore;
     private List<CachedEffect> effectCache = new ArrayList<>();
+    private TranspositionTable transpositions = new TranspositionTable(TRANSPOSITION_TABLE_SIZE);
     private GameObject[] currentHostAndTarget;
+    private long deadline = Long.MAX_VALUE;
 
     private static class CachedEffect {
         final GameObject hostCard;
@@ -50,7 +53,48 @@ public class SimulationController {
     }
 
     public boolean shouldRecurse() {
-        return bestScore.value != Integer.MAX_VALUE && getRecursionDepth() < MAX_DEPTH;
+        return bestScore.value != Integer.MAX_VALUE && getRecursionDepth() < MAX_DEPTH && !isOutOfTime();
+    }
+
+    /**
+     * Stop looking at more options after the given time, the best result found until then is used.
+     * @param deadline a {@link System#currentTimeMillis()} time, or Long.MAX_VALUE for no limit
+     */
+    public void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    public boolean isOutOfTime() {
+        return deadline != Long.MAX_VALUE && System.currentTimeMillis() > deadline;
+    }
+
+    public boolean isTopLevel() {
+        return currentStack.isEmpty() && getRecursionDepth() == 0;
+    }
+
+    /**
+     * @return a controller with the same starting score and time limit as this one, to evaluate one of
+     *         the top level choices on another thread. Use {@link #merge} to add its result to this one.
+     *         It has its own transposition table, so that its result doesn't depend on how far the others got.
+     */
+    public SimulationController fork() {
+        if (!isTopLevel()) {
+            throw new IllegalStateException("Only top level evaluations can be forked");
+        }
+        SimulationController branch = new SimulationController(scoreStack.get(0));
+        branch.deadline = deadline;
+        return branch;
+    }
+
+    /**
+     * Take over the best sequence of a forked controller if it's better than the best one so far. Merging
+     * the branches in the order of the choices gives the same result as evaluating them one after another.
+     */
+    public void merge(SimulationController branch) {
+        if (branch.bestSequence != null && branch.bestScore.value > bestScore.value) {
+            bestScore = branch.bestScore;
+            bestSequence = branch.bestSequence;
+        }
     }
 
     public Plan.Decision getLastDecision() {
@@ -65,7 +109,11 @@ public class SimulationController {
     }
 
     public void evaluateSpellAbility(List<SpellAbility> saList, int saIndex) {
-        currentStack.add(new Plan.Decision(getCurrentScore(), getLastDecision(), new Plan.SpellAbilityRef(saList, saIndex)));
+        evaluateSpellAbility(new Plan.SpellAbilityRef(saList, saIndex));
+    }
+
+    public void evaluateSpellAbility(Plan.SpellAbilityRef saRef) {
+        currentStack.add(new Plan.Decision(getCurrentScore(), getLastDecision(), saRef));
     }
 
     public void evaluateCardChoice(Card choice) {
@@ -159,6 +207,18 @@ public class SimulationController {
         return merged;
     }
 
+    /**
+     * @return the score found before by recursing from a game state with the given hash and score at the
+     *         current depth, or null if it hasn't been seen yet
+     */
+    public Score getTransposition(long stateHash, Score score) {
+        return transpositions.get(stateHash, score, getRecursionDepth());
+    }
+
+    public void addTransposition(long stateHash, Score score, Score result) {
+        transpositions.put(stateHash, score, getRecursionDepth(), result);
+    }
+
     public void push(SpellAbility sa, Score score, GameSimulator simulator) {
         GameSimulator.debugPrint("Recursing DEPTH=" + getRecursionDepth());
         GameSimulator.debugPrint("  With: " + sa);
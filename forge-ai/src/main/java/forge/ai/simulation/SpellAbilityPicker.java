@@ -3,12 +3,19 @@ package forge.ai.simulation;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
+import forge.ai.AiController;
 import forge.ai.AiPlayDecision;
+import forge.ai.AiProps;
 import forge.ai.ComputerUtil;
 import forge.ai.ComputerUtilAbility;
 import forge.ai.ComputerUtilCost;
+import forge.ai.PlayerControllerAi;
 import forge.ai.ability.ChangeZoneAi;
 import forge.ai.ability.ExploreAi;
 import forge.ai.ability.LearnAi;
@@ -27,9 +34,13 @@ import forge.game.spellability.LandAbility;
 import forge.game.spellability.SpellAbility;
 import forge.game.spellability.SpellAbilityCondition;
 import forge.game.zone.ZoneType;
+import forge.util.MyRandom;
 import forge.util.TextUtil;
 
 public class SpellAbilityPicker {
+    // shared by all pickers, see shutdownPool
+    private static ForkJoinPool pool;
+
     private Game game;
     private Player player;
     private Score bestScore;
@@ -125,8 +136,9 @@ public class SpellAbilityPicker {
         return getPlannedSpellAbility(origGameScore, candidateSAs);
     }
 
-    private Plan formulatePlanWithPhase(Score origGameScore, List<SpellAbility> candidateSAs, PhaseType phase) {
+    private Plan formulatePlanWithPhase(Score origGameScore, List<SpellAbility> candidateSAs, PhaseType phase, long deadline) {
         SimulationController controller = new SimulationController(origGameScore);
+        controller.setDeadline(deadline);
         SpellAbility sa = chooseSpellAbilityToPlayImpl(controller, candidateSAs, origGameScore, phase);
         if (sa != null) {
             return controller.getBestPlan();
@@ -162,7 +174,10 @@ public class SpellAbilityPicker {
     private void createNewPlan(Score origGameScore, List<SpellAbility> candidateSAs) {
         plan = null;
 
-        Plan bestPlan = formulatePlanWithPhase(origGameScore, candidateSAs, null);
+        // the time limit is for the whole decision, including the plan for after blockers
+        int timeLimit = getIntProperty(AiProps.SIMULATION_TIME_LIMIT);
+        long deadline = timeLimit > 0 ? System.currentTimeMillis() + timeLimit : Long.MAX_VALUE;
+        Plan bestPlan = formulatePlanWithPhase(origGameScore, candidateSAs, null, deadline);
         if (bestPlan == null) {
             print("No good plan at this time");
             return;
@@ -179,7 +194,7 @@ public class SpellAbilityPicker {
             }
             if (!candidateSAs2.isEmpty()) {
                 System.err.println("Formula plan with phase bloom");
-                Plan afterBlockersPlan = formulatePlanWithPhase(origGameScore, candidateSAs2, PhaseType.COMBAT_DECLARE_BLOCKERS);
+                Plan afterBlockersPlan = formulatePlanWithPhase(origGameScore, candidateSAs2, PhaseType.COMBAT_DECLARE_BLOCKERS, deadline);
                 if (afterBlockersPlan != null && afterBlockersPlan.getFinalScore().value >= bestPlan.getFinalScore().value) {
                     printPlan(afterBlockersPlan, "After blockers");
                     print("Deciding to wait until after declare blockers.");
@@ -198,9 +213,20 @@ public class SpellAbilityPicker {
         SpellAbility bestSa = null;
         Score bestSaValue = origGameScore;
         print("Evaluating... (orig score = " + origGameScore +  ")");
-        for (int i = 0; i < candidateSAs.size(); i++) {
-            Score value = evaluateSa(controller, phase, candidateSAs, i);
-            if (value.value > bestSaValue.value) {
+        final Score[] values;
+        int threads = controller.isTopLevel() ? getIntProperty(AiProps.SIMULATION_THREADS) : 1;
+        if (threads > 1 && candidateSAs.size() > 1) {
+            values = evaluateInParallel(controller, phase, candidateSAs, threads);
+        } else {
+            values = new Score[candidateSAs.size()];
+            for (int i = 0; i < candidateSAs.size() && !controller.isOutOfTime(); i++) {
+                values[i] = evaluateSa(controller, phase, candidateSAs, i);
+            }
+        }
+        // in order of the candidates, so that the first of equally good ones wins no matter which finished first
+        for (int i = 0; i < values.length; i++) {
+            Score value = values[i];
+            if (value != null && value.value > bestSaValue.value) {
                 bestSaValue = value;
                 bestSa = candidateSAs.get(i);
             }
@@ -359,10 +385,115 @@ public class SpellAbilityPicker {
         return AiPlayDecision.WillPlay;
     }
 
+    /**
+     * Evaluate each candidate on a copy of the controller in a fork-join pool and merge the results back
+     * in the order of the candidates. At most the given number of candidates are evaluated at a time.
+     * Candidates that haven't been started when the time limit is reached are left out (their value is null).
+     */
+    private Score[] evaluateInParallel(final SimulationController controller, final PhaseType phase,
+            final List<SpellAbility> candidateSAs, int threads) {
+        final int n = candidateSAs.size();
+        final SimulationController[] branches = new SimulationController[n];
+        final List<ForkJoinTask<Score>> tasks = new ArrayList<>(n);
+        final ForkJoinPool pool = getPool();
+        for (int i = 0; i < n && i < threads; i++) {
+            branches[i] = controller.fork();
+            tasks.add(submitBranch(pool, branches[i], phase, candidateSAs, i));
+        }
+        final Score[] values = new Score[n];
+        for (int i = 0; i < n; i++) {
+            final ForkJoinTask<Score> task = tasks.get(i);
+            values[i] = task == null ? null : task.join();
+            controller.merge(branches[i]);
+            final int next = i + threads;
+            if (next < n) {
+                branches[next] = controller.fork();
+                tasks.add(submitBranch(pool, branches[next], phase, candidateSAs, next));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Start evaluating a candidate on the pool. Its copy of the game is made here on the calling thread,
+     * since reading a game fills caches that aren't safe to fill from several threads. The worker only
+     * touches the copy.
+     *
+     * @return null if the candidate isn't evaluated
+     */
+    private ForkJoinTask<Score> submitBranch(final ForkJoinPool pool, final SimulationController branch,
+            final PhaseType phase, final List<SpellAbility> candidateSAs, final int index) {
+        // seeded here rather than on the worker threads, so that a seeded game plays the same every time
+        final long seed = MyRandom.getRandom().nextLong();
+        if (branch.isOutOfTime()) {
+            return null;
+        }
+        final SpellAbility sa = candidateSAs.get(index);
+        final Plan.SpellAbilityRef saRef = new Plan.SpellAbilityRef(candidateSAs, index);
+        final GameCopier copier = new GameCopier(game);
+        final Game gameCopy = copier.makeCopy();
+        final Player playerCopy = (Player) copier.find(player);
+        final SpellAbility saCopy;
+        if (sa instanceof PlayLandAbility) {
+            saCopy = new PlayLandAbility((Card) copier.find(sa.getHostCard()));
+        } else {
+            saCopy = GameSimulator.findSaInCopy(copier, sa);
+            if (saCopy == null) {
+                System.err.println("Simulation: SA not found! " + sa);
+                return null;
+            }
+        }
+        saCopy.setActivatingPlayer(playerCopy);
+        final SpellAbilityPicker picker = new SpellAbilityPicker(gameCopy, playerCopy);
+        return pool.submit(new Callable<Score>() {
+            @Override
+            public Score call() {
+                if (branch.isOutOfTime()) {
+                    return null;
+                }
+                MyRandom.setThreadRandom(new Random(seed));
+                try {
+                    branch.evaluateSpellAbility(saRef);
+                    return picker.evaluateChoices(branch, phase, saCopy);
+                } finally {
+                    MyRandom.setThreadRandom(null);
+                }
+            }
+        });
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        return pool;
+    }
+
+    /**
+     * Stop the threads that evaluate choices in parallel once they're done. Call it when no evaluation is
+     * running, the next one starts new threads.
+     */
+    public static synchronized void shutdownPool() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    private int getIntProperty(AiProps prop) {
+        if (player.getController() instanceof PlayerControllerAi) {
+            AiController aic = ((PlayerControllerAi) player.getController()).getAi();
+            return aic.getIntProperty(prop);
+        }
+        return Integer.parseInt(prop.getDefault());
+    }
+
     private Score evaluateSa(final SimulationController controller, PhaseType phase, List<SpellAbility> saList, int saIndex) {
         controller.evaluateSpellAbility(saList, saIndex);
-        SpellAbility sa = saList.get(saIndex);
+        return evaluateChoices(controller, phase, saList.get(saIndex));
+    }
 
+    private Score evaluateChoices(final SimulationController controller, PhaseType phase, SpellAbility sa) {
         Score bestScore = new Score(Integer.MIN_VALUE);
         final SpellAbilityChoicesIterator choicesIterator = new SpellAbilityChoicesIterator(controller);
         Score lastScore = null;
@@ -373,7 +504,7 @@ public class SpellAbilityPicker {
             if (lastScore.value > bestScore.value) {
                 bestScore = lastScore;
             }
-        } while (choicesIterator.advance(lastScore));
+        } while (!controller.isOutOfTime() && choicesIterator.advance(lastScore));
         controller.doneEvaluating(bestScore);
         return bestScore;
     }
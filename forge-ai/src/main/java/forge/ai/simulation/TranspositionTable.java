@@ -0,0 +1,86 @@
+package forge.ai.simulation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import forge.ai.simulation.GameStateEvaluator.Score;
+
+/**
+ * Remembers the best score found by recursing from a simulated game state, so
+ * that the same state reached by playing the same things in a different order
+ * doesn't have to be simulated again.
+ *
+ * States are identified by {@link forge.game.Game#getStateHash()} together
+ * with their evaluated score, which also covers what the hash leaves out
+ * (e.g. power and toughness changed until end of turn), and the recursion
+ * depth, since how much further the simulation looks depends on it. The least
+ * recently used entries are dropped once the table is full.
+ */
+public class TranspositionTable {
+    private final Map<Key, Score> entries;
+    private int hits;
+    private int misses;
+
+    public TranspositionTable(final int maxSize) {
+        entries = new LinkedHashMap<Key, Score>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Score> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public Score get(final long stateHash, final Score score, final int depth) {
+        Score result = entries.get(new Key(stateHash, score, depth));
+        if (result == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return result;
+    }
+
+    public void put(final long stateHash, final Score score, final int depth, final Score result) {
+        entries.put(new Key(stateHash, score, depth), result);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return "TranspositionTable: " + entries.size() + " entries, " + hits + " hits, " + misses + " misses";
+    }
+
+    private static final class Key {
+        private final long stateHash;
+        private final int value;
+        private final int summonSickValue;
+        private final int depth;
+
+        Key(final long stateHash, final Score score, final int depth) {
+            this.stateHash = stateHash;
+            this.value = score.value;
+            this.summonSickValue = score.summonSickValue;
+            this.depth = depth;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return stateHash == other.stateHash && value == other.value
+                    && summonSickValue == other.summonSickValue && depth == other.depth;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (stateHash ^ (stateHash >>> 32)) * 31 + depth;
+        }
+    }
+}
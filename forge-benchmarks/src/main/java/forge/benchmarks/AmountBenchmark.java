@@ -0,0 +1,58 @@
+package forge.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.game.Game;
+import forge.game.ability.AbilityUtils;
+import forge.game.card.Card;
+import forge.game.spellability.SpellAbility;
+import forge.game.zone.ZoneType;
+
+/**
+ * Calculating amounts of abilities from their SVars, as done whenever the AI
+ * looks at what an ability would do, e.g. how much mana Elvish Archdruid
+ * makes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AmountBenchmark {
+    @Param({"X", "-X", "Count$Valid Creature.YouCtrl/Plus.1", "SVar$X/Twice"})
+    public String amount;
+
+    private Card card;
+    private SpellAbility ability;
+
+    @Setup
+    public void setup() {
+        final Game game = BenchmarkEnvironment.createMidgameBoard(1);
+        game.getAction().checkStateEffects(true);
+        for (final Card c : game.getCardsIn(ZoneType.Battlefield)) {
+            if (c.getName().equals("Elvish Archdruid")) {
+                card = c;
+                ability = c.getManaAbilities().get(0);
+            }
+        }
+        ability.setActivatingPlayer(card.getController());
+    }
+
+    @Benchmark
+    public int calculateAmount() {
+        return AbilityUtils.calculateAmount(card, amount, ability);
+    }
+}
@@ -0,0 +1,203 @@
+package forge.benchmarks;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.Lists;
+
+import forge.CardStorageReader;
+import forge.ImageKeys;
+import forge.StaticData;
+import forge.ai.AiProfileUtil;
+import forge.ai.GameState;
+import forge.ai.LobbyPlayerAi;
+import forge.card.CardType;
+import forge.deck.Deck;
+import forge.game.Game;
+import forge.game.GameRules;
+import forge.game.GameStage;
+import forge.game.GameType;
+import forge.game.Match;
+import forge.game.player.RegisteredPlayer;
+import forge.item.IPaperCard;
+import forge.util.FileUtil;
+import forge.util.Lang;
+import forge.util.Localizer;
+
+/**
+ * Loads the card database and AI profiles once per benchmark JVM and builds
+ * games from scripted board states, without the GUI model.
+ *
+ * The resource directory defaults to ../forge-gui/res/, so that the benchmarks
+ * can be run from this module's directory, and can be changed with the
+ * forge.res system property.
+ */
+public final class BenchmarkEnvironment {
+    private static StaticData staticData;
+
+    private BenchmarkEnvironment() {
+    }
+
+    public static String getResDir() {
+        String dir = System.getProperty("forge.res", "../forge-gui/res/");
+        return dir.endsWith("/") ? dir : dir + "/";
+    }
+
+    public static String getCardDataDir() {
+        return getResDir() + "cardsfolder";
+    }
+
+    /**
+     * Set up the language, which is all that reading card scripts needs.
+     */
+    public static synchronized void initLocalization() {
+        final String res = getResDir();
+        Lang.createInstance("en-US");
+        Localizer.getInstance().initialize("en-US", res + "languages/");
+    }
+
+    public static synchronized StaticData init() {
+        if (staticData != null) {
+            return staticData;
+        }
+        final String res = getResDir();
+        if (!new File(res).isDirectory()) {
+            throw new IllegalStateException("Forge resources not found at " + res + ", set -Dforge.res=<path to forge-gui/res>");
+        }
+        initLocalization();
+        loadTypeLists(res + "lists/TypeLists.txt");
+        AiProfileUtil.loadAllProfiles(res + "ai");
+
+        // no images, but the card database looks for them while indexing
+        final File scratch = new File(System.getProperty("java.io.tmpdir"), "forge-benchmarks");
+        final String pics = scratch.getPath() + "/pics/";
+        ImageKeys.initializeDirs(pics + "cards/", new HashMap<>(), pics + "tokens/", pics + "icons/",
+                pics + "boosters/", pics + "fatpacks/", pics + "boosterboxes/", pics + "precons/", pics + "tournamentpacks/");
+
+        final CardStorageReader reader = new CardStorageReader(getCardDataDir(), null, false,
+                new File(scratch, "cards.snapshot").getPath());
+        final CardStorageReader tokenReader = new CardStorageReader(res + "tokenscripts", null, false,
+                new File(scratch, "tokens.snapshot").getPath());
+        // no custom editions, the reader wants an existing directory though
+        final File customEditions = new File(scratch, "editions");
+        customEditions.mkdirs();
+        staticData = new StaticData(reader, tokenReader, null, null, res + "editions",
+                new File(scratch, "editions.snapshot").getPath(), customEditions.getPath(), res + "blockdata", res + "setlookup",
+                "Latest Art All Editions", true, false, false, false);
+        return staticData;
+    }
+
+    // the same as the GUI model does on startup
+    private static void loadTypeLists(final String file) {
+        if (CardType.Constant.LOADED.isSet()) {
+            return;
+        }
+        Set<String> addTo = null;
+        for (final String s : FileUtil.readFile(file)) {
+            if (s.equals("[BasicTypes]")) {
+                addTo = CardType.Constant.BASIC_TYPES;
+            } else if (s.equals("[LandTypes]")) {
+                addTo = CardType.Constant.LAND_TYPES;
+            } else if (s.equals("[CreatureTypes]")) {
+                addTo = CardType.Constant.CREATURE_TYPES;
+            } else if (s.equals("[SpellTypes]")) {
+                addTo = CardType.Constant.SPELL_TYPES;
+            } else if (s.equals("[EnchantmentTypes]")) {
+                addTo = CardType.Constant.ENCHANTMENT_TYPES;
+            } else if (s.equals("[ArtifactTypes]")) {
+                addTo = CardType.Constant.ARTIFACT_TYPES;
+            } else if (s.equals("[WalkerTypes]")) {
+                addTo = CardType.Constant.WALKER_TYPES;
+            } else if (s.equals("[DungeonTypes]")) {
+                addTo = CardType.Constant.DUNGEON_TYPES;
+            } else if (s.length() > 1 && addTo != null) {
+                if (s.contains(":")) {
+                    final String[] k = s.split(":");
+                    addTo.add(k[0]);
+                    CardType.Constant.pluralTypes.put(k[0], k[1]);
+                } else {
+                    addTo.add(s);
+                }
+            }
+        }
+        CardType.Constant.LOADED.set();
+    }
+
+    /**
+     * @return a two player game between AI players, ready to have a board
+     *         state applied to it.
+     */
+    public static Game createGame() {
+        init();
+        final List<RegisteredPlayer> players = Lists.newArrayList();
+        final Deck deck = new Deck();
+        players.add(new RegisteredPlayer(deck).setPlayer(new LobbyPlayerAi("Human", null)));
+        players.add(new RegisteredPlayer(deck).setPlayer(new LobbyPlayerAi("Ai", null)));
+        final GameRules rules = new GameRules(GameType.Constructed);
+        final Match match = new Match(rules, players, "Benchmark");
+        final Game game = new Game(players, rules, match);
+        game.setAge(GameStage.Play);
+        return game;
+    }
+
+    /**
+     * Build a game from a board state in the format used by puzzles and the
+     * developer mode's "Setup Game State", e.g.
+     * <code>humanbattlefield=Forest;Forest;Grizzly Bears</code>.
+     */
+    public static Game createGame(final String... state) {
+        final Game game = createGame();
+        final BoardState boardState = new BoardState();
+        boardState.parse(Arrays.asList(state));
+        boardState.applyGameOnThread(game);
+        return game;
+    }
+
+    /**
+     * A mid-game board with lords and anthems on both sides, so that static
+     * abilities have something to do, and 32 cards left in each library. Scale
+     * repeats the creatures to make the board bigger.
+     */
+    public static Game createMidgameBoard(final int scale) {
+        final StringBuilder human = new StringBuilder("Forest;Forest;Forest;Mountain;Mountain;Mountain;Glorious Anthem;Goblin King");
+        final StringBuilder ai = new StringBuilder("Plains;Plains;Plains;Island;Island;Island;Honor of the Pure;Lord of Atlantis");
+        for (int i = 0; i < scale; i++) {
+            human.append(";Grizzly Bears;Llanowar Elves;Elvish Archdruid;Goblin Piker|Tapped;Shivan Dragon");
+            ai.append(";Serra Angel;Merfolk of the Pearl Trident;Birds of Paradise|SummonSick;Crusade");
+        }
+        final StringBuilder humanLibrary = new StringBuilder();
+        final StringBuilder aiLibrary = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            humanLibrary.append(i == 0 ? "" : ";").append("Forest;Mountain;Llanowar Elves;Shivan Dragon;Lightning Bolt;Giant Growth;Craw Wurm;Fireball");
+            aiLibrary.append(i == 0 ? "" : ";").append("Plains;Island;Serra Angel;Counterspell;Wrath of God;Swords to Plowshares;Air Elemental;Benalish Hero");
+        }
+        return createGame(
+                "turn=5",
+                "activeplayer=human",
+                "activephase=MAIN1",
+                "humanlife=14",
+                "ailife=11",
+                "humanhand=Shivan Dragon;Grizzly Bears",
+                "aihand=Serra Angel",
+                "humanlibrary=" + humanLibrary,
+                "ailibrary=" + aiLibrary,
+                "humanbattlefield=" + human,
+                "aibattlefield=" + ai);
+    }
+
+    private static class BoardState extends GameState {
+        @Override
+        public IPaperCard getPaperCard(final String cardName) {
+            return staticData.getCommonCards().getCard(cardName);
+        }
+
+        // apply on the calling thread, the benchmark has no separate game thread
+        @Override
+        protected void applyGameOnThread(final Game game) {
+            super.applyGameOnThread(game);
+        }
+    }
+}
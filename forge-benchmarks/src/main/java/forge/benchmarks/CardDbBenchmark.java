@@ -0,0 +1,55 @@
+package forge.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.card.CardDb;
+import forge.item.PaperCard;
+
+/**
+ * Card lookups by name, with and without an edition, the way decks and
+ * game states resolve their cards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CardDbBenchmark {
+    @Param({"Lightning Bolt", "Llanowar Elves", "Forest"})
+    public String cardName;
+
+    private CardDb cards;
+
+    @Setup
+    public void setup() {
+        cards = BenchmarkEnvironment.init().getCommonCards();
+    }
+
+    @Benchmark
+    public PaperCard getCard() {
+        return cards.getCard(cardName);
+    }
+
+    @Benchmark
+    public PaperCard getCardFromEdition() {
+        return cards.getCard(cardName, "M10");
+    }
+
+    @Benchmark
+    public PaperCard getCardWithSetInName() {
+        return cards.getCard(cardName + "|M10");
+    }
+}
@@ -0,0 +1,52 @@
+package forge.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.card.CardEdition;
+
+/**
+ * Reading and parsing every edition file, as done on startup, and reading
+ * the parsed editions from an up to date snapshot instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class CardEditionReaderBenchmark {
+    @Param({"files", "snapshot"})
+    public String mode;
+
+    private String snapshotFile;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.initLocalization();
+        if ("snapshot".equals(mode)) {
+            final File file = new File(System.getProperty("java.io.tmpdir"), "forge-benchmarks/benchmark-editions.snapshot");
+            file.delete();
+            snapshotFile = file.getPath();
+            // write the snapshot for the measured runs to read
+            loadEditions();
+        }
+    }
+
+    @Benchmark
+    public CardEdition.Collection loadEditions() {
+        return new CardEdition.Collection(new CardEdition.Reader(new File(BenchmarkEnvironment.getResDir() + "editions"), false, snapshotFile));
+    }
+}
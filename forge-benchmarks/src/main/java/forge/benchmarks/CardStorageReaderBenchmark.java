@@ -0,0 +1,54 @@
+package forge.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.CardStorageReader;
+import forge.card.CardRules;
+
+/**
+ * Reading and parsing every card script, as done on startup when card
+ * scripts aren't loaded lazily, and reading them from an up to date snapshot
+ * instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class CardStorageReaderBenchmark {
+    @Param({"scripts", "lazy", "snapshot"})
+    public String mode;
+
+    private String snapshotFile;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.initLocalization();
+        if ("snapshot".equals(mode)) {
+            final File file = new File(System.getProperty("java.io.tmpdir"), "forge-benchmarks/benchmark-cards.snapshot");
+            file.delete();
+            snapshotFile = file.getPath();
+            // write the snapshot for the measured runs to read
+            loadCards();
+        }
+    }
+
+    @Benchmark
+    public Iterable<CardRules> loadCards() {
+        return new CardStorageReader(BenchmarkEnvironment.getCardDataDir(), null, "lazy".equals(mode), snapshotFile).loadCards();
+    }
+}
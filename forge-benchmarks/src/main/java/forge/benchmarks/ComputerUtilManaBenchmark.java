@@ -0,0 +1,58 @@
+package forge.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.ai.ComputerUtilMana;
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.player.Player;
+import forge.game.spellability.SpellAbility;
+import forge.game.zone.ZoneType;
+
+/**
+ * The AI's search for a way to pay a spell's mana cost from the mana sources
+ * it controls, as done for every spell it considers casting.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComputerUtilManaBenchmark {
+    @Param({"1", "4"})
+    public int scale;
+
+    private Player player;
+    private SpellAbility spell;
+
+    @Setup
+    public void setup() {
+        final Game game = BenchmarkEnvironment.createMidgameBoard(scale);
+        game.getAction().checkStateEffects(true);
+        player = game.getPlayers().get(0);
+        for (final Card c : player.getCardsIn(ZoneType.Hand)) {
+            if (c.getName().equals("Shivan Dragon")) {
+                spell = c.getFirstSpellAbility();
+            }
+        }
+        spell.setActivatingPlayer(player);
+    }
+
+    @Benchmark
+    public boolean canPayManaCost() {
+        return ComputerUtilMana.canPayManaCost(spell, player, 0, false);
+    }
+}
@@ -0,0 +1,103 @@
+package forge.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.util.collect.FCollection;
+
+/**
+ * The FCollection operations card collections are used for most: filling
+ * one, looking elements up, reading them by position, iterating and
+ * removing. Run with -prof gc for the bytes allocated per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FCollectionBenchmark {
+    // a hand, a battlefield and a library
+    @Param({"7", "40", "100"})
+    public int size;
+
+    private Object[] elements;
+    private Object[] missing;
+    private FCollection<Object> filled;
+
+    @Setup
+    public void setup() {
+        elements = new Object[size];
+        missing = new Object[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = new Object();
+            missing[i] = new Object();
+        }
+        filled = fill();
+    }
+
+    private FCollection<Object> fill() {
+        final FCollection<Object> result = new FCollection<>();
+        for (final Object e : elements) {
+            result.add(e);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public FCollection<Object> add() {
+        return fill();
+    }
+
+    @Benchmark
+    public int contains() {
+        int found = 0;
+        for (int i = 0; i < size; i++) {
+            if (filled.contains(elements[i])) {
+                found++;
+            }
+            if (filled.contains(missing[i])) {
+                found--;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int get() {
+        int hash = 0;
+        for (int i = 0; i < size; i++) {
+            hash += System.identityHashCode(filled.get(i));
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public int iterate() {
+        int hash = 0;
+        for (final Object e : filled) {
+            hash += System.identityHashCode(e);
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public FCollection<Object> addThenRemove() {
+        final FCollection<Object> result = fill();
+        for (int i = size - 1; i >= 0; i -= 2) {
+            result.remove(elements[i]);
+        }
+        return result;
+    }
+}
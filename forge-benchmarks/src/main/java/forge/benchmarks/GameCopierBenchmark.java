@@ -0,0 +1,56 @@
+package forge.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.ai.simulation.GameCopier;
+import forge.game.Game;
+import forge.game.player.Player;
+import forge.game.zone.ZoneType;
+
+/**
+ * Copying a game, which the simulating AI does for every option it tries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameCopierBenchmark {
+    @Param({"1", "4"})
+    public int scale;
+
+    // without them, the difference is what copying the hidden libraries costs
+    @Param({"true", "false"})
+    public boolean libraries;
+
+    private Game game;
+
+    @Setup
+    public void setup() {
+        game = BenchmarkEnvironment.createMidgameBoard(scale);
+        if (!libraries) {
+            for (final Player p : game.getPlayers()) {
+                p.getZone(ZoneType.Library).removeAllCards(true);
+            }
+        }
+        game.getAction().checkStateEffects(true);
+    }
+
+    @Benchmark
+    public Game makeCopy() {
+        return new GameCopier(game).makeCopy();
+    }
+}
@@ -0,0 +1,52 @@
+package forge.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.game.Game;
+
+/**
+ * State-based actions and static abilities on a board where nothing changes
+ * between checks, i.e. the cost paid after every action in a game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StateEffectsBenchmark {
+    @Param({"1", "4"})
+    public int scale;
+
+    private Game game;
+
+    @Setup
+    public void setup() {
+        game = BenchmarkEnvironment.createMidgameBoard(scale);
+        game.getAction().checkStateEffects(true);
+    }
+
+    @Benchmark
+    public Game checkStateEffects() {
+        game.getAction().checkStateEffects(true);
+        return game;
+    }
+
+    @Benchmark
+    public Game checkStaticAbilities() {
+        game.getAction().checkStaticAbilities();
+        return game;
+    }
+}
@@ -0,0 +1,75 @@
+package forge.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.game.Game;
+import forge.game.GameView;
+import forge.game.card.Card;
+import forge.game.zone.ZoneType;
+import forge.trackable.TrackableDelta;
+import forge.trackable.TrackableDeltaEncoder;
+
+/**
+ * Serializing the game view, as sent to network clients: the whole view, and
+ * the delta after a single card changed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrackableSerializationBenchmark {
+    @Param({"1", "4"})
+    public int scale;
+
+    private GameView view;
+    private Card card;
+    private TrackableDeltaEncoder encoder;
+
+    @Setup
+    public void setup() {
+        final Game game = BenchmarkEnvironment.createMidgameBoard(scale);
+        game.getAction().checkStateEffects(true);
+        view = game.getView();
+        view.updateObjLookup();
+        card = game.getCardsIn(ZoneType.Battlefield).getLast();
+        encoder = new TrackableDeltaEncoder(view);
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoder.dispose();
+    }
+
+    @Benchmark
+    public int serializeGameView() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(view);
+        }
+        return bytes.size();
+    }
+
+    @Benchmark
+    public TrackableDelta encodeDelta() {
+        card.setTapped(!card.isTapped());
+        return encoder.encode();
+    }
+}
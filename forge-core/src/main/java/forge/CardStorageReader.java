@@ -55,6 +55,8 @@ public class CardStorageReader {
 
     private static final String CARD_FILE_DOT_EXTENSION = ".txt";
     private static final String UPCOMING = "upcoming";
+    // tells the scripts read from the archive apart from the files when writing a snapshot
+    private static final String ZIP_KEY_PREFIX = "zip:";
 
     /** Default charset when loading from files. */
     public static final String DEFAULT_CHARSET_NAME = "UTF-8";
@@ -73,13 +75,28 @@ public class CardStorageReader {
 
     private final boolean loadCardsLazily;
 
+    private final File snapshotFile;
+    // the scripts read while loading the cards, to write a new snapshot with
+    private transient Map<String, CardStorageSnapshot.Script> scriptsRead;
+
     public CardStorageReader(final String cardDataDir, final CardStorageReader.ProgressObserver progressObserver, boolean loadCardsLazily) {
+        this(cardDataDir, progressObserver, loadCardsLazily, null);
+    }
+
+    /**
+     * @param snapshotFile
+     *            where to keep a snapshot of the card scripts, which is read
+     *            instead of the scripts when they haven't changed since it was
+     *            written, or null to always read the scripts.
+     */
+    public CardStorageReader(final String cardDataDir, final CardStorageReader.ProgressObserver progressObserver, boolean loadCardsLazily, final String snapshotFile) {
         this.progressObserver = progressObserver != null ? progressObserver : CardStorageReader.ProgressObserver.emptyObserver;
         this.cardsfolder = new File(cardDataDir);
 
         this.loadingTokens = cardDataDir.contains("token");
 
         this.loadCardsLazily = loadCardsLazily;
+        this.snapshotFile = snapshotFile == null ? null : new File(snapshotFile);
 
         // These read data for lightweight classes.
         if (!cardsfolder.exists()) {
@@ -127,6 +144,17 @@ public class CardStorageReader {
         return result;
     }
 
+    private List<CardRules> loadCardsInRangeFromSnapshot(final List<CardStorageSnapshot.Script> scripts, final int from, final int to) {
+        final CardRules.Reader rulesReader = new CardRules.Reader();
+
+        final List<CardRules> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            final CardStorageSnapshot.Script script = scripts.get(i);
+            result.add(rulesReader.readCard(script.getLines(), script.name));
+        }
+        return result;
+    }
+
     // Note: This is custom coded for efficiency, since it allows
     // to do the relevant transformation in a single pass with just
     // a single char array allocation.
@@ -243,6 +271,28 @@ public class CardStorageReader {
         }
  
         final List<File> allFiles = collectCardFiles(new ArrayList<>(), this.cardsfolder);
+        final List<ZipEntry> zipEntries = this.zip == null ? Collections.<ZipEntry>emptyList() : getZipEntries();
+
+        byte[] fingerprint = null;
+        if (this.snapshotFile != null) {
+            fingerprint = CardStorageSnapshot.fingerprint(this.cardsfolder, allFiles, zipEntries);
+            final StopWatch sw = new StopWatch();
+            sw.start();
+            final List<CardStorageSnapshot.Script> scripts = CardStorageSnapshot.read(this.snapshotFile, fingerprint);
+            if (scripts != null) {
+                int parts = Math.max(1, Math.min(NUMBER_OF_PARTS, scripts.size() / 100));
+                final CountDownLatch cdlSnapshot = new CountDownLatch(parts);
+                final List<Callable<List<CardRules>>> taskSnapshot = makeTaskListForSnapshot(scripts, cdlSnapshot);
+                progressObserver.setOperationName(localizer.getMessage("splash.loading.cards-archive"), true);
+                progressObserver.report(0, taskSnapshot.size());
+                executeLoadTask(result, taskSnapshot, cdlSnapshot);
+                sw.stop();
+                System.out.printf("Read cards: %s scripts from snapshot in %d ms (%d parts) %s%n", scripts.size(), sw.getTime(), taskSnapshot.size(), useThreadPool ? "using thread pool" : "in same thread");
+                return result;
+            }
+            this.scriptsRead = new ConcurrentHashMap<>();
+        }
+
         if (!allFiles.isEmpty()) {
             int fileParts = zip == null ? NUMBER_OF_PARTS : 1 + NUMBER_OF_PARTS / 3;
             if (allFiles.size() < fileParts * 100) {
@@ -263,7 +313,7 @@ public class CardStorageReader {
         if (this.zip != null) {
             final CountDownLatch cdlZip = new CountDownLatch(NUMBER_OF_PARTS);
             List<Callable<List<CardRules>>> taskZip;
-            taskZip = makeTaskListForZip(getZipEntries(), cdlZip);
+            taskZip = makeTaskListForZip(zipEntries, cdlZip);
             progressObserver.setOperationName(localizer.getMessage("splash.loading.cards-archive"), true);
             progressObserver.report(0, taskZip.size());
             final StopWatch sw = new StopWatch();
@@ -274,6 +324,21 @@ public class CardStorageReader {
             System.out.printf("Read cards: %s archived files in %d ms (%d parts) %s%n", this.zip.size(), timeOnParse, taskZip.size(), useThreadPool ? "using thread pool" : "in same thread");
         }
 
+        if (this.scriptsRead != null) {
+            // in the order they were read, so that the same cards win when a name is in both the folder and the archive
+            final List<CardStorageSnapshot.Script> scripts = new ArrayList<>(this.scriptsRead.size());
+            for (final File file : allFiles) {
+                scripts.add(this.scriptsRead.get(file.getPath()));
+            }
+            for (final ZipEntry entry : zipEntries) {
+                scripts.add(this.scriptsRead.get(ZIP_KEY_PREFIX + entry.getName()));
+            }
+            this.scriptsRead = null;
+            if (!scripts.contains(null)) {
+                CardStorageSnapshot.write(this.snapshotFile, fingerprint, scripts);
+            }
+        }
+
         return result;
     }
 
@@ -335,6 +400,27 @@ public class CardStorageReader {
         return tasks;
     }
 
+    private List<Callable<List<CardRules>>> makeTaskListForSnapshot(final List<CardStorageSnapshot.Script> scripts, final CountDownLatch cdl) {
+        final int totalScripts = scripts.size();
+        final int maxParts = (int) cdl.getCount();
+        final int scriptsPerPart = totalScripts / maxParts;
+        final List<Callable<List<CardRules>>> tasks = new ArrayList<>();
+        for (int iPart = 0; iPart < maxParts; iPart++) {
+            final int from = iPart * scriptsPerPart;
+            final int till = iPart == maxParts - 1 ? totalScripts : from + scriptsPerPart;
+            tasks.add(new Callable<List<CardRules>>() {
+                @Override
+                public List<CardRules> call() throws Exception{
+                    final List<CardRules> res = loadCardsInRangeFromSnapshot(scripts, from, till);
+                    cdl.countDown();
+                    progressObserver.report(maxParts - (int)cdl.getCount(), maxParts);
+                    return res;
+                }
+            });
+        }
+        return tasks;
+    }
+
     private List<Callable<List<CardRules>>> makeTaskListForFiles(final List<File> allFiles, final CountDownLatch cdl) {
         final int totalFiles = allFiles.size();
         final int maxParts = (int) cdl.getCount();
@@ -396,7 +482,11 @@ public class CardStorageReader {
             fileInputStream = new FileInputStream(file);
             reader.reset();
             final List<String> lines = readScript(fileInputStream);
-            return reader.readCard(lines, Files.getNameWithoutExtension(file.getName()));
+            final String name = Files.getNameWithoutExtension(file.getName());
+            if (scriptsRead != null) {
+                scriptsRead.put(file.getPath(), new CardStorageSnapshot.Script(name, lines));
+            }
+            return reader.readCard(lines, name);
         } catch (final FileNotFoundException ex) {
             throw new RuntimeException("CardReader : run error -- file not found: " + file.getPath(), ex);
         } catch (final Exception ex) {
@@ -427,7 +517,12 @@ public class CardStorageReader {
             zipInputStream = this.zip.getInputStream(entry);
             rulesReader.reset();
 
-            return rulesReader.readCard(readScript(zipInputStream), Files.getNameWithoutExtension(entry.getName()));
+            final List<String> lines = readScript(zipInputStream);
+            final String name = Files.getNameWithoutExtension(entry.getName());
+            if (scriptsRead != null) {
+                scriptsRead.put(ZIP_KEY_PREFIX + entry.getName(), new CardStorageSnapshot.Script(name, lines));
+            }
+            return rulesReader.readCard(lines, name);
         } catch (final IOException exn) {
             throw new RuntimeException(exn);
             // PM
@@ -0,0 +1,181 @@
+package forge;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+
+/**
+ * A binary snapshot of the card scripts read by a {@link CardStorageReader},
+ * so that the next start can read them from one memory-mapped file instead of
+ * opening every script in the cards folder or archive.
+ *
+ * The snapshot keeps the lines of each script that {@link forge.card.CardRules.Reader}
+ * looks at, and the cards are still built by it, so a card read from the
+ * snapshot is the same as one read from its script. Keeping the parsed cards
+ * instead would save little: the text a parsed card keeps costs as much to
+ * read as the lines, and its types, mana costs and power/toughness would
+ * still have to be rebuilt. It is tied to the scripts
+ * it was made from by a fingerprint of their names, sizes and modification
+ * times (for the archive, the CRC-32 of the entries), and isn't used when the
+ * fingerprint or the format {@link #VERSION} don't match.
+ */
+final class CardStorageSnapshot {
+    private static final int MAGIC = 0x46435342; // FCSB
+    /** Increment whenever the layout of the file or what is kept of the scripts changes. */
+    private static final int VERSION = 1;
+
+    /** The name a script was read with and the lines kept of it. */
+    static final class Script {
+        final String name;
+        final String[] lines;
+
+        Script(final String name, final List<String> script) {
+            final List<String> kept = new ArrayList<>(script.size());
+            for (final String line : script) {
+                // the card reader skips these anyway
+                if (line.isEmpty() || line.charAt(0) == '#') {
+                    continue;
+                }
+                kept.add(line);
+            }
+            this.name = name;
+            this.lines = kept.toArray(new String[0]);
+        }
+
+        private Script(final String name, final String[] lines) {
+            this.name = name;
+            this.lines = lines;
+        }
+
+        List<String> getLines() {
+            return Arrays.asList(lines);
+        }
+    }
+
+    private CardStorageSnapshot() {
+    }
+
+    /**
+     * @return a fingerprint of the given script files and archive entries,
+     *         which changes when any of them are added, removed or changed.
+     */
+    static byte[] fingerprint(final File root, final List<File> files, final List<ZipEntry> entries) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        final ByteBuffer buf = ByteBuffer.allocate(16);
+        final int rootLength = root.getPath().length();
+        for (final File file : files) {
+            digest.update(file.getPath().substring(rootLength).getBytes(StandardCharsets.UTF_8));
+            buf.clear();
+            buf.putLong(file.length()).putLong(file.lastModified());
+            digest.update(buf.array());
+        }
+        for (final ZipEntry entry : entries) {
+            digest.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+            buf.clear();
+            buf.putLong(entry.getSize()).putLong(entry.getCrc());
+            digest.update(buf.array());
+        }
+        return digest.digest();
+    }
+
+    /**
+     * @return the scripts in the snapshot, or null if there is no snapshot,
+     *         it was made from different scripts or it can't be read.
+     */
+    static List<Script> read(final File file, final byte[] fingerprint) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            if (raf.readInt() != MAGIC || raf.readInt() != VERSION) {
+                return null;
+            }
+            final byte[] made = new byte[raf.readInt()];
+            raf.readFully(made);
+            if (!Arrays.equals(made, fingerprint)) {
+                return null;
+            }
+            // only map the file once it's known to be used, a mapped file can't be replaced on some systems
+            final long start = raf.getFilePointer();
+            final ByteBuffer buf = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, start, raf.length() - start);
+            final int count = buf.getInt();
+            final List<Script> scripts = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final String name = readString(buf);
+                final String[] lines = new String[buf.getInt()];
+                for (int j = 0; j < lines.length; j++) {
+                    lines[j] = readString(buf);
+                }
+                scripts.add(new Script(name, lines));
+            }
+            return scripts;
+        } catch (final IOException | RuntimeException e) {
+            System.err.printf("Error reading card snapshot \"%s\": %s. Reading the card scripts instead.%n", file.getAbsolutePath(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Write the scripts to a new snapshot, replacing any existing one. Nothing
+     * is replaced if the snapshot can't be written.
+     */
+    static void write(final File file, final byte[] fingerprint, final List<Script> scripts) {
+        final File dir = file.getAbsoluteFile().getParentFile();
+        File temp = null;
+        try {
+            dir.mkdirs();
+            temp = File.createTempFile(file.getName(), ".tmp", dir);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(fingerprint.length);
+                out.write(fingerprint);
+                out.writeInt(scripts.size());
+                for (final Script script : scripts) {
+                    writeString(out, script.name);
+                    out.writeInt(script.lines.length);
+                    for (final String line : script.lines) {
+                        writeString(out, line);
+                    }
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            System.err.printf("Error writing card snapshot \"%s\": %s%n", file.getAbsolutePath(), e);
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    private static String readString(final ByteBuffer buf) {
+        final byte[] bytes = new byte[buf.getInt()];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(final DataOutputStream out, final String s) throws IOException {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
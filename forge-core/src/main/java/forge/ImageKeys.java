@@ -8,6 +8,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class ImageKeys {
     public static final String CARD_PREFIX           = "c:";
@@ -30,8 +31,9 @@ public final class ImageKeys {
         CACHE_FATPACK_PICS_DIR, CACHE_BOOSTERBOX_PICS_DIR, CACHE_PRECON_PICS_DIR, CACHE_TOURNAMENTPACK_PICS_DIR;
     private static Map<String, String> CACHE_CARD_PICS_SUBDIR;
 
-    private static Map<String, Boolean> editionImageLookup = new HashMap<>();
-    private static Set<String> toFind = new HashSet<>();
+    // the lookups below are made by the image loading threads of the UI as well, so they're all concurrent
+    private static Map<String, Boolean> editionImageLookup = new ConcurrentHashMap<>();
+    private static Set<String> toFind = ConcurrentHashMap.newKeySet();
 
     private static boolean isLibGDXPort = false;
 
@@ -72,13 +74,13 @@ public final class ImageKeys {
         return tokenKey.substring(ImageKeys.TOKEN_PREFIX.length());
     }
 
-    private static final Map<String, File> cachedCards = new HashMap<>(50000);
-    private static HashSet<String> missingCards = new HashSet<>();
+    private static final Map<String, File> cachedCards = new ConcurrentHashMap<>(50000);
+    private static Set<String> missingCards = ConcurrentHashMap.newKeySet();
     public static void clearMissingCards() {
         missingCards.clear();
     }
     public static File getCachedCardsFile(String key) {
-        return cachedCards.get(key);
+        return key == null ? null : cachedCards.get(key);
     }
     public static File getImageFile(String key) {
         if (StringUtils.isEmpty(key))
@@ -349,7 +351,7 @@ public final class ImageKeys {
 
     //shortcut for determining if a card image exists for a given card
     //should only be called from PaperCard.hasImage()
-    static HashMap<String, HashSet<String>> cachedContent=new HashMap<>(50000);
+    static Map<String, Set<String>> cachedContent = new ConcurrentHashMap<>(50000);
     public static boolean hasImage(PaperCard pc) {
         return hasImage(pc, false);
     }
@@ -358,10 +360,9 @@ public final class ImageKeys {
         if (editionHasImage == null) {
             String setFolder = getSetFolder(pc.getEdition());
             editionHasImage = FileUtil.isDirectoryWithFiles(CACHE_CARD_PICS_DIR + setFolder);
-            editionImageLookup.put(pc.getEdition(), editionHasImage);
             if (editionHasImage) {
                 File f = new File(CACHE_CARD_PICS_DIR + setFolder);  // no need to check this, otherwise editionHasImage would be false!
-                HashSet<String> setFolderContent = new HashSet<>();
+                Set<String> setFolderContent = ConcurrentHashMap.newKeySet();
                 for (String filename : Arrays.asList(f.list())) {
                     // TODO: should this use FILE_EXTENSIONS ?
                     if (!filename.endsWith(".jpg") && !filename.endsWith(".png"))
@@ -374,23 +375,28 @@ public final class ImageKeys {
                 }
                 cachedContent.put(setFolder, setFolderContent);
             }
+            // only once the content is there, for other threads to find it
+            editionImageLookup.put(pc.getEdition(), editionHasImage);
+        }
+        if (!editionHasImage) {
+            // don't bother working out the image key
+            return false;
         }
         String[] keyParts = StringUtils.split(pc.getCardImageKey(), "//");
         if (keyParts.length != 2)
             return false;
-        if (update && editionHasImage) {
+        if (update) {
             try {
                 cachedContent.get(getSetFolder(pc.getEdition())).add(pc.getName());
             } catch (Exception e) {
                 System.err.println(e);
             }
         }
-        HashSet<String> content = cachedContent.getOrDefault(keyParts[0], null);
-        //avoid checking for file if edition doesn't have any images
-        return editionHasImage && hitCache(content, keyParts[1]);
+        Set<String> content = cachedContent.get(keyParts[0]);
+        return hitCache(content, keyParts[1]);
     }
 
-    private static boolean hitCache(HashSet<String> cache, String filename) {
+    private static boolean hitCache(Set<String> cache, String filename) {
         if (cache == null || cache.isEmpty())
             return false;
         final String keyPrefix = filename.split("\\.")[0];
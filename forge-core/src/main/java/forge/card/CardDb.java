@@ -53,7 +53,7 @@ public final class CardDb implements ICardDatabase, IDeckGenPool {
     private final Map<String, Integer> artIds = Maps.newHashMap();
 
     private final CardEdition.Collection editions;
-    private List<String> filtered;
+    private final Set<String> filtered;
 
     private Map<String, Boolean> nonLegendaryCreatureNames = Maps.newHashMap();
 
@@ -225,7 +225,7 @@ public final class CardDb implements ICardDatabase, IDeckGenPool {
     }
 
     public CardDb(Map<String, CardRules> rules, CardEdition.Collection editions0, List<String> filteredCards, String cardArtPreference) {
-        this.filtered = filteredCards;
+        this.filtered = new HashSet<>(filteredCards);
         this.rulesByName = rules;
         this.editions = editions0;
 
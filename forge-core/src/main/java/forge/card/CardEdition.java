@@ -524,41 +524,95 @@ public final class CardEdition implements Comparable<CardEdition> {
     }
 
     public static class Reader extends StorageReaderFolder<CardEdition> {
+        /*
+        The following pattern will match the WAR Japanese art entries,
+        it should also match the Un-set and older alternate art cards
+        like Merseine from FEM.
+         */
+        //"(^(?<cnum>[0-9]+.?) )?((?<rarity>[SCURML]) )?(?<name>.*)$"
+        /*  Ideally we'd use the named group above, but Android 6 and
+            earlier don't appear to support named groups.
+            So, untill support for those devices is officially dropped,
+            we'll have to suffice with numbered groups.
+            We are looking for:
+                * cnum - grouping #2
+                * rarity - grouping #4
+                * name - grouping #5
+         */
+//            "(^(.?[0-9A-Z]+.?))?(([SCURML]) )?(.*)$"
+        private static final Pattern CARD_LINE_PATTERN = Pattern.compile(
+                "(^(.?[0-9A-Z]+\\S?[A-Z]*)\\s)?(([SCURML])\\s)?([^@]*)( @(.*))?$"
+        );
+
         private final boolean isCustomEditions;
+        private final File snapshotFile;
+        // the edition files parsed while reading them, to write a new snapshot with
+        private List<CardEditionSnapshot.Edition> editionsRead;
 
         public Reader(File path) {
-            super(path, CardEdition.FN_GET_CODE);
-            this.isCustomEditions = false;
+            this(path, false);
         }
 
         public Reader(File path, boolean isCustomEditions) {
+            this(path, isCustomEditions, null);
+        }
+
+        /**
+         * @param snapshotFile
+         *            where to keep a snapshot of the parsed edition files,
+         *            which is read instead of them while they don't change,
+         *            or null to always read the files
+         */
+        public Reader(File path, boolean isCustomEditions, String snapshotFile) {
             super(path, CardEdition.FN_GET_CODE);
             this.isCustomEditions = isCustomEditions;
+            this.snapshotFile = snapshotFile == null ? null : new File(snapshotFile);
+        }
+
+        @Override
+        public Map<String, CardEdition> readAll() {
+            if (this.snapshotFile == null) {
+                return super.readAll();
+            }
+            final byte[] fingerprint = CardEditionSnapshot.fingerprint(this.directory.listFiles(this.getFileFilter()));
+            final List<CardEditionSnapshot.Edition> snapshot = CardEditionSnapshot.read(this.snapshotFile, fingerprint);
+            if (snapshot != null) {
+                final Map<String, CardEdition> result = new TreeMap<>();
+                for (CardEditionSnapshot.Edition parsed : snapshot) {
+                    final CardEdition edition = build(parsed);
+                    final String key = keySelector.apply(edition);
+                    if (result.containsKey(key)) {
+                        System.err.println("StorageReaderFolder: Overwriting an object with key " + key);
+                    }
+                    result.put(key, edition);
+                }
+                return result;
+            }
+
+            this.editionsRead = new ArrayList<>();
+            try {
+                final Map<String, CardEdition> result = super.readAll();
+                // a snapshot without the files that failed would hide them on the next start
+                if (this.objectsThatFailedToLoad.isEmpty()) {
+                    CardEditionSnapshot.write(this.snapshotFile, fingerprint, this.editionsRead);
+                }
+                return result;
+            } finally {
+                this.editionsRead = null;
+            }
         }
 
         @Override
         protected CardEdition read(File file) {
-            final Map<String, List<String>> contents = FileSection.parseSections(FileUtil.readFile(file));
+            final CardEditionSnapshot.Edition parsed = parse(file);
+            if (this.editionsRead != null) {
+                this.editionsRead.add(parsed);
+            }
+            return build(parsed);
+        }
 
-            final Pattern pattern = Pattern.compile(
-            /*
-            The following pattern will match the WAR Japanese art entries,
-            it should also match the Un-set and older alternate art cards
-            like Merseine from FEM.
-             */
-            //"(^(?<cnum>[0-9]+.?) )?((?<rarity>[SCURML]) )?(?<name>.*)$"
-            /*  Ideally we'd use the named group above, but Android 6 and
-                earlier don't appear to support named groups.
-                So, untill support for those devices is officially dropped,
-                we'll have to suffice with numbered groups.
-                We are looking for:
-                    * cnum - grouping #2
-                    * rarity - grouping #4
-                    * name - grouping #5
-             */
-//                "(^(.?[0-9A-Z]+.?))?(([SCURML]) )?(.*)$"
-                "(^(.?[0-9A-Z]+\\S?[A-Z]*)\\s)?(([SCURML])\\s)?([^@]*)( @(.*))?$"
-            );
+        private static CardEditionSnapshot.Edition parse(File file) {
+            final Map<String, List<String>> contents = FileSection.parseSections(FileUtil.readFile(file));
 
             ListMultimap<String, CardInSet> cardMap = ArrayListMultimap.create();
             Map<String, Integer> tokenNormalized = new HashMap<>();
@@ -573,7 +627,7 @@ public final class CardEdition implements Comparable<CardEdition> {
                 // parse sections of the format "<collector number> <rarity> <name>"
                 if (editionSectionsWithCollectorNumbers.contains(sectionName)) {
                     for(String line : contents.get(sectionName)) {
-                        Matcher matcher = pattern.matcher(line);
+                        Matcher matcher = CARD_LINE_PATTERN.matcher(line);
 
                         if (!matcher.matches()) {
                             continue;
@@ -609,10 +663,14 @@ public final class CardEdition implements Comparable<CardEdition> {
                 }
             }
 
-            CardEdition res = new CardEdition(cardMap, tokenNormalized, customPrintSheetsToParse);
+            return new CardEditionSnapshot.Edition(cardMap, tokenNormalized, customPrintSheetsToParse, contents.get("metadata"));
+        }
+
+        private CardEdition build(CardEditionSnapshot.Edition parsed) {
+            CardEdition res = new CardEdition(parsed.cards, parsed.tokens, parsed.customPrintSheets);
 
             // parse metadata section
-            FileSection section = FileSection.parse(contents.get("metadata"), FileSection.EQUALS_KV_SEPARATOR);
+            FileSection section = FileSection.parse(parsed.metadata, FileSection.EQUALS_KV_SEPARATOR);
             res.name  = section.get("name");
             res.date  = parseDate(section.get("date"));
             res.code  = section.get("code");
@@ -0,0 +1,224 @@
+package forge.card;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+
+import forge.card.CardEdition.CardInSet;
+
+/**
+ * A binary snapshot of the edition files read by a {@link CardEdition.Reader},
+ * so that the next start doesn't have to read and match every line of them
+ * again.
+ *
+ * The snapshot keeps each edition as the reader parsed it: the cards of the
+ * sections with collector numbers, the tokens and the lines of the other
+ * sections and of the metadata, which the reader still turns into the
+ * edition. It is tied to the files it was made from by a fingerprint of their
+ * names, sizes and modification times, and isn't used when the fingerprint or
+ * the format {@link #VERSION} don't match.
+ */
+final class CardEditionSnapshot {
+    private static final int MAGIC = 0x46455342; // FESB
+    /** Increment whenever the layout of the file, the {@link CardRarity} constants or how the edition files are parsed change. */
+    private static final int VERSION = 1;
+
+    /** An edition file as parsed by the reader, before it's made into a {@link CardEdition}. */
+    static final class Edition {
+        final ListMultimap<String, CardInSet> cards;
+        final Map<String, Integer> tokens;
+        final Map<String, List<String>> customPrintSheets;
+        final List<String> metadata;
+
+        Edition(final ListMultimap<String, CardInSet> cards, final Map<String, Integer> tokens,
+                final Map<String, List<String>> customPrintSheets, final List<String> metadata) {
+            this.cards = cards;
+            this.tokens = tokens;
+            this.customPrintSheets = customPrintSheets;
+            this.metadata = metadata;
+        }
+    }
+
+    private CardEditionSnapshot() {
+    }
+
+    /**
+     * @return a fingerprint of the given edition files, which changes when
+     *         any of them are added, removed or changed.
+     */
+    static byte[] fingerprint(final File[] files) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        final ByteBuffer buf = ByteBuffer.allocate(16);
+        for (final File file : files) {
+            digest.update(file.getName().getBytes(StandardCharsets.UTF_8));
+            buf.clear();
+            buf.putLong(file.length()).putLong(file.lastModified());
+            digest.update(buf.array());
+        }
+        return digest.digest();
+    }
+
+    /**
+     * @return the editions in the snapshot, in the order they were written,
+     *         or null if there is no snapshot, it was made from different
+     *         files or it can't be read.
+     */
+    static List<Edition> read(final File file, final byte[] fingerprint) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            if (raf.readInt() != MAGIC || raf.readInt() != VERSION) {
+                return null;
+            }
+            final byte[] made = new byte[raf.readInt()];
+            raf.readFully(made);
+            if (!Arrays.equals(made, fingerprint)) {
+                return null;
+            }
+            // only map the file once it's known to be used, a mapped file can't be replaced on some systems
+            final long start = raf.getFilePointer();
+            final ByteBuffer buf = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, start, raf.length() - start);
+            final CardRarity[] rarities = CardRarity.values();
+            final int count = buf.getInt();
+            final List<Edition> editions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final ListMultimap<String, CardInSet> cards = ArrayListMultimap.create();
+                for (int sections = buf.getInt(); sections > 0; sections--) {
+                    final String section = readString(buf);
+                    for (int n = buf.getInt(); n > 0; n--) {
+                        final String name = readString(buf);
+                        final String collectorNumber = readString(buf);
+                        final CardRarity rarity = rarities[buf.get()];
+                        cards.put(section, new CardInSet(name, collectorNumber, rarity, readString(buf)));
+                    }
+                }
+                final Map<String, Integer> tokens = new HashMap<>();
+                for (int n = buf.getInt(); n > 0; n--) {
+                    final String token = readString(buf);
+                    tokens.put(token, buf.getInt());
+                }
+                final Map<String, List<String>> customPrintSheets = new HashMap<>();
+                for (int n = buf.getInt(); n > 0; n--) {
+                    final String section = readString(buf);
+                    customPrintSheets.put(section, readLines(buf));
+                }
+                editions.add(new Edition(cards, tokens, customPrintSheets, readLines(buf)));
+            }
+            return editions;
+        } catch (final IOException | RuntimeException e) {
+            System.err.printf("Error reading edition snapshot \"%s\": %s. Reading the edition files instead.%n", file.getAbsolutePath(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Write the editions to a new snapshot, replacing any existing one.
+     * Nothing is replaced if the snapshot can't be written.
+     */
+    static void write(final File file, final byte[] fingerprint, final List<Edition> editions) {
+        final File dir = file.getAbsoluteFile().getParentFile();
+        File temp = null;
+        try {
+            dir.mkdirs();
+            temp = File.createTempFile(file.getName(), ".tmp", dir);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(fingerprint.length);
+                out.write(fingerprint);
+                out.writeInt(editions.size());
+                for (final Edition edition : editions) {
+                    out.writeInt(edition.cards.keySet().size());
+                    for (final Map.Entry<String, Collection<CardInSet>> section : edition.cards.asMap().entrySet()) {
+                        writeString(out, section.getKey());
+                        out.writeInt(section.getValue().size());
+                        for (final CardInSet card : section.getValue()) {
+                            writeString(out, card.name);
+                            writeString(out, card.collectorNumber);
+                            out.writeByte(card.rarity.ordinal());
+                            writeString(out, card.artistName);
+                        }
+                    }
+                    out.writeInt(edition.tokens.size());
+                    for (final Map.Entry<String, Integer> token : edition.tokens.entrySet()) {
+                        writeString(out, token.getKey());
+                        out.writeInt(token.getValue());
+                    }
+                    out.writeInt(edition.customPrintSheets.size());
+                    for (final Map.Entry<String, List<String>> sheet : edition.customPrintSheets.entrySet()) {
+                        writeString(out, sheet.getKey());
+                        writeLines(out, sheet.getValue());
+                    }
+                    writeLines(out, edition.metadata);
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            System.err.printf("Error writing edition snapshot \"%s\": %s%n", file.getAbsolutePath(), e);
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    private static List<String> readLines(final ByteBuffer buf) {
+        final String[] lines = new String[buf.getInt()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = readString(buf);
+        }
+        return Arrays.asList(lines);
+    }
+
+    private static void writeLines(final DataOutputStream out, final List<String> lines) throws IOException {
+        out.writeInt(lines.size());
+        for (final String line : lines) {
+            writeString(out, line);
+        }
+    }
+
+    // null is written as a length of -1, collector numbers and artists are often missing
+    private static String readString(final ByteBuffer buf) {
+        final int length = buf.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(final DataOutputStream out, final String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -32,6 +32,8 @@ import java.util.Random;
 public class MyRandom {
     /** Constant <code>random</code>. */
     private static Random random = new SecureRandom();
+    /** Used instead of <code>random</code> on threads that run a seeded game. */
+    private static final ThreadLocal<Random> threadRandom = new ThreadLocal<>();
 
     /**
      * <p>
@@ -53,14 +55,30 @@ public class MyRandom {
      * @return the random
      */
     public static Random getRandom() {
-        return MyRandom.random;
+        final Random r = threadRandom.get();
+        return r != null ? r : MyRandom.random;
+    }
+
+    /**
+     * Makes the current thread use its own random, e.g. to replay a simulated
+     * game from a seed while other games run on other threads.
+     * 
+     * @param r
+     *            the random to use, or null to go back to the shared one
+     */
+    public static void setThreadRandom(final Random r) {
+        if (r == null) {
+            threadRandom.remove();
+        } else {
+            threadRandom.set(r);
+        }
     }
 
     public static int[] splitIntoRandomGroups(final int value, final int numGroups) {
         int[] groups = new int[numGroups];
         
         for (int i = 0; i < value; i++) {
-            groups[random.nextInt(numGroups)]++;
+            groups[getRandom().nextInt(numGroups)]++;
         }
 
         return groups;
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.regex.Pattern;
 
 import forge.item.IPaperCard;
 import org.apache.commons.lang3.ArrayUtils;
@@ -327,9 +328,11 @@ public class TextUtil {
      */
     public static String toSortableName(String printedName) {
         if (printedName.startsWith("\"")) printedName = printedName.substring(1);
-        return moveArticleToEnd(printedName).toLowerCase().replaceAll("[^\\s'0-9a-z]", "");
+        return NOT_SORTABLE.matcher(moveArticleToEnd(printedName).toLowerCase()).replaceAll("");
     }
 
+    private static final Pattern NOT_SORTABLE = Pattern.compile("[^\\s'0-9a-z]");
+
 
     /**
      * Article words. These words get kicked to the end of a sortable name.
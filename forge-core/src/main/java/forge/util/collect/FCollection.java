@@ -1,15 +1,20 @@
 package forge.util.collect;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.AbstractSet;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -18,36 +23,72 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Ordering;
-import com.google.common.collect.Sets;
 
 /**
  * Collection with unique elements ({@link Set}) that maintains the order in
  * which the elements are added to it ({@link List}).
  *
+ * The elements are stored in a plain array in insertion order. Membership is
+ * answered by a linear scan while the collection is small, and by an
+ * open-addressing hash index of array positions once it grows beyond
+ * {@link #INDEX_THRESHOLD} elements. The index is built lazily on the first
+ * lookup that needs it, kept up to date on appends and removals, and
+ * dropped on any other change that moves elements around.
+ *
+ * Like the collections of java.util, this class is not thread-safe: a
+ * collection that is changed on one thread must not be read on another
+ * without synchronization outside of it.
+ *
  * This object is serializable if all elements it contains are.
  *
  * @param <T> the type of the elements this collection contains.
  * @see FCollectionView
  */
 public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>, Cloneable, Serializable {
-    private static final long serialVersionUID = -1664555336364294106L;
+    private static final long serialVersionUID = -3468721447185672307L;
 
     private static final FCollection<?> EMPTY = new EmptyFCollection<>();
 
+    /**
+     * Collections up to this size are searched linearly and never build an
+     * index.
+     */
+    static final int INDEX_THRESHOLD = 8;
+
+    private static final int DEFAULT_CAPACITY = 4;
+
     @SuppressWarnings("unchecked")
     public static <T> FCollection<T> getEmpty() {
         return (FCollection<T>) EMPTY;
     }
 
     /**
-     * The {@link Set} representation of this collection.
+     * The elements of this collection, in order. Slots from {@link #size}
+     * onwards are always {@code null}.
+     */
+    private transient Object[] elements = ArrayUtils.EMPTY_OBJECT_ARRAY;
+
+    /**
+     * The number of elements in this collection.
+     */
+    private int size;
+
+    /**
+     * Open-addressing table mapping an element hash to its position in
+     * {@link #elements}, stored as {@code position + 1} so that {@code 0}
+     * marks a free slot. {@code null} while no index has been built.
      */
-    private final Set<T> set = Sets.newHashSet();
+    private transient int[] index;
 
     /**
-     * The {@link List} representation of this collection.
+     * Structural modification counter, used by the iterators to fail fast.
      */
-    private final LinkedList<T> list = Lists.newLinkedList();
+    private transient int modCount;
+
+    /**
+     * The {@link Set} view of this collection, created on demand.
+     */
+    private transient Set<T> setView;
 
     /**
      * Create an empty {@link FCollection}.
@@ -86,6 +127,9 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      *            creation.
      */
     public FCollection(final Iterable<? extends T> i) {
+        if (i instanceof Collection) {
+            ensureCapacity(((Collection<?>) i).size());
+        }
         this.addAll(i);
     }
 
@@ -132,13 +176,18 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
     }
 
     /**
-     * <p>This implementation uses the hash code of the backing list.</p>
+     * <p>This implementation follows {@link List#hashCode()}.</p>
      *
      * {@inheritDoc}
      */
     @Override
     public int hashCode() {
-        return list.hashCode();
+        int hashCode = 1;
+        for (int i = 0; i < size; i++) {
+            final Object e = elements[i];
+            hashCode = 31 * hashCode + (e == null ? 0 : e.hashCode());
+        }
+        return hashCode;
     }
 
     /**
@@ -148,7 +197,18 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public String toString() {
-        return list.toString();
+        if (size == 0) {
+            return "[]";
+        }
+        final StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            final Object e = elements[i];
+            sb.append(e == this ? "(this Collection)" : String.valueOf(e));
+        }
+        return sb.append(']').toString();
     }
 
     /**
@@ -157,7 +217,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public final FCollection<T> clone() {
-        return new FCollection<>(list);
+        return new FCollection<>(this);
     }
 
     /**
@@ -168,7 +228,10 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public T getFirst() {
-        return list.getFirst();
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elementAt(0);
     }
 
     /**
@@ -179,7 +242,10 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public T getLast() {
-        return list.getLast();
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elementAt(size - 1);
     }
 
     /**
@@ -187,7 +253,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public int size() {
-        return set.size();
+        return size;
     }
 
     /**
@@ -195,11 +261,19 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean isEmpty() {
-        return set.isEmpty();
+        return size == 0;
     }
-    
+
+    /**
+     * Get a {@link Set} view of this collection. The view is backed by this
+     * collection, so removing an element through it removes it from the
+     * collection as well.
+     */
     public Set<T> asSet() {
-        return set;
+        if (setView == null) {
+            setView = new SetView();
+        }
+        return setView;
     }
 
     /**
@@ -210,7 +284,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean contains(final Object o) {
-        return set.contains(o);
+        return indexOf(o) >= 0;
     }
 
     /**
@@ -218,7 +292,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public Iterator<T> iterator() {
-        return list.iterator();
+        return new Itr(0);
     }
 
     /**
@@ -226,16 +300,23 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public Object[] toArray() {
-        return list.toArray();
+        return Arrays.copyOf(elements, size);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @SuppressWarnings("hiding")
+    @SuppressWarnings({ "hiding", "unchecked" })
     public <T> T[] toArray(final T[] a) {
-        return list.toArray(a);
+        if (a.length < size) {
+            return (T[]) Arrays.copyOf(elements, size, a.getClass());
+        }
+        System.arraycopy(elements, 0, a, 0, size);
+        if (a.length > size) {
+            a[size] = null;
+        }
+        return a;
     }
 
     /**
@@ -247,11 +328,11 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean add(final T e) {
-        if (set.add(e)) {
-            list.add(e);
-            return true;
+        if (indexOf(e) >= 0) {
+            return false;
         }
-        return false;
+        append(e);
+        return true;
     }
 
     /**
@@ -263,11 +344,12 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean remove(final Object o) {
-        if (set.remove(o)) {
-            list.remove(o);
-            return true;
+        final int i = indexOf(o);
+        if (i < 0) {
+            return false;
         }
-        return false;
+        removeAt(i);
+        return true;
     }
 
     /**
@@ -275,7 +357,12 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean containsAll(final Collection<?> c) {
-        return set.containsAll(c);
+        for (final Object o : c) {
+            if (!contains(o)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -283,6 +370,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean addAll(final Collection<? extends T> c) {
+        ensureCapacity(size + c.size());
         return addAll((Iterable<? extends T>) c);
     }
 
@@ -312,6 +400,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      * @return whether this collection changed as a result of this method call.
      */
     public boolean addAll(final T[] c) {
+        ensureCapacity(size + c.length);
         boolean changed = false;
         for (final T e : c) {
             changed |= add(e);
@@ -371,11 +460,20 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean retainAll(final Collection<?> c) {
-        if (set.retainAll(c)) {
-            list.retainAll(c);
-            return true;
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            final Object e = elements[i];
+            if (c.contains(e)) {
+                elements[kept++] = e;
+            }
+        }
+        if (kept == size) {
+            return false;
         }
-        return false;
+        Arrays.fill(elements, kept, size, null);
+        size = kept;
+        structureChanged();
+        return true;
     }
 
     /**
@@ -383,9 +481,10 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public void clear() {
-        if (set.isEmpty()) { return; }
-        set.clear();
-        list.clear();
+        if (size == 0) { return; }
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+        structureChanged();
     }
 
     /**
@@ -393,17 +492,22 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public T get(final int index) {
-        return list.get(index);
+        checkIndex(index);
+        return elementAt(index);
     }
 
     /**
      * Set the element at an index to a value. WARNING: this method doesn't
-     * update the set and should only be used in a situation where the set of
-     * elements in this collection is invariant.
+     * check for duplicates and should only be used in a situation where the
+     * set of elements in this collection is invariant.
      */
     @Override
-    public T set(final int index, final T element) { //assume this isn't called except when changing list order, so don't worry about updating set
-        return list.set(index, element);
+    public T set(final int index, final T element) { //assume this isn't called except when changing list order, so don't worry about duplicates
+        checkIndex(index);
+        final T old = elementAt(index);
+        elements[index] = element;
+        this.index = null;
+        return old;
     }
 
     /**
@@ -424,12 +528,23 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      * @return whether this collection changed as a result of this method call.
      */
     private boolean insert(int index, final T element) {
-        if (set.add(element)) {
-            list.add(index, element);
+        final int oldIndex = indexOf(element);
+        if (oldIndex < 0) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            if (index == size) {
+                append(element);
+                return true;
+            }
+            ensureCapacity(size + 1);
+            System.arraycopy(elements, index, elements, index + 1, size - index);
+            elements[index] = element;
+            size++;
+            structureChanged();
             return true;
         }
         //re-position in list if needed
-        final int oldIndex = list.indexOf(element);
         if (index == oldIndex) {
             return false;
         }
@@ -437,8 +552,13 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
         if (index > oldIndex) {
             index--; //account for being removed
         }
-        list.remove(oldIndex);
-        list.add(index, element);
+        if (index < oldIndex) {
+            System.arraycopy(elements, index, elements, index + 1, oldIndex - index);
+        } else {
+            System.arraycopy(elements, oldIndex + 1, elements, oldIndex, index - oldIndex);
+        }
+        elements[index] = element;
+        structureChanged();
         return true;
     }
 
@@ -447,10 +567,9 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public T remove(final int index) {
-        final T removedItem = list.remove(index);
-        if (removedItem != null) {
-            set.remove(removedItem);
-        }
+        checkIndex(index);
+        final T removedItem = elementAt(index);
+        removeAt(index);
         return removedItem;
     }
 
@@ -459,7 +578,23 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public int indexOf(final Object o) {
-        return list.indexOf(o);
+        if (size <= INDEX_THRESHOLD) {
+            return scan(o);
+        }
+        int[] index = this.index;
+        if (index == null) {
+            index = buildIndex();
+        }
+        final int mask = index.length - 1;
+        for (int slot = hash(o) & mask; ; slot = (slot + 1) & mask) {
+            final int pos = index[slot];
+            if (pos == 0) {
+                return -1;
+            }
+            if (Objects.equals(o, elements[pos - 1])) {
+                return pos - 1;
+            }
+        }
     }
 
     /**
@@ -467,7 +602,8 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public int lastIndexOf(final Object o) {
-        return list.lastIndexOf(o);
+        //elements are unique, so the first occurrence is also the last
+        return indexOf(o);
     }
 
     /**
@@ -475,7 +611,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public ListIterator<T> listIterator() {
-        return list.listIterator();
+        return new Itr(0);
     }
 
     /**
@@ -483,7 +619,10 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public ListIterator<T> listIterator(final int index) {
-        return list.listIterator(index);
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new Itr(index);
     }
 
     /**
@@ -495,8 +634,12 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      * {@inheritDoc}
      */
     @Override
+    @SuppressWarnings("unchecked")
     public List<T> subList(final int fromIndex, final int toIndex) {
-        return ImmutableList.copyOf(list.subList(fromIndex, toIndex));
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", Size: " + size);
+        }
+        return ImmutableList.copyOf(Arrays.asList((T[]) elements).subList(fromIndex, toIndex));
     }
 
     /**
@@ -514,17 +657,24 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
     /**
      * {@inheritDoc}
      */
+    @Override
+    @SuppressWarnings("unchecked")
     public void sort(final Comparator<? super T> comparator) {
-        Collections.sort(list, comparator);
+        if (size < 2) {
+            return;
+        }
+        Arrays.sort((T[]) elements, 0, size, comparator);
+        structureChanged();
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @SuppressWarnings("unchecked")
     public Iterable<T> threadSafeIterable() {
-        //create a new linked list for iterating to make it thread safe and avoid concurrent modification exceptions
-        return Iterables.unmodifiableIterable(new LinkedList<>(list));
+        //iterate over a snapshot of the elements to make it thread safe and avoid concurrent modification exceptions
+        return Iterables.unmodifiableIterable(Arrays.asList((T[]) Arrays.copyOf(elements, size)));
     }
 
     @Override
@@ -532,13 +682,290 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
         if (obj == null) {
             return null;
         }
-        for(T x : this) {
-            if (x.equals(obj)) {
-                return x;
+        final int i = indexOf(obj);
+        return i >= 0 ? elementAt(i) : obj;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(final int i) {
+        return (T) elements[i];
+    }
+
+    private void checkIndex(final int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        }
+    }
+
+    private void ensureCapacity(final int minCapacity) {
+        if (minCapacity <= elements.length) {
+            return;
+        }
+        int newCapacity = Math.max(DEFAULT_CAPACITY, elements.length + (elements.length >> 1));
+        if (newCapacity < minCapacity) {
+            newCapacity = minCapacity;
+        }
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    /**
+     * Append an element known not to be in this collection, keeping the index
+     * up to date if one has been built.
+     */
+    private void append(final T e) {
+        ensureCapacity(size + 1);
+        elements[size++] = e;
+        modCount++;
+        final int[] index = this.index;
+        if (index != null) {
+            if (size * 2 > index.length) {
+                buildIndex();
+            } else {
+                putIndex(index, e, size);
+            }
+        }
+    }
+
+    private void removeAt(final int i) {
+        if (index != null) {
+            if (size - 1 <= INDEX_THRESHOLD) {
+                index = null;
+            } else {
+                removeIndex(i);
             }
         }
-        return obj;
+        final int moved = size - i - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, i + 1, elements, i, moved);
+        }
+        elements[--size] = null;
+        modCount++;
     }
+
+    /**
+     * Take the element at a position out of the index and move the positions
+     * after it one down, as they will be once it's removed from the array.
+     */
+    private void removeIndex(final int i) {
+        final int[] index = this.index;
+        final int mask = index.length - 1;
+        int free = hash(elements[i]) & mask;
+        while (index[free] != i + 1) {
+            free = (free + 1) & mask;
+        }
+        // move up the entries after the freed slot that can't be found past it anymore
+        for (int slot = (free + 1) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            final int home = hash(elements[index[slot] - 1]) & mask;
+            final boolean reachable = free <= slot ? free < home && home <= slot : free < home || home <= slot;
+            if (!reachable) {
+                index[free] = index[slot];
+                free = slot;
+            }
+        }
+        index[free] = 0;
+        for (int slot = 0; slot < index.length; slot++) {
+            if (index[slot] > i + 1) {
+                index[slot]--;
+            }
+        }
+    }
+
+    /**
+     * Called after any change that moves elements to different positions; the
+     * index is rebuilt on the next lookup that needs it.
+     */
+    private void structureChanged() {
+        modCount++;
+        index = null;
+    }
+
+    private int scan(final Object o) {
+        if (o == null) {
+            for (int i = 0; i < size; i++) {
+                if (elements[i] == null) {
+                    return i;
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                if (o.equals(elements[i])) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Build the index for the elements there are now.
+     */
+    private int[] buildIndex() {
+        final int capacity = Integer.highestOneBit(Math.max(size, INDEX_THRESHOLD) * 4 - 1);
+        final int[] newIndex = new int[capacity];
+        for (int i = 0; i < size; i++) {
+            putIndex(newIndex, elements[i], i + 1);
+        }
+        index = newIndex;
+        return newIndex;
+    }
+
+    private static void putIndex(final int[] index, final Object e, final int pos) {
+        final int mask = index.length - 1;
+        int slot = hash(e) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = pos;
+    }
+
+    private static int hash(final Object o) {
+        if (o == null) {
+            return 0;
+        }
+        final int h = o.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        for (int i = 0; i < size; i++) {
+            out.writeObject(elements[i]);
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        elements = size == 0 ? ArrayUtils.EMPTY_OBJECT_ARRAY : new Object[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = in.readObject();
+        }
+    }
+
+    /**
+     * Iterator over the backing array. Removal and replacement go through the
+     * owning collection, so the index never gets out of sync.
+     */
+    private final class Itr implements ListIterator<T> {
+        private int cursor;
+        private int lastRet = -1;
+        private int expectedModCount = modCount;
+
+        private Itr(final int cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            lastRet = cursor++;
+            return elementAt(lastRet);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public T previous() {
+            checkForComodification();
+            if (cursor <= 0) {
+                throw new NoSuchElementException();
+            }
+            lastRet = --cursor;
+            return elementAt(lastRet);
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastRet < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            removeAt(lastRet);
+            cursor = lastRet;
+            lastRet = -1;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(final T e) {
+            if (lastRet < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            FCollection.this.set(lastRet, e);
+        }
+
+        @Override
+        public void add(final T e) {
+            checkForComodification();
+            insert(cursor, e);
+            cursor = indexOf(e) + 1;
+            lastRet = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * {@link Set} view returned by {@link #asSet()}.
+     */
+    private final class SetView extends AbstractSet<T> {
+        @Override
+        public Iterator<T> iterator() {
+            return FCollection.this.iterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return FCollection.this.contains(o);
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            return FCollection.this.remove(o);
+        }
+
+        @Override
+        public boolean add(final T e) {
+            return FCollection.this.add(e);
+        }
+
+        @Override
+        public void clear() {
+            FCollection.this.clear();
+        }
+    }
+
     /**
      * An unmodifiable, empty {@link FCollection}. Overrides all methods with
      * default implementations suitable for an empty collection, to improve
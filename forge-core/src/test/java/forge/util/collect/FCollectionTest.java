@@ -0,0 +1,135 @@
+package forge.util.collect;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+public class FCollectionTest {
+    private static final int MAX_SIZE = FCollection.INDEX_THRESHOLD * 4;
+
+    private static void assertSame(final List<String> expected, final FCollection<String> actual) {
+        AssertJUnit.assertEquals(expected, new ArrayList<>(actual));
+        for (int i = 0; i < expected.size(); i++) {
+            AssertJUnit.assertEquals(i, actual.indexOf(expected.get(i)));
+            AssertJUnit.assertTrue(actual.contains(expected.get(i)));
+        }
+        AssertJUnit.assertEquals(-1, actual.indexOf("missing"));
+        AssertJUnit.assertFalse(actual.contains("missing"));
+    }
+
+    @Test
+    public void testAddAcrossThreshold() {
+        final List<String> expected = new ArrayList<>();
+        final FCollection<String> actual = new FCollection<>();
+        for (int i = 0; i < MAX_SIZE; i++) {
+            expected.add("e" + i);
+            AssertJUnit.assertTrue(actual.add("e" + i));
+            assertSame(expected, actual);
+        }
+        // duplicates aren't added
+        AssertJUnit.assertFalse(actual.add("e0"));
+        assertSame(expected, actual);
+    }
+
+    @Test
+    public void testRemoveAcrossThreshold() {
+        final List<String> expected = new ArrayList<>();
+        final FCollection<String> actual = new FCollection<>();
+        for (int i = 0; i < MAX_SIZE; i++) {
+            expected.add("e" + i);
+            actual.add("e" + i);
+        }
+        // remove from the middle, the front and by index until the index is no longer used
+        while (!expected.isEmpty()) {
+            final String e = expected.get(expected.size() / 2);
+            expected.remove(e);
+            AssertJUnit.assertTrue(actual.remove(e));
+            AssertJUnit.assertFalse(actual.remove(e));
+            assertSame(expected, actual);
+            if (!expected.isEmpty()) {
+                AssertJUnit.assertEquals(expected.remove(0), actual.remove(0));
+                assertSame(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void testRemoveWithCollidingHashes() {
+        // few hash codes, so that the index is full of runs of colliding elements
+        final class Colliding {
+            private final int n;
+
+            Colliding(final int n) {
+                this.n = n;
+            }
+
+            @Override
+            public int hashCode() {
+                return n % 3;
+            }
+        }
+        final List<Colliding> expected = new ArrayList<>();
+        final FCollection<Colliding> actual = new FCollection<>();
+        for (int i = 0; i < MAX_SIZE; i++) {
+            expected.add(new Colliding(i));
+            actual.add(expected.get(i));
+        }
+        while (!expected.isEmpty()) {
+            final Colliding e = expected.remove((expected.size() * 2) / 3);
+            AssertJUnit.assertTrue(actual.remove(e));
+            AssertJUnit.assertEquals(expected, new ArrayList<>(actual));
+            for (int i = 0; i < expected.size(); i++) {
+                AssertJUnit.assertEquals(i, actual.indexOf(expected.get(i)));
+            }
+            AssertJUnit.assertFalse(actual.contains(e));
+        }
+    }
+
+    @Test
+    public void testInsertAcrossThreshold() {
+        final List<String> expected = new ArrayList<>();
+        final FCollection<String> actual = new FCollection<>();
+        for (int i = 0; i < MAX_SIZE; i++) {
+            final int pos = i % 3 == 0 ? 0 : expected.size() / 2;
+            expected.add(pos, "e" + i);
+            actual.add(pos, "e" + i);
+            assertSame(expected, actual);
+        }
+        // inserting an element that is there already moves it
+        final String last = expected.remove(expected.size() - 1);
+        expected.add(1, last);
+        actual.add(1, last);
+        assertSame(expected, actual);
+    }
+
+    @Test
+    public void testReorderAcrossThreshold() {
+        final List<String> expected = new ArrayList<>();
+        final FCollection<String> actual = new FCollection<>();
+        for (int i = 0; i < MAX_SIZE; i++) {
+            expected.add("e" + i);
+            actual.add("e" + i);
+        }
+        actual.indexOf("e0"); // build the index
+        Collections.reverse(expected);
+        actual.sort(Collections.reverseOrder(new Comparator<String>() {
+            @Override
+            public int compare(final String a, final String b) {
+                return Integer.compare(Integer.parseInt(a.substring(1)), Integer.parseInt(b.substring(1)));
+            }
+        }));
+        assertSame(expected, actual);
+
+        expected.set(3, "replaced");
+        actual.set(3, "replaced");
+        assertSame(expected, actual);
+
+        expected.clear();
+        actual.clear();
+        assertSame(expected, actual);
+    }
+}
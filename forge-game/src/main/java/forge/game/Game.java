@@ -26,6 +26,8 @@ import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.apache.commons.lang3.tuple.Pair;
 
@@ -38,7 +40,6 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Table;
-import com.google.common.eventbus.EventBus;
 
 import forge.GameCommand;
 import forge.card.CardRarity;
@@ -57,8 +58,11 @@ import forge.game.card.CardZoneTable;
 import forge.game.card.CounterType;
 import forge.game.combat.Combat;
 import forge.game.event.Event;
+import forge.game.event.EventDispatcher;
+import forge.game.event.GameEvent;
 import forge.game.event.GameEventDayTimeChanged;
 import forge.game.event.GameEventGameOutcome;
+import forge.game.event.IEventSubscriber;
 import forge.game.phase.Phase;
 import forge.game.phase.PhaseHandler;
 import forge.game.phase.PhaseType;
@@ -88,8 +92,8 @@ import forge.util.collect.FCollection;
  */
 public class Game {
 
-    private static int maxId = 0;
-    private static int nextId() { return ++maxId; }
+    private static final AtomicInteger maxId = new AtomicInteger();
+    private static int nextId() { return maxId.incrementAndGet(); }
 
     /** The ID. */
     private int id;
@@ -113,10 +117,14 @@ public class Game {
     private final StaticEffects staticEffects = new StaticEffects();
     private final TriggerHandler triggerHandler = new TriggerHandler(this);
     private final ReplacementHandler replacementHandler = new ReplacementHandler(this);
-    private final EventBus events = new EventBus("game events");
+    private final EventDispatcher events = new EventDispatcher("game events");
     private final GameLog gameLog = new GameLog();
 
     private final Zone stackZone = new Zone(ZoneType.Stack, this);
+    // the cards of all players in each zone by ordinal, see getCardsIn
+    private final AtomicReferenceArray<CardsInZone> cardsInZone = new AtomicReferenceArray<>(ZoneType.values().length);
+    // the cards in the zones forEachCardInGame visits, by their id
+    private final Map<Integer, Card> cardsById = Maps.newHashMap();
 
     private CardCollection lastStateBattlefield = new CardCollection();
     private CardCollection lastStateGraveyard = new CardCollection();
@@ -141,10 +149,12 @@ public class Game {
     private Boolean daytime = null;
 
     private long timestamp = 0;
+    private int activations = 0;
     public final GameAction action;
     private final Match match;
     private GameStage age = GameStage.BeforeMulligan;
     private GameOutcome outcome;
+    private volatile boolean stopRequested;
     private final Game maingame;
 
     private final GameView view;
@@ -332,7 +342,7 @@ public class Game {
         // update players
         view.updatePlayers(this);
 
-        subscribeToEvents(gameLog.getEventVisitor());
+        subscribeToEvents(GameEvent.class, gameLog.getEventSubscriber());
     }
 
     public GameView getView() {
@@ -455,6 +465,19 @@ public class Game {
         view.updateGameLog(gameLog);
     }
 
+    /**
+     * A hash of the parts of the game state the AI compares when looking for the same position reached in a
+     * different way, see {@link GameStateHash}. The zones and counters keep their part up to date as they change,
+     * so this only combines them.
+     */
+    public long getStateHash() {
+        long hash = phaseHandler.getStateHash() ^ stackZone.getStateHash();
+        for (Player p : getRegisteredPlayers()) {
+            hash ^= p.getStateHash();
+        }
+        return hash;
+    }
+
     public final Zone getStackZone() {
         return stackZone;
     }
@@ -501,6 +524,19 @@ public class Game {
         return timestamp;
     }
 
+    /**
+     * Count an ability activated or resolved, which can change what the
+     * activation limits of abilities allow for the rest of the turn.
+     */
+    public final void countActivation() {
+        activations++;
+    }
+
+    /** @return how often abilities were activated or resolved in this game */
+    public final int getActivationCount() {
+        return activations;
+    }
+
     public final GameOutcome getOutcome() {
         return outcome;
     }
@@ -543,15 +579,73 @@ public class Game {
         }
     }
 
+    /**
+     * Ask the thread playing this game to end it as a draw. It does so
+     * before the next player gets priority.
+     */
+    public void requestStop() {
+        stopRequested = true;
+    }
+
+    public boolean isStopRequested() {
+        return stopRequested;
+    }
+
     public Zone getZoneOf(final Card card) {
         return card.getLastKnownZone();
     }
 
-    public synchronized CardCollectionView getCardsIn(final ZoneType zone) {
+    /**
+     * @return the cards of all players in the zone. Except for the stack and flashback, this is kept until a card
+     * is added to or removed from the zone of any player, so it must not be changed.
+     */
+    public CardCollectionView getCardsIn(final ZoneType zone) {
         if (zone == ZoneType.Stack) {
             return getStackZone().getCards();
         }
-        return getPlayers().getCardsIn(zone);
+        if (zone == ZoneType.Flashback) {
+            return getPlayers().getCardsIn(zone);
+        }
+        final PlayerCollection players = getPlayers();
+        CardsInZone cards = cardsInZone.get(zone.ordinal());
+        if (cards == null || !cards.isCurrent(players, zone)) {
+            cards = new CardsInZone(players, zone);
+            cardsInZone.set(zone.ordinal(), cards);
+        }
+        return cards.cards;
+    }
+
+    /**
+     * The cards of all players in a zone, with the version of each zone they were taken from.
+     * It's never changed, so it can be read from any thread.
+     */
+    private static final class CardsInZone {
+        final Zone[] zones;
+        final int[] versions;
+        final CardCollectionView cards;
+
+        CardsInZone(final PlayerCollection players, final ZoneType zone) {
+            zones = new Zone[players.size()];
+            versions = new int[zones.length];
+            for (int i = 0; i < zones.length; i++) {
+                zones[i] = players.get(i).getZone(zone);
+                versions[i] = zones[i] == null ? 0 : zones[i].getVersion();
+            }
+            cards = players.getCardsIn(zone);
+        }
+
+        boolean isCurrent(final PlayerCollection players, final ZoneType zone) {
+            if (players.size() != zones.length) {
+                return false;
+            }
+            for (int i = 0; i < zones.length; i++) {
+                final Zone z = players.get(i).getZone(zone);
+                if (z != zones[i] || (z != null && z.getVersion() != versions[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 
     public CardCollectionView getCardsIncludePhasingIn(final ZoneType zone) {
@@ -587,11 +681,23 @@ public class Game {
     }
 
     public boolean isCardInPlay(final String cardName) {
-        return Iterables.any(getCardsIn(ZoneType.Battlefield), CardPredicates.nameEquals(cardName));
+        for (final Player p : getPlayers()) {
+            for (final Card c : p.getZone(ZoneType.Battlefield).getCardsNamed(cardName)) {
+                if (!c.isPhasedOut()) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     public boolean isCardInCommand(final String cardName) {
-        return Iterables.any(getCardsIn(ZoneType.Command), CardPredicates.nameEquals(cardName));
+        for (final Player p : getPlayers()) {
+            if (!p.getZone(ZoneType.Command).getCardsNamed(cardName).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public CardCollectionView getColoredCardsInPlay(final String color) {
@@ -602,34 +708,12 @@ public class Game {
         return cards;
     }
 
-    private static class CardStateVisitor extends Visitor<Card> {
-        Card found = null;
-        Card old = null;
-
-        private CardStateVisitor(final Card card) {
-            this.old = card;
-        }
-
-        @Override
-        public boolean visit(Card object) {
-            if (object.equals(old)) {
-                found = object;
-            }
-            return found == null;
-        }
-
-        public Card getFound(final Card notFound) {
-            return found == null ? notFound : found;
-        }
-    }
-
     public Card getCardState(final Card card) {
         return getCardState(card, card);
     }
     public Card getCardState(final Card card, final Card notFound) {
-        CardStateVisitor visit = new CardStateVisitor(card);
-        this.forEachCardInGame(visit);
-        return visit.getFound(notFound);
+        final Card found = findById(card.getId());
+        return found == null ? notFound : found;
     }
 
     private static class CardIdVisitor extends Visitor<Card> {
@@ -663,15 +747,41 @@ public class Game {
         } else if (view.getController() != null && view.getZone() != null) {
             visit.visitAll(getPlayer(view.getController()).getZone(view.getZone()));
         } else { // fallback if view doesn't has controller or zone set for some reason
-            forEachCardInGame(visit);
+            return findById(view.getId());
         }
         return visit.getFound();
     }
 
+    /**
+     * @return the card with the given id in any of the zones {@link #forEachCardInGame} visits, or null
+     */
     public Card findById(int id) {
-        CardIdVisitor visit = new CardIdVisitor(id);
-        this.forEachCardInGame(visit);
-        return visit.getFound();
+        final Card c = cardsById.get(id);
+        if (c != null) {
+            return c;
+        }
+        for (final Player player : getPlayers()) {
+            for (final Card token : player.getInboundTokens()) {
+                if (token.getId() == id) {
+                    return token;
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Called by the zones whose cards {@link #findById} finds when a card is added to one of them. */
+    public void putCardById(final Card c) {
+        cardsById.put(c.getId(), c);
+    }
+
+    /** Called by the zones whose cards {@link #findById} finds when a card is removed from one of them. */
+    public void removeCardById(final Card c, final Zone zone) {
+        final Card found = cardsById.get(c.getId());
+        // the card with this id may already be in another zone
+        if (found != null && (found == c || found.getLastKnownZone() == zone)) {
+            cardsById.remove(c.getId());
+        }
     }
 
     // Allows visiting cards in game without allocating a temporary list.
@@ -897,10 +1007,13 @@ public class Game {
      * The events are sent to UI, log and sound system. Network listeners are under development.
      */
     public void fireEvent(final Event event) {
+        if (event instanceof GameEvent && rules.getStaticAbilityCheckMode() != StaticAbilityCheckMode.FULL) {
+            staticEffects.getLayerTracker().onEvent((GameEvent) event);
+        }
         events.post(event);
     }
-    public void subscribeToEvents(final Object subscriber) {
-        events.register(subscriber);
+    public <E extends Event> void subscribeToEvents(final Class<E> type, final IEventSubscriber<? super E> subscriber) {
+        events.subscribe(type, subscriber);
     }
 
     public GameRules getRules() {
@@ -1130,81 +1130,115 @@ public class GameAction {
         }
         game.getTracker().freeze(); //prevent views flickering during while updating for state-based effects
 
-        // remove old effects
-        game.getStaticEffects().clearStaticEffects(affectedCards);
-
-        for (final Player p : game.getPlayers()) {
-            if (!game.getStack().isFrozen()) {
-                p.getManaPool().restoreColorReplacements();
-            }
-            p.clearStaticAbilities();
+        final StaticAbilityCheckMode mode = game.getRules().getStaticAbilityCheckMode();
+        final StaticLayerTracker layerTracker = game.getStaticEffects().getLayerTracker();
+        // preList means that this is run by a pre Check with LKI objects, which always needs a full pass
+        final boolean incremental = mode != StaticAbilityCheckMode.FULL && preList.isEmpty();
+        if (incremental && !layerTracker.isDirty() && !layerTracker.getPendingAbilities().isEmpty()) {
+            reapplyPendingAbilities(layerTracker, affectedCards);
         }
+        final boolean upToDate = incremental && layerTracker.isUpToDate();
+        final boolean recompute = !upToDate || mode == StaticAbilityCheckMode.VERIFY;
+        final Map<String, String> keptEffects = upToDate && recompute ? StaticLayerTracker.snapshot(game) : null;
 
         // search for cards with static abilities
         final FCollection<StaticAbility> staticAbilities = new FCollection<>();
         final CardCollection staticList = new CardCollection();
-
-        game.forEachCardInGame(new Visitor<Card>() {
+        final Visitor<Card> collectStatics = new Visitor<Card>() {
             @Override
             public boolean visit(final Card c) {
                 // need to get Card from preList if able
                 final Card co = preList.get(c);
-                for (StaticAbility stAb : co.getStaticAbilities()) {
-                    if (stAb.getParam("Mode").equals("Continuous")) {
-                        staticAbilities.add(stAb);
+                if (recompute) {
+                    for (StaticAbility stAb : co.getStaticAbilities()) {
+                        if (stAb.getParam("Mode").equals("Continuous")) {
+                            staticAbilities.add(stAb);
+                        }
                     }
-                 }
+                }
                  if (!co.getStaticCommandList().isEmpty()) {
                      staticList.add(co);
                  }
                  return true;
             }
-        });
-
-        final Comparator<StaticAbility> comp = new Comparator<StaticAbility>() {
-            @Override
-            public int compare(final StaticAbility a, final StaticAbility b) {
-                return ComparisonChain.start()
-                        .compareTrueFirst(a.hasParam("CharacteristicDefining"), b.hasParam("CharacteristicDefining"))
-                        .compare(a.getHostCard().getTimestamp(), b.getHostCard().getTimestamp())
-                        .result();
-            }
         };
-        Collections.sort(staticAbilities, comp);
 
-        final Map<StaticAbility, CardCollectionView> affectedPerAbility = Maps.newHashMap();
-        for (final StaticAbilityLayer layer : StaticAbilityLayer.CONTINUOUS_LAYERS) {
-            List<StaticAbility> toAdd = Lists.newArrayList();
-            for (final StaticAbility stAb : staticAbilities) {
-                final CardCollectionView previouslyAffected = affectedPerAbility.get(stAb);
-                final CardCollectionView affectedHere;
-                if (previouslyAffected == null) {
-                    affectedHere = stAb.applyContinuousAbilityBefore(layer, preList);
-                    if (affectedHere != null) {
-                        affectedPerAbility.put(stAb, affectedHere);
+        if (recompute) {
+            final Map<StaticAbility, CardCollectionView> affectedPerAbility = Maps.newHashMap();
+            layerTracker.suspend();
+            try {
+                // remove old effects
+                game.getStaticEffects().clearStaticEffects(affectedCards);
+
+                for (final Player p : game.getPlayers()) {
+                    if (!game.getStack().isFrozen()) {
+                        p.getManaPool().restoreColorReplacements();
                     }
-                } else {
-                    affectedHere = previouslyAffected;
-                    stAb.applyContinuousAbility(layer, previouslyAffected);
-                }
-                if (affectedHere != null) {
-                    for (final Card c : affectedHere) {
-                        for (final StaticAbility st2 : c.getStaticAbilities()) {
-                            if (!staticAbilities.contains(st2)) {
-                                toAdd.add(st2);
-                                st2.applyContinuousAbilityBefore(layer, preList);
+                    p.clearStaticAbilities();
+                }
+
+                game.forEachCardInGame(collectStatics);
+
+                final Comparator<StaticAbility> comp = new Comparator<StaticAbility>() {
+                    @Override
+                    public int compare(final StaticAbility a, final StaticAbility b) {
+                        return ComparisonChain.start()
+                                .compareTrueFirst(a.hasParam("CharacteristicDefining"), b.hasParam("CharacteristicDefining"))
+                                .compare(a.getHostCard().getTimestamp(), b.getHostCard().getTimestamp())
+                                .result();
+                    }
+                };
+                Collections.sort(staticAbilities, comp);
+
+                for (final StaticAbilityLayer layer : StaticAbilityLayer.CONTINUOUS_LAYERS) {
+                    List<StaticAbility> toAdd = Lists.newArrayList();
+                    for (final StaticAbility stAb : staticAbilities) {
+                        final CardCollectionView previouslyAffected = affectedPerAbility.get(stAb);
+                        final CardCollectionView affectedHere;
+                        if (previouslyAffected == null) {
+                            affectedHere = stAb.applyContinuousAbilityBefore(layer, preList);
+                            if (affectedHere != null) {
+                                affectedPerAbility.put(stAb, affectedHere);
                             }
+                        } else {
+                            affectedHere = previouslyAffected;
+                            stAb.applyContinuousAbility(layer, previouslyAffected);
                         }
+                        if (affectedHere != null) {
+                            for (final Card c : affectedHere) {
+                                for (final StaticAbility st2 : c.getStaticAbilities()) {
+                                    if (!staticAbilities.contains(st2)) {
+                                        toAdd.add(st2);
+                                        st2.applyContinuousAbilityBefore(layer, preList);
+                                    }
+                                }
+                            }
+                        }
+                    }
+                    staticAbilities.addAll(toAdd);
+                }
+
+                for (final CardCollectionView affected : affectedPerAbility.values()) {
+                    if (affected != null) {
+                        Iterables.addAll(affectedCards, affected);
                     }
                 }
+            } finally {
+                layerTracker.resume();
             }
-            staticAbilities.addAll(toAdd);
-        }
 
-        for (final CardCollectionView affected : affectedPerAbility.values()) {
-            if (affected != null) {
-                Iterables.addAll(affectedCards, affected);
+            game.getStaticEffects().nextGeneration();
+            if (keptEffects != null) {
+                StaticLayerTracker.verify(keptEffects, StaticLayerTracker.snapshot(game));
+            }
+            if (incremental) {
+                layerTracker.record(staticAbilities, affectedPerAbility);
+            } else {
+                // effects now reflect preList, or nobody is keeping track of them
+                layerTracker.markDirty();
             }
+        } else {
+            game.forEachCardInGame(collectStatics);
         }
 
         for (final Card c : staticList) {
@@ -1276,11 +1310,61 @@ public class GameAction {
         // TODO filter out old copies from zone change
 
         if (runEvents && !affectedCards.isEmpty()) {
-            game.fireEvent(new GameEventCardStatsChanged(affectedCards));
+            layerTracker.suspend();
+            try {
+                game.fireEvent(new GameEventCardStatsChanged(affectedCards));
+            } finally {
+                layerTracker.resume();
+            }
         }
         game.getTracker().unfreeze();
     }
 
+    /**
+     * Apply only the abilities the layer tracker found to be touched since the
+     * last pass again, which only set or modify power and toughness, so that
+     * nothing else the other abilities look at changes.
+     */
+    private void reapplyPendingAbilities(final StaticLayerTracker layerTracker, final Set<Card> affectedCards) {
+        final List<StaticAbility> pending = Lists.newArrayList(layerTracker.getPendingAbilities());
+        final Map<StaticAbility, CardCollectionView> affectedPerAbility = Maps.newHashMap();
+        final Set<Card> touched = Sets.newHashSet();
+        for (final StaticEffect effect : game.getStaticEffects().getEffects()) {
+            if (pending.contains(effect.getStaticAbility())) {
+                Iterables.addAll(touched, effect.getAffectedCards());
+            }
+        }
+        final Set<Integer> abilitiesBefore = StaticLayerTracker.getContinuousAbilityIds(touched);
+        layerTracker.suspend();
+        try {
+            for (final StaticAbility stAb : pending) {
+                game.getStaticEffects().removeStaticEffect(stAb, touched);
+            }
+            for (final StaticAbilityLayer layer : StaticAbilityLayer.CONTINUOUS_LAYERS) {
+                for (final StaticAbility stAb : pending) {
+                    final CardCollectionView previouslyAffected = affectedPerAbility.get(stAb);
+                    if (previouslyAffected == null) {
+                        final CardCollectionView affectedHere = stAb.applyContinuousAbilityBefore(layer, CardCollection.EMPTY);
+                        if (affectedHere != null) {
+                            affectedPerAbility.put(stAb, affectedHere);
+                            Iterables.addAll(touched, affectedHere);
+                        }
+                    } else {
+                        stAb.applyContinuousAbility(layer, previouslyAffected);
+                    }
+                }
+            }
+        } finally {
+            layerTracker.resume();
+        }
+        for (final StaticAbility stAb : pending) {
+            layerTracker.recordReapplied(stAb, affectedPerAbility.get(stAb));
+        }
+        affectedCards.addAll(touched);
+        layerTracker.checkAbilitiesKept(abilitiesBefore, touched);
+        game.getStaticEffects().nextGeneration();
+    }
+
     public final void checkStateEffects(final boolean runEvents) {
         checkStateEffects(runEvents, Sets.newHashSet());
     }
@@ -1981,7 +2065,7 @@ public class GameAction {
 
         //shuffle
         List<Card> shuffledCards = Lists.newArrayList(p1.getZone(ZoneType.Library).getCards().threadSafeIterable());
-        Collections.shuffle(shuffledCards);
+        Collections.shuffle(shuffledCards, MyRandom.getRandom());
 
         //check a second hand
         List<Card> hand2 = shuffledCards.subList(0,p1.getMaxHandSize());
@@ -50,6 +50,9 @@ public abstract class GameEntity extends GameObject implements IIdentifiable {
     private String name = "";
     protected CardCollection attachedCards = new CardCollection();
     protected Map<CounterType, Integer> counters = Maps.newHashMap();
+    // whether the counters are shared with a copy of this entity, so they have to be copied before they are changed
+    private boolean countersShared;
+    private long countersHash;
     protected List<Pair<Integer, Boolean>> damageReceivedThisTurn = Lists.newArrayList();
 
     protected GameEntity(int id0) {
@@ -292,6 +295,8 @@ public abstract class GameEntity extends GameObject implements IIdentifiable {
     }
 
     public void setCounters(final CounterType counterType, final Integer num) {
+        unshareCounters();
+        countersHash ^= getCounterKey(counterType, getCounters(counterType)) ^ getCounterKey(counterType, num);
         if (num <= 0) {
             counters.remove(counterType);
         } else {
@@ -304,6 +309,45 @@ public abstract class GameEntity extends GameObject implements IIdentifiable {
 
     abstract public void setCounters(final Map<CounterType, Integer> allCounters);
 
+    /**
+     * Give a copy of this entity the same counters without copying them, until either of them changes them.
+     */
+    public final void shareCountersWith(final GameEntity copy) {
+        copy.setCounters(counters);
+        countersShared = true;
+        copy.countersShared = true;
+    }
+
+    protected final void unshareCounters() {
+        if (countersShared) {
+            counters = Maps.newHashMap(counters);
+            countersShared = false;
+        }
+    }
+
+    /**
+     * @return the xor of the {@link GameStateHash} keys of the counters on this entity
+     */
+    public final long getCountersHash() {
+        return countersHash;
+    }
+
+    /** To be called when the counters map is replaced or cleared. */
+    protected final void updateCountersHash() {
+        countersHash = 0;
+        for (Map.Entry<CounterType, Integer> e : counters.entrySet()) {
+            countersHash ^= getCounterKey(e.getKey(), e.getValue());
+        }
+    }
+
+    private long getCounterKey(final CounterType counterType, final int num) {
+        if (num <= 0) {
+            return 0;
+        }
+        final int kind = this instanceof Card ? GameStateHash.CARD_COUNTER : GameStateHash.PLAYER_COUNTER;
+        return GameStateHash.key(kind, id, counterType.hashCode(), num);
+    }
+
     abstract public boolean canReceiveCounters(final CounterType type);
     abstract public void subtractCounter(final CounterType counterName, final int n);
     abstract public void clearCounters();
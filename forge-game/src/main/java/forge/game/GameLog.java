@@ -22,7 +22,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Observable;
 
-import forge.game.event.IGameEventVisitor;
+import forge.game.event.GameEvent;
+import forge.game.event.IEventSubscriber;
 
 /**
  * <p>
@@ -93,7 +94,7 @@ public class GameLog extends Observable implements Serializable {
         return result;
     }
     
-    public IGameEventVisitor<?> getEventVisitor() {
+    public IEventSubscriber<GameEvent> getEventSubscriber() {
         return formatter;
     }
 }
@@ -6,7 +6,6 @@ import java.util.List;
 import java.util.Map.Entry;
 
 import com.google.common.collect.Iterables;
-import com.google.common.eventbus.Subscribe;
 
 import forge.LobbyPlayer;
 import forge.game.card.Card;
@@ -22,7 +21,7 @@ import forge.util.Localizer;
 import forge.util.TextUtil;
 import forge.util.maps.MapOfLists;
 
-public class GameLogFormatter extends IGameEventVisitor.Base<GameLogEntry> {
+public class GameLogFormatter extends IGameEventVisitor.Base<GameLogEntry> implements IEventSubscriber<GameEvent> {
     private final Localizer localizer = Localizer.getInstance();
     private final GameLog log;
     public GameLogFormatter(GameLog gameLog) {
@@ -290,8 +289,8 @@ public class GameLogFormatter extends IGameEventVisitor.Base<GameLogEntry> {
         return new GameLogEntry(GameLogEntryType.MULLIGAN, message);
     }
 
-    @Subscribe
-    public void recieve(GameEvent ev) {
+    @Override
+    public void receive(GameEvent ev) {
         GameLogEntry le = ev.visit(this);
         if (le != null) {
             log.add(le);
@@ -44,6 +44,22 @@ public abstract class GameObject {
      * @return true, if is valid
      */
     public boolean isValid(final String restriction, final Player sourceController, final Card source, CardTraitBase spellAbility) {
+        return isValid(ValidRestriction.of(restriction), sourceController, source, spellAbility);
+    }
+
+    /**
+     * Checks if is valid.
+     *
+     * @param restriction
+     *            the parsed restriction
+     * @param sourceController
+     *            the source controller
+     * @param source
+     *            the source
+     * @param spellAbility
+     * @return true, if is valid
+     */
+    public boolean isValid(final ValidRestriction restriction, final Player sourceController, final Card source, CardTraitBase spellAbility) {
         return false;
     }
 
@@ -19,6 +19,8 @@ public class GameRules {
     // same for me
     private boolean useGrayText;
 
+    private StaticAbilityCheckMode staticAbilityCheckMode = StaticAbilityCheckMode.FULL;
+
     public GameRules(final GameType type) {
         this.gameType = type;
     }
@@ -109,4 +111,11 @@ public class GameRules {
     public void setUseGrayText(final boolean useGrayText) {
         this.useGrayText = useGrayText;
     }
+
+    public StaticAbilityCheckMode getStaticAbilityCheckMode() {
+        return staticAbilityCheckMode;
+    }
+    public void setStaticAbilityCheckMode(final StaticAbilityCheckMode mode) {
+        this.staticAbilityCheckMode = mode;
+    }
 }
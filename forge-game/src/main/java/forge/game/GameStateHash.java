@@ -0,0 +1,52 @@
+package forge.game;
+
+/**
+ * Zobrist style keys for hashing the parts of a game state the AI compares
+ * when looking for the same position reached by different orders of play:
+ * the cards in each zone, tapped status, counters, life, mana pools and the
+ * phase. The hash of a state is the xor of the keys of all its parts, so each
+ * part can be kept up to date where it changes by xor-ing out its old key
+ * and xor-ing in the new one.
+ *
+ * Instead of tables of random numbers, the keys are made by mixing the kind
+ * of part with its ids and values, so that they don't need to be stored and
+ * copies of a game get the same keys for the same cards and players.
+ *
+ * @see Game#getStateHash()
+ */
+public final class GameStateHash {
+    public static final int ZONE = 1;
+    public static final int TAPPED = 2;
+    public static final int CARD_COUNTER = 3;
+    public static final int PLAYER_COUNTER = 4;
+    public static final int LIFE = 5;
+    public static final int MANA = 6;
+    public static final int PHASE = 7;
+    public static final int PLAYER_TURN = 8;
+
+    private GameStateHash() {
+    }
+
+    public static long key(final int kind, final long a) {
+        return mix(mix(kind * 0x9E3779B97F4A7C15L) + a);
+    }
+
+    public static long key(final int kind, final long a, final long b) {
+        return mix(key(kind, a) + b);
+    }
+
+    public static long key(final int kind, final long a, final long b, final long c) {
+        return mix(key(kind, a, b) + c);
+    }
+
+    public static long key(final int kind, final long a, final long b, final long c, final long d) {
+        return mix(key(kind, a, b, c) + d);
+    }
+
+    // the finalizer of SplitMix64
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,7 +1,6 @@
 package forge.game;
 
 import com.google.common.collect.*;
-import com.google.common.eventbus.EventBus;
 import forge.LobbyPlayer;
 import forge.deck.CardPool;
 import forge.deck.Deck;
@@ -10,9 +9,12 @@ import forge.deck.DeckSection;
 import forge.game.ability.AbilityKey;
 import forge.game.card.Card;
 import forge.game.card.CardCollectionView;
+import forge.game.card.CardFactory;
 import forge.game.event.Event;
+import forge.game.event.EventDispatcher;
 import forge.game.event.GameEventAnteCardsSelected;
 import forge.game.event.GameEventGameFinished;
+import forge.game.event.IEventSubscriber;
 import forge.game.player.Player;
 import forge.game.player.PlayerController;
 import forge.game.player.RegisteredPlayer;
@@ -28,12 +30,12 @@ import java.util.*;
 import java.util.Map.Entry;
 
 public class Match {
-    private static List<PaperCard> removedCards = Lists.newArrayList();
+    private final List<PaperCard> removedCards = Lists.newArrayList();
     private final List<RegisteredPlayer> players;
     private final GameRules rules;
     private final String title;
 
-    private final EventBus events = new EventBus("match events");
+    private final EventDispatcher events = new EventDispatcher("match events");
     private final Map<Integer, GameOutcome> gameOutcomes = Maps.newHashMap();
 
     private GameOutcome lastOutcome = null;
@@ -186,7 +188,7 @@ public class Match {
         return myRemovedAnteCards;
     }
 
-    public static List<PaperCard> getRemovedCards() { return removedCards; }
+    public List<PaperCard> getRemovedCards() { return removedCards; }
 
     public void removeCard(PaperCard c) {
         removedCards.add(c);
@@ -198,7 +200,7 @@ public class Match {
         for (final Entry<PaperCard, Integer> stackOfCards : section) {
             final PaperCard cp = stackOfCards.getKey();
             for (int i = 0; i < stackOfCards.getValue(); i++) {
-                final Card card = Card.fromPaperCard(cp, player);
+                final Card card = CardFactory.getCardFromTemplate(cp, player, player.getGame());
 
                 // Assign card-specific foiling or random foiling on approximately 1:20 cards if enabled
                 if (cp.isFoil() || (canRandomFoil && MyRandom.percentTrue(5))) {
@@ -424,8 +426,8 @@ public class Match {
     public void fireEvent(final Event event) {
         events.post(event);
     }
-    public void subscribeToEvents(final Object subscriber) {
-        events.register(subscriber);
+    public <E extends Event> void subscribeToEvents(final Class<E> type, final IEventSubscriber<? super E> subscriber) {
+        events.subscribe(type, subscriber);
     }
 
 }
@@ -0,0 +1,21 @@
+package forge.game;
+
+/**
+ * How {@link GameAction#checkStaticAbilities} decides whether the continuous
+ * static abilities of the game have to be reapplied.
+ */
+public enum StaticAbilityCheckMode {
+    /** Clear and reapply every continuous ability on each check. */
+    FULL,
+    /**
+     * Reuse the effects of the last check as long as nothing any continuous
+     * ability depends on has changed since, see {@link StaticLayerTracker}.
+     */
+    INCREMENTAL,
+    /**
+     * Always reapply everything like {@link #FULL}, but fail whenever the
+     * incremental mode would have reused effects that turn out to differ from
+     * the full recompute.
+     */
+    VERIFY;
+}
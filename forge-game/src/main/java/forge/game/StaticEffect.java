@@ -96,6 +96,13 @@ public class StaticEffect {
         return this.source;
     }
 
+    /**
+     * @return the {@link StaticAbility} whose effect this is, or null.
+     */
+    public final StaticAbility getStaticAbility() {
+        return this.ability;
+    }
+
     /**
      * <p>
      * Getter for the field <code>affectedCards</code>.
@@ -41,6 +41,8 @@ public class StaticEffects {
     private final Map<StaticAbility, StaticEffect> staticEffects = Maps.newHashMap();
     //Global rule changes
     private final Set<GlobalRuleChange> ruleChanges = EnumSet.noneOf(GlobalRuleChange.class);
+    private final StaticLayerTracker layerTracker = new StaticLayerTracker();
+    private long generation;
 
     public final void clearStaticEffects(final Set<Card> affectedCards) {
         ruleChanges.clear();
@@ -52,6 +54,23 @@ public class StaticEffects {
         this.staticEffects.clear();
     }
 
+    public final StaticLayerTracker getLayerTracker() {
+        return layerTracker;
+    }
+
+    /**
+     * @return a number that changes whenever the continuous effects are
+     *         applied again, so that what is worked out from the effects can
+     *         tell whether it still holds.
+     */
+    public final long getGeneration() {
+        return generation;
+    }
+
+    final void nextGeneration() {
+        generation++;
+    }
+
     public void setGlobalRuleChange(final GlobalRuleChange change) {
         this.ruleChanges.add(change);
     }
@@ -81,12 +100,12 @@ public class StaticEffects {
         return staticEffects.values();
     }
 
-    public boolean removeStaticEffect(final StaticAbility staticAbility) {
+    public boolean removeStaticEffect(final StaticAbility staticAbility, final Set<Card> affectedCards) {
         final StaticEffect currentEffect = staticEffects.remove(staticAbility);
         if (currentEffect == null) {
             return false;
         }
-        currentEffect.remove();
+        Iterables.addAll(affectedCards, currentEffect.remove());
         return true;
     }
 }
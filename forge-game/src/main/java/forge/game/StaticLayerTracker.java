@@ -0,0 +1,529 @@
+package forge.game;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import forge.card.CardType;
+import forge.card.MagicColor;
+import forge.game.card.Card;
+import forge.game.card.CardCollectionView;
+import forge.game.event.GameEvent;
+import forge.game.event.GameEventCardAttachment;
+import forge.game.event.GameEventCardChangeZone;
+import forge.game.event.GameEventCardCounters;
+import forge.game.event.GameEventCardDamaged;
+import forge.game.event.GameEventCardPhased;
+import forge.game.event.GameEventCardRegenerated;
+import forge.game.event.GameEventCardStatsChanged;
+import forge.game.event.GameEventCardTapped;
+import forge.game.event.GameEventFlipCoin;
+import forge.game.event.GameEventPlayerPriority;
+import forge.game.event.GameEventRandomLog;
+import forge.game.event.GameEventRollDie;
+import forge.game.event.GameEventZone;
+import forge.game.event.IGameEventVisitor;
+import forge.game.staticability.StaticAbility;
+import forge.game.staticability.StaticAbilityLayer;
+import forge.game.zone.Zone;
+import forge.game.zone.ZoneType;
+import forge.util.Visitor;
+
+/**
+ * Keeps track of what the continuous static abilities applied by the last
+ * {@link GameAction#checkStaticAbilities} depend on, so that a later check can
+ * tell whether anything relevant has changed in between.
+ *
+ * Every ability records its host, the cards it affected and the zones it looks
+ * at. Abilities whose outcome can't be derived from those alone (conditions,
+ * variable amounts, player effects, restrictions on remembered or chosen
+ * objects...) are recorded as depending on the whole game state.
+ *
+ * The tracker becomes dirty when a {@link GameEvent} or a characteristic
+ * change touches something a recorded ability depends on, or when a card gets
+ * a continuous ability that wasn't recorded, and is reset after every full
+ * pass. Abilities that only set or modify power and toughness or grant
+ * keywords are an exception: no recorded ability looks at power or
+ * toughness, and keywords only matter to the abilities that restrict what
+ * they affect by them, so while there are none of those, such abilities are
+ * applied again on their own when they're touched, see
+ * {@link #getPendingAbilities}. Everything else, changing types, colors,
+ * control or text and granting other abilities, still takes a full pass.
+ * Changes made by the pass itself are ignored by suspending the tracker around
+ * it.
+ */
+public class StaticLayerTracker {
+
+    /** Parameters that don't make an ability depend on anything besides its host and the cards it looks at. */
+    private static final Set<String> LOCAL_PARAMS = ImmutableSet.of(
+            "Mode", "Description", "Affected", "AffectedZone", "EffectZone", "Secondary",
+            "AddPower", "AddToughness", "SetPower", "SetToughness",
+            "AddKeyword", "AddHiddenKeyword", "RemoveKeyword",
+            "AddAbility", "AddTrigger", "AddStaticAbility", "AddReplacementEffects", "AddSVar", "RemoveAllAbilities",
+            "AddType", "RemoveType", "AddAllCreatureTypes", "RemoveCardTypes", "RemoveLandTypes",
+            "RemoveCreatureTypes", "RemoveArtifactTypes", "AddColor", "SetColor");
+    private static final Set<String> NUMERIC_PARAMS = ImmutableSet.of("AddPower", "AddToughness", "SetPower", "SetToughness");
+    /** Restrictions in the Affected parameter that only look at the affected card itself or the host. */
+    private static final Set<String> LOCAL_PROPERTIES = ImmutableSet.of(
+            "Self", "Other", "YouCtrl", "OppCtrl", "YouOwn", "OppOwn", "EnchantedBy", "EquippedBy", "AttachedBy",
+            "enchanted", "equipped", "token", "nonToken", "tapped", "untapped", "IsCommander",
+            "Card", "Permanent", "MultiColor", "MonoColor", "Colorless");
+
+    /** The layers of abilities that are applied again on their own. */
+    private static final Set<StaticAbilityLayer> PT_LAYERS = EnumSet.of(StaticAbilityLayer.SETPT, StaticAbilityLayer.MODIFYPT);
+    private static final Set<StaticAbilityLayer> KEYWORD_LAYERS = EnumSet.of(StaticAbilityLayer.ABILITIES,
+            StaticAbilityLayer.SETPT, StaticAbilityLayer.MODIFYPT, StaticAbilityLayer.RULES);
+    /** Parameters in the abilities layer that do more than granting keywords. */
+    private static final Set<String> ABILITY_PARAMS = ImmutableSet.of(
+            "AddAbility", "AddTrigger", "AddStaticAbility", "AddReplacementEffects", "AddSVar", "RemoveAllAbilities",
+            "RemoveKeyword");
+
+    private final List<Dependency> dependencies = Lists.newArrayList();
+    /** The ids of all continuous abilities the last full pass considered. */
+    private final Set<Integer> recordedAbilities = Sets.newHashSet();
+    /** The power and toughness abilities to apply again, in the order they were touched. */
+    private final Set<StaticAbility> pending = new LinkedHashSet<>();
+    private boolean dependsOnGameState;
+    /** Whether a recorded ability restricts what it affects by keywords. */
+    private boolean keywordsWatched;
+    private boolean dirty = true;
+    private int suspended;
+
+    private static final class Dependency {
+        private final StaticAbility ability;
+        private final int hostId;
+        private Set<Integer> affected;
+        private final Set<ZoneType> zones;
+        private final boolean ptOnly;
+        private final boolean keywordsOnly;
+
+        private Dependency(final StaticAbility ability, final Set<Integer> affected, final Set<ZoneType> zones) {
+            this.ability = ability;
+            this.hostId = ability.getHostCard().getId();
+            this.affected = affected;
+            this.zones = zones;
+            this.ptOnly = !ability.getLayers().isEmpty() && PT_LAYERS.containsAll(ability.getLayers());
+            this.keywordsOnly = !ptOnly && !ability.getLayers().isEmpty() && KEYWORD_LAYERS.containsAll(ability.getLayers())
+                    && Collections.disjoint(ability.getMapParams().keySet(), ABILITY_PARAMS);
+        }
+
+        private boolean dependsOn(final Card c, final ZoneType zone) {
+            return c.getId() == hostId || affected.contains(c.getId()) || (zone != null && zones.contains(zone));
+        }
+    }
+
+    /** @return whether all continuous abilities have to be applied again. */
+    public final boolean isDirty() {
+        return dirty;
+    }
+
+    public final void markDirty() {
+        if (suspended == 0) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * @return the abilities that only set or modify power and toughness or
+     *         grant keywords and were touched since the last pass, which can be
+     *         applied again on their own unless the tracker
+     *         {@link #isDirty() is dirty}.
+     */
+    public final Collection<StaticAbility> getPendingAbilities() {
+        return Collections.unmodifiableSet(pending);
+    }
+
+    /**
+     * Record the cards a pending ability affects after it was applied again.
+     */
+    public final void recordReapplied(final StaticAbility stAb, final CardCollectionView affectedCards) {
+        pending.remove(stAb);
+        for (final Dependency d : dependencies) {
+            if (d.ability == stAb) {
+                d.affected = toIds(affectedCards);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the ids of the continuous abilities the cards have, which some
+     *         keywords bring with them
+     */
+    public static Set<Integer> getContinuousAbilityIds(final Iterable<Card> cards) {
+        final Set<Integer> ids = Sets.newHashSet();
+        for (final Card c : cards) {
+            for (final StaticAbility stAb : c.getStaticAbilities()) {
+                if (stAb.getParam("Mode").equals("Continuous")) {
+                    ids.add(stAb.getId());
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Mark the tracker dirty if applying abilities again took away or brought
+     * continuous abilities, as some keywords come with one that only a full
+     * pass applies.
+     *
+     * @param before
+     *            the ids of the continuous abilities the cards previously
+     *            affected had, see {@link #getContinuousAbilityIds}.
+     * @param cards
+     *            the cards affected before and after.
+     */
+    public final void checkAbilitiesKept(final Set<Integer> before, final Iterable<Card> cards) {
+        if (!getContinuousAbilityIds(cards).containsAll(before)) {
+            dirty = true;
+            return;
+        }
+        for (final Card c : cards) {
+            if (hasUnrecordedAbility(c)) {
+                dirty = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stop reacting to changes, used while the static abilities themselves are
+     * being applied.
+     */
+    public final void suspend() {
+        suspended++;
+    }
+
+    public final void resume() {
+        suspended--;
+    }
+
+    /**
+     * Check whether the effects applied by the last pass can be kept as they
+     * are.
+     */
+    public final boolean isUpToDate() {
+        return !dirty && pending.isEmpty();
+    }
+
+    /**
+     * Record the dependencies of a full pass and mark the tracker clean.
+     *
+     * @param abilities
+     *            the continuous abilities considered by the pass.
+     * @param affectedPerAbility
+     *            the cards each applied ability affected.
+     */
+    public final void record(final Iterable<StaticAbility> abilities, final Map<StaticAbility, CardCollectionView> affectedPerAbility) {
+        dependencies.clear();
+        recordedAbilities.clear();
+        pending.clear();
+        dependsOnGameState = false;
+        keywordsWatched = false;
+        for (final StaticAbility stAb : abilities) {
+            if (!stAb.getParam("Mode").equals("Continuous")) {
+                // the pass also goes through the other abilities of the cards it affects, without applying them
+                continue;
+            }
+            recordedAbilities.add(stAb.getId());
+            final CardCollectionView affectedCards = affectedPerAbility.get(stAb);
+            if (affectedCards == null && !isHostInEffectZone(stAb)) {
+                // can't apply until its host moves, which is an event about the host
+                dependencies.add(new Dependency(stAb, Collections.emptySet(), Collections.emptySet()));
+                continue;
+            }
+            if (!isLocal(stAb)) {
+                dependsOnGameState = true;
+                continue;
+            }
+            final Set<ZoneType> zones = EnumSet.copyOf(ZoneType.listValueOf(stAb.getParamOrDefault("AffectedZone", ZoneType.Battlefield.toString())));
+            zones.add(ZoneType.Battlefield);
+            dependencies.add(new Dependency(stAb, toIds(affectedCards), zones));
+            keywordsWatched |= watchesKeywords(stAb);
+        }
+        dirty = false;
+    }
+
+    private static Set<Integer> toIds(final CardCollectionView cards) {
+        final Set<Integer> ids = Sets.newHashSet();
+        if (cards != null) {
+            for (final Card c : cards) {
+                ids.add(c.getId());
+            }
+        }
+        return ids;
+    }
+
+    private static boolean isHostInEffectZone(final StaticAbility stAb) {
+        final Card host = stAb.getHostCard();
+        if (stAb.hasParam("EffectZone")) {
+            if (stAb.getParam("EffectZone").equals("All")) {
+                return true;
+            }
+            final Zone zone = host.getLastKnownZone();
+            return zone != null && ZoneType.listValueOf(stAb.getParam("EffectZone")).contains(zone.getZoneType());
+        }
+        return stAb.hasParam("CharacteristicDefining") || host.isInPlay();
+    }
+
+    /**
+     * React to a game event, marking the tracker dirty if it may have changed
+     * the outcome of a recorded ability.
+     */
+    public final void onEvent(final GameEvent ev) {
+        if (dirty || suspended > 0) {
+            return;
+        }
+        final Collection<Card> cards = ev.visit(CARD_EXTRACTOR);
+        if (cards == IRRELEVANT) {
+            return;
+        }
+        if (dependsOnGameState) {
+            dirty = true;
+            return;
+        }
+        if (cards == null) {
+            // not about a particular card: only abilities depending on the game state care
+            if (ev instanceof GameEventZone) {
+                markIfZoneWatched(((GameEventZone) ev).zoneType);
+            }
+            return;
+        }
+        for (final Card c : cards) {
+            if (c == null) {
+                continue;
+            }
+            if (hasUnrecordedAbility(c)) {
+                dirty = true;
+                return;
+            }
+            final Zone z = c.getLastKnownZone();
+            touch(c, z == null ? null : z.getZoneType());
+            if (dirty) {
+                return;
+            }
+        }
+        if (ev instanceof GameEventCardChangeZone) {
+            final GameEventCardChangeZone ecz = (GameEventCardChangeZone) ev;
+            if (ecz.from != null) {
+                markIfZoneWatched(ecz.from.getZoneType());
+            }
+            if (ecz.to != null) {
+                markIfZoneWatched(ecz.to.getZoneType());
+            }
+        }
+    }
+
+    private boolean hasUnrecordedAbility(final Card c) {
+        for (final StaticAbility stAb : c.getStaticAbilities()) {
+            if (stAb.getParam("Mode").equals("Continuous") && !recordedAbilities.contains(stAb.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void touch(final Card c, final ZoneType zone) {
+        for (final Dependency d : dependencies) {
+            if (d.dependsOn(c, zone)) {
+                mark(d);
+            }
+        }
+    }
+
+    private void markIfZoneWatched(final ZoneType zone) {
+        for (final Dependency d : dependencies) {
+            if (d.zones.contains(zone)) {
+                mark(d);
+            }
+        }
+    }
+
+    private void mark(final Dependency d) {
+        if (d.ptOnly || (d.keywordsOnly && !keywordsWatched)) {
+            pending.add(d.ability);
+        } else {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Take a snapshot of the characteristics continuous effects can change,
+     * used by {@link StaticAbilityCheckMode#VERIFY} to compare the reused
+     * effects with a full recompute.
+     */
+    public static Map<String, String> snapshot(final Game game) {
+        final Map<String, String> result = new TreeMap<>();
+        game.forEachCardInGame(new Visitor<Card>() {
+            @Override
+            public boolean visit(final Card c) {
+                final StringBuilder sb = new StringBuilder();
+                sb.append(c.getName()).append('|').append(c.getController().getId());
+                sb.append('|').append(c.getNetPower()).append('/').append(c.getNetToughness());
+                sb.append('|').append(c.getType()).append('|').append(c.getColor());
+                sb.append('|').append(c.getKeywords().size()).append('|').append(c.getSpellAbilities().size());
+                sb.append('|').append(c.getStaticAbilities().size()).append('|').append(c.getTriggers().size());
+                result.put("card " + c.getId(), sb.toString());
+                return true;
+            }
+        });
+        for (final StaticEffect se : game.getStaticEffects().getEffects()) {
+            final List<Integer> ids = Lists.newArrayList();
+            for (final Card c : se.getAffectedCards()) {
+                ids.add(c.getId());
+            }
+            Collections.sort(ids);
+            result.put("static " + se.getStaticAbility().getId(), String.valueOf(ids));
+        }
+        return result;
+    }
+
+    /**
+     * Fail if a full recompute produced something different from the effects
+     * the incremental mode would have kept.
+     */
+    public static void verify(final Map<String, String> kept, final Map<String, String> recomputed) {
+        if (kept.equals(recomputed)) {
+            return;
+        }
+        final List<String> diff = Lists.newArrayList();
+        for (final Map.Entry<String, String> e : recomputed.entrySet()) {
+            final String old = kept.get(e.getKey());
+            if (!e.getValue().equals(old)) {
+                diff.add(e.getKey() + ": " + old + " -> " + e.getValue());
+            }
+        }
+        throw new IllegalStateException("Incremental static ability check diverged from full recompute: " + StringUtils.join(diff, "; "));
+    }
+
+    /**
+     * Check whether the outcome of an ability only depends on its host and on
+     * the cards in the zones it affects.
+     */
+    static boolean isLocal(final StaticAbility stAb) {
+        for (final Map.Entry<String, String> e : stAb.getMapParams().entrySet()) {
+            if (!LOCAL_PARAMS.contains(e.getKey())) {
+                return false;
+            }
+            if (NUMERIC_PARAMS.contains(e.getKey()) && !StringUtils.isNumeric(StringUtils.removeStart(e.getValue(), "-").replace("+", ""))) {
+                return false;
+            }
+        }
+        if (!stAb.hasParam("Affected")) {
+            return false;
+        }
+        for (final String valid : stAb.getParam("Affected").split(",")) {
+            for (final String part : valid.trim().split("[.+]")) {
+                if (!isLocalProperty(part.trim())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean watchesKeywords(final StaticAbility stAb) {
+        for (final String valid : stAb.getParam("Affected").split(",")) {
+            for (final String part : valid.trim().split("[.+]")) {
+                if (part.trim().startsWith("with")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLocalProperty(final String prop) {
+        if (LOCAL_PROPERTIES.contains(prop)) {
+            return true;
+        }
+        if (prop.startsWith("with") || prop.startsWith("counters_")) {
+            return true;
+        }
+        final String type = prop.startsWith("non") ? prop.substring(3) : prop;
+        if (CardType.isACardType(type) || CardType.isASupertype(type) || CardType.isASubType(type)) {
+            return true;
+        }
+        return type.length() > 2 && !type.equalsIgnoreCase("all") && MagicColor.fromName(type) != 0;
+    }
+
+    /** Marker for events that can never change the outcome of a static ability. */
+    private static final Collection<Card> IRRELEVANT = Collections.unmodifiableList(Lists.<Card>newArrayList());
+
+    /**
+     * Extracts the cards an event is about, {@code null} for events not about
+     * particular cards.
+     */
+    private static final IGameEventVisitor<Collection<Card>> CARD_EXTRACTOR = new IGameEventVisitor.Base<Collection<Card>>() {
+        @Override
+        public Collection<Card> visit(final GameEventPlayerPriority event) {
+            return IRRELEVANT;
+        }
+        @Override
+        public Collection<Card> visit(final GameEventFlipCoin event) {
+            return IRRELEVANT;
+        }
+        @Override
+        public Collection<Card> visit(final GameEventRollDie event) {
+            return IRRELEVANT;
+        }
+        @Override
+        public Collection<Card> visit(final GameEventRandomLog event) {
+            return IRRELEVANT;
+        }
+        @Override
+        public Collection<Card> visit(final GameEventCardAttachment event) {
+            final List<Card> cards = Lists.newArrayList(event.equipment);
+            if (event.oldEntiy instanceof Card) {
+                cards.add((Card) event.oldEntiy);
+            }
+            if (event.newTarget instanceof Card) {
+                cards.add((Card) event.newTarget);
+            }
+            return cards;
+        }
+        @Override
+        public Collection<Card> visit(final GameEventCardChangeZone event) {
+            return Collections.singletonList(event.card);
+        }
+        @Override
+        public Collection<Card> visit(final GameEventCardTapped event) {
+            return Collections.singletonList(event.card);
+        }
+        @Override
+        public Collection<Card> visit(final GameEventCardCounters event) {
+            return Collections.singletonList(event.card);
+        }
+        @Override
+        public Collection<Card> visit(final GameEventCardDamaged event) {
+            return Collections.singletonList(event.card);
+        }
+        @Override
+        public Collection<Card> visit(final GameEventCardPhased event) {
+            return Collections.singletonList(event.card);
+        }
+        @Override
+        public Collection<Card> visit(final GameEventCardStatsChanged event) {
+            return event.cards;
+        }
+        @Override
+        public Collection<Card> visit(final GameEventCardRegenerated event) {
+            return event.cards;
+        }
+        @Override
+        public Collection<Card> visit(final GameEventZone event) {
+            return event.card == null ? null : Collections.singletonList(event.card);
+        }
+    };
+}
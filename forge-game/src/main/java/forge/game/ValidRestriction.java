@@ -0,0 +1,222 @@
+package forge.game;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import forge.card.CardType;
+import forge.card.MagicColor;
+
+/**
+ * A restriction like <code>Creature.Blue+withFlying+YouCtrl</code>, as used in
+ * Valid parameters, split into its inclusive part (the type) and its exclusive
+ * parts (the properties). Restrictions are parsed once and shared, so that
+ * checking them against many objects doesn't split the same string again each
+ * time.
+ *
+ * Properties that are checked on cards very often and mean something simple,
+ * like types, colors, YouCtrl or withFlying, are also recognized here so that
+ * cards can check them without going through all the properties in
+ * {@link forge.game.card.CardProperty}. Only properties that none of the
+ * checks there before the one they're meant for would catch are recognized.
+ *
+ * @see GameObject#isValid(ValidRestriction, forge.game.player.Player, forge.game.card.Card, CardTraitBase)
+ */
+public final class ValidRestriction {
+    // restrictions are written in card scripts, so there aren't that many of them, unless someone makes them up
+    private static final int MAX_CACHED = 20000;
+    private static final ConcurrentMap<String, ValidRestriction> cache = new ConcurrentHashMap<>();
+
+    /** What a card property means, if it's one of the simple ones. */
+    public enum CardPropertyKind {
+        /** Anything else, which is looked up by its text. */
+        OTHER_PROPERTY,
+        YOU_CTRL,
+        YOU_DONT_CTRL,
+        OPP_CTRL,
+        OTHER,
+        SELF,
+        TAPPED,
+        UNTAPPED,
+        WITH_KEYWORD,
+        WITHOUT_KEYWORD,
+        COLOR,
+        NON_COLOR,
+        TYPE,
+        NON_TYPE
+    }
+
+    /** One of the exclusive parts of a restriction, e.g. <code>withFlying</code>. */
+    public static final class Property {
+        private final String raw;
+        private final String text;
+        private final boolean negated;
+        private final CardPropertyKind cardKind;
+        private final String argument;
+        private final byte color;
+
+        private Property(final String raw) {
+            this.raw = raw;
+            this.negated = raw.startsWith("!");
+            this.text = negated ? raw.substring(1) : raw;
+
+            // only those that the earlier checks in CardProperty.cardHasProperty can't catch first
+            CardPropertyKind kind = CardPropertyKind.OTHER_PROPERTY;
+            String arg = null;
+            byte col = 0;
+            if (text.equals("YouCtrl")) {
+                kind = CardPropertyKind.YOU_CTRL;
+            } else if (text.equals("YouDontCtrl")) {
+                kind = CardPropertyKind.YOU_DONT_CTRL;
+            } else if (text.equals("OppCtrl")) {
+                kind = CardPropertyKind.OPP_CTRL;
+            } else if (text.equals("Other")) {
+                kind = CardPropertyKind.OTHER;
+            } else if (text.equals("Self")) {
+                kind = CardPropertyKind.SELF;
+            } else if (text.equals("tapped")) {
+                kind = CardPropertyKind.TAPPED;
+            } else if (text.equals("untapped")) {
+                kind = CardPropertyKind.UNTAPPED;
+            } else if (text.startsWith("with") && !text.startsWith("withFlashback") && !text.contains("Paired")
+                    && !text.contains("phasedOut")) {
+                if (text.startsWith("without")) {
+                    kind = CardPropertyKind.WITHOUT_KEYWORD;
+                    arg = text.substring(7);
+                } else {
+                    kind = CardPropertyKind.WITH_KEYWORD;
+                    arg = text.substring(4);
+                }
+            } else if (isColorName(text)) {
+                kind = CardPropertyKind.COLOR;
+                col = MagicColor.fromName(text);
+            } else if (text.startsWith("non") && isColorName(text.substring(3))) {
+                kind = CardPropertyKind.NON_COLOR;
+                col = MagicColor.fromName(text.substring(3));
+            } else if (isTypeName(text)) {
+                kind = CardPropertyKind.TYPE;
+                arg = text;
+            } else if (text.startsWith("non") && (CardType.CoreType.isValidEnum(text.substring(3))
+                    || CardType.Supertype.isValidEnum(text.substring(3)))) {
+                kind = CardPropertyKind.NON_TYPE;
+                arg = text.substring(3);
+            }
+            this.cardKind = kind;
+            this.argument = arg;
+            this.color = col;
+        }
+
+        private static boolean isTypeName(final String s) {
+            return CardType.CoreType.isValidEnum(s) || CardType.Supertype.isValidEnum(s)
+                    || CardType.isACreatureType(s) || CardType.isALandType(s) || CardType.isAnArtifactType(s)
+                    || CardType.isAnEnchantmentType(s) || CardType.isAPlaneswalkerType(s) || CardType.isASpellType(s)
+                    || CardType.isADungeonType(s);
+        }
+
+        private static boolean isColorName(final String s) {
+            return s.equals("White") || s.equals("Blue") || s.equals("Black") || s.equals("Red") || s.equals("Green");
+        }
+
+        /** @return the property as written, including a leading "!". */
+        public String getRaw() {
+            return raw;
+        }
+
+        /** @return the property without a leading "!". */
+        public String getText() {
+            return text;
+        }
+
+        public boolean isNegated() {
+            return negated;
+        }
+
+        public CardPropertyKind getCardKind() {
+            return cardKind;
+        }
+
+        /** @return the keyword or type of the property, depending on its kind. */
+        public String getArgument() {
+            return argument;
+        }
+
+        /** @return the color of a color property, as in {@link MagicColor}. */
+        public byte getColor() {
+            return color;
+        }
+
+        @Override
+        public String toString() {
+            return raw;
+        }
+    }
+
+    private static final Property[] NO_PROPERTIES = new Property[0];
+
+    private final String restriction;
+    private final String inclusive;
+    private final String type;
+    private final boolean negated;
+    private final Property[] properties;
+
+    private ValidRestriction(final String restriction) {
+        this.restriction = restriction;
+        final String[] incR = restriction.split("\\.", 2);
+        // interned, so that comparing it with the literals it's checked against is quick when it's equal
+        this.inclusive = incR[0].intern();
+        this.negated = inclusive.startsWith("!");
+        this.type = negated ? inclusive.substring(1).intern() : inclusive;
+        if (incR.length > 1) {
+            final String[] exR = incR[1].split("\\+");
+            this.properties = new Property[exR.length];
+            for (int i = 0; i < exR.length; i++) {
+                this.properties[i] = new Property(exR[i]);
+            }
+        } else {
+            this.properties = NO_PROPERTIES;
+        }
+    }
+
+    /**
+     * @return the parsed form of the restriction, shared with everything else
+     *         that uses the same restriction.
+     */
+    public static ValidRestriction of(final String restriction) {
+        ValidRestriction result = cache.get(restriction);
+        if (result == null) {
+            result = new ValidRestriction(restriction);
+            // before the type lists are loaded, subtypes aren't recognized, so don't keep what's made until then
+            if (cache.size() < MAX_CACHED && CardType.Constant.LOADED.isSet()) {
+                final ValidRestriction existing = cache.putIfAbsent(restriction, result);
+                if (existing != null) {
+                    result = existing;
+                }
+            }
+        }
+        return result;
+    }
+
+    /** @return the part before the first ".", including a leading "!". */
+    public String getInclusive() {
+        return inclusive;
+    }
+
+    /** @return the part before the first ".", without a leading "!". */
+    public String getType() {
+        return type;
+    }
+
+    /** @return whether the type starts with "!". */
+    public boolean isNegated() {
+        return negated;
+    }
+
+    /** @return the parts after the first ".", which were separated by "+". */
+    public Property[] getProperties() {
+        return properties;
+    }
+
+    @Override
+    public String toString() {
+        return restriction;
+    }
+}
@@ -419,14 +419,14 @@ public class AbilityUtils {
         final Game game = player == null ? card.getGame() : player.getGame();
 
         // Strip and save sign for calculations
-        final boolean startsWithPlus = amount.charAt(0) == '+';
-        final boolean startsWithMinus = amount.charAt(0) == '-';
-        if (startsWithPlus || startsWithMinus) { amount = amount.substring(1); }
-        int multiplier = startsWithMinus ? -1 : 1;
+        final AmountExpression amountExpr = AmountExpression.of(amount);
+        amount = amountExpr.getUnsigned();
+        int multiplier = amountExpr.getMultiplier();
+        final AmountExpression unsigned = amount == amountExpr.getText() ? amountExpr : AmountExpression.of(amount);
 
         // return result soon for plain numbers
-        if (StringUtils.isNumeric(amount)) {
-            int val = Integer.parseInt(amount);
+        if (unsigned.isConstant()) {
+            int val = unsigned.getConstantValue();
             if (maxto) {
                 val = Math.max(val, 0);
             }
@@ -459,8 +459,9 @@ public class AbilityUtils {
         }
 
         // Handle numeric constant coming in svar value
-        if (StringUtils.isNumeric(svarval)) {
-            int val = Integer.parseInt(svarval);
+        final AmountExpression value = svarval == amount ? unsigned : AmountExpression.of(svarval);
+        if (value.isConstant()) {
+            int val = value.getConstantValue();
             if (maxto) {
                 val = Math.max(val, 0);
             }
@@ -468,54 +469,53 @@ public class AbilityUtils {
         }
 
         // Parse Object$Property string
-        final String[] calcX = svarval.split("\\$", 2);
+        final String head = value.getHead();
 
         // Incorrect parses mean zero.
-        if (calcX.length == 1 || calcX[1].equals("none")) {
+        if (head == null) {
             return 0;
         }
 
         // modify amount string for text changes
-        calcX[1] = applyAbilityTextChangeEffects(calcX[1], ability);
+        final String body = applyAbilityTextChangeEffects(value.getBody(), ability);
 
         Integer val = null;
-        if (calcX[0].startsWith("Count")) {
-            val = xCount(card, calcX[1], ability);
-        } else if (calcX[0].startsWith("Number")) {
+        if (head.startsWith("Count")) {
+            val = xCount(card, body, ability);
+        } else if (head.startsWith("Number")) {
             val = xCount(card, svarval, ability);
-        } else if (calcX[0].startsWith("SVar")) {
-            final String[] l = calcX[1].split("/");
-            final String m = CardFactoryUtil.extractOperators(calcX[1]);
-            val = doXMath(calculateAmount(card, l[0], ability), m, card, ability);
-        } else if (calcX[0].startsWith("PlayerCount")) {
-            final String hType = calcX[0].substring(11);
+        } else if (head.startsWith("SVar")) {
+            final AmountExpression svar = AmountExpression.of(body);
+            val = doXMath(calculateAmount(card, svar.getOperand(), ability), svar.getOperation(), card, ability);
+        } else if (head.startsWith("PlayerCount")) {
+            final String hType = head.substring(11);
             final FCollection<Player> players = new FCollection<>();
             if (hType.equals("Players") || hType.equals("")) {
                 players.addAll(game.getPlayers());
-                val = playerXCount(players, calcX[1], card, ability);
+                val = playerXCount(players, body, card, ability);
             } else if (hType.equals("YourTeam")) {
                 players.addAll(player.getYourTeam());
-                val = playerXCount(players, calcX[1], card, ability);
+                val = playerXCount(players, body, card, ability);
             } else if (hType.equals("Opponents")) {
                 players.addAll(player.getOpponents());
-                val = playerXCount(players, calcX[1], card, ability);
+                val = playerXCount(players, body, card, ability);
             } else if (hType.equals("RegisteredOpponents")) {
                 players.addAll(Iterables.filter(game.getRegisteredPlayers(), PlayerPredicates.isOpponentOf(player)));
-                val = playerXCount(players, calcX[1], card, ability);
+                val = playerXCount(players, body, card, ability);
             } else if (hType.equals("Other")) {
                 players.addAll(player.getAllOtherPlayers());
-                val = playerXCount(players, calcX[1], card, ability);
+                val = playerXCount(players, body, card, ability);
             } else if (hType.equals("Remembered")) {
                 for (final Object o : card.getRemembered()) {
                     if (o instanceof Player) {
                         players.add((Player) o);
                     }
                 }
-                val = playerXCount(players, calcX[1], card, ability);
+                val = playerXCount(players, body, card, ability);
             } else if (hType.equals("NonActive")) {
                 players.addAll(game.getPlayers());
                 players.remove(game.getPhaseHandler().getPlayerTurn());
-                val = playerXCount(players, calcX[1], card, ability);
+                val = playerXCount(players, body, card, ability);
             } else if (hType.startsWith("PropertyYou")) {
                 if (ability instanceof SpellAbility) {
                     // Hollow One
@@ -523,7 +523,7 @@ public class AbilityUtils {
                 } else {
                     players.add(player);
                 }
-                val = playerXCount(players, calcX[1], card, ability);
+                val = playerXCount(players, body, card, ability);
             } else if (hType.startsWith("Property")) {
                 String defined = hType.split("Property")[1];
                 for (Player p : game.getPlayersInTurnOrder()) {
@@ -533,19 +533,19 @@ public class AbilityUtils {
                         players.add(p);
                     }
                 }
-                val = playerXCount(players, calcX[1], card, ability);
+                val = playerXCount(players, body, card, ability);
             } else if (hType.startsWith("Defined")) {
                 String defined = hType.split("Defined")[1];
-                val = playerXCount(getDefinedPlayers(card, defined, ability), calcX[1], card, ability);
+                val = playerXCount(getDefinedPlayers(card, defined, ability), body, card, ability);
             } else {
                 val = 0;
             }
-        } else if (calcX[0].equals("OriginalHost")) {
-            val = xCount(ability.getOriginalHost(), calcX[1], ability);
-        } else if (calcX[0].equals("LastStateBattlefield") && ability instanceof SpellAbility) {
+        } else if (head.equals("OriginalHost")) {
+            val = xCount(ability.getOriginalHost(), body, ability);
+        } else if (head.equals("LastStateBattlefield") && ability instanceof SpellAbility) {
             Card c = ((SpellAbility) ability).getLastStateBattlefield().get(card);
-            val = c == null ? 0 : xCount(c, calcX[1], ability);
-        } else if (calcX[0].startsWith("Remembered")) {
+            val = c == null ? 0 : xCount(c, body, ability);
+        } else if (head.startsWith("Remembered")) {
             // Add whole Remembered list to handlePaid
             final CardCollection list = new CardCollection();
             Card newCard = card;
@@ -553,7 +553,7 @@ public class AbilityUtils {
                 newCard = game.getCardState(card);
             }
 
-            if (calcX[0].endsWith("LKI")) { // last known information
+            if (head.endsWith("LKI")) { // last known information
                 for (final Object o : newCard.getRemembered()) {
                     if (o instanceof Card) {
                         list.add((Card) o);
@@ -568,9 +568,9 @@ public class AbilityUtils {
                 }
             }
 
-            val = handlePaid(list, calcX[1], card, ability);
+            val = handlePaid(list, body, card, ability);
         }
-        else if (calcX[0].startsWith("Imprinted")) {
+        else if (head.startsWith("Imprinted")) {
             // Add whole Imprinted list to handlePaid
             final CardCollection list = new CardCollection();
             Card newCard = card;
@@ -578,7 +578,7 @@ public class AbilityUtils {
                 newCard = game.getCardState(card);
             }
 
-            if (calcX[0].endsWith("LKI")) { // last known information
+            if (head.endsWith("LKI")) { // last known information
                 list.addAll(newCard.getImprintedCards());
             }
             else {
@@ -587,9 +587,9 @@ public class AbilityUtils {
                 }
             }
 
-            val = handlePaid(list, calcX[1], card, ability);
+            val = handlePaid(list, body, card, ability);
         }
-        else if (calcX[0].matches("Enchanted") || calcX[0].matches("Equipped")) {
+        else if (head.matches("Enchanted") || head.matches("Equipped")) {
             // Add whole Enchanted list to handlePaid
             final CardCollection list = new CardCollection();
             if (card.isEnchanting()) {
@@ -598,13 +598,13 @@ public class AbilityUtils {
                     list.add(game.getCardState((Card) o));
                 }
             }
-            val = handlePaid(list, calcX[1], card, ability);
+            val = handlePaid(list, body, card, ability);
         }
 
         // All the following only work for SpellAbilities
         else if (ability instanceof SpellAbility) {
             final SpellAbility sa = (SpellAbility) ability;
-            if (calcX[0].startsWith("Modes")) {
+            if (head.startsWith("Modes")) {
                 int chosenModes = 0;
                 SpellAbility sub = sa;
                 while(sub != null) {
@@ -614,24 +614,24 @@ public class AbilityUtils {
                     sub = sub.getSubAbility();
                 }
                 // Count Math
-                final String m = CardFactoryUtil.extractOperators(calcX[1]);
+                final String m = CardFactoryUtil.extractOperators(body);
                 val = doXMath(chosenModes, m, card, ability);
             }
             // Player attribute counting
-            else if (calcX[0].startsWith("TargetedPlayer")) {
+            else if (head.startsWith("TargetedPlayer")) {
                 final List<Player> players = new ArrayList<>();
                 final SpellAbility saTargeting = sa.getSATargetingPlayer();
                 if (null != saTargeting) {
                     Iterables.addAll(players, saTargeting.getTargets().getTargetPlayers());
                 }
-                val = playerXCount(players, calcX[1], card, ability);
+                val = playerXCount(players, body, card, ability);
             }
-            else if (calcX[0].startsWith("ThisTargetedPlayer")) {
+            else if (head.startsWith("ThisTargetedPlayer")) {
                 final List<Player> players = new ArrayList<>();
                 Iterables.addAll(players, sa.getTargets().getTargetPlayers());
-                val = playerXCount(players, calcX[1], card, ability);
+                val = playerXCount(players, body, card, ability);
             }
-            else if (calcX[0].startsWith("TargetedObjects")) {
+            else if (head.startsWith("TargetedObjects")) {
                 List<GameObject> objects = new ArrayList<>();
                 // Make list of all targeted objects starting with the root SpellAbility
                 SpellAbility loopSA = sa.getRootAbility();
@@ -641,12 +641,12 @@ public class AbilityUtils {
                     }
                     loopSA = loopSA.getSubAbility();
                 }
-                if (calcX[0].endsWith("Distinct")) {
+                if (head.endsWith("Distinct")) {
                     objects = new ArrayList<>(new HashSet<>(objects));
                 }
-                val = objectXCount(objects, calcX[1], card, ability);
+                val = objectXCount(objects, body, card, ability);
             }
-            else if (calcX[0].startsWith("TargetedController")) {
+            else if (head.startsWith("TargetedController")) {
                 final PlayerCollection players = new PlayerCollection();
                 final CardCollection list = getDefinedCards(card, "Targeted", sa);
                 final List<SpellAbility> sas = getDefinedSpellAbilities(card, "Targeted", sa);
@@ -657,42 +657,42 @@ public class AbilityUtils {
                 for (final SpellAbility s : sas) {
                     players.add(s.getHostCard().getController());
                 }
-                val = playerXCount(players, calcX[1], card, ability);
+                val = playerXCount(players, body, card, ability);
             }
-            else if (calcX[0].startsWith("TargetedByTarget")) {
+            else if (head.startsWith("TargetedByTarget")) {
                 final CardCollection tgtList = new CardCollection();
                 final List<SpellAbility> saList = getDefinedSpellAbilities(card, "Targeted", sa);
 
                 for (final SpellAbility s : saList) {
                     tgtList.addAll(getDefinedCards(s.getHostCard(), "Targeted", s));
                 }
-                val = handlePaid(tgtList, calcX[1], card, ability);
+                val = handlePaid(tgtList, body, card, ability);
             }
-            else if (calcX[0].startsWith("TriggeredPlayers") || calcX[0].equals("TriggeredCardController")) {
-                String key = calcX[0];
-                if (calcX[0].startsWith("TriggeredPlayers")) {
+            else if (head.startsWith("TriggeredPlayers") || head.equals("TriggeredCardController")) {
+                String key = head;
+                if (head.startsWith("TriggeredPlayers")) {
                     key = "Triggered" + key.substring(16);
                 }
-                val = playerXCount(getDefinedPlayers(card, key, sa), calcX[1], card, ability);
+                val = playerXCount(getDefinedPlayers(card, key, sa), body, card, ability);
             }
-            else if (calcX[0].startsWith("TriggeredPlayer") || calcX[0].startsWith("TriggeredTarget")
-                    || calcX[0].startsWith("TriggeredDefendingPlayer")) {
+            else if (head.startsWith("TriggeredPlayer") || head.startsWith("TriggeredTarget")
+                    || head.startsWith("TriggeredDefendingPlayer")) {
                 final SpellAbility root = sa.getRootAbility();
-                Object o = root.getTriggeringObject(AbilityKey.fromString(calcX[0].substring(9)));
-                val = o instanceof Player ? playerXProperty((Player) o, calcX[1], card, ability) : 0;
+                Object o = root.getTriggeringObject(AbilityKey.fromString(head.substring(9)));
+                val = o instanceof Player ? playerXProperty((Player) o, body, card, ability) : 0;
             }
-            else if (calcX[0].equals("TriggeredSpellAbility") || calcX[0].equals("TriggeredStackInstance") || calcX[0].equals("SpellTargeted")) {
-                final SpellAbility sat = getDefinedSpellAbilities(card, calcX[0], sa).get(0);
-                val = xCount(sat.getHostCard(), calcX[1], sat);
+            else if (head.equals("TriggeredSpellAbility") || head.equals("TriggeredStackInstance") || head.equals("SpellTargeted")) {
+                final SpellAbility sat = getDefinedSpellAbilities(card, head, sa).get(0);
+                val = xCount(sat.getHostCard(), body, sat);
             }
-            else if (calcX[0].startsWith("TriggerCount")) {
+            else if (head.startsWith("TriggerCount")) {
                 // TriggerCount is similar to a regular Count, but just
                 // pulls Integer Values from Trigger objects
                 final SpellAbility root = sa.getRootAbility();
-                final String[] l = calcX[1].split("/");
-                final String m = CardFactoryUtil.extractOperators(calcX[1]);
+                final String[] l = body.split("/");
+                final String m = CardFactoryUtil.extractOperators(body);
                 Integer count = null;
-                if (calcX[0].endsWith("Max")) {
+                if (head.endsWith("Max")) {
                     @SuppressWarnings("unchecked")
                     Iterable<Integer> numbers = (Iterable<Integer>) root.getTriggeringObject(AbilityKey.fromString(l[0]));
                     for (Integer n : numbers) {
@@ -706,71 +706,71 @@ public class AbilityUtils {
 
                 val = doXMath(ObjectUtils.firstNonNull(count, 0), m, card, ability);
             }
-            else if (calcX[0].startsWith("ReplaceCount")) {
+            else if (head.startsWith("ReplaceCount")) {
                 // ReplaceCount is similar to a regular Count, but just
                 // pulls Integer Values from Replacement objects
                 final SpellAbility root = sa.getRootAbility();
-                final String[] l = calcX[1].split("/");
-                final String m = CardFactoryUtil.extractOperators(calcX[1]);
+                final String[] l = body.split("/");
+                final String m = CardFactoryUtil.extractOperators(body);
                 final Integer count = (Integer) root.getReplacingObject(AbilityKey.fromString(l[0]));
 
                 val = doXMath(ObjectUtils.firstNonNull(count, 0), m, card, ability);
             } else { // these ones only for handling lists
                 Iterable<Card> list = null;
-                if (calcX[0].startsWith("Sacrificed")) {
+                if (head.startsWith("Sacrificed")) {
                     list = sa.getRootAbility().getPaidList("Sacrificed");
                 }
-                else if (calcX[0].startsWith("Discarded")) {
+                else if (head.startsWith("Discarded")) {
                     final SpellAbility root = sa.getRootAbility();
                     list = root.getPaidList("Discarded");
                     if (null == list && root.isTrigger()) {
                         list = root.getHostCard().getSpellPermanent().getPaidList("Discarded");
                     }
                 }
-                else if (calcX[0].startsWith("Exiled")) {
+                else if (head.startsWith("Exiled")) {
                     list = sa.getRootAbility().getPaidList("Exiled");
                 }
-                else if (calcX[0].startsWith("Milled")) {
+                else if (head.startsWith("Milled")) {
                     list = sa.getRootAbility().getPaidList("Milled");
                 }
-                else if (calcX[0].startsWith("Tapped")) {
+                else if (head.startsWith("Tapped")) {
                     list = sa.getRootAbility().getPaidList("Tapped");
                 }
-                else if (calcX[0].startsWith("Revealed")) {
+                else if (head.startsWith("Revealed")) {
                     list = sa.getRootAbility().getPaidList("Revealed");
                 }
-                else if (calcX[0].startsWith("Returned")) {
+                else if (head.startsWith("Returned")) {
                     list = sa.getRootAbility().getPaidList("Returned");
                 }
-                else if (calcX[0].startsWith("Targeted")) {
+                else if (head.startsWith("Targeted")) {
                     list = sa.findTargetedCards();
                 }
-                else if (calcX[0].startsWith("ParentTargeted")) {
+                else if (head.startsWith("ParentTargeted")) {
                     SpellAbility parent = sa.getParentTargetingCard();
                     if (parent != null) {
                         list = parent.findTargetedCards();
                     }
                 }
-                else if (calcX[0].startsWith("TriggerRemembered")) {
+                else if (head.startsWith("TriggerRemembered")) {
                     final SpellAbility root = sa.getRootAbility();
                     list = Iterables.filter(root.getTriggerRemembered(), Card.class);
                 }
-                else if (calcX[0].startsWith("TriggerObjects")) {
+                else if (head.startsWith("TriggerObjects")) {
                     final SpellAbility root = sa.getRootAbility();
-                    list = Iterables.filter((Iterable<?>) root.getTriggeringObject(AbilityKey.fromString(calcX[0].substring(14))), Card.class);
+                    list = Iterables.filter((Iterable<?>) root.getTriggeringObject(AbilityKey.fromString(head.substring(14))), Card.class);
                 }
-                else if (calcX[0].startsWith("Triggered")) {
+                else if (head.startsWith("Triggered")) {
                     final SpellAbility root = sa.getRootAbility();
-                    list = new CardCollection((Card) root.getTriggeringObject(AbilityKey.fromString(calcX[0].substring(9))));
+                    list = new CardCollection((Card) root.getTriggeringObject(AbilityKey.fromString(head.substring(9))));
                 }
-                else if (calcX[0].startsWith("Replaced")) {
+                else if (head.startsWith("Replaced")) {
                     final SpellAbility root = sa.getRootAbility();
-                    list = new CardCollection((Card) root.getReplacingObject(AbilityKey.fromString(calcX[0].substring(8))));
+                    list = new CardCollection((Card) root.getReplacingObject(AbilityKey.fromString(head.substring(8))));
                 }
                 if (list != null) {
                     // there could be null inside!
                     list = Iterables.filter(list, Card.class);
-                    val = handlePaid(list, calcX[1], card, ability);
+                    val = handlePaid(list, body, card, ability);
                 }
             }
         }
@@ -1654,38 +1654,34 @@ public class AbilityUtils {
      */
     public static int xCount(final Card c, final String s, final CardTraitBase ctb) {
         final String s2 = applyAbilityTextChangeEffects(s, ctb);
-        final String[] l = s2.split("/");
-        final String expr = CardFactoryUtil.extractOperators(s2);
+        final AmountExpression xExpr = AmountExpression.of(s2);
+        final AmountExpression.Operation expr = xExpr.getOperation();
         final Player player = ctb == null ? null : ctb instanceof SpellAbility ? ((SpellAbility)ctb).getActivatingPlayer() : ctb.getHostCard().getController();
 
         // accept straight numbers
-        if (l[0].startsWith("Number$")) {
-            final String number = l[0].substring(7);
-            return doXMath(Integer.parseInt(number), expr, c, ctb);
+        if (xExpr.getNumber() != null) {
+            return doXMath(Integer.parseInt(xExpr.getNumber()), expr, c, ctb);
         }
 
-        if (l[0].startsWith("Count$")) {
-            l[0] = l[0].substring(6);
-        }
+        final String l0 = xExpr.getCount();
 
-        if (l[0].startsWith("SVar$")) {
-            String n = l[0].substring(5);
+        if (xExpr.getSVar() != null) {
+            String n = xExpr.getSVar();
             String v = ctb == null ? c.getSVar(n) : ctb.getSVar(n);
             return doXMath(xCount(c, v, ctb), expr, c, ctb);
         }
 
-        final String[] sq;
-        sq = l[0].split("\\.");
+        // shared with every other use of the same count, so it mustn't be changed
+        final String[] sq = xExpr.getParts();
 
         final Game game = c.getGame();
 
         if (ctb != null) {
             // Count$Compare <int comparator value>.<True>.<False>
             if (sq[0].startsWith("Compare")) {
-                final String[] compString = sq[0].split(" ");
-                final int lhs = calculateAmount(c, compString[1], ctb);
-                final int rhs =  calculateAmount(c, compString[2].substring(2), ctb);
-                boolean v = Expressions.compare(lhs, compString[2], rhs);
+                final int lhs = calculateAmount(c, xExpr.getCompareLeft(), ctb);
+                final int rhs =  calculateAmount(c, xExpr.getCompareRight(), ctb);
+                boolean v = Expressions.compare(lhs, xExpr.getComparator(), rhs);
                 return doXMath(calculateAmount(c, sq[v ? 1 : 2], ctb), expr, c, ctb);
             }
             if (ctb instanceof SpellAbility) {
@@ -1823,7 +1819,7 @@ public class AbilityUtils {
                 }
 
                 if (sq[0].startsWith("LastStateBattlefield")) {
-                    final String[] k = l[0].split(" ");
+                    final String[] k = l0.split(" ");
                     CardCollectionView list;
                     // this is only for spells that were cast
                     if (sq[0].contains("WithFallback")) {
@@ -1847,7 +1843,7 @@ public class AbilityUtils {
                 }
 
                 if (sq[0].startsWith("LastStateGraveyard")) {
-                    final String[] k = l[0].split(" ");
+                    final String[] k = l0.split(" ");
                     CardCollectionView list;
                     // this is only for spells that were cast
                     if (sq[0].contains("WithFallback")) {
@@ -1893,14 +1889,14 @@ public class AbilityUtils {
             } else {
                 // fallback if ctb isn't a spellability
                 if (sq[0].startsWith("LastStateBattlefield")) {
-                    final String[] k = l[0].split(" ");
+                    final String[] k = l0.split(" ");
                     CardCollectionView list = game.getLastStateBattlefield();
                     list = CardLists.getValidCards(list, k[1], player, c, ctb);
                     return doXMath(list.size(), expr, c, ctb);
                 }
 
                 if (sq[0].startsWith("LastStateGraveyard")) {
-                    final String[] k = l[0].split(" ");
+                    final String[] k = l0.split(" ");
                     CardCollectionView list = game.getLastStateGraveyard();
                     list = CardLists.getValidCards(list, k[1], player, c, ctb);
                     return doXMath(list.size(), expr, c, ctb);
@@ -2146,7 +2142,7 @@ public class AbilityUtils {
 
         // Count$AttachedTo <DefinedCards related to spellability> <restriction>
         if (sq[0].startsWith("AttachedTo")) {
-            final String[] k = l[0].split(" ");
+            final String[] k = l0.split(" ");
             int sum = 0;
             for (Card card : getDefinedCards(c, k[1], ctb)) {
                 // Hateful Eidolon: the script uses LKI so that the attached cards have to be defined
@@ -2318,7 +2314,7 @@ public class AbilityUtils {
             return doXMath(player.getCommanderCast(c), expr, c, ctb);
         }
 
-        if (l[0].startsWith("TotalCommanderCastFromCommandZone")) {
+        if (l0.startsWith("TotalCommanderCastFromCommandZone")) {
             return doXMath(player.getTotalCommanderCast(), expr, c, ctb);
         }
 
@@ -2356,7 +2352,7 @@ public class AbilityUtils {
         }
 
         if (sq[0].contains("TotalDamageThisTurn")) {
-            String[] props = l[0].split(" ");
+            String[] props = l0.split(" ");
             int sum = 0;
             for (Pair<Integer, Boolean> p : c.getDamageReceivedThisTurn()) {
                 if (game.getDamageLKI(p).getLeft().isValid(props[1], player, c, ctb)) {
@@ -2367,7 +2363,7 @@ public class AbilityUtils {
         }
 
         if (sq[0].contains("DamageThisTurn")) {
-            String[] props = l[0].split(" ");
+            String[] props = l0.split(" ");
             Boolean isCombat = null;
             if (sq[0].contains("CombatDamage")) {
                 isCombat = true;
@@ -2394,7 +2390,7 @@ public class AbilityUtils {
         if (sq[0].startsWith("TypesSharedWith")) {
             Set<CardType.CoreType> thisTypes = Sets.newHashSet(c.getType().getCoreTypes());
             Set<CardType.CoreType> matches = new HashSet<>();
-            for (Card c1 : AbilityUtils.getDefinedCards(ctb.getHostCard(), l[0].split(" ")[1], ctb)) {
+            for (Card c1 : AbilityUtils.getDefinedCards(ctb.getHostCard(), l0.split(" ")[1], ctb)) {
                 for (CardType.CoreType type : Sets.newHashSet(c1.getType().getCoreTypes())) {
                     if (thisTypes.contains(type)) {
                         matches.add(type);
@@ -2432,14 +2428,14 @@ public class AbilityUtils {
 
         // Count$CardAttackedThisTurn <Valid>
         if (sq[0].startsWith("CreaturesAttackedThisTurn")) {
-            final String[] workingCopy = l[0].split(" ", 2);
+            final String[] workingCopy = l0.split(" ", 2);
             final String validFilter = workingCopy[1];
             return doXMath(CardLists.getValidCardCount(player.getCreaturesAttackedThisTurn(), validFilter, player, c, ctb), expr, c, ctb);
         }
 
         // Manapool
         if (sq[0].startsWith("ManaPool")) {
-            final String color = l[0].split(":")[1];
+            final String color = l0.split(":")[1];
             int v = 0;
             if (color.equals("All")) {
                 v = player.getManaPool().totalMana();
@@ -2465,9 +2461,9 @@ public class AbilityUtils {
         //SacrificedThisTurn <type>
         if (sq[0].startsWith("SacrificedThisTurn")) {
             List<Card> list = player.getSacrificedThisTurn();
-            if (l[0].contains(" ")) {
-                String[] lparts = l[0].split(" ", 2);
-                String restrictions = TextUtil.fastReplace(l[0], TextUtil.addSuffix(lparts[0]," "), "");
+            if (l0.contains(" ")) {
+                String[] lparts = l0.split(" ", 2);
+                String restrictions = TextUtil.fastReplace(l0, TextUtil.addSuffix(lparts[0]," "), "");
                 list = CardLists.getValidCardsAsList(list, restrictions, player, c, ctb);
             }
             return doXMath(list.size(), expr, c, ctb);
@@ -2588,7 +2584,7 @@ public class AbilityUtils {
         }
 
         if (sq[0].startsWith("CreatureType")) {
-            String[] sqparts = l[0].split(" ", 2);
+            String[] sqparts = l0.split(" ", 2);
             final String[] rest = sqparts[1].split(",");
 
             final CardCollectionView cardsInZones = sqparts[0].length() > 12
@@ -2627,8 +2623,8 @@ public class AbilityUtils {
             return doXMath(colorOcurrencices, expr, c, ctb);
         }
 
-        if (l[0].contains("ExactManaCost")) {
-            String[] sqparts = l[0].split(" ", 2);
+        if (l0.contains("ExactManaCost")) {
+            String[] sqparts = l0.split(" ", 2);
             final String[] rest = sqparts[1].split(",");
 
             final CardCollectionView cardsInZones = sqparts[0].length() > 13
@@ -2676,7 +2672,7 @@ public class AbilityUtils {
         // Count$ThisTurnCast <Valid>
         // Count$LastTurnCast <Valid>
         if (sq[0].startsWith("ThisTurnCast") || sq[0].startsWith("LastTurnCast")) {
-            final String[] workingCopy = l[0].split("_");
+            final String[] workingCopy = l0.split("_");
             final String validFilter = workingCopy[1];
 
             List<Card> res = Lists.newArrayList();
@@ -2691,7 +2687,7 @@ public class AbilityUtils {
 
         // Count$ThisTurnEntered <ZoneDestination> [from <ZoneOrigin>] <Valid>
         if (sq[0].startsWith("ThisTurnEntered")) {
-            final String[] workingCopy = l[0].split("_");
+            final String[] workingCopy = l0.split("_");
 
             ZoneType destination = ZoneType.smartValueOf(workingCopy[1]);
             final boolean hasFrom = workingCopy[2].equals("from");
@@ -2704,7 +2700,7 @@ public class AbilityUtils {
 
         // Count$LastTurnEntered <ZoneDestination> [from <ZoneOrigin>] <Valid>
         if (sq[0].startsWith("LastTurnEntered")) {
-            final String[] workingCopy = l[0].split("_");
+            final String[] workingCopy = l0.split("_");
 
             ZoneType destination = ZoneType.smartValueOf(workingCopy[1]);
             final boolean hasFrom = workingCopy[2].equals("from");
@@ -2716,7 +2712,7 @@ public class AbilityUtils {
         }
 
         if (sq[0].startsWith("CountersAddedThisTurn")) {
-            final String[] parts = l[0].split(" ");
+            final String[] parts = l0.split(" ");
             CounterType cType = CounterType.getType(parts[1]);
 
             return doXMath(game.getCounterAddedThisTurn(cType, parts[2], parts[3], c, player, ctb), expr, c, ctb);
@@ -2724,7 +2720,7 @@ public class AbilityUtils {
 
         // count valid cards in any specified zone/s
         if (sq[0].startsWith("Valid")) {
-            String[] paidparts = l[0].split("\\$", 2);
+            String[] paidparts = l0.split("\\$", 2);
             String[] lparts = paidparts[0].split(" ", 2);
 
             CardCollectionView cardsInZones = null;
@@ -2760,7 +2756,7 @@ public class AbilityUtils {
         }
 
         if (sq[0].startsWith("MostCardName")) {
-            String[] lparts = l[0].split(" ", 2);
+            String[] lparts = l0.split(" ", 2);
             final String[] rest = lparts[1].split(",");
 
             final CardCollectionView cardsInZones = lparts[0].length() > 12
@@ -2786,7 +2782,7 @@ public class AbilityUtils {
 
         if (sq[0].startsWith("DifferentCardNames_")) {
             final List<String> crdname = Lists.newArrayList();
-            final String restriction = l[0].substring(19);
+            final String restriction = l0.substring(19);
             CardCollection list = CardLists.getValidCards(game.getCardsInGame(), restriction, player, c, ctb);
             for (final Card card : list) {
                 String name = card.getName();
@@ -2799,20 +2795,20 @@ public class AbilityUtils {
         }
 
         if (sq[0].startsWith("MostProminentCreatureType")) {
-            String restriction = l[0].split(" ")[1];
+            String restriction = l0.split(" ")[1];
             CardCollection list = CardLists.getValidCards(game.getCardsIn(ZoneType.Battlefield), restriction, player, c, ctb);
             return doXMath(CardFactoryUtil.getMostProminentCreatureTypeSize(list), expr, c, ctb);
         }
 
         if (sq[0].startsWith("SecondMostProminentColor")) {
-            String restriction = l[0].split(" ")[1];
+            String restriction = l0.split(" ")[1];
             CardCollection list = CardLists.getValidCards(game.getCardsIn(ZoneType.Battlefield), restriction, player, c, ctb);
             int[] colorSize = CardFactoryUtil.SortColorsFromList(list);
             return doXMath(colorSize[colorSize.length - 2], expr, c, ctb);
         }
 
         if (sq[0].startsWith("ColorsCtrl")) {
-            final String restriction = l[0].substring(11);
+            final String restriction = l0.substring(11);
             final CardCollection list = CardLists.getValidCards(player.getCardsIn(ZoneType.Battlefield), restriction, player, c, ctb);
             byte n = 0;
             for (final Card card : list) {
@@ -2823,24 +2819,24 @@ public class AbilityUtils {
 
         // TODO move below to handlePaid
         if (sq[0].startsWith("SumPower")) {
-            final String[] restrictions = l[0].split("_");
+            final String[] restrictions = l0.split("_");
             CardCollection filteredCards = CardLists.getValidCards(game.getCardsIn(ZoneType.Battlefield), restrictions[1], player, c, ctb);
             return doXMath(Aggregates.sum(filteredCards, CardPredicates.Accessors.fnGetNetPower), expr, c, ctb);
         }
         if (sq[0].startsWith("HighestCMC_")) {
-            final String restriction = l[0].substring(11);
+            final String restriction = l0.substring(11);
             CardCollection list = CardLists.getValidCards(game.getCardsInGame(), restriction, player, c, ctb);
             return Aggregates.max(list, CardPredicates.Accessors.fnGetCmc);
         }
         if (sq[0].startsWith("DifferentPower_")) {
-            final String restriction = l[0].substring(15);
+            final String restriction = l0.substring(15);
             CardCollection list = CardLists.getValidCards(game.getCardsIn(ZoneType.Battlefield), restriction, player, c, ctb);
             final Iterable<Card> powers = Aggregates.uniqueByLast(list, CardPredicates.Accessors.fnGetNetPower);
             return doXMath(Iterables.size(powers), expr, c, ctb);
         }
         if (sq[0].startsWith("DifferentCounterKinds_")) {
             final List<CounterType> kinds = Lists.newArrayList();
-            final String rest = l[0].substring(22);
+            final String rest = l0.substring(22);
             CardCollection list = CardLists.getValidCards(game.getCardsIn(ZoneType.Battlefield), rest, player, c, ctb);
             for (final Card card : list) {
                 for (final Map.Entry<CounterType, Integer> map : card.getCounters().entrySet()) {
@@ -2961,6 +2957,10 @@ public class AbilityUtils {
     }
 
     private static final String applyTextChangeEffects(final String def, final Card card, final boolean isDescriptive) {
+        // nothing would be replaced, and amounts that are looked up by their text stay the same
+        if (!card.hasChangedTextWords()) {
+            return def;
+        }
         return applyTextChangeEffects(def, isDescriptive,
                 card.getChangedTextColorWords(), card.getChangedTextTypeWords());
     }
@@ -3135,66 +3135,19 @@ public class AbilityUtils {
     }
 
     public static int doXMath(final int num, final String operators, final Card c, CardTraitBase ctb) {
-        if (operators == null || operators.equals("none")) {
+        return doXMath(num, AmountExpression.Operation.of(operators), c, ctb);
+    }
+
+    public static int doXMath(final int num, final AmountExpression.Operation operation, final Card c, CardTraitBase ctb) {
+        if (operation.getOperator() == AmountExpression.Operator.NONE) {
             return num;
         }
 
-        final String[] s = operators.split("\\.");
-        int secondaryNum = 0;
-
-        try {
-            if (s.length == 2) {
-                secondaryNum = Integer.parseInt(s[1]);
-            }
-        } catch (final Exception e) {
-            secondaryNum = calculateAmount(c, s[1], ctb);
-        }
-
-        if (s[0].contains("Plus")) {
-            return num + secondaryNum;
-        } else if (s[0].contains("NMinus")) {
-            return secondaryNum - num;
-        } else if (s[0].contains("Minus")) {
-            return num - secondaryNum;
-        } else if (s[0].contains("Twice")) {
-            return num * 2;
-        } else if (s[0].contains("Thrice")) {
-            return num * 3;
-        } else if (s[0].contains("HalfUp")) {
-            return (int) (Math.ceil(num / 2.0));
-        } else if (s[0].contains("HalfDown")) {
-            return (int) (Math.floor(num / 2.0));
-        } else if (s[0].contains("ThirdUp")) {
-            return (int) (Math.ceil(num / 3.0));
-        } else if (s[0].contains("ThirdDown")) {
-            return (int) (Math.floor(num / 3.0));
-        } else if (s[0].contains("Negative")) {
-            return num * -1;
-        } else if (s[0].contains("Times")) {
-            return num * secondaryNum;
-        } else if (s[0].contains("DivideEvenlyDown")) {
-            if (secondaryNum == 0) {
-                return 0;
-            }
-            return num / secondaryNum;
-        } else if (s[0].contains("Mod")) {
-            return num % secondaryNum;
-        } else if (s[0].contains("Abs")) {
-            return Math.abs(num);
-        } else if (s[0].contains("LimitMax")) {
-            if (num < secondaryNum) {
-                return num;
-            }
-            return secondaryNum;
-        } else if (s[0].contains("LimitMin")) {
-            if (num > secondaryNum) {
-                return num;
-            }
-            return secondaryNum;
-
-        } else {
-            return num;
+        int secondaryNum = operation.getSecondaryNum();
+        if (operation.getSecondaryAmount() != null) {
+            secondaryNum = calculateAmount(c, operation.getSecondaryAmount(), ctb);
         }
+        return operation.getOperator().apply(num, secondaryNum);
     }
 
     /**
@@ -3773,10 +3726,8 @@ public class AbilityUtils {
         // "Named <CARDNAME> in all graveyards" - Count$NamedAllYards.<CARDNAME>
 
         if (sq[0].contains("Named")) {
-            if (sq[1].equals("CARDNAME")) {
-                sq[1] = c.getName();
-            }
-            someCards = CardLists.filter(someCards, CardPredicates.nameEquals(sq[1]));
+            final String name = sq[1].equals("CARDNAME") ? c.getName() : sq[1];
+            someCards = CardLists.filter(someCards, CardPredicates.nameEquals(name));
         }
 
         // Refined qualities
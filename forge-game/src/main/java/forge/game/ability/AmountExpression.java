@@ -0,0 +1,363 @@
+package forge.game.ability;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * An amount as used in ability parameters and SVars, like <code>X</code>,
+ * <code>-2</code> or <code>Count$Valid Elf.YouCtrl/Plus.1</code>, split into
+ * the parts {@link AbilityUtils#calculateAmount} and {@link AbilityUtils#xCount}
+ * look at. Amounts are parsed once and shared, so that calculating them again
+ * only has to look up the game, not split the same strings each time.
+ *
+ * Expressions are shared by their text. When text changing effects rewrite an
+ * SVar, the rewritten text is a different expression, so nothing parsed from
+ * the old text is used for it.
+ */
+public final class AmountExpression {
+    // amounts are written in card scripts, so there aren't that many of them, unless text changes make up more
+    private static final int MAX_CACHED = 20000;
+    private static final ConcurrentMap<String, AmountExpression> cache = new ConcurrentHashMap<>();
+
+    /** What is done to a number by the operators after a "/", e.g. <code>Plus.1</code>. */
+    public enum Operator {
+        NONE,
+        PLUS,
+        NMINUS,
+        MINUS,
+        TWICE,
+        THRICE,
+        HALF_UP,
+        HALF_DOWN,
+        THIRD_UP,
+        THIRD_DOWN,
+        NEGATIVE,
+        TIMES,
+        DIVIDE_EVENLY_DOWN,
+        MOD,
+        ABS,
+        LIMIT_MAX,
+        LIMIT_MIN;
+
+        // in the order AbilityUtils.doXMath always checked them, since they're found by contains
+        private static Operator fromName(final String s) {
+            if (s.contains("Plus")) {
+                return PLUS;
+            } else if (s.contains("NMinus")) {
+                return NMINUS;
+            } else if (s.contains("Minus")) {
+                return MINUS;
+            } else if (s.contains("Twice")) {
+                return TWICE;
+            } else if (s.contains("Thrice")) {
+                return THRICE;
+            } else if (s.contains("HalfUp")) {
+                return HALF_UP;
+            } else if (s.contains("HalfDown")) {
+                return HALF_DOWN;
+            } else if (s.contains("ThirdUp")) {
+                return THIRD_UP;
+            } else if (s.contains("ThirdDown")) {
+                return THIRD_DOWN;
+            } else if (s.contains("Negative")) {
+                return NEGATIVE;
+            } else if (s.contains("Times")) {
+                return TIMES;
+            } else if (s.contains("DivideEvenlyDown")) {
+                return DIVIDE_EVENLY_DOWN;
+            } else if (s.contains("Mod")) {
+                return MOD;
+            } else if (s.contains("Abs")) {
+                return ABS;
+            } else if (s.contains("LimitMax")) {
+                return LIMIT_MAX;
+            } else if (s.contains("LimitMin")) {
+                return LIMIT_MIN;
+            }
+            return NONE;
+        }
+
+        /** @return the result of this operator on num, with secondaryNum as its other operand. */
+        public int apply(final int num, final int secondaryNum) {
+            switch (this) {
+            case PLUS:
+                return num + secondaryNum;
+            case NMINUS:
+                return secondaryNum - num;
+            case MINUS:
+                return num - secondaryNum;
+            case TWICE:
+                return num * 2;
+            case THRICE:
+                return num * 3;
+            case HALF_UP:
+                return (int) (Math.ceil(num / 2.0));
+            case HALF_DOWN:
+                return (int) (Math.floor(num / 2.0));
+            case THIRD_UP:
+                return (int) (Math.ceil(num / 3.0));
+            case THIRD_DOWN:
+                return (int) (Math.floor(num / 3.0));
+            case NEGATIVE:
+                return num * -1;
+            case TIMES:
+                return num * secondaryNum;
+            case DIVIDE_EVENLY_DOWN:
+                return secondaryNum == 0 ? 0 : num / secondaryNum;
+            case MOD:
+                return num % secondaryNum;
+            case ABS:
+                return Math.abs(num);
+            case LIMIT_MAX:
+                return Math.min(num, secondaryNum);
+            case LIMIT_MIN:
+                return Math.max(num, secondaryNum);
+            default:
+                return num;
+            }
+        }
+    }
+
+    /** The operators after a "/", e.g. <code>Plus.1</code> or <code>LimitMax.X</code>. */
+    public static final class Operation {
+        private static final ConcurrentMap<String, Operation> operations = new ConcurrentHashMap<>();
+        /** Leaves the number as it is, for a missing operation or "none". */
+        public static final Operation NONE = new Operation(Operator.NONE, 0, null);
+
+        private final Operator operator;
+        private final int secondaryNum;
+        private final String secondaryAmount;
+
+        private Operation(final Operator operator, final int secondaryNum, final String secondaryAmount) {
+            this.operator = operator;
+            this.secondaryNum = secondaryNum;
+            this.secondaryAmount = secondaryAmount;
+        }
+
+        /** @return the parsed form of the operators, shared with everything else that uses the same ones. */
+        public static Operation of(final String operators) {
+            if (operators == null || operators.equals("none")) {
+                return NONE;
+            }
+            Operation result = operations.get(operators);
+            if (result == null) {
+                result = parse(operators);
+                if (operations.size() < MAX_CACHED) {
+                    final Operation existing = operations.putIfAbsent(operators, result);
+                    if (existing != null) {
+                        result = existing;
+                    }
+                }
+            }
+            return result;
+        }
+
+        private static Operation parse(final String operators) {
+            final String[] s = operators.split("\\.");
+            int secondaryNum = 0;
+            String secondaryAmount = null;
+            if (s.length == 2) {
+                try {
+                    secondaryNum = Integer.parseInt(s[1]);
+                } catch (final NumberFormatException e) {
+                    secondaryAmount = s[1];
+                }
+            }
+            return new Operation(Operator.fromName(s[0]), secondaryNum, secondaryAmount);
+        }
+
+        public Operator getOperator() {
+            return operator;
+        }
+
+        /** @return the other operand, if it's a number. */
+        public int getSecondaryNum() {
+            return secondaryNum;
+        }
+
+        /** @return the other operand, if it's an amount that has to be calculated, or null. */
+        public String getSecondaryAmount() {
+            return secondaryAmount;
+        }
+    }
+
+    private final String text;
+
+    // as an amount: a sign, then a number or the name of an SVar, or a value written out
+    private final int multiplier;
+    private final String unsigned;
+
+    // as a value, e.g. of an SVar: Object$Property
+    private final boolean constant;
+    private final int constantValue;
+    private final boolean constantParsed;
+    private final String head;
+    private final String body;
+
+    // as what's counted by xCount: Count$Property.Parts/Operators
+    private final String operand;
+    private final String count;
+    private final String number;
+    private final String svar;
+    private final String[] parts;
+    private final Operation operation;
+    private final String compareLeft;
+    private final String comparator;
+    private final String compareRight;
+
+    private AmountExpression(final String text) {
+        this.text = text;
+
+        final boolean signed = !text.isEmpty() && (text.charAt(0) == '+' || text.charAt(0) == '-');
+        this.multiplier = signed && text.charAt(0) == '-' ? -1 : 1;
+        this.unsigned = signed ? text.substring(1) : text;
+
+        this.constant = StringUtils.isNumeric(text);
+        int value = 0;
+        boolean parsed = false;
+        if (constant) {
+            try {
+                value = Integer.parseInt(text);
+                parsed = true;
+            } catch (final NumberFormatException e) {
+                // too big, fails when it's used
+            }
+        }
+        this.constantValue = value;
+        this.constantParsed = parsed;
+        final String[] calcX = text.split("\\$", 2);
+        // incorrect parses mean zero
+        if (calcX.length == 1 || calcX[1].equals("none")) {
+            this.head = null;
+            this.body = null;
+        } else {
+            this.head = calcX[0];
+            this.body = calcX[1];
+        }
+
+        final String[] l = text.split("/");
+        this.operation = Operation.of(l.length > 1 ? l[1] : null);
+        this.operand = l[0];
+        this.number = operand.startsWith("Number$") ? operand.substring(7) : null;
+        this.count = operand.startsWith("Count$") ? operand.substring(6) : operand;
+        this.svar = count.startsWith("SVar$") ? count.substring(5) : null;
+        this.parts = count.split("\\.");
+        final String[] compString = parts[0].startsWith("Compare") ? parts[0].split(" ") : null;
+        if (compString != null && compString.length > 2) {
+            // Count$Compare <int comparator value>.<True>.<False>
+            this.compareLeft = compString[1];
+            this.comparator = compString[2];
+            this.compareRight = compString[2].substring(2);
+        } else {
+            this.compareLeft = null;
+            this.comparator = null;
+            this.compareRight = null;
+        }
+    }
+
+    /**
+     * @return the parsed form of the amount, shared with everything else that
+     *         uses the same amount.
+     */
+    public static AmountExpression of(final String amount) {
+        AmountExpression result = cache.get(amount);
+        if (result == null) {
+            result = new AmountExpression(amount);
+            if (cache.size() < MAX_CACHED) {
+                final AmountExpression existing = cache.putIfAbsent(amount, result);
+                if (existing != null) {
+                    result = existing;
+                }
+            }
+        }
+        return result;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /** @return -1 if the amount starts with "-", 1 otherwise. */
+    public int getMultiplier() {
+        return multiplier;
+    }
+
+    /** @return the amount without a leading "+" or "-". */
+    public String getUnsigned() {
+        return unsigned;
+    }
+
+    /** @return whether the whole text is a number. */
+    public boolean isConstant() {
+        return constant;
+    }
+
+    public int getConstantValue() {
+        return constantParsed ? constantValue : Integer.parseInt(text);
+    }
+
+    /** @return the part before the first "$", or null if there is none or nothing after it. */
+    public String getHead() {
+        return head;
+    }
+
+    /** @return the part after the first "$", or null if there is none or nothing after it. */
+    public String getBody() {
+        return body;
+    }
+
+    /** @return the part before the first "/". */
+    public String getOperand() {
+        return operand;
+    }
+
+    /** @return the part before the first "/", without a leading "Count$". */
+    public String getCount() {
+        return count;
+    }
+
+    /** @return the number after a leading "Number$", or null. */
+    public String getNumber() {
+        return number;
+    }
+
+    /** @return the name of the SVar after a leading "SVar$" in the counted part, or null. */
+    public String getSVar() {
+        return svar;
+    }
+
+    /**
+     * @return the counted part split by ".". The array is shared, so it must
+     *         not be changed.
+     */
+    public String[] getParts() {
+        return parts;
+    }
+
+    /** @return the operators after the first "/". */
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /** @return the amount on the left of a <code>Compare</code>, or null. */
+    public String getCompareLeft() {
+        return compareLeft;
+    }
+
+    /** @return the comparator of a <code>Compare</code> followed by the amount on its right, or null. */
+    public String getComparator() {
+        return comparator;
+    }
+
+    /** @return the amount on the right of a <code>Compare</code>, or null. */
+    public String getCompareRight() {
+        return compareRight;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
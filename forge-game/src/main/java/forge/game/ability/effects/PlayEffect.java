@@ -194,8 +194,6 @@ public class PlayEffect extends SpellAbilityEffect {
             while (it.hasNext()) {
                 Card c = it.next();
                 if (!Iterables.any(AbilityUtils.getBasicSpellsFromPlayEffect(c, controller), SpellAbilityPredicates.isValid(valid, controller , c, sa))) {
-                    // it.remove will only remove item from the list part of CardCollection
-                    tgtCards.asSet().remove(c);
                     it.remove();
                 }
             }
@@ -231,8 +229,6 @@ public class PlayEffect extends SpellAbilityEffect {
                 while (it.hasNext()) {
                     Card c = it.next();
                     if (!Iterables.any(AbilityUtils.getBasicSpellsFromPlayEffect(c, controller), SpellAbilityPredicates.isValid(valid, controller , c, sa))) {
-                        // it.remove will only remove item from the list part of CardCollection
-                        tgtCards.asSet().remove(c);
                         it.remove();
                     }
                 }
@@ -34,8 +34,10 @@ import forge.game.GameActionUtil;
 import forge.game.GameEntity;
 import forge.game.GameEntityCounterTable;
 import forge.game.GameStage;
+import forge.game.GameStateHash;
 import forge.game.GlobalRuleChange;
 import forge.game.IHasSVars;
+import forge.game.ValidRestriction;
 import forge.game.ability.AbilityFactory;
 import forge.game.ability.AbilityKey;
 import forge.game.ability.AbilityUtils;
@@ -90,6 +92,8 @@ import java.util.Map.Entry;
 public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     private final Game game;
     private final IPaperCard paperCard;
+    // see getStateHashIdentity
+    private String stateHashName;
 
     private final Map<CardStateName, CardState> states = Maps.newEnumMap(CardStateName.class);
     private CardState currentState;
@@ -454,6 +458,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         // For Ertai's Meddling a morph spell
         currentState = CardUtil.getFaceDownCharacteristic(this, CardStateName.Original);
         states.put(CardStateName.Original, currentState);
+        nameOrTypesChanged();
     }
 
     public boolean setState(final CardStateName state, boolean updateView) {
@@ -492,6 +497,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
         currentStateName = state;
         currentState = getState(state);
+        nameOrTypesChanged();
 
         if (updateView) {
             view.updateState(this);
@@ -530,6 +536,8 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     public void setStates(Map<CardStateName, CardState> map) {
         states.clear();
         states.putAll(map);
+        nameOrTypesChanged();
+        staticLayersChanged();
     }
 
     public final void addAlternateState(final CardStateName state, final boolean updateView) {
@@ -859,11 +867,13 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
     public void addChangedName(final String name0, boolean addNonLegendaryCreatureNames, long timestamp, long staticId) {
         changedCardNames.put(timestamp, staticId, new CardChangedName(name0, addNonLegendaryCreatureNames));
+        nameOrTypesChanged();
         updateNameforView();
     }
 
     public void removeChangedName(long timestamp, long staticId) {
         if (changedCardNames.remove(timestamp, staticId) != null) {
+            nameOrTypesChanged();
             updateNameforView();
         }
     }
@@ -871,6 +881,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     public boolean clearChangedName() {
         boolean changed = !changedCardNames.isEmpty();
         changedCardNames.clear();
+        nameOrTypesChanged();
         return changed;
     }
 
@@ -885,6 +896,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     public void setChangedCardNames(Table<Long, Long, CardChangedName> changedCardNames) {
         this.changedCardNames.clear();
         this.changedCardNames.putAll(changedCardNames);
+        nameOrTypesChanged();
     }
 
     public final boolean isInAlternateState() {
@@ -1541,6 +1553,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
             }
         }
         counters = allCounters;
+        updateCountersHash();
         view.updateCounters(this);
 
         for (CounterType ct : counters.keySet()) {
@@ -1557,7 +1570,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     @Override
     public final void clearCounters() {
         if (counters.isEmpty()) { return; }
+        unshareCounters();
         counters.clear();
+        updateCountersHash();
         view.updateCounters(this);
 
         boolean changed = false;
@@ -3293,6 +3308,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public final void setController(final Player player, final long tstamp) {
+        staticLayersChanged();
         tempControllers.clear();
         controller = player;
         controllerTimestamp = tstamp;
@@ -3300,17 +3316,20 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public final void addTempController(final Player player, final long tstamp) {
+        staticLayersChanged();
         tempControllers.put(tstamp, player);
         view.updateController(this);
     }
 
     public final void removeTempController(final long tstamp) {
+        staticLayersChanged();
         if (tempControllers.remove(tstamp) != null) {
             view.updateController(this);
         }
     }
 
     public final void removeTempController(final Player player) {
+        staticLayersChanged();
         boolean changed = false;
         // Remove each key that yields this player
         while (tempControllers.values().remove(player)) {
@@ -3321,6 +3340,27 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         }
     }
 
+    /**
+     * Let the incremental static ability check know that characteristics or
+     * static abilities of a card in the game changed, unless it's the check
+     * itself changing them. Cards in no zone, like last known information
+     * copies, can't change what the check applies.
+     */
+    private void staticLayersChanged() {
+        if (game != null && currentZone != null) {
+            game.getStaticEffects().getLayerTracker().markDirty();
+        }
+    }
+
+    /**
+     * Let the zone of this card know that its name or types may have changed, for the cards it finds by them.
+     */
+    final void nameOrTypesChanged() {
+        if (currentZone != null) {
+            currentZone.onCardChanged(this);
+        }
+    }
+
     public final void clearTempControllers() {
         if (tempControllers.isEmpty()) { return; }
         tempControllers.clear();
@@ -3683,6 +3723,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         if (!changedCardTypes.isEmpty())
             changed = true;
         changedCardTypes.clear();
+        nameOrTypesChanged();
 
         return changed;
     }
@@ -3737,6 +3778,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
     public final void addChangedCardTypesByText(final CardType addType, final long timestamp, final long staticId, final boolean updateView) {
         changedCardTypesByText.put(timestamp, staticId, new CardChangedType(addType, null, false, true, true, true, false, false, false, false));
+        nameOrTypesChanged();
 
         // setting card type via text, does overwrite any other word change effects?
         this.changedTextColors.addEmpty(timestamp, staticId);
@@ -3752,9 +3794,11 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
             final boolean removeLandTypes, final boolean removeCreatureTypes, final boolean removeArtifactTypes,
             final boolean removeEnchantmentTypes,
             final long timestamp, final long staticId, final boolean updateView, final boolean cda) {
+        staticLayersChanged();
         (cda ? changedCardTypesCharacterDefining : changedCardTypes).put(timestamp, staticId, new CardChangedType(
                 addType, removeType, addAllCreatureTypes, removeSuperTypes, removeCardTypes, removeSubTypes,
                 removeLandTypes, removeCreatureTypes, removeArtifactTypes, removeEnchantmentTypes));
+        nameOrTypesChanged();
         if (updateView) {
             updateTypesForView();
         }
@@ -3784,25 +3828,32 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         removeChangedCardTypes(timestamp, staticId, true);
     }
     public final void removeChangedCardTypes(final long timestamp, final long staticId, final boolean updateView) {
+        staticLayersChanged();
         boolean removed = false;
         removed |= changedCardTypes.remove(timestamp, staticId) != null;
         removed |= changedCardTypesCharacterDefining.remove(timestamp, staticId) != null;
+        if (removed) {
+            nameOrTypesChanged();
+        }
         if (removed && updateView) {
             updateTypesForView();
         }
     }
 
     public void addColorByText(final ColorSet color, final long timestamp, final long staticId) {
+        staticLayersChanged();
         changedCardColorsByText.put(timestamp, staticId, new CardColor(color, false));
         updateColorForView();
     }
 
     public final void addColor(final ColorSet color, final boolean addToColors, final long timestamp, final long staticId, final boolean cda) {
+        staticLayersChanged();
         (cda ? changedCardColorsCharacterDefining : changedCardColors).put(timestamp, staticId, new CardColor(color, addToColors));
         updateColorForView();
     }
 
     public final void removeColor(final long timestampIn, final long staticId) {
+        staticLayersChanged();
         boolean removed = false;
         removed |= changedCardColorsByText.remove(timestampIn, staticId) != null;
         removed |= changedCardColors.remove(timestampIn, staticId) != null;
@@ -3998,11 +4049,13 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         addNewPT(power, toughness, timestamp, staticId, false);
     }
     public final void addNewPT(final Integer power, final Integer toughness, final long timestamp, final long staticId, final boolean cda) {
+        staticLayersChanged();
         (cda ? newPTCharacterDefining : newPT).put(timestamp, staticId, Pair.of(power, toughness));
         updatePTforView();
     }
 
     public final void removeNewPT(final long timestamp, final long staticId) {
+        staticLayersChanged();
         boolean removed = false;
 
         removed |= newPTText.remove(timestamp, staticId) != null;
@@ -4208,10 +4261,12 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public void addPTBoost(final Integer power, final Integer toughness, final long timestamp, final long staticId) {
+        staticLayersChanged();
         boostPT.put(timestamp, staticId, Pair.of(power, toughness));
     }
 
     public void removePTBoost(final long timestamp, final long staticId) {
+        staticLayersChanged();
         boostPT.remove(timestamp, staticId);
     }
 
@@ -4231,6 +4286,30 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     public final boolean isTapped() {
         return tapped;
     }
+
+    /**
+     * @return the {@link GameStateHash} of the tapped status and counters of this card
+     */
+    public final long getStateHash() {
+        long hash = getCountersHash();
+        if (tapped) {
+            hash ^= GameStateHash.key(GameStateHash.TAPPED, id);
+        }
+        return hash;
+    }
+
+    /**
+     * @return a {@link GameStateHash} key part for which card this is, to tell it apart from a different card that
+     * got the same id in another copy of the game. It's made from the name of the card's original state when it's
+     * first asked for, so it stays the same while the card is in a zone even if the card is renamed.
+     */
+    public final long getStateHashIdentity() {
+        if (stateHashName == null) {
+            final String name = getState(CardStateName.Original).getName();
+            stateHashName = name == null ? "" : name;
+        }
+        return stateHashName.hashCode();
+    }
     public final void setTapped(boolean tapped0) {
         if (tapped == tapped0) { return; }
         tapped = tapped0;
@@ -4333,6 +4412,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     public final void addChangedCardTraits(Collection<SpellAbility> spells, Collection<SpellAbility> removedAbilities,
             Collection<Trigger> trigger, Collection<ReplacementEffect> replacements, Collection<StaticAbility> statics,
             boolean removeAll, boolean removeNonMana, long timestamp, long staticId) {
+        staticLayersChanged();
         changedCardTraits.put(timestamp, staticId, new CardTraitChanges(
             spells, removedAbilities, trigger, replacements, statics, removeAll, removeNonMana
         ));
@@ -4341,6 +4421,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
 
     public final boolean removeChangedCardTraits(long timestamp, long staticId) {
+        staticLayersChanged();
         boolean changed = false;
         changed |= changedCardTraitsByText.remove(timestamp, staticId) != null;
         changed |= changedCardTraits.remove(timestamp, staticId) != null;
@@ -4437,6 +4518,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     }
     public final void addChangedCardKeywords(final List<String> keywords, final List<String> removeKeywords,
             final boolean removeAllKeywords, final long timestamp, final long staticId, final boolean updateView) {
+        staticLayersChanged();
         List<KeywordInterface> kws = Lists.newArrayList();
         if (keywords != null) {
             for (String kw : keywords) {
@@ -4489,6 +4571,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         final List<KeywordInterface> keywords, final List<KeywordInterface> removeKeywords,
         final boolean removeAllKeywords,
         final long timestamp, final long staticId, final boolean updateView) {
+        staticLayersChanged();
 
         final KeywordsChange newCks = new KeywordsChange(keywords, removeKeywords, removeAllKeywords);
         changedCardKeywords.put(timestamp, staticId, newCks);
@@ -4502,6 +4585,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         return removeChangedCardKeywords(timestamp, staticId, true);
     }
     public final boolean removeChangedCardKeywords(final long timestamp, final long staticId, final boolean updateView) {
+        staticLayersChanged();
         boolean changed = false;
         changed |= changedCardKeywords.remove(timestamp, staticId) != null;
         changed |= changedCardKeywordsByText.remove(timestamp, staticId) != null;
@@ -4630,6 +4714,8 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         }
 
         this.changedTypeByText = new CardChangedType(new CardType(toAdd, true), new CardType(toRemove, true), false, false, false, false, false, false, false, false);
+        nameOrTypesChanged();
+        staticLayersChanged();
 
         currentState.updateChangedText();
 
@@ -4664,6 +4750,14 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         view.updateNonAbilityText(this);
     }
 
+    /**
+     * @return whether any color or type words in the text of this card are
+     *         replaced by others.
+     */
+    public final boolean hasChangedTextWords() {
+        return !changedTextColors.isEmpty() || !changedTextTypes.isEmpty();
+    }
+
     public final ImmutableMap<String, String> getChangedTextColorWords() {
         return ImmutableMap.copyOf(changedTextColors);
     }
@@ -4785,18 +4879,21 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         if (!s.trim().isEmpty()) {
             final StaticAbility stAb = StaticAbility.create(s, this, currentState, true);
             currentState.addStaticAbility(stAb);
+            staticLayersChanged();
             return stAb;
         }
         return null;
     }
     public final StaticAbility addStaticAbility(final StaticAbility stAb) {
         currentState.addStaticAbility(stAb);
+        staticLayersChanged();
         return stAb;
     }
 
     @Deprecated
     public final void removeStaticAbility(StaticAbility stAb) {
         currentState.removeStaticAbility(stAb);
+        staticLayersChanged();
     }
 
     public void updateStaticAbilities(List<StaticAbility> list, CardState state) {
@@ -4889,6 +4986,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     public final void setPhasedOut(final boolean phasedOut0) {
         if (phasedOut == phasedOut0) { return; }
         phasedOut = phasedOut0;
+        if (currentZone != null) {
+            currentZone.onCardPhased(this);
+        }
         view.updatePhasedOut(this);
     }
 
@@ -5086,47 +5186,39 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
     // Takes one argument like Permanent.Blue+withFlying
     @Override
-    public final boolean isValid(final String restriction, final Player sourceController, final Card source, CardTraitBase spellAbility) {
+    public final boolean isValid(final ValidRestriction restriction, final Player sourceController, final Card source, CardTraitBase spellAbility) {
         // Inclusive restrictions are Card types
-        final String[] incR = restriction.split("\\.", 2);
+        final String type = restriction.getType();
+        final boolean testFailed = restriction.isNegated(); // a bit counter logical))
 
-        boolean testFailed = false;
-        if (incR[0].startsWith("!")) {
-            testFailed = true; // a bit counter logical))
-            incR[0] = incR[0].substring(1); // consume negation sign
-        }
-
-        if (incR[0].equals("Spell")) {
+        if (type.equals("Spell")) {
             if (!isSpell()) {
                 return testFailed;
             }
-        } else if (incR[0].equals("Permanent")) {
+        } else if (type.equals("Permanent")) {
             if (!isPermanent()) {
                 return testFailed;
             }
-        } else if (incR[0].equals("Effect")) {
+        } else if (type.equals("Effect")) {
             if (!isImmutable()) {
                 return testFailed;
             }
-        } else if (incR[0].equals("Emblem")) {
+        } else if (type.equals("Emblem")) {
             if (!isEmblem()) {
                 return testFailed;
             }
-        } else if (incR[0].equals("card") || incR[0].equals("Card")) {
+        } else if (type.equals("card") || type.equals("Card")) {
             if (isImmutable()) {
                 return testFailed;
             }
-        } else if (!getType().hasStringType(incR[0])) {
+        } else if (!getType().hasStringType(type)) {
             return testFailed; // Check for wrong type
         }
 
-        if (incR.length > 1) {
-            final String excR = incR[1];
-            final String[] exRs = excR.split("\\+"); // Exclusive Restrictions are ...
-            for (String exR : exRs) {
-                if (!hasProperty(exR, sourceController, source, spellAbility)) {
-                    return testFailed;
-                }
+        // Exclusive Restrictions are ...
+        for (final ValidRestriction.Property exR : restriction.getProperties()) {
+            if (!hasProperty(exR, sourceController, source, spellAbility)) {
+                return testFailed;
             }
         }
         return !testFailed;
@@ -5141,6 +5233,10 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         return CardProperty.cardHasProperty(this, property, sourceController, source, spellAbility);
     }
 
+    public final boolean hasProperty(final ValidRestriction.Property property, final Player sourceController, final Card source, CardTraitBase spellAbility) {
+        return property.isNegated() != CardProperty.cardHasProperty(this, property, sourceController, source, spellAbility);
+    }
+
     public final boolean isImmutable() {
         return isImmutable;
     }
@@ -6592,6 +6688,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
         if (res != null) {
             cp2card.put(pc, fromPaperCard(pc, null));
         }
+        CardFactory.clearTemplates();
     }
 
     public List<Object[]> getStaticCommandList() {
@@ -6684,10 +6781,12 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     public void setChangedCardTypes(Table<Long, Long, CardChangedType> changedCardTypes) {
         this.changedCardTypes.clear();
         this.changedCardTypes.putAll(changedCardTypes);
+        nameOrTypesChanged();
     }
     public void setChangedCardTypesCharacterDefining(Table<Long, Long, CardChangedType> changedCardTypes) {
         this.changedCardTypesCharacterDefining.clear();
         this.changedCardTypesCharacterDefining.putAll(changedCardTypes);
+        nameOrTypesChanged();
     }
 
     public void setChangedCardKeywords(Table<Long, Long, KeywordsChange> changedCardKeywords) {
@@ -6822,6 +6921,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
     public void addAbilityActivated(SpellAbility ability) {
         numberTurnActivations.add(ability);
         numberGameActivations.add(ability);
+        if (game != null) {
+            game.countActivation();
+        }
 
         if (ability.isPwAbility()) {
             addPlaneswalkerAbilityActivated();
@@ -6838,6 +6940,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars {
 
     public void addAbilityResolved(SpellAbility ability) {
         numberAbilityResolved.add(ability);
+        if (game != null) {
+            game.countActivation();
+        }
     }
     public int getAbilityResolvedThisTurn(SpellAbility ability) {
         return numberAbilityResolved.get(ability);
@@ -26,6 +26,7 @@ import forge.card.*;
 import forge.card.mana.ManaCost;
 import forge.game.CardTraitBase;
 import forge.game.Game;
+import forge.game.TriggerReplacementBase;
 import forge.game.ability.AbilityFactory;
 import forge.game.ability.AbilityUtils;
 import forge.game.cost.Cost;
@@ -43,9 +44,11 @@ import forge.util.CardTranslation;
 import forge.util.TextUtil;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * <p>
@@ -289,6 +292,93 @@ public class CardFactory {
         return c;
     }
 
+    /** The most templates kept, enough for the decks of many games. */
+    private static final int MAX_TEMPLATES = 1024;
+    // counts the calls to clearTemplates, so that a template read before one isn't kept
+    private static final AtomicInteger templateGeneration = new AtomicInteger();
+
+    /**
+     * Cards read from their paper card without an owner or game, that new
+     * cards are copied from with {@link #copyFromPrototype}, so that the
+     * script of a card is parsed once instead of once per copy of the card in
+     * each game. The templates are shared by all threads, and the least
+     * recently used ones are dropped once there are too many. Copying from a
+     * card isn't safe while it's copied elsewhere, so a template is locked
+     * while a card is copied from it.
+     */
+    private static final Templates templates = new Templates();
+
+    private static final class Templates extends LinkedHashMap<IPaperCard, Card> {
+        private static final long serialVersionUID = 1L;
+
+        Templates() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<IPaperCard, Card> eldest) {
+            return size() > MAX_TEMPLATES;
+        }
+    }
+
+    /**
+     * Create a card for a game like {@link #getCard(IPaperCard, Player, Game)},
+     * but copied from a template of its paper card that is only read from the
+     * card script the first time.
+     *
+     * Each card gets its own copy of the abilities, triggers, replacement
+     * effects and static abilities of the template, since they refer to their
+     * host card and are changed by text changing effects.
+     */
+    public static Card getCardFromTemplate(final IPaperCard cp, final Player owner, final Game game) {
+        if (game == null || cp.getRules() == null) {
+            return getCard(cp, owner, game);
+        }
+        Card template;
+        final int generation;
+        synchronized (templates) {
+            template = templates.get(cp);
+            generation = templateGeneration.get();
+        }
+        if (template == null) {
+            // read outside of the lock, so that other threads can copy their cards meanwhile
+            template = getCard(cp, null, null);
+            // a card read without a game doesn't build these
+            final CardRules rules = cp.getRules();
+            buildOracleMapping(rules.getMainPart());
+            if (rules.getOtherPart() != null) {
+                buildOracleMapping(rules.getOtherPart());
+            } else if (!rules.getMeldWith().isEmpty()) {
+                buildOracleMapping(StaticData.instance().getCommonCards().getRules(rules.getMeldWith()).getOtherPart());
+            }
+            synchronized (templates) {
+                final Card other = templates.get(cp);
+                if (other != null) {
+                    template = other;
+                } else if (generation == templateGeneration.get()) {
+                    templates.put(cp, template);
+                }
+            }
+        }
+        synchronized (template) {
+            return copyFromPrototype(template, owner, game);
+        }
+    }
+
+    private static void buildOracleMapping(final ICardFace face) {
+        CardTranslation.buildOracleMapping(face.getName(), face.getOracleText());
+    }
+
+    /**
+     * Drop the templates of all cards, after the rules of a card were changed.
+     */
+    public static void clearTemplates() {
+        synchronized (templates) {
+            templateGeneration.incrementAndGet();
+            templates.clear();
+        }
+    }
+
     private static void buildAbilities(final Card card) {
         for (final CardStateName state : card.getStates()) {
             if (card.hasBackSide() && state == CardStateName.FaceDown) {
@@ -525,6 +615,108 @@ public class CardFactory {
         return c;
     } // copyStats()
 
+    /**
+     * Create a card for a game by copying the abilities of a prototype made
+     * with {@link #getCard(IPaperCard, Player, Game)} without an owner or
+     * game, instead of parsing the card script again.
+     *
+     * The prototype must not have been changed after it was created, e.g. by
+     * being played or having its state changed. The new card is equivalent to
+     * one read from the prototype's paper card. Split cards are still read
+     * from their paper card.
+     */
+    public static Card copyFromPrototype(final Card prototype, final Player owner, final Game game) {
+        if (prototype.isSplitCard()) {
+            // the halves share their abilities with the original state, which copying doesn't preserve
+            return getCard(prototype.getPaperCard(), owner, game);
+        }
+        final Card c = new Card(game.nextCardId(), prototype.getPaperCard(), game);
+        c.setRules(prototype.getRules());
+        c.setOwner(owner);
+        c.setText(prototype.getSpellText());
+
+        for (final CardStateName state : prototype.getStates()) {
+            if (!c.getStates().contains(state)) {
+                c.addAlternateState(state, false);
+            }
+            final CardState from = prototype.getState(state);
+            final CardState to = c.getState(state);
+            to.copyFrom(from, false);
+            to.setBasePowerString(from.getBasePowerString());
+            to.setBaseToughnessString(from.getBaseToughnessString());
+        }
+        // the copied traits still point to the states of the prototype, and lack the parameters that were
+        // added to the prototype's traits after parsing
+        for (final CardStateName state : c.getStates()) {
+            final CardState from = prototype.getState(state);
+            final CardState to = c.getState(state);
+            remapTraits(c, from.getManaAbilities(), to.getManaAbilities());
+            remapTraits(c, from.getNonManaAbilities(), to.getNonManaAbilities());
+            remapTraits(c, from.getTriggers(), to.getTriggers());
+            remapTraits(c, from.getReplacementEffects(), to.getReplacementEffects());
+            remapTraits(c, from.getStaticAbilities(), to.getStaticAbilities());
+            final List<KeywordInterface> fromKeywords = ImmutableList.copyOf(from.getIntrinsicKeywords());
+            final List<KeywordInterface> toKeywords = ImmutableList.copyOf(to.getIntrinsicKeywords());
+            if (fromKeywords.size() == toKeywords.size()) {
+                for (int i = 0; i < fromKeywords.size(); i++) {
+                    final KeywordInterface fromKw = fromKeywords.get(i), toKw = toKeywords.get(i);
+                    remapTraits(c, fromKw.getAbilities(), toKw.getAbilities());
+                    remapTraits(c, fromKw.getTriggers(), toKw.getTriggers());
+                    remapTraits(c, fromKw.getReplacements(), toKw.getReplacements());
+                    remapTraits(c, fromKw.getStaticAbilities(), toKw.getStaticAbilities());
+                }
+            }
+        }
+
+        c.setState(prototype.getCurrentStateName(), false);
+        c.setToken(prototype.isToken());
+        c.updateStateForView();
+        return c;
+    }
+
+    private static void remapTraits(final Card to, final Iterable<? extends CardTraitBase> from, final Iterable<? extends CardTraitBase> copies) {
+        final List<CardTraitBase> fromList = ImmutableList.copyOf(from);
+        final List<CardTraitBase> copyList = ImmutableList.copyOf(copies);
+        if (fromList.size() != copyList.size()) {
+            return;
+        }
+        for (int i = 0; i < fromList.size(); i++) {
+            remapTrait(to, fromList.get(i), copyList.get(i));
+        }
+    }
+
+    private static void remapTrait(final Card to, final CardTraitBase from, final CardTraitBase copy) {
+        if (from == null || copy == null) {
+            return;
+        }
+        final CardState state = from.getCardState();
+        if (state != null && state.getCard() != to) {
+            copy.setCardState(to.getState(state.getStateName()));
+        }
+        for (final Map.Entry<String, String> e : from.getMapParams().entrySet()) {
+            if (!copy.hasParam(e.getKey())) {
+                copy.putParam(e.getKey(), e.getValue());
+            }
+        }
+        if (from instanceof SpellAbility) {
+            final SpellAbility fromSa = (SpellAbility) from, copySa = (SpellAbility) copy;
+            if (fromSa.getSubAbility() != null && fromSa.getSubAbility().getParent() == fromSa) {
+                remapTrait(to, fromSa.getSubAbility(), copySa.getSubAbility());
+            }
+            for (final Map.Entry<String, SpellAbility> e : fromSa.getAdditionalAbilities().entrySet()) {
+                remapTrait(to, e.getValue(), copySa.getAdditionalAbility(e.getKey()));
+            }
+            for (final Map.Entry<String, List<AbilitySub>> e : fromSa.getAdditionalAbilityLists().entrySet()) {
+                final List<AbilitySub> copyList = copySa.getAdditionalAbilityList(e.getKey());
+                if (copyList != null) {
+                    remapTraits(to, e.getValue(), copyList);
+                }
+            }
+        } else if (from instanceof TriggerReplacementBase) {
+            remapTrait(to, ((TriggerReplacementBase) from).getOverridingAbility(), ((TriggerReplacementBase) copy).getOverridingAbility());
+        }
+    }
+
     /**
      * Copy characteristics of a particular state of one card to those of a
      * (possibly different) state of another.
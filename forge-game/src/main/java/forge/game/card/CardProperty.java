@@ -40,6 +40,54 @@ import java.util.Set;
 
 public class CardProperty {
 
+    /**
+     * Same as {@link #cardHasProperty(Card, String, Player, Card, CardTraitBase)}
+     * for the property without its "!", but checks the properties
+     * {@link ValidRestriction} recognizes directly.
+     */
+    public static boolean cardHasProperty(Card card, ValidRestriction.Property property, Player sourceController, Card source, CardTraitBase spellAbility) {
+        final ValidRestriction.CardPropertyKind kind = property.getCardKind();
+        if (kind == ValidRestriction.CardPropertyKind.OTHER_PROPERTY) {
+            return cardHasProperty(card, property.getText(), sourceController, source, spellAbility);
+        }
+
+        // CR 702.25b if card is phased out it will not count unless specifically asked for
+        if (card.isPhasedOut()) {
+            return false;
+        }
+
+        switch (kind) {
+            case YOU_CTRL:
+                return card.getGame().getChangeZoneLKIInfo(card).getController().equals(sourceController);
+            case YOU_DONT_CTRL:
+                return !card.getGame().getChangeZoneLKIInfo(card).getController().equals(sourceController);
+            case OPP_CTRL:
+                return card.getGame().getChangeZoneLKIInfo(card).getController().getOpponents().contains(sourceController);
+            case OTHER:
+                return !card.equals(source);
+            case SELF:
+                return card.equals(source);
+            case TAPPED:
+                return card.isTapped();
+            case UNTAPPED:
+                return card.isUntapped();
+            case WITH_KEYWORD:
+                return card.hasStartOfUnHiddenKeyword(property.getArgument());
+            case WITHOUT_KEYWORD:
+                return !card.hasStartOfUnHiddenKeyword(property.getArgument());
+            case COLOR:
+                return card.getColor(card.getCurrentState()).hasAnyColor(property.getColor());
+            case NON_COLOR:
+                return !card.getColor(card.getCurrentState()).hasAnyColor(property.getColor());
+            case TYPE:
+                return card.getCurrentState().getTypeWithChanges().hasStringType(property.getArgument());
+            case NON_TYPE:
+                return !card.getCurrentState().getTypeWithChanges().hasStringType(property.getArgument());
+            default:
+                return cardHasProperty(card, property.getText(), sourceController, source, spellAbility);
+        }
+    }
+
     public static boolean cardHasProperty(Card card, String property, Player sourceController, Card source, CardTraitBase spellAbility) {
         final Game game = card.getGame();
         final Combat combat = game.getCombat();
@@ -689,7 +737,16 @@ public class CardProperty {
                         return false;
                 }
             }
-        } else if (property.startsWith("MostProminentColor")) {
+        } else {
+            return cardHasProperty2(card, property, sourceController, source, spellAbility, game, combat, lki, controller);
+        }
+        return true;
+    }
+
+    // the checks are split into several methods, as the JIT compiler leaves methods as big as all of them together interpreted
+    private static boolean cardHasProperty2(Card card, String property, Player sourceController, Card source, CardTraitBase spellAbility,
+            Game game, Combat combat, Card lki, Player controller) {
+        if (property.startsWith("MostProminentColor")) {
             // MostProminentColor <color>
             // e.g. MostProminentColor black
             String[] props = property.split(" ");
@@ -1351,7 +1408,16 @@ public class CardProperty {
             if (card.isEquipping()) {
                 return false;
             }
-        } else if (property.startsWith("modified")) {
+        } else {
+            return cardHasProperty3(card, property, sourceController, source, spellAbility, game, combat, lki, controller);
+        }
+        return true;
+    }
+
+    // continued from cardHasProperty2
+    private static boolean cardHasProperty3(Card card, String property, Player sourceController, Card source, CardTraitBase spellAbility,
+            Game game, Combat combat, Card lki, Player controller) {
+        if (property.startsWith("modified")) {
             if (!card.isModified()) {
                 return false;
             }
@@ -107,6 +107,7 @@ public class CardState extends GameObject implements IHasSVars {
     }
     public final void setName(final String name0) {
         name = name0;
+        card.nameOrTypesChanged();
         view.updateName(this);
     }
 
@@ -124,11 +125,13 @@ public class CardState extends GameObject implements IHasSVars {
     }
     public final void addType(String type0) {
         if (type.add(type0)) {
+            card.nameOrTypesChanged();
             view.updateType(this);
         }
     }
     public final void addType(Iterable<String> type0) {
         if (type.addAll(type0)) {
+            card.nameOrTypesChanged();
             view.updateType(this);
         }
     }
@@ -140,21 +143,25 @@ public class CardState extends GameObject implements IHasSVars {
         if (type0.isEmpty() && type.isEmpty()) { return; }
         type.clear();
         type.addAll(type0);
+        card.nameOrTypesChanged();
         view.updateType(this);
     }
 
     public final void removeType(final CardType.Supertype st) {
         if (type.remove(st)) {
+            card.nameOrTypesChanged();
             view.updateType(this);
         }
     }
 
     public final void removeCardTypes() {
         type.removeCardTypes();
+        card.nameOrTypesChanged();
     }
 
     public final void setCreatureTypes(Collection<String> ctypes) {
         if (type.setCreatureTypes(ctypes)) {
+            card.nameOrTypesChanged();
             view.updateType(this);
         }
     }
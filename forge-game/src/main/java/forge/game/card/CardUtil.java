@@ -192,13 +192,16 @@ public final class CardUtil {
         if (cachedCard != null) {
             return cachedCard;
         }
-        String msg = "CardUtil:getLKICopy copy object";
+        // only worth making when it can be reported
+        if (Sentry.isEnabled()) {
+            String msg = "CardUtil:getLKICopy copy object";
 
-        Breadcrumb bread = new Breadcrumb(msg);
-        bread.setData("Card", in.getName());
-        bread.setData("CardState", in.getCurrentStateName().toString());
-        bread.setData("Player", in.getController().getName());
-        Sentry.addBreadcrumb(bread, in);
+            Breadcrumb bread = new Breadcrumb(msg);
+            bread.setData("Card", in.getName());
+            bread.setData("CardState", in.getCurrentStateName().toString());
+            bread.setData("Player", in.getController().getName());
+            Sentry.addBreadcrumb(bread, in);
+        }
 
         final Card newCopy = new Card(in.getId(), in.getPaperCard(), in.getGame(), null);
         cachedMap.put(in.getId(), newCopy);
@@ -245,7 +248,8 @@ public final class CardUtil {
         // extra copy PT boost
         newCopy.setPTBoost(in.getPTBoostTable());
 
-        newCopy.setCounters(Maps.newHashMap(in.getCounters()));
+        // the copy keeps the same map until either card gets or loses counters
+        in.shareCountersWith(newCopy);
 
         newCopy.setColor(in.getColor().getColor());
         newCopy.setPhasedOut(in.isPhasedOut());
@@ -22,8 +22,9 @@ public class CounterType implements Comparable<CounterType>, Serializable {
             "Flying", "First Strike", "Double Strike", "Deathtouch", "Haste", "Hexproof",
             "Indestructible", "Lifelink", "Menace", "Reach", "Trample", "Vigilance");
 
-    private static Map<CounterEnumType, CounterType> eMap = Maps.newEnumMap(CounterEnumType.class);
-    private static Map<String, CounterType> sMap = Maps.newHashMap();
+    // filled lazily, possibly by several games running at the same time
+    private static Map<CounterEnumType, CounterType> eMap = Maps.newConcurrentMap();
+    private static Map<String, CounterType> sMap = Maps.newConcurrentMap();
 
     private CounterType(CounterEnumType e, String s) {
         this.eVal = e;
@@ -31,17 +32,19 @@ public class CounterType implements Comparable<CounterType>, Serializable {
     }
 
     public static CounterType get(CounterEnumType e) {
-        if (!eMap.containsKey(e)) {
-            eMap.put(e, new CounterType(e, null));
+        CounterType type = eMap.get(e);
+        if (type == null) {
+            type = eMap.computeIfAbsent(e, k -> new CounterType(k, null));
         }
-        return eMap.get(e);
+        return type;
     }
 
     public static CounterType get(String s) {
-        if (!sMap.containsKey(s)) {
-            sMap.put(s, new CounterType(null, s));
+        CounterType type = sMap.get(s);
+        if (type == null) {
+            type = sMap.computeIfAbsent(s, k -> new CounterType(null, k));
         }
-        return sMap.get(s);
+        return type;
     }
 
     public static CounterType getType(String name) {
@@ -75,13 +75,14 @@ public class CostAddMana extends CostPart {
     @Override
     public boolean payAsDecided(Player ai, PaymentDecision decision, SpellAbility sa, final boolean effect) {
         Card source = sa.getHostCard();
+        final Card sourceLKI = Mana.getSourceLKI(source);
 
         List<Mana> manaProduced = new ArrayList<>();
         final String type = this.getType();
         for (int n = 0; n < decision.c; n++) {
             if (StringUtils.isNumeric(type)) {
                 for (int i = Integer.parseInt(type); i > 0; i--) {
-                    manaProduced.add(new Mana((byte)ManaAtom.COLORLESS, source, null));
+                    manaProduced.add(Mana.fromSourceLKI((byte)ManaAtom.COLORLESS, sourceLKI, null));
                 }
             } else {
                 byte attemptedMana = ManaAtom.fromName(type);
@@ -92,7 +93,7 @@ public class CostAddMana extends CostPart {
                         attemptedMana = (byte)ManaAtom.COLORLESS;
                     }
                 }*/
-                manaProduced.add(new Mana(attemptedMana, source, null));
+                manaProduced.add(Mana.fromSourceLKI(attemptedMana, sourceLKI, null));
             }
         }
         ai.getManaPool().add(manaProduced);
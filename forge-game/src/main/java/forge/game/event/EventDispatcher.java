@@ -0,0 +1,154 @@
+package forge.game.event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.sentry.Breadcrumb;
+import io.sentry.Sentry;
+
+/**
+ * Delivers the events of a game or match to its subscribers.
+ *
+ * Each subscriber is registered for a class of events and gets all events of
+ * that class and its subclasses. Which subscribers an event goes to is looked
+ * up once per concrete event class and kept until the next subscriber is
+ * registered, so posting an event only goes through an array of the
+ * subscribers it is for, and posting one with no subscribers does next to
+ * nothing.
+ *
+ * As with the Guava EventBus this replaces, a subscriber only gets one event
+ * at a time, events posted by a subscriber while an event is delivered on the
+ * same thread are delivered after it, and an exception thrown by a subscriber
+ * is reported without keeping the event from the other subscribers.
+ */
+public final class EventDispatcher {
+    private static final Subscription<?>[] NONE = new Subscription<?>[0];
+
+    private final String name;
+    private volatile Subscriptions subscriptions = new Subscriptions(NONE);
+
+    // the events posted on each thread that are still to be delivered
+    private final ThreadLocal<Queue> queue = new ThreadLocal<Queue>() {
+        @Override
+        protected Queue initialValue() {
+            return new Queue();
+        }
+    };
+
+    public EventDispatcher(final String name) {
+        this.name = name;
+    }
+
+    /** Deliver all events of the given class to the subscriber on the thread that posts them. */
+    public <E extends Event> void subscribe(final Class<E> type, final IEventSubscriber<? super E> subscriber) {
+        add(new Subscription<>(type, subscriber));
+    }
+
+    private synchronized void add(final Subscription<?> subscription) {
+        final Subscription<?>[] all = Arrays.copyOf(subscriptions.all, subscriptions.all.length + 1);
+        all[all.length - 1] = subscription;
+        subscriptions = new Subscriptions(all);
+    }
+
+    public void post(final Event event) {
+        final Subscriptions current = subscriptions;
+        if (current.all.length == 0) {
+            return;
+        }
+        final Subscription<?>[] targets = current.get(event.getClass());
+        if (targets.length == 0) {
+            return;
+        }
+
+        final Queue pending = queue.get();
+        pending.deliveries.add(new Delivery(event, targets));
+        if (pending.dispatching) {
+            // delivered by the post this was posted from, once its event is delivered
+            return;
+        }
+        pending.dispatching = true;
+        try {
+            Delivery next;
+            while ((next = pending.deliveries.poll()) != null) {
+                for (final Subscription<?> target : next.targets) {
+                    target.deliver(next.event, this);
+                }
+            }
+        } finally {
+            pending.dispatching = false;
+            pending.deliveries.clear();
+        }
+    }
+
+    private void handleException(final Exception e, final Event event, final IEventSubscriber<?> subscriber) {
+        Breadcrumb bread = new Breadcrumb("Exception in " + name + " subscriber");
+        bread.setData("Event", event.getClass().getSimpleName());
+        bread.setData("Subscriber", subscriber.getClass().getName());
+        Sentry.addBreadcrumb(bread);
+        Sentry.captureException(e);
+    }
+
+    /** The subscribers registered at one time, and the ones each class of event was found to go to. */
+    private static final class Subscriptions {
+        final Subscription<?>[] all;
+        final ConcurrentHashMap<Class<?>, Subscription<?>[]> byClass = new ConcurrentHashMap<>();
+
+        Subscriptions(final Subscription<?>[] all) {
+            this.all = all;
+        }
+
+        Subscription<?>[] get(final Class<?> eventClass) {
+            Subscription<?>[] result = byClass.get(eventClass);
+            if (result == null) {
+                final List<Subscription<?>> found = new ArrayList<>();
+                for (final Subscription<?> s : all) {
+                    if (s.type.isAssignableFrom(eventClass)) {
+                        found.add(s);
+                    }
+                }
+                result = found.isEmpty() ? NONE : found.toArray(NONE);
+                byClass.put(eventClass, result);
+            }
+            return result;
+        }
+    }
+
+    private static final class Queue {
+        final ArrayDeque<Delivery> deliveries = new ArrayDeque<>();
+        boolean dispatching;
+    }
+
+    private static final class Delivery {
+        final Event event;
+        final Subscription<?>[] targets;
+
+        Delivery(final Event event, final Subscription<?>[] targets) {
+            this.event = event;
+            this.targets = targets;
+        }
+    }
+
+    private static final class Subscription<E extends Event> {
+        final Class<E> type;
+        final IEventSubscriber<? super E> subscriber;
+
+        Subscription(final Class<E> type, final IEventSubscriber<? super E> subscriber) {
+            this.type = type;
+            this.subscriber = subscriber;
+        }
+
+        void deliver(final Event event, final EventDispatcher dispatcher) {
+            final E typed = type.cast(event);
+            try {
+                synchronized (subscriber) {
+                    subscriber.receive(typed);
+                }
+            } catch (final Exception e) {
+                dispatcher.handleException(e, event, subscriber);
+            }
+        }
+    }
+}
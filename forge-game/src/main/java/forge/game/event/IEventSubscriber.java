@@ -0,0 +1,9 @@
+package forge.game.event;
+
+/**
+ * Receives the events of a game or match it was subscribed to with
+ * {@link EventDispatcher#subscribe}, for the class of event it was subscribed for.
+ */
+public interface IEventSubscriber<E extends Event> {
+    void receive(E event);
+}
@@ -69,9 +69,27 @@ public class Mana {
     private AbilityManaPart manaAbility = null;
 
     public Mana(final byte color, final Card source, final AbilityManaPart manaAbility) {
+        this(color, manaAbility, getSourceLKI(source));
+    }
+
+    private Mana(final byte color, final AbilityManaPart manaAbility, final Card sourceLKI) {
         this.color = color;
         this.manaAbility = manaAbility;
-        this.sourceCard = source.isInPlay() ? CardUtil.getLKICopy(source) : source.getGame().getChangeZoneLKIInfo(source);
+        this.sourceCard = sourceLKI;
+    }
+
+    /**
+     * @return the last known information of the source of new mana, which all mana the source makes at once can share
+     */
+    public static Card getSourceLKI(final Card source) {
+        return source.isInPlay() ? CardUtil.getLKICopy(source) : source.getGame().getChangeZoneLKIInfo(source);
+    }
+
+    /**
+     * @param sourceLKI the last known information of the source, from {@link #getSourceLKI} or another mana
+     */
+    public static Mana fromSourceLKI(final byte color, final Card sourceLKI, final AbilityManaPart manaAbility) {
+        return new Mana(color, manaAbility, sourceLKI);
     }
 
     @Override
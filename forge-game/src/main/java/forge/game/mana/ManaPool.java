@@ -32,6 +32,7 @@ import com.google.common.collect.Multimap;
 import forge.card.mana.ManaAtom;
 import forge.card.mana.ManaCostShard;
 import forge.game.Game;
+import forge.game.GameStateHash;
 import forge.game.GlobalRuleChange;
 import forge.game.ability.AbilityKey;
 import forge.game.cost.CostPayment;
@@ -69,6 +70,17 @@ public class ManaPool extends ManaConversionMatrix implements Iterable<Mana> {
         return ofColor == null ? 0 : ofColor.size();
     }
 
+    /**
+     * @return the {@link GameStateHash} of the amount of each color of mana in the pool
+     */
+    public final long getStateHash() {
+        long hash = 0;
+        for (Byte color : floatingMana.keySet()) {
+            hash ^= GameStateHash.key(GameStateHash.MANA, owner.getId(), color, floatingMana.get(color).size());
+        }
+        return hash;
+    }
+
     public void addMana(final Mana mana) {
         addMana(mana, true);
     }
@@ -173,7 +185,7 @@ public class ManaPool extends ManaConversionMatrix implements Iterable<Mana> {
         List<Mana> convert = Lists.newArrayList();
         Collection<Mana> cm = floatingMana.get(originalColor);
         for (Mana m : cm) {
-            convert.add(new Mana(toColor, m.getSourceCard(), m.getManaAbility()));
+            convert.add(Mana.fromSourceLKI(toColor, m.getSourceCard(), m.getManaAbility()));
         }
         cm.clear();
         floatingMana.putAll(toColor, convert);
@@ -23,9 +23,11 @@ import com.google.common.collect.*;
 import org.apache.commons.lang3.time.StopWatch;
 
 import forge.game.Game;
+import forge.game.GameEndReason;
 import forge.game.GameEntity;
 import forge.game.GameEntityCounterTable;
 import forge.game.GameStage;
+import forge.game.GameStateHash;
 import forge.game.GameType;
 import forge.game.GlobalRuleChange;
 import forge.game.ability.AbilityKey;
@@ -127,6 +129,17 @@ public class PhaseHandler implements java.io.Serializable {
         return turn;
     }
 
+    /**
+     * @return the {@link GameStateHash} of the turn, phase and active player
+     */
+    public final long getStateHash() {
+        long hash = GameStateHash.key(GameStateHash.PHASE, turn, phase == null ? -1 : phase.ordinal());
+        if (playerTurn != null) {
+            hash ^= GameStateHash.key(GameStateHash.PLAYER_TURN, playerTurn.getId());
+        }
+        return hash;
+    }
+
     public final boolean isPlayerTurn(final Player player) {
         return player.equals(playerTurn);
     }
@@ -1016,6 +1029,9 @@ public class PhaseHandler implements java.io.Serializable {
 
         // MAIN GAME LOOP
         while (!game.isGameOver()) {
+            if (stopIfRequested()) {
+                return;
+            }
             if (givePriorityToPlayer) {
                 if (DEBUG_PHASES) {
                     sw.start();
@@ -1026,6 +1042,9 @@ public class PhaseHandler implements java.io.Serializable {
 
                 int loopCount = 0;
                 do {
+                    if (stopIfRequested()) {
+                        return;
+                    }
                     if (checkStateBasedEffects()) {
                         // state-based effects check could lead to game over
                         return;
@@ -1136,6 +1155,19 @@ public class PhaseHandler implements java.io.Serializable {
         }
     }
 
+    /** End the game as a draw if it was asked to stop from another thread. */
+    private boolean stopIfRequested() {
+        if (!game.isStopRequested()) {
+            return false;
+        }
+        // otherwise everyone still in the game would be counted as a winner
+        for (final Player p : game.getPlayers()) {
+            p.intentionalDraw();
+        }
+        game.setGameOver(GameEndReason.Draw);
+        return true;
+    }
+
     private boolean checkStateBasedEffects() {
         final Set<Card> allAffectedCards = new HashSet<>();
         do {
@@ -60,7 +60,9 @@ import forge.game.GameEntity;
 import forge.game.GameEntityCounterTable;
 import forge.game.GameLogEntryType;
 import forge.game.GameStage;
+import forge.game.GameStateHash;
 import forge.game.GameType;
+import forge.game.ValidRestriction;
 import forge.game.ability.AbilityFactory;
 import forge.game.ability.AbilityKey;
 import forge.game.ability.AbilityUtils;
@@ -69,6 +71,7 @@ import forge.game.ability.effects.DetachedCardEffect;
 import forge.game.card.Card;
 import forge.game.card.CardCollection;
 import forge.game.card.CardCollectionView;
+import forge.game.card.CardFactory;
 import forge.game.card.CardFactoryUtil;
 import forge.game.card.CardLists;
 import forge.game.card.CardPredicates;
@@ -487,6 +490,20 @@ public class Player extends GameEntity implements Comparable<Player> {
         return life;
     }
 
+    /**
+     * @return the {@link GameStateHash} of this player's life, counters, mana pool, zones and permanents
+     */
+    public final long getStateHash() {
+        long hash = GameStateHash.key(GameStateHash.LIFE, getId(), life) ^ getCountersHash() ^ manaPool.getStateHash();
+        for (PlayerZone zone : zones.values()) {
+            hash ^= zone.getStateHash();
+        }
+        for (Card c : getZone(ZoneType.Battlefield)) {
+            hash ^= c.getStateHash();
+        }
+        return hash;
+    }
+
     public final boolean gainLife(int lifeGain, final Card source) {
         return gainLife(lifeGain, source, null);
     }
@@ -716,6 +733,15 @@ public class Player extends GameEntity implements Comparable<Player> {
         return amount;
     }
 
+    // the names of the cards handled by the branches of staticReplaceDamage below, which it only goes
+    // through the battlefield for when one of them is there; keep it in step with the branches
+    private static final String[] DAMAGE_REPLACING_CARDS = {
+        "Sulfuric Vapors", "Pyromancer's Swath", "Pyromancer's Gauntlet", "Furnace of Rath", "Dictate of the Twin Gods",
+        "Gratuitous Violence", "Fire Servant", "Curse of Bloodletting", "Gisela, Blade of Goldnight", "Inquisitor's Flail",
+        "Ghosts of the Innocent", "Benevolent Unicorn", "Divine Presence", "Forethought Amulet", "Elderscale Wurm",
+        "Obosh, the Preypiercer"
+    };
+
     // This is usable by the AI to forecast an effect (so it must
     // not change the game state)
     // 2012/01/02: No longer used in calculating the finalized damage, but
@@ -726,7 +752,14 @@ public class Player extends GameEntity implements Comparable<Player> {
 
         // TODO handle life loss replacement
 
-        for (Card c : game.getCardsIn(ZoneType.Battlefield)) {
+        boolean anyInPlay = false;
+        for (final String name : DAMAGE_REPLACING_CARDS) {
+            if (isAnyCardNamedIn(ZoneType.Battlefield, name)) {
+                anyInPlay = true;
+                break;
+            }
+        }
+        for (Card c : anyInPlay ? game.getCardsIn(ZoneType.Battlefield) : CardCollection.EMPTY) {
             if (c.getName().equals("Sulfuric Vapors")) {
                 if (source.isSpell() && source.isRed()) {
                     restDamage += 1;
@@ -794,7 +827,8 @@ public class Player extends GameEntity implements Comparable<Player> {
 
         // TODO: improve such that this can be predicted from the replacement effect itself
         // (+ move this function out into ComputerUtilCombat?)
-        for (Card c : game.getCardsIn(ZoneType.Command)) {
+        final boolean anyInCommand = isAnyCardNamedIn(ZoneType.Command, "Insult Effect") || isAnyCardNamedIn(ZoneType.Command, "Mishra");
+        for (Card c : anyInCommand ? game.getCardsIn(ZoneType.Command) : CardCollection.EMPTY) {
             if (c.getName().equals("Insult Effect")) {
                 if (c.getController().equals(source.getController())) {
                     restDamage *= 2;
@@ -809,6 +843,16 @@ public class Player extends GameEntity implements Comparable<Player> {
         return restDamage;
     }
 
+    // whether any player has a card with the name in the zone, including phased out ones
+    private boolean isAnyCardNamedIn(final ZoneType zone, final String name) {
+        for (final Player p : game.getPlayers()) {
+            if (!p.getZone(zone).getCardsNamed(name).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public final void dealCombatDamage() {
         loseLife(simultaneousDamage, true, false);
         simultaneousDamage = 0;
@@ -886,7 +930,9 @@ public class Player extends GameEntity implements Comparable<Player> {
 
     public final void clearCounters() {
         if (counters.isEmpty()) { return; }
+        unshareCounters();
         counters.clear();
+        updateCountersHash();
         view.updateCounters(this);
         getGame().fireEvent(new GameEventPlayerCounters(this, null, 0, 0));
     }
@@ -907,6 +953,7 @@ public class Player extends GameEntity implements Comparable<Player> {
     @Override
     public void setCounters(Map<CounterType, Integer> allCounters) {
         counters = allCounters;
+        updateCountersHash();
         view.updateCounters(this);
         getGame().fireEvent(new GameEventPlayerCounters(this, null, 0, 0));
     }
@@ -1339,6 +1386,11 @@ public class Player extends GameEntity implements Comparable<Player> {
      * requested zone. This function makes a CardCollectionView from Card[].
      */
     public final CardCollectionView getCardsIn(final ZoneType zone, final String cardName) {
+        // the stack and flashback aren't zones of the player
+        final PlayerZone z = zone == ZoneType.Stack || zone == ZoneType.Flashback ? null : getZone(zone);
+        if (z != null && z.getCardsNamed(cardName).isEmpty()) {
+            return CardCollection.EMPTY;
+        }
         return CardLists.filter(getCardsIn(zone), CardPredicates.nameEquals(cardName));
     }
 
@@ -2082,18 +2134,18 @@ public class Player extends GameEntity implements Comparable<Player> {
     }
 
     @Override
-    public final boolean isValid(final String restriction, final Player sourceController, final Card source, CardTraitBase spellAbility) {
-        final String[] incR = restriction.split("\\.", 2);
+    public final boolean isValid(final ValidRestriction restriction, final Player sourceController, final Card source, CardTraitBase spellAbility) {
+        final String type = restriction.getInclusive();
 
-        if (incR[0].equals("Opponent")) {
+        if (type.equals("Opponent")) {
             if (equals(sourceController) || !isOpponentOf(sourceController)) {
                 return false;
             }
-        } else if (incR[0].equals("You")) {
+        } else if (type.equals("You")) {
             if (!equals(sourceController)) {
                 return false;
             }
-        } else if (incR[0].equals("EnchantedController")) {
+        } else if (type.equals("EnchantedController")) {
             final GameEntity enchanted = source.getEntityAttachedTo();
             if (enchanted == null || !(enchanted instanceof Card)) {
                 return false;
@@ -2103,18 +2155,16 @@ public class Player extends GameEntity implements Comparable<Player> {
                 return false;
             }
         } else {
-            if (!incR[0].equals("Player")) {
+            if (!type.equals("Player")) {
                 return false;
             }
         }
 
-        if (incR.length > 1) {
-            final String excR = incR[1];
-            final String[] exR = excR.split("\\+"); // Exclusive Restrictions are ...
-            for (int j = 0; j < exR.length; j++) {
-                if (!hasProperty(exR[j], sourceController, source, spellAbility)) {
-                    return false;
-                }
+        // Exclusive Restrictions are ...
+        for (final ValidRestriction.Property exR : restriction.getProperties()) {
+            // the same as hasProperty, without looking for the "!" again
+            if (exR.isNegated() == PlayerProperty.playerHasProperty(this, exR.getText(), sourceController, source, spellAbility)) {
+                return false;
             }
         }
         return true;
@@ -2328,11 +2378,27 @@ public class Player extends GameEntity implements Comparable<Player> {
      * use to get a list of creatures in play for a given player.
      */
     public CardCollection getCreaturesInPlay() {
-        return CardLists.filter(getCardsIn(ZoneType.Battlefield), Presets.CREATURES);
+        return getCardsInPlayOfType(CardType.CoreType.Creature);
     }
 
     public CardCollection getPlaneswalkersInPlay() {
-        return CardLists.filter(getCardsIn(ZoneType.Battlefield), Presets.PLANESWALKERS);
+        return getCardsInPlayOfType(CardType.CoreType.Planeswalker);
+    }
+
+    // the cards of the type on the battlefield, in its order
+    private CardCollection getCardsInPlayOfType(final CardType.CoreType type) {
+        final PlayerZone battlefield = getZone(ZoneType.Battlefield);
+        final CardCollectionView ofType = battlefield.getCardsOfType(type);
+        final CardCollection result = new CardCollection();
+        if (ofType.isEmpty()) {
+            return result;
+        }
+        for (final Card c : battlefield.getCards()) {
+            if (ofType.contains(c)) {
+                result.add(c);
+            }
+        }
+        return result;
     }
 
     /**
@@ -2346,15 +2412,15 @@ public class Player extends GameEntity implements Comparable<Player> {
      * use to get a list of all lands a given player has on the battlefield.
      */
     public CardCollection getLandsInPlay() {
-        return CardLists.filter(getCardsIn(ZoneType.Battlefield), Presets.LANDS);
+        return getCardsInPlayOfType(CardType.CoreType.Land);
     }
 
     public boolean isCardInPlay(final String cardName) {
-        return getZone(ZoneType.Battlefield).contains(CardPredicates.nameEquals(cardName));
+        return !getZone(ZoneType.Battlefield).getCardsNamed(cardName).isEmpty();
     }
 
     public boolean isCardInCommand(final String cardName) {
-        return getZone(ZoneType.Command).contains(CardPredicates.nameEquals(cardName));
+        return !getZone(ZoneType.Command).getCardsNamed(cardName).isEmpty();
     }
 
     public CardCollectionView getColoredCardsInPlay(final String color) {
@@ -2769,7 +2835,7 @@ public class Player extends GameEntity implements Comparable<Player> {
         Iterable<? extends IPaperCard> cards = registeredPlayer.getCardsOnBattlefield();
         if (cards != null) {
             for (final IPaperCard cp : cards) {
-                Card c = Card.fromPaperCard(cp, this);
+                Card c = CardFactory.getCardFromTemplate(cp, this, game);
                 bf.add(c);
                 c.setSickness(true);
                 c.setStartsGameInPlay(true);
@@ -2788,7 +2854,7 @@ public class Player extends GameEntity implements Comparable<Player> {
         // Schemes
         CardCollection sd = new CardCollection();
         for (IPaperCard cp : registeredPlayer.getSchemes()) {
-            sd.add(Card.fromPaperCard(cp, this));
+            sd.add(CardFactory.getCardFromTemplate(cp, this, game));
         }
         if (!sd.isEmpty()) {
             for (Card c : sd) {
@@ -2800,7 +2866,7 @@ public class Player extends GameEntity implements Comparable<Player> {
         // Planes
         CardCollection l = new CardCollection();
         for (IPaperCard cp : registeredPlayer.getPlanes()) {
-            l.add(Card.fromPaperCard(cp, this));
+            l.add(CardFactory.getCardFromTemplate(cp, this, game));
         }
         if (!l.isEmpty()) {
             for (Card c : l) {
@@ -2813,7 +2879,7 @@ public class Player extends GameEntity implements Comparable<Player> {
         if (!registeredPlayer.getCommanders().isEmpty()) {
             List<Card> commanders = Lists.newArrayList();
             for (PaperCard pc : registeredPlayer.getCommanders()) {
-                Card cmd = Card.fromPaperCard(pc, this);
+                Card cmd = CardFactory.getCardFromTemplate(pc, this, game);
                 if (cmd.hasKeyword("If CARDNAME is your commander, choose a color before the game begins.")) {
                     Player p = cmd.getController();
                     List<String> colorChoices = new ArrayList<>(MagicColor.Constant.ONLY_COLORS);
@@ -2832,7 +2898,7 @@ public class Player extends GameEntity implements Comparable<Player> {
             this.setCommanders(commanders);
         }
         else if (registeredPlayer.getPlaneswalker() != null) { // Planeswalker
-            Card cmd = Card.fromPaperCard(registeredPlayer.getPlaneswalker(), this);
+            Card cmd = CardFactory.getCardFromTemplate(registeredPlayer.getPlaneswalker(), this, game);
             cmd.setCommander(true);
             com.add(cmd);
             setCommanders(Lists.newArrayList(cmd));
@@ -2841,7 +2907,7 @@ public class Player extends GameEntity implements Comparable<Player> {
 
         // Conspiracies
         for (IPaperCard cp : registeredPlayer.getConspiracies()) {
-            Card conspire = Card.fromPaperCard(cp, this);
+            Card conspire = CardFactory.getCardFromTemplate(cp, this, game);
             if (conspire.hasKeyword("Hidden agenda") || conspire.hasKeyword("Double agenda")) {
                 if (!CardFactoryUtil.handleHiddenAgenda(this, conspire)) {
                     continue;
@@ -20,6 +20,7 @@ package forge.game.replacement;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.collect.*;
 
@@ -43,8 +44,8 @@ import forge.util.TextUtil;
  *
  */
 public abstract class ReplacementEffect extends TriggerReplacementBase {
-    private static int maxId = 0;
-    private static int nextId() { return ++maxId; }
+    private static final AtomicInteger maxId = new AtomicInteger();
+    private static int nextId() { return maxId.incrementAndGet(); }
 
     /** The ID. */
     private int id;
@@ -149,11 +149,14 @@ public class AbilityManaPart implements java.io.Serializable {
         //clear lastProduced
         this.lastManaProduced.clear();
 
+        // all the mana is made at once, so it shares the same last known information of the source
+        final Card sourceLKI = Mana.getSourceLKI(source);
+
         // loop over mana produced string
         for (final String c : afterReplace.split(" ")) {
             if (StringUtils.isNumeric(c)) {
                 for (int i = Integer.parseInt(c); i > 0; i--) {
-                    this.lastManaProduced.add(new Mana((byte) ManaAtom.COLORLESS, source, this));
+                    this.lastManaProduced.add(Mana.fromSourceLKI((byte) ManaAtom.COLORLESS, sourceLKI, this));
                 }
             } else {
                 byte attemptedMana = MagicColor.fromName(c);
@@ -161,7 +164,7 @@ public class AbilityManaPart implements java.io.Serializable {
                     attemptedMana = (byte)ManaAtom.COLORLESS;
                 }
 
-                this.lastManaProduced.add(new Mana(attemptedMana, source, this));
+                this.lastManaProduced.add(Mana.fromSourceLKI(attemptedMana, sourceLKI, this));
             }
         }
 
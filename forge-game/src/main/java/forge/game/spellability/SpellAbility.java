@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -44,6 +45,7 @@ import forge.game.GameEntityCounterTable;
 import forge.game.GameObject;
 import forge.game.IHasSVars;
 import forge.game.IIdentifiable;
+import forge.game.ValidRestriction;
 import forge.game.ability.AbilityFactory;
 import forge.game.ability.AbilityKey;
 import forge.game.ability.AbilityUtils;
@@ -91,8 +93,8 @@ import forge.util.TextUtil;
  * @version $Id$
  */
 public abstract class SpellAbility extends CardTraitBase implements ISpellAbility, IIdentifiable, Comparable<SpellAbility> {
-    private static int maxId = 0;
-    private static int nextId() { return ++maxId; }
+    private static final AtomicInteger maxId = new AtomicInteger();
+    private static int nextId() { return maxId.incrementAndGet(); }
 
     public static class EmptySa extends SpellAbility {
         public EmptySa(Card sourceCard) { super(sourceCard, Cost.Zero); setActivatingPlayer(sourceCard.getController());}
@@ -2026,66 +2028,59 @@ public abstract class SpellAbility extends CardTraitBase implements ISpellAbilit
 
     // Takes one argument like Permanent.Blue+withFlying
     @Override
-    public final boolean isValid(final String restriction, final Player sourceController, final Card source, CardTraitBase spellAbility) {
+    public final boolean isValid(final ValidRestriction restriction, final Player sourceController, final Card source, CardTraitBase spellAbility) {
         // Inclusive restrictions are Card types
-        final String[] incR = restriction.split("\\.", 2);
+        final String type = restriction.getType();
         SpellAbility root = getRootAbility();
 
-        boolean testFailed = false;
-        if (incR[0].startsWith("!")) {
-            testFailed = true; // a bit counterintuitive
-            incR[0] = incR[0].substring(1); // consume negation sign
-        }
+        final boolean testFailed = restriction.isNegated(); // a bit counterintuitive
 
-        if (incR[0].equals("Spell")) {
+        if (type.equals("Spell")) {
             if (!root.isSpell()) {
                 return testFailed;
             }
         }
-        else if (incR[0].equals("Instant")) {
+        else if (type.equals("Instant")) {
             if (!root.getCardState().getType().isInstant()) {
                 return testFailed;
             }
         }
-        else if (incR[0].equals("Sorcery")) {
+        else if (type.equals("Sorcery")) {
             if (!root.getCardState().getType().isSorcery()) {
                 return testFailed;
             }
         }
-        else if (incR[0].equals("Triggered")) {
+        else if (type.equals("Triggered")) {
             if (!root.isTrigger()) {
                 return testFailed;
             }
         }
-        else if (incR[0].equals("Activated")) {
+        else if (type.equals("Activated")) {
             if (!root.isActivatedAbility()) {
                 return testFailed;
             }
         }
-        else if (incR[0].equals("Static")) {
+        else if (type.equals("Static")) {
             if (!(root instanceof AbilityStatic)) {
                 return testFailed;
             }
         }
-        else if (incR[0].contains("LandAbility")) {
+        else if (type.contains("LandAbility")) {
             if (!(root instanceof LandAbility)) {
                 return testFailed;
             }
         }
-        else if (incR[0].equals("SpellAbility")) {
+        else if (type.equals("SpellAbility")) {
             // Match anything
         }
         else { //not a spell/ability type
             return testFailed;
         }
 
-        if (incR.length > 1) {
-            final String excR = incR[1];
-            final String[] exR = excR.split("\\+"); // Exclusive Restrictions are ...
-            for (int j = 0; j < exR.length; j++) {
-                if (!hasProperty(exR[j], sourceController, source, spellAbility)) {
-                    return testFailed;
-                }
+        // Exclusive Restrictions are ...
+        for (final ValidRestriction.Property exR : restriction.getProperties()) {
+            if (!hasProperty(exR.getRaw(), sourceController, source, spellAbility)) {
+                return testFailed;
             }
         }
         return !testFailed;
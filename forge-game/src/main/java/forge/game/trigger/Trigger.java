@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -58,8 +59,9 @@ import forge.util.TextUtil;
  * @version $Id$
  */
 public abstract class Trigger extends TriggerReplacementBase {
-    private static int maxId = 0;
-    private static int nextId() { return ++maxId; }
+    private static final AtomicInteger maxId = new AtomicInteger();
+    private static int nextId() { return maxId.incrementAndGet(); }
+    private static volatile boolean concurrentGames;
 
     /**
      * <p>
@@ -67,7 +69,20 @@ public abstract class Trigger extends TriggerReplacementBase {
      * </p>
      */
     public static void resetIDs() {
-        Trigger.maxId = 50000;
+        if (concurrentGames) {
+            // never move backwards, other games may still be running on other threads
+            maxId.accumulateAndGet(50000, Math::max);
+        } else {
+            maxId.set(50000);
+        }
+    }
+
+    /**
+     * Tell whether games are played on several threads at once, in which
+     * case {@link #resetIDs()} must not reuse IDs of the running games.
+     */
+    public static void setConcurrentGames(final boolean concurrent) {
+        concurrentGames = concurrent;
     }
 
     /** The ID. */
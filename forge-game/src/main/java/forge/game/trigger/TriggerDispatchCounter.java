@@ -0,0 +1,92 @@
+package forge.game.trigger;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counts, per {@link TriggerType}, how often events were dispatched and how
+ * many active triggers had to be looked at, compared with the number a scan
+ * over all active triggers would have needed.
+ *
+ * A game only counts when it's given a counter, see
+ * {@link TriggerHandler#setDispatchCounter}. A counter isn't thread-safe, so
+ * games played at the same time each count into their own, which can be
+ * added up with {@link #add} once they're over.
+ */
+public class TriggerDispatchCounter {
+    private final Map<TriggerType, long[]> counts = new EnumMap<>(TriggerType.class);
+
+    private static final int DISPATCHES = 0;
+    private static final int CHECKED = 1;
+    private static final int ACTIVE = 2;
+
+    void count(final TriggerType mode, final int checked, final int active) {
+        final long[] c = get(mode);
+        c[DISPATCHES]++;
+        c[CHECKED] += checked;
+        c[ACTIVE] += active;
+    }
+
+    public long getDispatches(final TriggerType mode) {
+        final long[] c = counts.get(mode);
+        return c == null ? 0 : c[DISPATCHES];
+    }
+
+    /**
+     * @return the number of triggers looked at while dispatching events of this mode.
+     */
+    public long getTriggersChecked(final TriggerType mode) {
+        final long[] c = counts.get(mode);
+        return c == null ? 0 : c[CHECKED];
+    }
+
+    /**
+     * @return the number of triggers that were active while dispatching events
+     *         of this mode, i.e. what a scan over all of them would have looked at.
+     */
+    public long getTriggersActive(final TriggerType mode) {
+        final long[] c = counts.get(mode);
+        return c == null ? 0 : c[ACTIVE];
+    }
+
+    /**
+     * Add the counts of another counter to this one.
+     */
+    public void add(final TriggerDispatchCounter other) {
+        for (final Map.Entry<TriggerType, long[]> e : other.counts.entrySet()) {
+            final long[] c = e.getValue();
+            final long[] total = get(e.getKey());
+            total[DISPATCHES] += c[DISPATCHES];
+            total[CHECKED] += c[CHECKED];
+            total[ACTIVE] += c[ACTIVE];
+        }
+    }
+
+    private long[] get(final TriggerType mode) {
+        long[] c = counts.get(mode);
+        if (c == null) {
+            c = new long[3];
+            counts.put(mode, c);
+        }
+        return c;
+    }
+
+    public void reset() {
+        counts.clear();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        long checked = 0, active = 0;
+        for (final Map.Entry<TriggerType, long[]> e : counts.entrySet()) {
+            final long[] c = e.getValue();
+            sb.append(e.getKey()).append(": ").append(c[DISPATCHES]).append(" dispatches, ")
+              .append(c[CHECKED]).append('/').append(c[ACTIVE]).append(" triggers checked\n");
+            checked += c[CHECKED];
+            active += c[ACTIVE];
+        }
+        sb.append("Total: ").append(checked).append('/').append(active).append(" triggers checked");
+        return sb.toString();
+    }
+}
@@ -48,7 +48,12 @@ import io.sentry.Sentry;
 public class TriggerHandler {
     private final Set<TriggerType> suppressedModes = Collections.synchronizedSet(EnumSet.noneOf(TriggerType.class));
     private boolean allSuppressed = false;
-    private final List<Trigger> activeTriggers = Collections.synchronizedList(new ArrayList<>());
+    // active triggers partitioned by mode, so dispatching an event only looks at triggers that can handle it
+    private final Map<TriggerType, List<Trigger>> activeTriggers = Collections.synchronizedMap(new EnumMap<>(TriggerType.class));
+    private final Set<Integer> activeTriggerIds = Collections.synchronizedSet(new HashSet<>());
+    private int activeTriggerCount = 0;
+    // null unless the dispatches are to be counted
+    private TriggerDispatchCounter dispatchCounter;
 
     private final List<Trigger> delayedTriggers = Collections.synchronizedList(new ArrayList<>());
     private final List<Trigger> thisTurnDelayedTriggers = Collections.synchronizedList(new ArrayList<>());
@@ -191,12 +196,14 @@ public class TriggerHandler {
 
     private void buildActiveTrigger() {
         activeTriggers.clear();
+        activeTriggerIds.clear();
+        activeTriggerCount = 0;
         game.forEachCardInGame(new Visitor<Card>() {
             @Override
             public boolean visit(Card c) {
                 for (final Trigger t : c.getTriggers()) {
                     if (isTriggerActive(t)) {
-                        activeTriggers.add(t);
+                        addActiveTrigger(t);
                     }
                 }
                 return true;
@@ -204,6 +211,39 @@ public class TriggerHandler {
         });
     }
 
+    private void addActiveTrigger(final Trigger t) {
+        List<Trigger> list = activeTriggers.get(t.getMode());
+        if (list == null) {
+            list = new ArrayList<>();
+            activeTriggers.put(t.getMode(), list);
+        }
+        list.add(t);
+        activeTriggerIds.add(t.getId());
+        activeTriggerCount++;
+    }
+
+    /**
+     * Get the active triggers of a mode, counting the dispatch.
+     */
+    private List<Trigger> getActiveTriggersForDispatch(final TriggerType mode) {
+        final List<Trigger> result = getActiveTriggers(mode);
+        if (dispatchCounter != null) {
+            dispatchCounter.count(mode, result.size(), activeTriggerCount);
+        }
+        return result;
+    }
+
+    public final TriggerDispatchCounter getDispatchCounter() {
+        return dispatchCounter;
+    }
+
+    /**
+     * Count the events dispatched from now on into the given counter, or stop counting them if it's null.
+     */
+    public final void setDispatchCounter(final TriggerDispatchCounter counter) {
+        dispatchCounter = counter;
+    }
+
     public final void resetActiveTriggers() {
         resetActiveTriggers(true);
     }
@@ -216,17 +256,20 @@ public class TriggerHandler {
     }
 
     public final void clearActiveTriggers(final Card c, Zone zoneFrom) {
-        final List<Trigger> toBeRemoved = Lists.newArrayList();
-
-        for (Trigger t : activeTriggers) {
-            // Clear if no ZoneFrom, or not coming from the TriggerZone
-            if (c.getId() == t.getHostCard().getId()) {
-                if (!c.getTriggers().contains(t) || !t.zonesCheck(zoneFrom))
-                    toBeRemoved.add(t);
+        for (final List<Trigger> list : activeTriggers.values()) {
+            final Iterator<Trigger> it = list.iterator();
+            while (it.hasNext()) {
+                final Trigger t = it.next();
+                // Clear if no ZoneFrom, or not coming from the TriggerZone
+                if (c.getId() == t.getHostCard().getId()) {
+                    if (!c.getTriggers().contains(t) || !t.zonesCheck(zoneFrom)) {
+                        it.remove();
+                        activeTriggerIds.remove(t.getId());
+                        activeTriggerCount--;
+                    }
+                }
             }
         }
-
-        activeTriggers.removeAll(toBeRemoved);
     }
 
     public final void registerActiveTrigger(final Card c, final boolean onlyExtrinsic) {
@@ -252,7 +295,7 @@ public class TriggerHandler {
 
     public final boolean registerOneTrigger(final Trigger t) {
         if (isTriggerActive(t)) {
-            activeTriggers.add(t);
+            addActiveTrigger(t);
             return true;
         }
         return false;
@@ -273,7 +316,7 @@ public class TriggerHandler {
     }
 
     private void runStateTrigger(final Map<AbilityKey, Object> runParams) {
-        for (final Trigger t: Lists.newArrayList(activeTriggers)) {
+        for (final Trigger t: Lists.newArrayList(getActiveTriggersForDispatch(TriggerType.Always))) {
             if (canRunTrigger(t, TriggerType.Always, runParams)) {
                 runSingleTrigger(t, runParams);
             }
@@ -311,7 +354,7 @@ public class TriggerHandler {
         boolean checkStatics = false;
 
         // Static triggers
-        for (final Trigger t : Lists.newArrayList(activeTriggers)) {
+        for (final Trigger t : Lists.newArrayList(getActiveTriggersForDispatch(mode))) {
             if (t.isStatic() && canRunTrigger(t, mode, runParams)) {
                 runSingleTrigger(t, runParams);
 
@@ -349,7 +392,7 @@ public class TriggerHandler {
     private boolean runNonStaticTriggersForPlayer(final Player player, final TriggerWaiting wt, final List<Trigger> delayedTriggersWorkingCopy) {
         final TriggerType mode = wt.getMode();
         final Map<AbilityKey, Object> runParams = wt.getParams();
-        final List<Trigger> triggers = wt.getTriggers() != null ? wt.getTriggers() : activeTriggers;
+        final List<Trigger> triggers = wt.getTriggers() != null ? wt.getTriggers() : getActiveTriggers(mode);
 
         boolean checkStatics = false;
 
@@ -398,15 +441,8 @@ public class TriggerHandler {
             return false; // Host card isn't where it needs to be.
         }
 
-        for (Trigger t : this.activeTriggers) {
-            // If an ID that matches this ID is already active, don't add it
-            if (regtrig.getId() == t.getId()) {
-                return false;
-            }
-        }
-
-        // Check if a trigger with the same ID is already in activeTriggers
-        return true;
+        // If an ID that matches this ID is already active, don't add it
+        return !activeTriggerIds.contains(regtrig.getId());
     }
 
     private boolean canRunTrigger(final Trigger regtrig, final TriggerType mode, final Map<AbilityKey, Object> runParams) {
@@ -600,9 +636,14 @@ public class TriggerHandler {
         }
     }
 
+    private List<Trigger> getActiveTriggers(final TriggerType mode) {
+        final List<Trigger> list = activeTriggers.get(mode);
+        return list == null ? Collections.<Trigger>emptyList() : list;
+    }
+
     public List<Trigger> getActiveTrigger(final TriggerType mode, final Map<AbilityKey, Object> runParams) {
         List<Trigger> trigger = Lists.newArrayList();
-        for (final Trigger t : activeTriggers) {
+        for (final Trigger t : getActiveTriggersForDispatch(mode)) {
             if (canRunTrigger(t, mode, runParams)) {
                 trigger.add(t);
             }
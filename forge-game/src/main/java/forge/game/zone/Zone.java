@@ -29,7 +29,9 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 
+import forge.card.CardType.CoreType;
 import forge.game.Game;
+import forge.game.GameStateHash;
 import forge.game.GameType;
 import forge.game.card.Card;
 import forge.game.card.CardCollection;
@@ -55,6 +57,10 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
     private static final long serialVersionUID = -5687652485777639176L;
 
     private final CardCollection cardList = new CardCollection();
+    private long stateHash;
+    // counts the changes to which cards are in this zone, in which order and which of them are phased out
+    private int version;
+    private final transient ZoneCardIndex index = new ZoneCardIndex();
     protected final ZoneType zoneType;
     protected final Game game;
 
@@ -76,6 +82,7 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
     public final void reorder(final Card c, final int index) {
         cardList.remove(c);
         cardList.add(index, c);
+        version++;
     }
 
     public final void add(final Card c) {
@@ -124,11 +131,17 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
         c.setZone(this);
 
         if ((zoneType == ZoneType.Battlefield || !c.isToken()) || (zoneType == ZoneType.Stack && c.getCopiedPermanent() != null)) {
+            // a card that's already in the zone is only moved
+            final boolean inserted = !cardList.contains(c);
             if (index == null) {
                 cardList.add(c);
             } else {
                 cardList.add(index.intValue(), c);
             }
+            if (inserted) {
+                stateHash ^= getCardKey(c);
+            }
+            cardAdded(c);
         }
         onChanged();
 
@@ -145,16 +158,21 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
 
     public void remove(final Card c) {
         if (cardList.remove(c)) {
+            stateHash ^= getCardKey(c);
+            cardRemoved(c);
             onChanged();
             game.fireEvent(new GameEventZone(zoneType, getPlayer(), EventValueChangeType.Removed, c));
         }
     }
 
     public final void setCards(final Iterable<Card> cards) {
-        cardList.clear();
+        clearCards();
         for (Card c : cards) {
             c.setZone(this);
-            cardList.add(c);
+            if (cardList.add(c)) {
+                stateHash ^= getCardKey(c);
+            }
+            cardAdded(c);
         }
         onChanged();
         game.fireEvent(new GameEventZone(zoneType, getPlayer(), EventValueChangeType.ComplexUpdate, null));
@@ -162,7 +180,7 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
 
     public final void removeAllCards(boolean forcedWithoutEvents) {
         if (forcedWithoutEvents) {
-            cardList.clear();
+            clearCards();
         } else {
             for (Card c : cardList) {
                 remove(c);
@@ -170,6 +188,104 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
         }
     }
 
+    private void clearCards() {
+        version++;
+        if (isFoundById()) {
+            for (Card c : cardList) {
+                game.removeCardById(c, this);
+            }
+        }
+        cardList.clear();
+        index.clear();
+        stateHash = 0;
+    }
+
+    private void cardAdded(final Card c) {
+        version++;
+        index.add(c);
+        if (isFoundById()) {
+            game.putCardById(c);
+        }
+    }
+
+    private void cardRemoved(final Card c) {
+        version++;
+        index.remove(c);
+        if (isFoundById()) {
+            game.removeCardById(c, this);
+        }
+    }
+
+    /**
+     * @return whether the cards in this zone can be found by {@link Game#findById}, which are those
+     * {@link Game#forEachCardInGame} visits
+     */
+    private boolean isFoundById() {
+        switch (zoneType) {
+        case Stack:
+            return game.getStackZone() == this;
+        case Graveyard:
+        case Hand:
+        case Library:
+        case Battlefield:
+        case Exile:
+        case Command:
+            final Player p = getPlayer();
+            return p != null && p.getZone(zoneType) == this;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Called by a card in this zone when its name or types may have changed.
+     */
+    public final void onCardChanged(final Card c) {
+        index.changed(c);
+    }
+
+    /**
+     * Called by a card in this zone when it phased in or out.
+     */
+    public final void onCardPhased(final Card c) {
+        version++;
+    }
+
+    /**
+     * @return a number that changes whenever cards are added to or removed from this zone, are put in another
+     * order or phase in or out, so that what was made from its cards can be kept until it changes.
+     */
+    public final int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the cards in this zone with the given name, including phased out ones, not in the order of the zone.
+     */
+    public final CardCollectionView getCardsNamed(final String name) {
+        return index.getByName(name);
+    }
+
+    /**
+     * @return the cards in this zone of the given type, including phased out ones, not in the order of the zone.
+     */
+    public final CardCollectionView getCardsOfType(final CoreType type) {
+        return index.getByType(type);
+    }
+
+    /**
+     * @return the xor of the {@link GameStateHash} keys of the cards in this zone, regardless of their order
+     */
+    public final long getStateHash() {
+        return stateHash;
+    }
+
+    private long getCardKey(final Card c) {
+        final Player p = getPlayer();
+        // copies of a game number their cards in the order they're copied, so the same id can be another card there
+        return GameStateHash.key(GameStateHash.ZONE, c.getId(), c.getStateHashIdentity(), zoneType.ordinal(), p == null ? -1 : p.getId());
+    }
+
     public final boolean is(final ZoneType zone) {
         return zone == zoneType;
     }
@@ -250,6 +366,7 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
 
     public void shuffle() {
         Collections.shuffle(cardList, MyRandom.getRandom());
+        version++;
         onChanged();
     }
 
@@ -0,0 +1,128 @@
+package forge.game.zone;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Iterables;
+
+import forge.card.CardType.CoreType;
+import forge.game.card.Card;
+import forge.game.card.CardCollection;
+import forge.game.card.CardCollectionView;
+
+/**
+ * The cards of a zone by their name and by their core types, so that a zone
+ * can be asked for the cards with a name or of a type without going through
+ * all of its cards.
+ *
+ * Cards are put under their name and types when the index is first asked for
+ * something after they were added or changed. A card tells its zone when its
+ * name or types may have changed, see {@link Zone#onCardChanged}. The cards
+ * under a name or type aren't in the order of the zone, and are only good
+ * until the zone changes.
+ */
+final class ZoneCardIndex {
+    private final Map<String, CardCollection> byName = new HashMap<>();
+    private final Map<CoreType, CardCollection> byType = new EnumMap<>(CoreType.class);
+    // the name and types each card is under
+    private final Map<Card, Entry> entries = new IdentityHashMap<>();
+    // the cards added or changed since the index was last used
+    private final Set<Card> stale = Collections.newSetFromMap(new IdentityHashMap<Card, Boolean>());
+
+    private static final class Entry {
+        final String name;
+        final CoreType[] types;
+
+        Entry(final String name, final CoreType[] types) {
+            this.name = name;
+            this.types = types;
+        }
+    }
+
+    void add(final Card c) {
+        stale.add(c);
+    }
+
+    /** Put the card under its name and types again, if it's in the index. */
+    void changed(final Card c) {
+        if (entries.containsKey(c)) {
+            stale.add(c);
+        }
+    }
+
+    void remove(final Card c) {
+        stale.remove(c);
+        final Entry entry = entries.remove(c);
+        if (entry != null) {
+            unindex(c, entry);
+        }
+    }
+
+    void clear() {
+        byName.clear();
+        byType.clear();
+        entries.clear();
+        stale.clear();
+    }
+
+    CardCollectionView getByName(final String name) {
+        update();
+        final CardCollection cards = byName.get(name);
+        return cards == null ? CardCollection.EMPTY : cards;
+    }
+
+    CardCollectionView getByType(final CoreType type) {
+        update();
+        final CardCollection cards = byType.get(type);
+        return cards == null ? CardCollection.EMPTY : cards;
+    }
+
+    private void update() {
+        if (stale.isEmpty()) {
+            return;
+        }
+        for (final Card c : stale) {
+            final Entry old = entries.get(c);
+            if (old != null) {
+                unindex(c, old);
+            }
+            final Entry entry = new Entry(c.getName(), Iterables.toArray(c.getType().getCoreTypes(), CoreType.class));
+            entries.put(c, entry);
+            get(byName, entry.name).add(c);
+            for (final CoreType type : entry.types) {
+                get(byType, type).add(c);
+            }
+        }
+        stale.clear();
+    }
+
+    private void unindex(final Card c, final Entry entry) {
+        remove(byName, entry.name, c);
+        for (final CoreType type : entry.types) {
+            remove(byType, type, c);
+        }
+    }
+
+    private static <K> CardCollection get(final Map<K, CardCollection> map, final K key) {
+        CardCollection cards = map.get(key);
+        if (cards == null) {
+            cards = new CardCollection();
+            map.put(key, cards);
+        }
+        return cards;
+    }
+
+    private static <K> void remove(final Map<K, CardCollection> map, final K key, final Card c) {
+        final CardCollection cards = map.get(key);
+        if (cards != null) {
+            cards.remove(c);
+            if (cards.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package forge.trackable;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+
+import forge.game.card.CardView;
+import forge.game.player.PlayerView;
+
+/**
+ * The properties of a tracked view that changed since the previous delta,
+ * produced by a {@link TrackableDeltaEncoder} on the server and applied by a
+ * {@link TrackableDeltaDecoder} on the client.
+ *
+ * Every delta carries a version which is one higher than the one before it,
+ * so a client can tell whether it missed one and needs a full resend.
+ */
+public final class TrackableDelta implements Serializable {
+    private static final long serialVersionUID = -2217931286354098117L;
+
+    static final byte ROOT = 0;
+    static final byte PLAYER = 1;
+    static final byte CARD = 2;
+    static final byte END = -1;
+
+    private final int version;
+    private final byte[] data;
+
+    TrackableDelta(final int version0, final byte[] data0) {
+        version = version0;
+        data = data0;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    byte[] getData() {
+        return data;
+    }
+
+    /**
+     * @return the size of the encoded properties in bytes.
+     */
+    public int size() {
+        return data.length;
+    }
+
+    @Override
+    public String toString() {
+        return "TrackableDelta v" + version + " (" + data.length + " bytes)";
+    }
+
+    /**
+     * @return the kind used to refer to this object in a delta, or -1 if it
+     *         is not referred to by id but sent along with its owner.
+     */
+    static byte kindOf(final TrackableObject obj) {
+        if (obj instanceof CardView) {
+            return CARD;
+        }
+        if (obj instanceof PlayerView) {
+            return PLAYER;
+        }
+        return -1;
+    }
+
+    static long key(final byte kind, final int id) {
+        return ((long) kind << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Walk a property value and everything it references, calling the visitor
+     * for each card and player view found. The visited set must compare by
+     * identity, since views and collections compare by id and content.
+     */
+    static void collect(final Object value, final Set<Object> visited, final Visitor visitor) {
+        if (!(value instanceof TrackableObject || value instanceof Iterable || value instanceof Map)) {
+            return;
+        }
+        if (!visited.add(value)) {
+            return;
+        }
+        if (value instanceof TrackableObject) {
+            final TrackableObject obj = (TrackableObject) value;
+            final byte kind = kindOf(obj);
+            if (kind >= 0) {
+                visitor.visit(kind, obj);
+            }
+            final Map<TrackableProperty, Object> props = obj.getProps();
+            for (final Object propValue : props.values()) {
+                collect(propValue, visited, visitor);
+            }
+        }
+        else if (value instanceof Iterable) {
+            for (final Object o : (Iterable<?>) value) {
+                collect(o, visited, visitor);
+            }
+        }
+        else if (value instanceof Map) {
+            for (final Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                collect(e.getKey(), visited, visitor);
+                collect(e.getValue(), visited, visitor);
+            }
+        }
+    }
+
+    interface Visitor {
+        void visit(byte kind, TrackableObject obj);
+    }
+
+    /**
+     * Stands in for a card or player view inside an encoded property value.
+     */
+    static final class Ref implements Serializable {
+        private static final long serialVersionUID = 4015316170893370441L;
+
+        final byte kind;
+        final int id;
+
+        Ref(final byte kind0, final int id0) {
+            kind = kind0;
+            id = id0;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package forge.trackable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import forge.game.card.CardView;
+import forge.game.player.PlayerView;
+
+/**
+ * Applies the {@link TrackableDelta}s of a {@link TrackableDeltaEncoder} to
+ * the client's copy of the views.
+ */
+public class TrackableDeltaDecoder {
+    private final TrackableObject root;
+    private final Tracker tracker;
+    private final Map<Long, TrackableObject> objects = new HashMap<>();
+    private int version;
+    private boolean broken;
+
+    /**
+     * Start applying deltas to the views reachable from root, which must
+     * hold the last full view received from the server.
+     */
+    public TrackableDeltaDecoder(final TrackableObject root0) {
+        root = root0;
+        tracker = root.getTracker();
+        TrackableDelta.collect(root, Collections.newSetFromMap(new IdentityHashMap<>()), new TrackableDelta.Visitor() {
+            @Override
+            public void visit(final byte kind, final TrackableObject obj) {
+                final Long key = TrackableDelta.key(kind, obj.getId());
+                if (!objects.containsKey(key)) {
+                    objects.put(key, obj);
+                }
+            }
+        });
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Apply the next delta of the encoder.
+     *
+     * @return false if the delta isn't the one following the last applied
+     * delta or couldn't be read. The views may then be out of date, and the
+     * decoder applies no further deltas; the client has to ask for a full
+     * view instead.
+     */
+    public boolean apply(final TrackableDelta delta) {
+        if (broken || delta.getVersion() != version + 1) {
+            broken = true;
+            return false;
+        }
+        try (DeltaInputStream in = new DeltaInputStream(new ByteArrayInputStream(delta.getData()))) {
+            byte kind;
+            while ((kind = in.readByte()) != TrackableDelta.END) {
+                final TrackableObject obj = lookup(kind, in.readInt());
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    final TrackableProperty key = TrackableProperty.deserialize(in.readShort());
+                    obj.set(key, in.readObject());
+                }
+            }
+        }
+        catch (final IOException | ClassNotFoundException e) {
+            broken = true;
+            return false;
+        }
+        version = delta.getVersion();
+        return true;
+    }
+
+    private TrackableObject lookup(final byte kind, final int id) {
+        if (kind == TrackableDelta.ROOT) {
+            return root;
+        }
+        final Long key = TrackableDelta.key(kind, id);
+        TrackableObject obj = objects.get(key);
+        if (obj == null) {
+            // the properties of a new view follow later in the same delta
+            obj = kind == TrackableDelta.CARD ? new CardView(id, tracker) : new PlayerView(id, tracker);
+            objects.put(key, obj);
+        }
+        return obj;
+    }
+
+    private class DeltaInputStream extends ObjectInputStream {
+        DeltaInputStream(final InputStream in) throws IOException {
+            super(in);
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Object resolveObject(final Object obj) throws IOException {
+            if (obj instanceof TrackableDelta.Ref) {
+                final TrackableDelta.Ref ref = (TrackableDelta.Ref) obj;
+                return lookup(ref.kind, ref.id);
+            }
+            if (obj instanceof TrackableObject) {
+                final TrackableObject trackable = (TrackableObject) obj;
+                if (trackable.getTracker() == null) {
+                    trackable.setTracker(tracker);
+                }
+            }
+            return obj;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package forge.trackable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import forge.game.card.CardView;
+import forge.game.card.CardView.CardStateView;
+
+/**
+ * Records which properties of a game's views change and turns them into
+ * {@link TrackableDelta}s for one remote client.
+ *
+ * The encoder starts from the state the client received in its last full
+ * view. Only properties of card and player views the client already knows
+ * about, and of the root view, are sent as changes; any other card or player
+ * view referenced by a property is sent in full the first time it is seen.
+ * Within property values, card and player views are replaced by their id so
+ * that a change never drags the rest of the game state along with it.
+ */
+public class TrackableDeltaEncoder {
+    private static final TrackableProperty[] STATE_PROPS = {
+        TrackableProperty.CurrentState, TrackableProperty.AlternateState,
+        TrackableProperty.LeftSplitState, TrackableProperty.RightSplitState
+    };
+    private static final TrackableProperty[] ROOT_OWNED_PROPS = {
+        TrackableProperty.Stack, TrackableProperty.CombatView
+    };
+
+    private final TrackableObject root;
+    private final Tracker tracker;
+    private final Map<TrackableObject, Set<TrackableProperty>> changed = new IdentityHashMap<>();
+    private final Set<Long> known = new HashSet<>();
+    private int version;
+
+    /**
+     * Start tracking changes of the views reachable from root, assuming the
+     * client has just been sent all of them.
+     */
+    public TrackableDeltaEncoder(final TrackableObject root0) {
+        root = root0;
+        tracker = root.getTracker();
+        TrackableDelta.collect(root, Collections.newSetFromMap(new IdentityHashMap<>()), new TrackableDelta.Visitor() {
+            @Override
+            public void visit(final byte kind, final TrackableObject obj) {
+                known.add(TrackableDelta.key(kind, obj.getId()));
+            }
+        });
+        tracker.addDeltaEncoder(this);
+    }
+
+    /**
+     * Stop recording changes, e.g. because the client will be sent a new
+     * full view.
+     */
+    public void dispose() {
+        tracker.removeDeltaEncoder(this);
+        synchronized (this) {
+            changed.clear();
+        }
+    }
+
+    synchronized void propChanged(final TrackableObject obj, final TrackableProperty key) {
+        if (obj == root) {
+            markChanged(obj, key);
+            return;
+        }
+        final byte kind = TrackableDelta.kindOf(obj);
+        if (kind >= 0) {
+            if (isCanonical(obj)) {
+                markChanged(obj, key);
+            }
+            return;
+        }
+        // objects without an id of their own are sent along with their owner
+        if (obj instanceof CardStateView) {
+            final CardView card = ((CardStateView) obj).getCard();
+            if (!isCanonical(card)) {
+                return;
+            }
+            for (final TrackableProperty prop : STATE_PROPS) {
+                if (card.get(prop) == obj) {
+                    markChanged(card, prop);
+                }
+            }
+        }
+        else {
+            for (final TrackableProperty prop : ROOT_OWNED_PROPS) {
+                markChanged(root, prop);
+            }
+        }
+    }
+
+    /**
+     * Last known information copies share their id with the view of the live
+     * object, so only changes of the view registered with the tracker count.
+     */
+    private boolean isCanonical(final TrackableObject obj) {
+        final Object registered = tracker.getObj(lookupType(obj), obj.getId());
+        return registered == null || registered == obj;
+    }
+
+    private static TrackableTypes.TrackableObjectType<?> lookupType(final TrackableObject obj) {
+        return obj instanceof CardView ? TrackableTypes.CardViewType : TrackableTypes.PlayerViewType;
+    }
+
+    private void markChanged(final TrackableObject obj, final TrackableProperty key) {
+        Set<TrackableProperty> props = changed.get(obj);
+        if (props == null) {
+            props = EnumSet.noneOf(TrackableProperty.class);
+            changed.put(obj, props);
+        }
+        props.add(key);
+    }
+
+    /**
+     * @return the changes since the previous delta or full view, or null if
+     *         nothing changed.
+     */
+    public synchronized TrackableDelta encode() {
+        if (changed.isEmpty()) {
+            return null;
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeltaOutputStream out = new DeltaOutputStream(bytes)) {
+            for (final Map.Entry<TrackableObject, Set<TrackableProperty>> e : changed.entrySet()) {
+                final TrackableObject obj = e.getKey();
+                if (obj == root) {
+                    writeObject(out, TrackableDelta.ROOT, obj, e.getValue());
+                    continue;
+                }
+                final byte kind = TrackableDelta.kindOf(obj);
+                // views the client doesn't know yet are sent in full once referenced
+                if (known.contains(TrackableDelta.key(kind, obj.getId()))) {
+                    writeObject(out, kind, obj, e.getValue());
+                }
+            }
+            TrackableObject added;
+            while ((added = out.added.poll()) != null) {
+                final Map<TrackableProperty, Object> props = added.getProps();
+                writeObject(out, TrackableDelta.kindOf(added), added, props.keySet());
+            }
+            out.writeByte(TrackableDelta.END);
+        }
+        catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+        changed.clear();
+        return new TrackableDelta(++version, bytes.toByteArray());
+    }
+
+    private static void writeObject(final ObjectOutputStream out, final byte kind, final TrackableObject obj, final Set<TrackableProperty> keys) throws IOException {
+        final Map<TrackableProperty, Object> props = obj.getProps();
+        out.writeByte(kind);
+        out.writeInt(obj.getId());
+        out.writeInt(keys.size());
+        for (final TrackableProperty key : keys) {
+            out.writeShort(TrackableProperty.serialize(key));
+            // a missing value means the property was reset to its default
+            out.writeObject(props.get(key));
+        }
+    }
+
+    private class DeltaOutputStream extends ObjectOutputStream {
+        private final ArrayDeque<TrackableObject> added = new ArrayDeque<>();
+
+        DeltaOutputStream(final OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(final Object obj) throws IOException {
+            if (!(obj instanceof TrackableObject)) {
+                return obj;
+            }
+            final TrackableObject trackable = (TrackableObject) obj;
+            if (trackable == root) {
+                return new TrackableDelta.Ref(TrackableDelta.ROOT, trackable.getId());
+            }
+            final byte kind = TrackableDelta.kindOf(trackable);
+            if (kind < 0) {
+                return obj;
+            }
+            if (known.add(TrackableDelta.key(kind, trackable.getId()))) {
+                final TrackableObject registered = tracker.getObj(lookupType(trackable), trackable.getId());
+                added.add(registered != null ? registered : trackable);
+            }
+            return new TrackableDelta.Ref(kind, trackable.getId());
+        }
+    }
+}
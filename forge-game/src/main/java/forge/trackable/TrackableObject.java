@@ -79,13 +79,11 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
         }
         if (value == null || value.equals(key.getDefaultValue())) {
             if (props.remove(key) != null) {
-                changedProps.add(key);
-                key.updateObjLookup(tracker, value);
+                onChanged(key, value);
             }
         }
         else if (!value.equals(props.put(key, value))) {
-            changedProps.add(key);
-            key.updateObjLookup(tracker, value);
+            onChanged(key, value);
         }
     }
 
@@ -109,8 +107,15 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
 
     //use when updating collection type properties with using set
     protected final void flagAsChanged(final TrackableProperty key) {
+        onChanged(key, props.get(key));
+    }
+
+    private void onChanged(final TrackableProperty key, final Object value) {
         changedProps.add(key);
-        key.updateObjLookup(tracker, props.get(key));
+        key.updateObjLookup(tracker, value);
+        if (tracker != null) {
+            tracker.propChanged(this, key);
+        }
     }
 
     public final void serialize(final TrackableSerializer ts) {
@@ -1,6 +1,7 @@
 package forge.trackable;
 
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Lists;
@@ -13,6 +14,7 @@ public class Tracker {
     private final List<DelayedPropChange> delayedPropChanges = Lists.newArrayList();
 
     private final Table<TrackableType<?>, Integer, Object> objLookups = HashBasedTable.create();
+    private final List<TrackableDeltaEncoder> deltaEncoders = new CopyOnWriteArrayList<>();
 
     public final boolean isFrozen() {
         return freezeCounter > 0;
@@ -57,6 +59,23 @@ public class Tracker {
         freeze();
     }
 
+    void addDeltaEncoder(final TrackableDeltaEncoder encoder) {
+        deltaEncoders.add(encoder);
+    }
+
+    void removeDeltaEncoder(final TrackableDeltaEncoder encoder) {
+        deltaEncoders.remove(encoder);
+    }
+
+    void propChanged(final TrackableObject object, final TrackableProperty prop) {
+        if (deltaEncoders.isEmpty()) {
+            return;
+        }
+        for (final TrackableDeltaEncoder encoder : deltaEncoders) {
+            encoder.propChanged(object, prop);
+        }
+    }
+
     public void addDelayedPropChange(final TrackableObject object, final TrackableProperty prop, final Object value) {
         delayedPropChanges.add(new DelayedPropChange(object, prop, value));
     }
@@ -0,0 +1,209 @@
+package forge.game;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import forge.LobbyPlayer;
+import forge.card.CardRarity;
+import forge.card.CardRules;
+import forge.card.CardType;
+import forge.deck.Deck;
+import forge.game.card.Card;
+import forge.game.card.CounterEnumType;
+import forge.game.keyword.Keyword;
+import forge.game.player.IGameEntitiesFactory;
+import forge.game.player.Player;
+import forge.game.player.PlayerController;
+import forge.game.player.RegisteredPlayer;
+import forge.game.zone.ZoneType;
+import forge.item.PaperCard;
+import forge.util.Lang;
+import forge.util.Localizer;
+
+/**
+ * Plays actions through {@link GameAction} in {@link StaticAbilityCheckMode#VERIFY},
+ * which fails whenever the effects the incremental mode would have kept differ
+ * from a full recompute.
+ */
+public class StaticAbilityCheckModeTest {
+    private static final String ANTHEM = "Mode$ Continuous | Affected$ Creature.YouCtrl | AddPower$ 1 | AddToughness$ 1";
+
+    private Game game;
+    private Player you;
+    private Player opponent;
+    private int nextId;
+
+    /** A player without a controller, for games nobody makes decisions in. */
+    private static final class TestPlayer extends LobbyPlayer implements IGameEntitiesFactory {
+        TestPlayer(final String name) {
+            super(name);
+        }
+
+        @Override
+        public Player createIngamePlayer(final Game game, final int id) {
+            return new Player(getName(), game, id);
+        }
+
+        @Override
+        public PlayerController createMindSlaveController(final Player master, final Player slave) {
+            return null;
+        }
+
+        @Override
+        public void hear(final LobbyPlayer player, final String message) {
+        }
+    }
+
+    @BeforeMethod
+    public void createGame() {
+        // zone names are localized, and descriptions use the language
+        Localizer.getInstance().initialize("en-US", "../forge-gui/res/languages/");
+        Lang.createInstance("en-US");
+        final GameRules rules = new GameRules(GameType.Constructed);
+        rules.setStaticAbilityCheckMode(StaticAbilityCheckMode.VERIFY);
+        final List<RegisteredPlayer> players = Arrays.asList(
+                new RegisteredPlayer(new Deck()).setPlayer(new TestPlayer("You")),
+                new RegisteredPlayer(new Deck()).setPlayer(new TestPlayer("Opponent")));
+        game = new Game(players, rules, new Match(rules, players, "Test"));
+        game.setAge(GameStage.Play);
+        you = game.getPlayers().get(0);
+        opponent = game.getPlayers().get(1);
+    }
+
+    private Card newCard(final Player owner, final String type) {
+        final String name = type + " " + ++nextId;
+        // moving cards looks at their paper card, which can't be looked up without the card database
+        final CardRules rules = CardRules.fromScript(Arrays.asList("Name:" + name, "ManaCost:no cost", "Types:" + type));
+        final Card c = new Card(nextId, new PaperCard(rules, "TST", CardRarity.Common), game);
+        c.setOwner(owner);
+        c.setName(name);
+        c.setType(CardType.parse(type, false));
+        if (c.isCreature()) {
+            c.setBasePower(2);
+            c.setBaseToughness(2);
+        }
+        return c;
+    }
+
+    private Card putOntoBattlefield(final Card c) {
+        return game.getAction().moveToPlay(c, null, null);
+    }
+
+    private StaticLayerTracker tracker() {
+        return game.getStaticEffects().getLayerTracker();
+    }
+
+    @Test
+    public void testActionsKeepTheSameEffectsAsAFullRecompute() {
+        final Card anthem = newCard(you, "Enchantment");
+        anthem.addStaticAbility(ANTHEM);
+        final Card bears = putOntoBattlefield(newCard(you, "Creature Bear"));
+        putOntoBattlefield(anthem);
+        final Card other = putOntoBattlefield(newCard(opponent, "Creature Bear"));
+        game.getAction().checkStaticAbilities();
+        AssertJUnit.assertEquals(3, bears.getNetPower());
+        AssertJUnit.assertEquals(2, other.getNetPower());
+
+        // nothing happened, the effects are kept and compared with a recompute
+        AssertJUnit.assertTrue(tracker().isUpToDate());
+        game.getAction().checkStaticAbilities();
+
+        // only the anthem is applied again
+        other.tap(false);
+        AssertJUnit.assertFalse(tracker().isDirty());
+        game.getAction().checkStaticAbilities();
+        AssertJUnit.assertEquals(2, other.getNetPower());
+        bears.tap(false);
+        AssertJUnit.assertFalse(tracker().isDirty());
+        AssertJUnit.assertFalse(tracker().getPendingAbilities().isEmpty());
+        game.getAction().checkStaticAbilities();
+        bears.addCounterInternal(CounterEnumType.P1P1, 1, you, true, new GameEntityCounterTable());
+        game.getAction().checkStaticAbilities();
+        AssertJUnit.assertEquals(4, bears.getNetPower());
+
+        // a new creature takes a full pass
+        final Card elves = putOntoBattlefield(newCard(you, "Creature Elf"));
+        game.getAction().checkStaticAbilities();
+        AssertJUnit.assertEquals(3, elves.getNetPower());
+        AssertJUnit.assertTrue(tracker().isUpToDate());
+        game.getAction().checkStaticAbilities();
+
+        game.getAction().moveToGraveyard(anthem, null);
+        game.getAction().checkStaticAbilities();
+        AssertJUnit.assertEquals(3, bears.getNetPower());
+        AssertJUnit.assertEquals(2, elves.getNetPower());
+        AssertJUnit.assertTrue(tracker().isUpToDate());
+        game.getAction().checkStaticAbilities();
+    }
+
+    @Test
+    public void testKeywordsAreGrantedAgainOnTheirOwn() {
+        final Card banner = newCard(you, "Enchantment");
+        banner.addStaticAbility("Mode$ Continuous | Affected$ Creature.YouCtrl+untapped | AddKeyword$ Flying");
+        final Card bears = putOntoBattlefield(newCard(you, "Creature Bear"));
+        putOntoBattlefield(banner);
+        game.getAction().checkStaticAbilities();
+        AssertJUnit.assertTrue(bears.hasKeyword(Keyword.FLYING));
+
+        bears.tap(false);
+        AssertJUnit.assertFalse(tracker().isDirty());
+        AssertJUnit.assertFalse(tracker().getPendingAbilities().isEmpty());
+        game.getAction().checkStaticAbilities();
+        AssertJUnit.assertFalse(bears.hasKeyword(Keyword.FLYING));
+        AssertJUnit.assertTrue(tracker().isUpToDate());
+
+        bears.untap(false);
+        game.getAction().checkStaticAbilities();
+        AssertJUnit.assertTrue(bears.hasKeyword(Keyword.FLYING));
+    }
+
+    @Test
+    public void testKeywordWithAContinuousAbilityComesAndGoes() {
+        final Card banner = newCard(you, "Enchantment");
+        banner.addStaticAbility("Mode$ Continuous | Affected$ Creature.YouCtrl+untapped | AddKeyword$ Changeling");
+        final Card bears = putOntoBattlefield(newCard(you, "Creature Bear"));
+        putOntoBattlefield(banner);
+        game.getAction().checkStaticAbilities();
+        AssertJUnit.assertTrue(bears.hasKeyword(Keyword.CHANGELING));
+        AssertJUnit.assertTrue(tracker().isUpToDate());
+
+        // the continuous ability of the keyword goes with it
+        bears.tap(false);
+        game.getAction().checkStaticAbilities();
+        AssertJUnit.assertFalse(bears.hasKeyword(Keyword.CHANGELING));
+        AssertJUnit.assertTrue(tracker().isUpToDate());
+        game.getAction().checkStaticAbilities();
+
+        bears.untap(false);
+        game.getAction().checkStaticAbilities();
+        AssertJUnit.assertTrue(bears.hasKeyword(Keyword.CHANGELING));
+        game.getAction().checkStaticAbilities();
+    }
+
+    @Test
+    public void testUntrackedChangeFailsVerification() {
+        final Card anthem = newCard(you, "Enchantment");
+        anthem.addStaticAbility(ANTHEM);
+        putOntoBattlefield(anthem);
+        game.getAction().checkStaticAbilities();
+
+        // a creature the tracker doesn't hear about, so the kept effects miss it
+        tracker().suspend();
+        try {
+            you.getZone(ZoneType.Battlefield).add(newCard(you, "Creature Bear"));
+        } finally {
+            tracker().resume();
+        }
+        AssertJUnit.assertTrue(tracker().isUpToDate());
+        try {
+            game.getAction().checkStaticAbilities();
+            AssertJUnit.fail("the kept effects differ from the recomputed ones");
+        } catch (final IllegalStateException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package forge.game;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import forge.game.card.Card;
+import forge.game.card.CardCollection;
+import forge.game.card.CardCollectionView;
+import forge.game.event.GameEventCardTapped;
+import forge.game.staticability.StaticAbility;
+import forge.util.Localizer;
+
+public class StaticLayerTrackerTest {
+    private static final String ANTHEM = "Mode$ Continuous | Affected$ Creature.YouCtrl | AddPower$ 1 | AddToughness$ 1";
+    private static final String FLYING = "Mode$ Continuous | Affected$ Creature.YouCtrl | AddKeyword$ Flying";
+    private static final String ZOMBIE = "Mode$ Continuous | Affected$ Creature.YouCtrl | AddType$ Zombie";
+    private static final String FLIERS_ANTHEM = "Mode$ Continuous | Affected$ Creature.withFlying | AddPower$ 1";
+
+    private int nextId;
+
+    @BeforeClass
+    public void initLocalizer() {
+        // zone names are localized
+        Localizer.getInstance().initialize("en-US", "../forge-gui/res/languages/");
+    }
+
+    private Card newCard() {
+        return new Card(++nextId, null);
+    }
+
+    /** @return a clean tracker that recorded the given abilities affecting the given cards. */
+    private static StaticLayerTracker record(final Map<StaticAbility, CardCollectionView> affected) {
+        final StaticLayerTracker tracker = new StaticLayerTracker();
+        tracker.record(Lists.newArrayList(affected.keySet()), affected);
+        return tracker;
+    }
+
+    @Test
+    public void testNewTrackerNeedsFullPass() {
+        AssertJUnit.assertTrue(new StaticLayerTracker().isDirty());
+    }
+
+    @Test
+    public void testUnrelatedEventKeepsEffects() {
+        final Card creature = newCard();
+        final StaticAbility anthem = newCard().addStaticAbility(ANTHEM);
+        final StaticLayerTracker tracker = record(Collections.singletonMap(anthem, new CardCollection(creature)));
+        AssertJUnit.assertTrue(tracker.isUpToDate());
+
+        tracker.onEvent(new GameEventCardTapped(newCard(), true));
+        AssertJUnit.assertTrue(tracker.isUpToDate());
+    }
+
+    @Test
+    public void testPowerToughnessAbilityIsReappliedOnItsOwn() {
+        final Card creature = newCard();
+        final StaticAbility anthem = newCard().addStaticAbility(ANTHEM);
+        final StaticLayerTracker tracker = record(Collections.singletonMap(anthem, new CardCollection(creature)));
+
+        tracker.onEvent(new GameEventCardTapped(creature, true));
+        AssertJUnit.assertFalse(tracker.isDirty());
+        AssertJUnit.assertFalse(tracker.isUpToDate());
+        AssertJUnit.assertEquals(Lists.newArrayList(anthem), Lists.newArrayList(tracker.getPendingAbilities()));
+
+        tracker.recordReapplied(anthem, new CardCollection(creature));
+        AssertJUnit.assertTrue(tracker.isUpToDate());
+    }
+
+    @Test
+    public void testOtherLayersNeedFullPass() {
+        final Card creature = newCard();
+        final Card other = newCard();
+        final StaticAbility anthem = newCard().addStaticAbility(ANTHEM);
+        final StaticAbility zombie = newCard().addStaticAbility(ZOMBIE);
+        final Map<StaticAbility, CardCollectionView> affected = Maps.newLinkedHashMap();
+        affected.put(anthem, new CardCollection(other));
+        affected.put(zombie, new CardCollection(creature));
+        final StaticLayerTracker tracker = record(affected);
+
+        tracker.onEvent(new GameEventCardTapped(creature, true));
+        AssertJUnit.assertTrue(tracker.isDirty());
+    }
+
+    @Test
+    public void testKeywordAbilityIsReappliedOnItsOwn() {
+        final Card creature = newCard();
+        final StaticAbility flying = newCard().addStaticAbility(FLYING);
+        final StaticLayerTracker tracker = record(Collections.singletonMap(flying, new CardCollection(creature)));
+
+        tracker.onEvent(new GameEventCardTapped(creature, true));
+        AssertJUnit.assertFalse(tracker.isDirty());
+        AssertJUnit.assertEquals(Lists.newArrayList(flying), Lists.newArrayList(tracker.getPendingAbilities()));
+    }
+
+    @Test
+    public void testLostContinuousAbilityNeedsFullPass() {
+        final Card creature = newCard();
+        final StaticAbility flying = newCard().addStaticAbility(FLYING);
+        final StaticLayerTracker tracker = record(Collections.singletonMap(flying, new CardCollection(creature)));
+        final StaticAbility granted = creature.addStaticAbility(ZOMBIE);
+        final Set<Integer> before = StaticLayerTracker.getContinuousAbilityIds(Collections.singletonList(creature));
+
+        creature.removeStaticAbility(granted);
+        tracker.checkAbilitiesKept(before, Collections.singletonList(creature));
+        AssertJUnit.assertTrue(tracker.isDirty());
+    }
+
+    @Test
+    public void testKeywordAbilityNeedsFullPassWhenKeywordsAreWatched() {
+        final Card creature = newCard();
+        final StaticAbility flying = newCard().addStaticAbility(FLYING);
+        final StaticAbility fliersAnthem = newCard().addStaticAbility(FLIERS_ANTHEM);
+        final Map<StaticAbility, CardCollectionView> affected = Maps.newLinkedHashMap();
+        affected.put(flying, new CardCollection(creature));
+        affected.put(fliersAnthem, new CardCollection(creature));
+        final StaticLayerTracker tracker = record(affected);
+
+        tracker.onEvent(new GameEventCardTapped(creature, true));
+        AssertJUnit.assertTrue(tracker.isDirty());
+    }
+
+    @Test
+    public void testUnrecordedAbilityNeedsFullPass() {
+        final Card creature = newCard();
+        final StaticAbility anthem = newCard().addStaticAbility(ANTHEM);
+        final StaticLayerTracker tracker = record(Collections.singletonMap(anthem, new CardCollection(creature)));
+
+        final Card newHost = newCard();
+        newHost.addStaticAbility(ANTHEM);
+        tracker.onEvent(new GameEventCardTapped(newHost, true));
+        AssertJUnit.assertTrue(tracker.isDirty());
+    }
+
+    @Test
+    public void testAbilityDependingOnGameStateNeedsFullPass() {
+        final Card host = newCard();
+        final StaticAbility variable = host.addStaticAbility("Mode$ Continuous | Affected$ Creature.YouCtrl | AddPower$ X");
+        AssertJUnit.assertFalse(StaticLayerTracker.isLocal(variable));
+        final StaticLayerTracker tracker = record(Collections.singletonMap(variable, new CardCollection(newCard())));
+
+        tracker.onEvent(new GameEventCardTapped(newCard(), true));
+        AssertJUnit.assertTrue(tracker.isDirty());
+    }
+
+    @Test
+    public void testSuspendedTrackerIgnoresChanges() {
+        final Card creature = newCard();
+        final StaticAbility flying = newCard().addStaticAbility(FLYING);
+        final StaticLayerTracker tracker = record(Collections.singletonMap(flying, new CardCollection(creature)));
+
+        tracker.suspend();
+        tracker.markDirty();
+        tracker.onEvent(new GameEventCardTapped(creature, true));
+        tracker.resume();
+        AssertJUnit.assertTrue(tracker.isUpToDate());
+
+        tracker.markDirty();
+        AssertJUnit.assertTrue(tracker.isDirty());
+    }
+}
@@ -0,0 +1,94 @@
+package forge.game.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+public class EventDispatcherTest {
+
+    private static class First extends Event {
+    }
+
+    private static class Second extends First {
+    }
+
+    @Test
+    public void testEventsGoToSubscribersOfTheirSuperclasses() {
+        final EventDispatcher dispatcher = new EventDispatcher("test");
+        final List<String> received = new ArrayList<>();
+        dispatcher.subscribe(Event.class, new IEventSubscriber<Event>() {
+            @Override
+            public void receive(final Event event) {
+                received.add("event " + event.getClass().getSimpleName());
+            }
+        });
+        dispatcher.subscribe(Second.class, new IEventSubscriber<Second>() {
+            @Override
+            public void receive(final Second event) {
+                received.add("second");
+            }
+        });
+
+        dispatcher.post(new First());
+        dispatcher.post(new Second());
+
+        AssertJUnit.assertEquals(3, received.size());
+        AssertJUnit.assertEquals("event First", received.get(0));
+        AssertJUnit.assertEquals("event Second", received.get(1));
+        AssertJUnit.assertEquals("second", received.get(2));
+    }
+
+    @Test
+    public void testEventsPostedWhileDeliveringComeAfter() {
+        final EventDispatcher dispatcher = new EventDispatcher("test");
+        final List<String> received = new ArrayList<>();
+        dispatcher.subscribe(First.class, new IEventSubscriber<First>() {
+            @Override
+            public void receive(final First event) {
+                received.add("a " + event.getClass().getSimpleName());
+                if (!(event instanceof Second)) {
+                    dispatcher.post(new Second());
+                }
+            }
+        });
+        dispatcher.subscribe(First.class, new IEventSubscriber<First>() {
+            @Override
+            public void receive(final First event) {
+                received.add("b " + event.getClass().getSimpleName());
+            }
+        });
+
+        dispatcher.post(new First());
+
+        AssertJUnit.assertEquals(4, received.size());
+        AssertJUnit.assertEquals("a First", received.get(0));
+        AssertJUnit.assertEquals("b First", received.get(1));
+        AssertJUnit.assertEquals("a Second", received.get(2));
+        AssertJUnit.assertEquals("b Second", received.get(3));
+    }
+
+    @Test
+    public void testFailingSubscriberDoesntStopDelivery() {
+        final EventDispatcher dispatcher = new EventDispatcher("test");
+        final List<Event> received = new ArrayList<>();
+        dispatcher.subscribe(Event.class, new IEventSubscriber<Event>() {
+            @Override
+            public void receive(final Event event) {
+                throw new IllegalStateException("failed on purpose");
+            }
+        });
+        dispatcher.subscribe(Event.class, new IEventSubscriber<Event>() {
+            @Override
+            public void receive(final Event event) {
+                received.add(event);
+            }
+        });
+
+        dispatcher.post(new First());
+        dispatcher.post(new Second());
+
+        AssertJUnit.assertEquals(2, received.size());
+    }
+}
@@ -0,0 +1,106 @@
+package forge.game.zone;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Lists;
+
+import forge.card.CardType;
+import forge.card.CardType.CoreType;
+import forge.game.Game;
+import forge.game.GameRules;
+import forge.game.GameType;
+import forge.game.Match;
+import forge.game.card.Card;
+import forge.game.player.Player;
+import forge.game.player.RegisteredPlayer;
+import forge.util.Localizer;
+
+public class ZoneCardIndexTest {
+    private Game game;
+    private Player player;
+    private int nextId;
+
+    @BeforeMethod
+    public void createGame() {
+        // zone names are localized
+        Localizer.getInstance().initialize("en-US", "../forge-gui/res/languages/");
+        final GameRules rules = new GameRules(GameType.Constructed);
+        game = new Game(Collections.<RegisteredPlayer>emptyList(), rules, new Match(rules, Collections.<RegisteredPlayer>emptyList(), "Test"));
+        player = new Player("Test", game, 0);
+    }
+
+    private Card putOntoBattlefield(final String name, final String type) {
+        final Card c = new Card(++nextId, game);
+        c.setName(name);
+        c.addType(type);
+        player.getZone(ZoneType.Battlefield).add(c);
+        return c;
+    }
+
+    @Test
+    public void testRenamedCardIsFoundByItsNewName() {
+        final Zone battlefield = player.getZone(ZoneType.Battlefield);
+        final Card bears = putOntoBattlefield("Grizzly Bears", "Creature");
+        AssertJUnit.assertEquals(Arrays.asList(bears), Lists.newArrayList(battlefield.getCardsNamed("Grizzly Bears")));
+
+        bears.setName("Runeclaw Bear");
+        AssertJUnit.assertTrue(battlefield.getCardsNamed("Grizzly Bears").isEmpty());
+        AssertJUnit.assertEquals(Arrays.asList(bears), Lists.newArrayList(battlefield.getCardsNamed("Runeclaw Bear")));
+
+        bears.addChangedName("Grizzly Bears", false, 1L, 0L);
+        AssertJUnit.assertEquals(Arrays.asList(bears), Lists.newArrayList(battlefield.getCardsNamed("Grizzly Bears")));
+        bears.removeChangedName(1L, 0L);
+        AssertJUnit.assertTrue(battlefield.getCardsNamed("Grizzly Bears").isEmpty());
+    }
+
+    @Test
+    public void testChangedTypesAreFoundInTheOrderOfTheBattlefield() {
+        final Zone battlefield = player.getZone(ZoneType.Battlefield);
+        final Card ring = putOntoBattlefield("Sol Ring", "Artifact");
+        final Card bears = putOntoBattlefield("Grizzly Bears", "Creature");
+        AssertJUnit.assertEquals(Arrays.asList(bears), Lists.newArrayList(player.getCreaturesInPlay()));
+
+        // animated until the effect ends
+        ring.addChangedCardTypes(new CardType(Arrays.asList("Creature"), false), null, false,
+                false, false, false, false, false, false, false, 1L, 0L, false, false);
+        AssertJUnit.assertEquals(2, battlefield.getCardsOfType(CoreType.Creature).size());
+        AssertJUnit.assertEquals(Arrays.asList(ring, bears), Lists.newArrayList(player.getCreaturesInPlay()));
+
+        ring.removeChangedCardTypes(1L, 0L, false);
+        AssertJUnit.assertEquals(Arrays.asList(bears), Lists.newArrayList(player.getCreaturesInPlay()));
+        AssertJUnit.assertEquals(Arrays.asList(ring), Lists.newArrayList(battlefield.getCardsOfType(CoreType.Artifact)));
+    }
+
+    @Test
+    public void testFaceDownCardIsANamelessCreature() {
+        final Zone battlefield = player.getZone(ZoneType.Battlefield);
+        final Card forest = putOntoBattlefield("Forest", "Land");
+        AssertJUnit.assertTrue(player.getCreaturesInPlay().isEmpty());
+
+        forest.turnFaceDown();
+        AssertJUnit.assertTrue(battlefield.getCardsNamed("Forest").isEmpty());
+        AssertJUnit.assertTrue(battlefield.getCardsOfType(CoreType.Land).isEmpty());
+        AssertJUnit.assertEquals(Arrays.asList(forest), Lists.newArrayList(player.getCreaturesInPlay()));
+
+        forest.turnFaceUp(false, false, null);
+        AssertJUnit.assertEquals(Arrays.asList(forest), Lists.newArrayList(battlefield.getCardsNamed("Forest")));
+        AssertJUnit.assertEquals(Arrays.asList(forest), Lists.newArrayList(battlefield.getCardsOfType(CoreType.Land)));
+        AssertJUnit.assertTrue(player.getCreaturesInPlay().isEmpty());
+    }
+
+    @Test
+    public void testCardLeavingTheZoneIsNoLongerFound() {
+        final Zone battlefield = player.getZone(ZoneType.Battlefield);
+        final Card bears = putOntoBattlefield("Grizzly Bears", "Creature");
+        AssertJUnit.assertEquals(1, player.getCreaturesInPlay().size());
+
+        battlefield.remove(bears);
+        AssertJUnit.assertTrue(battlefield.getCardsNamed("Grizzly Bears").isEmpty());
+        AssertJUnit.assertTrue(player.getCreaturesInPlay().isEmpty());
+    }
+}
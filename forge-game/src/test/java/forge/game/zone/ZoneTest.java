@@ -0,0 +1,113 @@
+package forge.game.zone;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Lists;
+
+import forge.game.Game;
+import forge.game.GameRules;
+import forge.game.GameType;
+import forge.game.Match;
+import forge.game.card.Card;
+import forge.game.player.RegisteredPlayer;
+import forge.util.Localizer;
+
+public class ZoneTest {
+    private Game game;
+
+    @BeforeClass
+    public void createGame() {
+        // zone names are localized
+        Localizer.getInstance().initialize("en-US", "../forge-gui/res/languages/");
+        final GameRules rules = new GameRules(GameType.Constructed);
+        game = new Game(Collections.<RegisteredPlayer>emptyList(), rules, new Match(rules, Collections.<RegisteredPlayer>emptyList(), "Test"));
+    }
+
+    @Test
+    public void testStateHashDependsOnCardsOnly() {
+        final Card first = new Card(1, game);
+        final Card second = new Card(2, game);
+        final Zone zone = new Zone(ZoneType.Library, game);
+        final Zone reversed = new Zone(ZoneType.Library, game);
+        zone.add(first);
+        zone.add(second);
+        reversed.add(second);
+        reversed.add(first);
+
+        AssertJUnit.assertEquals(zone.getStateHash(), reversed.getStateHash());
+        AssertJUnit.assertTrue(zone.getStateHash() != new Zone(ZoneType.Library, game).getStateHash());
+
+        zone.remove(second);
+        AssertJUnit.assertTrue(zone.getStateHash() != reversed.getStateHash());
+        zone.add(second);
+        AssertJUnit.assertEquals(reversed.getStateHash(), zone.getStateHash());
+    }
+
+    @Test
+    public void testRepositionedCardKeepsStateHash() {
+        final Card first = new Card(1, game);
+        final Card second = new Card(2, game);
+        final Card third = new Card(3, game);
+        final Zone zone = new Zone(ZoneType.Library, game);
+        zone.setCards(Arrays.asList(first, second, third));
+        final long hash = zone.getStateHash();
+
+        // adding a card that's already there moves it
+        zone.add(third, 0);
+        AssertJUnit.assertEquals(Arrays.asList(third, first, second), Lists.newArrayList(zone.getCards()));
+        AssertJUnit.assertEquals(hash, zone.getStateHash());
+
+        zone.add(first);
+        AssertJUnit.assertEquals(hash, zone.getStateHash());
+
+        zone.reorder(second, 0);
+        AssertJUnit.assertEquals(hash, zone.getStateHash());
+    }
+
+    private static Card newCard(final int id, final String name, final Game game) {
+        final Card c = new Card(id, game);
+        c.setName(name);
+        return c;
+    }
+
+    @Test
+    public void testDifferentHandsWithTheSameIdsDontCollide() {
+        // copies of the game number the cards in a different order, so a hand that kept Shock
+        // has the same ids as one that kept Lightning Bolt
+        final Zone hand = new Zone(ZoneType.Hand, game);
+        hand.add(newCard(1, "Shock", game));
+        final Card bolt = newCard(2, "Lightning Bolt", game);
+        hand.add(bolt);
+        hand.remove(bolt);
+
+        final Zone otherHand = new Zone(ZoneType.Hand, game);
+        final Card shock = newCard(2, "Shock", game);
+        otherHand.add(shock);
+        otherHand.add(newCard(1, "Lightning Bolt", game));
+        otherHand.remove(shock);
+
+        AssertJUnit.assertEquals(1, hand.size());
+        AssertJUnit.assertEquals(1, otherHand.size());
+        AssertJUnit.assertTrue(hand.getStateHash() != otherHand.getStateHash());
+
+        // the same hand reached the other way round
+        final Zone sameHand = new Zone(ZoneType.Hand, game);
+        sameHand.add(newCard(1, "Shock", game));
+        AssertJUnit.assertEquals(hand.getStateHash(), sameHand.getStateHash());
+    }
+
+    @Test
+    public void testRenamedCardLeavesTheStateHash() {
+        final Zone battlefield = new Zone(ZoneType.Battlefield, game);
+        final Card bears = newCard(1, "Grizzly Bears", game);
+        battlefield.add(bears);
+        bears.setName("Runeclaw Bear");
+        battlefield.remove(bears);
+        AssertJUnit.assertEquals(new Zone(ZoneType.Battlefield, game).getStateHash(), battlefield.getStateHash());
+    }
+}
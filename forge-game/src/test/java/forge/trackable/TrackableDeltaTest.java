@@ -0,0 +1,146 @@
+package forge.trackable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.game.card.CardView;
+import forge.game.player.PlayerView;
+
+public class TrackableDeltaTest {
+
+    private static PlayerView copyToClient(final PlayerView player) throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(player);
+        }
+        final PlayerView copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (PlayerView) in.readObject();
+        }
+        final Tracker tracker = new Tracker();
+        copy.setTracker(tracker);
+        TrackableDelta.collect(copy, Collections.newSetFromMap(new IdentityHashMap<>()), new TrackableDelta.Visitor() {
+            @Override
+            public void visit(final byte kind, final TrackableObject obj) {
+                obj.setTracker(tracker);
+            }
+        });
+        return copy;
+    }
+
+    /** @return the delta as the client reads it from the connection. */
+    private static TrackableDelta sendToClient(final TrackableDelta delta) throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(delta);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (TrackableDelta) in.readObject();
+        }
+    }
+
+    @Test
+    public void testChangedPropertiesAreApplied() throws Exception {
+        final Tracker tracker = new Tracker();
+        final PlayerView player = new PlayerView(1, tracker);
+        final CardView bears = new CardView(10, tracker);
+        bears.set(TrackableProperty.Name, "Grizzly Bears");
+        player.set(TrackableProperty.Hand, new TrackableCollection<>(bears));
+
+        final PlayerView client = copyToClient(player);
+        final TrackableDeltaEncoder encoder = new TrackableDeltaEncoder(player);
+        final TrackableDeltaDecoder decoder = new TrackableDeltaDecoder(client);
+        final CardView clientBears = client.getHand().get(0);
+
+        final CardView forest = new CardView(11, tracker);
+        forest.set(TrackableProperty.Name, "Forest");
+        bears.set(TrackableProperty.Name, "Runeclaw Bear");
+        player.set(TrackableProperty.Hand, new TrackableCollection<>(Arrays.asList(bears, forest)));
+
+        final TrackableDelta delta = encoder.encode();
+        decoder.apply(delta);
+
+        AssertJUnit.assertEquals(2, client.getHand().size());
+        AssertJUnit.assertSame(clientBears, client.getHand().get(0));
+        AssertJUnit.assertEquals("Runeclaw Bear", clientBears.getName());
+        AssertJUnit.assertEquals("Forest", client.getHand().get(1).getName());
+        AssertJUnit.assertNull(encoder.encode());
+        encoder.dispose();
+    }
+
+    @Test
+    public void testCopiesOfViewsAreNotSent() {
+        final Tracker tracker = new Tracker();
+        final PlayerView player = new PlayerView(1, tracker);
+        final CardView bears = new CardView(10, tracker);
+        player.set(TrackableProperty.Hand, new TrackableCollection<>(bears));
+
+        final TrackableDeltaEncoder encoder = new TrackableDeltaEncoder(player);
+        final CardView copy = new CardView(10, tracker);
+        copy.set(TrackableProperty.Name, "Grizzly Bears");
+
+        AssertJUnit.assertNull(encoder.encode());
+        encoder.dispose();
+    }
+
+    @Test
+    public void testMissedDeltaNeedsFullView() throws Exception {
+        final Tracker tracker = new Tracker();
+        final PlayerView player = new PlayerView(1, tracker);
+        final PlayerView client = copyToClient(player);
+        final TrackableDeltaEncoder encoder = new TrackableDeltaEncoder(player);
+        final TrackableDeltaDecoder decoder = new TrackableDeltaDecoder(client);
+        final String name = client.getName();
+
+        player.set(TrackableProperty.Name, "Alice");
+        encoder.encode();
+        player.set(TrackableProperty.Name, "Bob");
+        AssertJUnit.assertFalse(decoder.apply(encoder.encode()));
+        player.set(TrackableProperty.Life, 19);
+        AssertJUnit.assertFalse(decoder.apply(encoder.encode()));
+        AssertJUnit.assertEquals(name, client.getName());
+        encoder.dispose();
+
+        // what the server does when the client asks for a resync
+        final TrackableDeltaEncoder resyncEncoder = new TrackableDeltaEncoder(player);
+        final PlayerView resynced = copyToClient(player);
+        final TrackableDeltaDecoder resyncDecoder = new TrackableDeltaDecoder(resynced);
+        AssertJUnit.assertEquals("Bob", resynced.getName());
+
+        player.set(TrackableProperty.Life, 18);
+        AssertJUnit.assertTrue(resyncDecoder.apply(resyncEncoder.encode()));
+        AssertJUnit.assertEquals(18, resynced.getLife());
+        resyncEncoder.dispose();
+    }
+
+    @Test
+    public void testDeltasSurviveTheConnection() throws Exception {
+        final Tracker tracker = new Tracker();
+        final PlayerView player = new PlayerView(1, tracker);
+        final CardView bears = new CardView(10, tracker);
+        bears.set(TrackableProperty.Name, "Grizzly Bears");
+        player.set(TrackableProperty.Hand, new TrackableCollection<>(bears));
+
+        final TrackableDeltaEncoder encoder = new TrackableDeltaEncoder(player);
+        final PlayerView client = copyToClient(player);
+        final TrackableDeltaDecoder decoder = new TrackableDeltaDecoder(client);
+
+        for (int life = 19; life > 15; life--) {
+            player.set(TrackableProperty.Life, life);
+            bears.set(TrackableProperty.Tapped, life % 2 == 0);
+            AssertJUnit.assertTrue(decoder.apply(sendToClient(encoder.encode())));
+            AssertJUnit.assertEquals(life, client.getLife());
+            AssertJUnit.assertEquals(life % 2 == 0, client.getHand().get(0).isTapped());
+        }
+        AssertJUnit.assertEquals(4, decoder.getVersion());
+        encoder.dispose();
+    }
+}
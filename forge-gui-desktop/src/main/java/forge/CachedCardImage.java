@@ -16,20 +16,41 @@ public abstract class CachedCardImage implements ImageFetcher.Callback {
 
     static final SwingImageFetcher fetcher = new SwingImageFetcher();
 
+    // the image is loaded in the background, and retrieved again once it's there
+    private final Runnable onLoaded = new Runnable() {
+        @Override
+        public void run() {
+            onImageFetched();
+        }
+    };
+
     public CachedCardImage(final CardView card, final Iterable<PlayerView> viewers, final int width, final int height) {
         this.card = card;
         this.viewers = viewers;
         this.width = width;
         this.height = height;
-        BufferedImage image = ImageCache.getImageNoDefault(card, viewers, width, height);
-        if (image == null) {
-            String key = card.getCurrentState().getImageKey(viewers);
-            fetcher.fetchImage(key, this);
-        }
+        final String key = card.getCurrentState().getImageKey(viewers);
+        // look for the image in the background, and fetch it if there is none
+        ImageCache.scaleImageAsync(key, width, height, false, card, new Runnable() {
+            @Override
+            public void run() {
+                if (ImageCache.scaleImageAsync(key, width, height, false, card, null) == null) {
+                    fetcher.fetchImage(key, new ImageFetcher.Callback() {
+                        @Override
+                        public void onImageFetched() {
+                            CachedCardImage.this.onImageFetched();
+                        }
+                    });
+                } else {
+                    onImageFetched();
+                }
+            }
+        });
     }
 
+    /** @return the image, or null while it's loaded in the background, after which onImageFetched is called. */
     public BufferedImage getImage() {
-        return ImageCache.getImage(card, viewers, width, height);
+        return ImageCache.getImageAsync(card, viewers, width, height, onLoaded);
     }
 
     public abstract void onImageFetched();
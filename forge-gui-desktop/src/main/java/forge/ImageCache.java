@@ -23,28 +23,39 @@ import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
 import java.io.File;
 import java.util.Calendar;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.imageio.ImageIO;
+import javax.swing.SwingUtilities;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.Weigher;
 import com.mortennobel.imagescaling.ResampleOp;
 
 import forge.card.CardSplitType;
 import forge.game.card.Card;
 import forge.game.card.CardView;
 import forge.game.player.PlayerView;
-import forge.gui.FThreads;
 import forge.gui.GuiBase;
 import forge.item.IPaperCard;
 import forge.item.InventoryItem;
@@ -70,6 +81,13 @@ import forge.util.TextUtil;
  * <li>Keys start with the file name, extension is skipped</li>
  * <li>The key without suffix belongs to the unmodified image from the file</li>
  * </ul>
+ * <p/>
+ * The cache is bounded by the bytes of the images in it rather than their
+ * number, so a full size image counts for as much as the many scaled ones
+ * that would fit in its memory. Views that paint many cards, like the
+ * ImageView of the item managers, use {@link #getImageAsync} instead of
+ * {@link #getImage}, which loads and scales images on background threads so
+ * that painting never waits for a file to be read.
  *
  * @author Forge
  * @version $Id: ImageCache.java 25093 2014-03-08 05:36:37Z drdev $
@@ -77,11 +95,66 @@ import forge.util.TextUtil;
 public class ImageCache {
     // short prefixes to save memory
 
-    private static final Set<String> _missingIconKeys = new HashSet<>();
+    private static final Set<String> _missingIconKeys = ConcurrentHashMap.newKeySet();
+    // UI_IMAGE_CACHE_MAXIMUM is the number of card images kept, so allow as many bytes as that many
+    // 488x680 card images take up, but no more than a quarter of the heap
+    private static final long CARD_IMAGE_BYTES = 488L * 680L * 4L;
     private static final LoadingCache<String, BufferedImage> _CACHE = CacheBuilder.newBuilder()
-            .maximumSize(FModel.getPreferences().getPrefInt((FPref.UI_IMAGE_CACHE_MAXIMUM)))
+            .maximumWeight(Math.min(FModel.getPreferences().getPrefInt((FPref.UI_IMAGE_CACHE_MAXIMUM)) * CARD_IMAGE_BYTES,
+                    Runtime.getRuntime().maxMemory() / 4))
+            .weigher(new Weigher<String, BufferedImage>() {
+                @Override
+                public int weigh(String key, BufferedImage image) {
+                    return getByteSize(image);
+                }
+            })
             .expireAfterAccess(15, TimeUnit.MINUTES)
             .build(new ImageLoader());
+
+    // What background loads found that isn't kept in _CACHE, like placeholders and missing images, so
+    // that views repainting once an image is loaded don't load it again. Kept for a short while only, so
+    // that images fetched or rendered in the meantime are found later on.
+    private static final BufferedImage NO_IMAGE = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+    private static final Cache<String, BufferedImage> _LOADED = CacheBuilder.newBuilder()
+            .softValues()
+            .expireAfterWrite(1, TimeUnit.MINUTES)
+            .build();
+    // Counts the calls to invalidateLoaded, so that loads started before one don't remember what they found
+    private static final AtomicInteger _invalidations = new AtomicInteger();
+    // The images being loaded in the background, with what to run on the EDT once they are
+    private static final Map<String, Set<Runnable>> _PENDING = new HashMap<>();
+    // Loads are taken newest first, so that the images on screen now are loaded before those
+    // that were scrolled past, which are dropped once there are too many of them waiting
+    private static final int MAX_WAITING_LOADS = 256;
+    private static final ThreadPoolExecutor _LOADER = new ThreadPoolExecutor(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)),
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)),
+            0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingDeque<Runnable>() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                public boolean offer(Runnable task) {
+                    while (size() >= MAX_WAITING_LOADS) {
+                        Runnable oldest = pollLast();
+                        if (oldest instanceof LoadTask) {
+                            ((LoadTask) oldest).drop();
+                        }
+                    }
+                    return offerFirst(task);
+                }
+            },
+            new ThreadFactory() {
+                private int count = 0;
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "ImageLoader-" + count++);
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                }
+            });
     private static final BufferedImage _defaultImage;
     static {
         BufferedImage defImage = null;
@@ -96,6 +169,7 @@ public class ImageCache {
 
     public static void clear() {
         _CACHE.invalidateAll();
+        _LOADED.invalidateAll();
         _missingIconKeys.clear();
         ImageKeys.clearMissingCards();
     }
@@ -130,6 +204,143 @@ public class ImageCache {
         return scaleImage(ii.getImageKey(altState), width, height, true, null);
     }
 
+    /**
+     * retrieve an image from the cache without waiting for it to be loaded.  returns the image if it was
+     * already loaded, otherwise returns null and loads it in the background, running onLoaded on the EDT
+     * once it's there to be retrieved again.  callers paint their own placeholder in the meantime.
+     */
+    public static BufferedImage getImageAsync(final CardView card, final Iterable<PlayerView> viewers, final int width, final int height, final Runnable onLoaded) {
+        final String key = card.getCurrentState().getImageKey(viewers);
+        return scaleImageAsync(key, width, height, true, card, onLoaded);
+    }
+
+    /**
+     * retrieve an image from the cache without waiting for it to be loaded.  returns the image if it was
+     * already loaded, otherwise returns null and loads it in the background, running onLoaded on the EDT
+     * once it's there to be retrieved again.  callers paint their own placeholder in the meantime.
+     */
+    public static BufferedImage getImageAsync(InventoryItem ii, int width, int height, boolean altState, Runnable onLoaded) {
+        return scaleImageAsync(ii.getImageKey(altState), width, height, true, null, onLoaded);
+    }
+
+    /**
+     * load an image in the background if it isn't loaded yet, so that it's ready once it's
+     * retrieved, e.g. for the cards just out of view of a scrolled list.
+     */
+    public static void prefetch(InventoryItem ii, int width, int height, boolean altState) {
+        scaleImageAsync(ii.getImageKey(altState), width, height, true, null, null);
+    }
+
+    /**
+     * forget what the background loads found for the given key but didn't keep in the cache,
+     * like a placeholder for an image that was missing, after its image file was fetched.
+     * Called on the EDT by {@link forge.util.SwingImageFetcher} once a download is saved.
+     */
+    public static void invalidateLoaded(String key) {
+        if (StringUtils.isEmpty(key)) {
+            return;
+        }
+        _invalidations.incrementAndGet();
+        String prefix = key + "#";
+        Iterator<String> keys = _LOADED.asMap().keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().startsWith(prefix)) {
+                keys.remove();
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #scaleImage} but never loads the image on the calling thread.
+     * Returns null while it's being loaded and runs onLoaded, if any, on the EDT once it is.
+     */
+    public static BufferedImage scaleImageAsync(final String key, final int width, final int height, final boolean useDefaultImage,
+                                                final CardView cardView, final Runnable onLoaded) {
+        if (StringUtils.isEmpty(key) || (3 > width && -1 != width) || (3 > height && -1 != height)) {
+            return null;
+        }
+
+        final BufferedImage cached = _CACHE.getIfPresent(getResizedKey(key, width, height));
+        if (null != cached) {
+            return cached;
+        }
+        final String loadKey = getResizedKey(key, width, height) + (useDefaultImage ? "" : "#nodefault");
+        final BufferedImage loaded = _LOADED.getIfPresent(loadKey);
+        if (null != loaded) {
+            return loaded == NO_IMAGE ? null : loaded;
+        }
+
+        boolean start;
+        synchronized (_PENDING) {
+            Set<Runnable> callbacks = _PENDING.get(loadKey);
+            start = callbacks == null;
+            if (start) {
+                callbacks = new LinkedHashSet<>();
+                _PENDING.put(loadKey, callbacks);
+            }
+            if (onLoaded != null) {
+                callbacks.add(onLoaded);
+            }
+        }
+        if (start) {
+            _LOADER.execute(new LoadTask(loadKey) {
+                @Override
+                protected BufferedImage load() {
+                    return scaleImage(key, width, height, useDefaultImage, cardView);
+                }
+            });
+        }
+        return null;
+    }
+
+    /** A background load of a scaled image, which makes its result known to those waiting for it. */
+    private abstract static class LoadTask implements Runnable {
+        private final String loadKey;
+        private final int invalidations = _invalidations.get();
+
+        LoadTask(String loadKey) {
+            this.loadKey = loadKey;
+        }
+
+        protected abstract BufferedImage load();
+
+        @Override
+        public void run() {
+            BufferedImage result = null;
+            try {
+                result = load();
+            } catch (RuntimeException ex) {
+                ex.printStackTrace();
+            }
+            // what was found may be out of date if an image was fetched meanwhile
+            if (invalidations == _invalidations.get()) {
+                _LOADED.put(loadKey, result == null ? NO_IMAGE : result);
+            }
+
+            final Set<Runnable> callbacks;
+            synchronized (_PENDING) {
+                callbacks = _PENDING.remove(loadKey);
+            }
+            if (callbacks != null && !callbacks.isEmpty()) {
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (Runnable callback : callbacks) {
+                            callback.run();
+                        }
+                    }
+                });
+            }
+        }
+
+        // dropped from the queue without running; the next request for it starts it again
+        void drop() {
+            synchronized (_PENDING) {
+                _PENDING.remove(loadKey);
+            }
+        }
+    }
+
     /**
      * retrieve an icon from the cache.  returns the current skin's ICO_UNKNOWN if the icon image is not found
      * in the cache and cannot be loaded from disk.
@@ -301,7 +512,7 @@ public class ImageCache {
             return null;
         }
 
-        String resizedKey = String.format("%s#%dx%d", key, width, height);
+        String resizedKey = getResizedKey(key, width, height);
 
         final BufferedImage cached = _CACHE.getIfPresent(resizedKey);
         if (null != cached) {
@@ -350,6 +561,17 @@ public class ImageCache {
         }
         return result;
     }
+    private static String getResizedKey(String key, int width, int height) {
+        return String.format("%s#%dx%d", key, width, height);
+    }
+
+    // the memory taken by the pixels of the image, which is what the cache is bounded by
+    private static int getByteSize(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        long bytes = (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, bytes));
+    }
+
     /**
      * Crops the Card Image to get the Card Art of "regular Card frame".
      * @param bufferedImage the image that will be crop
@@ -375,9 +597,9 @@ public class ImageCache {
     }
     /**
      * Returns the Image corresponding to the key.
+     * Called on the EDT as well as by the background loads, which the cache is safe for.
      */
     private static BufferedImage getImage(final String key) {
-        FThreads.assertExecutedByEdt(true);
         try {
             return ImageCache._CACHE.get(key);
         } catch (final ExecutionException ex) {
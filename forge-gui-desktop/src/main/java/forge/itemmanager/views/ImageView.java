@@ -1004,6 +1004,13 @@ public class ImageView<T extends InventoryItem> extends ItemView<T> {
     @SuppressWarnings("serial")
     private class CardViewDisplay extends JPanel implements ILocalRepaint {
         boolean showRanking = false;
+        // images are loaded in the background, and painted once they are
+        private final Runnable repaintOnImageLoaded = new Runnable() {
+            @Override
+            public void run() {
+                repaintSelf();
+            }
+        };
         private CardViewDisplay() {
             setOpaque(false);
             setFocusable(true);
@@ -1125,6 +1132,8 @@ public class ImageView<T extends InventoryItem> extends ItemView<T> {
                 }
             }
 
+            prefetchItemImages(visibleTop - visibleSize.height, visibleTop, visibleBottom, visibleBottom + visibleSize.height);
+
             if (lockInput) { //unlock input after repaint finishes if needed
                 SwingUtilities.invokeLater(new Runnable() {
                     @Override
@@ -1135,13 +1144,46 @@ public class ImageView<T extends InventoryItem> extends ItemView<T> {
             }
         }
 
-        private void drawItemImage(Graphics2D g, ItemInfo itemInfo) {
-            Rectangle bounds = itemInfo.getBounds();
-            final int itemWidth = bounds.width;
-            final int selBorderSize = 1;
-            InventoryItem item = itemInfo.item;
-            boolean deckSelectMode = item instanceof DeckProxy;
+        /**
+         * Load the images of the items above and below the visible ones in the background,
+         * so that they're ready when scrolled to.
+         */
+        private void prefetchItemImages(final int aboveTop, final int visibleTop, final int visibleBottom, final int belowBottom) {
+            final float screenScale = GuiBase.getInterface().getScreenScale();
+            for (Group group : groups) {
+                if (group.items.isEmpty() || group.isCollapsed || group.getBottom() < aboveTop) {
+                    continue;
+                }
+                if (group.getTop() >= belowBottom) {
+                    break;
+                }
+                for (Pile pile : group.piles) {
+                    if (pile.getBottom() < aboveTop) {
+                        continue;
+                    }
+                    if (pile.getTop() >= belowBottom) {
+                        break;
+                    }
+                    for (ItemInfo itemInfo : pile.items) {
+                        if (itemInfo.getBottom() < aboveTop || (itemInfo.getBottom() >= visibleTop && itemInfo.getTop() < visibleBottom)) {
+                            continue;
+                        }
+                        if (itemInfo.getTop() >= belowBottom) {
+                            break;
+                        }
+                        if (itemInfo.item instanceof DeckProxy) {
+                            continue;
+                        }
+                        Rectangle bounds = itemInfo.getBounds();
+                        int borderSize = getBorderSize(itemInfo.item, bounds.width);
+                        ImageCache.prefetch(itemInfo.item, Math.round((bounds.width - 2 * borderSize) * screenScale),
+                                Math.round((bounds.height - 2 * borderSize) * screenScale), false);
+                    }
+                }
+            }
+        }
 
+        private int getBorderSize(InventoryItem item, int itemWidth) {
             // Determine whether to render border from properties
             boolean noBorder = !isPreferenceEnabled(ForgePreferences.FPref.UI_RENDER_BLACK_BORDERS);
             if (item instanceof IPaperCard) {
@@ -1151,8 +1193,17 @@ public class ImageView<T extends InventoryItem> extends ItemView<T> {
                 // Unstable basic lands
                 noBorder |= cv.getCurrentState().isBasicLand() && cv.getCurrentState().getSetCode().equalsIgnoreCase("UST");
             }
+            return noBorder? 0 : Math.round(itemWidth * CardPanel.BLACK_BORDER_SIZE);
+        }
+
+        private void drawItemImage(Graphics2D g, ItemInfo itemInfo) {
+            Rectangle bounds = itemInfo.getBounds();
+            final int itemWidth = bounds.width;
+            final int selBorderSize = 1;
+            InventoryItem item = itemInfo.item;
+            boolean deckSelectMode = item instanceof DeckProxy;
 
-            final int borderSize = noBorder? 0 : Math.round(itemWidth * CardPanel.BLACK_BORDER_SIZE);
+            final int borderSize = getBorderSize(item, itemWidth);
             final int cornerSize = Math.max(4, Math.round(itemWidth * CardPanel.ROUNDED_CORNER_SIZE));
 
             if (itemInfo.selected || itemInfo == hoveredItem) {
@@ -1172,7 +1223,7 @@ public class ImageView<T extends InventoryItem> extends ItemView<T> {
             final int drawHeight = bounds.height - 2 * borderSize;
             final int imageWidth = Math.round(drawWidth * screenScale);
             final int imageHeight = Math.round(drawHeight * screenScale);
-            BufferedImage img = ImageCache.getImage(item, imageWidth, imageHeight, itemInfo.alt);
+            BufferedImage img = ImageCache.getImageAsync(item, imageWidth, imageHeight, itemInfo.alt, repaintOnImageLoaded);
 
             if (img != null) {
                 g.drawImage(img, drawX, drawY, drawWidth, drawHeight, null);
@@ -1193,7 +1244,7 @@ public class ImageView<T extends InventoryItem> extends ItemView<T> {
                         int scale = CardFaceSymbols.getHeight() * cornerSize/8;
                         int scaleArt = CardFaceSymbols.getHeight() * cornerSize/7;
 
-                        BufferedImage cardImage = ImageCache.scaleImage(deckImageKey, bounds.width, bounds.height, false, null);
+                        BufferedImage cardImage = ImageCache.scaleImageAsync(deckImageKey, bounds.width, bounds.height, false, null, repaintOnImageLoaded);
 
                         if (cardImage == null) {
                             //draw generic box
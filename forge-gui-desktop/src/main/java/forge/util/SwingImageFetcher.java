@@ -9,8 +9,16 @@ import java.net.URL;
 import javax.imageio.ImageIO;
 import javax.swing.SwingUtilities;
 
+import forge.ImageCache;
+
 public class SwingImageFetcher extends ImageFetcher {
 
+    @Override
+    protected void onImageFetched(String imageKey) {
+        // the placeholders loaded while the image was missing are no longer wanted
+        ImageCache.invalidateLoaded(imageKey);
+    }
+
     @Override
     protected Runnable getDownloadTask(String[] downloadUrls, String destPath, Runnable notifyObservers) {
         return new SwingDownloadTask(downloadUrls, destPath, notifyObservers);
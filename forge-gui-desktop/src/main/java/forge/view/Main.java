@@ -19,6 +19,7 @@ package forge.view;
 
 import forge.GuiDesktop;
 import forge.Singletons;
+import forge.ai.simulation.SpellAbilityPicker;
 import forge.error.ExceptionHandler;
 import forge.gui.GuiBase;
 import forge.gui.card.CardReaderExperiments;
@@ -67,7 +68,11 @@ public final class Main {
         
         switch(mode) {
             case "sim":
-                SimulateMatch.simulate(args);
+                try {
+                    SimulateMatch.simulate(args);
+                } finally {
+                    SpellAbilityPicker.shutdownPool();
+                }
                 break;
 
             case "parse":
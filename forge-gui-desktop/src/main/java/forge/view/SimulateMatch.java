@@ -2,14 +2,22 @@ package forge.view;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.time.StopWatch;
 
@@ -24,7 +32,10 @@ import forge.game.GameLogEntryType;
 import forge.game.GameRules;
 import forge.game.GameType;
 import forge.game.Match;
+import forge.game.StaticAbilityCheckMode;
 import forge.game.player.RegisteredPlayer;
+import forge.game.trigger.Trigger;
+import forge.game.trigger.TriggerDispatchCounter;
 import forge.gamemodes.tournament.system.AbstractTournament;
 import forge.gamemodes.tournament.system.TournamentBracket;
 import forge.gamemodes.tournament.system.TournamentPairing;
@@ -35,11 +46,23 @@ import forge.localinstance.properties.ForgeConstants;
 import forge.model.FModel;
 import forge.player.GamePlayerUtil;
 import forge.util.Lang;
+import forge.util.MyRandom;
 import forge.util.TextUtil;
 import forge.util.WordUtil;
 import forge.util.storage.IStorage;
 
 public class SimulateMatch {
+    // how long a game may run before it is asked to stop, and how long it then has to do so
+    private static final long GAME_TIMEOUT_SECONDS = 120;
+    private static final long STOP_GRACE_SECONDS = 10;
+
+    // asks slow games to stop, one thread for all of them
+    private static final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread t = new Thread(r, "Simulation watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+
     public static void simulate(String[] args) {
         FModel.initialize(null, null);
 
@@ -86,6 +109,19 @@ public class SimulateMatch {
         }
 
         boolean outputGamelog = !params.containsKey("q");
+        boolean countTriggers = params.containsKey("c");
+
+        int threads = 1;
+        if (params.containsKey("j")) {
+            threads = Math.max(1, Integer.parseInt(params.get("j").get(0)));
+        }
+
+        Long seed = null;
+        if (params.containsKey("s")) {
+            seed = Long.parseLong(params.get("s").get(0));
+        }
+
+        File summaryFile = params.containsKey("o") ? new File(params.get("o").get(0)) : null;
 
         GameType type = GameType.Constructed;
         if (params.containsKey("f")) {
@@ -99,6 +135,15 @@ public class SimulateMatch {
             rules.setGamesPerMatch(matchSize);
         }
 
+        if (params.containsKey("a")) {
+            rules.setStaticAbilityCheckMode(StaticAbilityCheckMode.valueOf(params.get("a").get(0).toUpperCase()));
+        }
+
+        if (threads > 1 && (matchSize != 0 || params.containsKey("t"))) {
+            System.out.println("Games of a match depend on each other, ignoring -j");
+            threads = 1;
+        }
+
         if (params.containsKey("t")) {
             simulateTournament(params, rules, outputGamelog);
             System.out.flush();
@@ -106,6 +151,8 @@ public class SimulateMatch {
         }
 
         List<RegisteredPlayer> pp = new ArrayList<>();
+        List<Deck> decks = new ArrayList<>();
+        List<String> names = new ArrayList<>();
         StringBuilder sb = new StringBuilder();
 
         int i = 1;
@@ -123,43 +170,142 @@ public class SimulateMatch {
                 String name = TextUtil.concatNoSpace("Ai(", String.valueOf(i), ")-", d.getName());
                 sb.append(name);
 
-                RegisteredPlayer rp;
-
-                if (type.equals(GameType.Commander)) {
-                    rp = RegisteredPlayer.forCommander(d);
-                } else {
-                    rp = new RegisteredPlayer(d);
-                }
-                rp.setPlayer(GamePlayerUtil.createAiPlayer(name, i - 1));
-                pp.add(rp);
+                decks.add(d);
+                names.add(name);
+                pp.add(createAiPlayer(d, name, i - 1, type));
                 i++;
             }
         }
 
         sb.append(" - ").append(Lang.nounWithNumeral(nGames, "game")).append(" of ").append(type);
 
-        System.out.println(sb.toString());
+        if (threads > 1) {
+            sb.append(" on ").append(threads).append(" threads");
+            if (seed == null) {
+                // each game gets its own random, make the run repeatable
+                seed = MyRandom.getRandom().nextLong();
+            }
+        }
+        if (seed != null) {
+            sb.append(", seed ").append(seed);
+        }
 
-        Match mc = new Match(rules, pp, "Test");
+        System.out.println(sb.toString());
 
         if (matchSize != 0) {
+            Match mc = new Match(rules, pp, "Test");
             int iGame = 0;
             while (!mc.isMatchOver()) {
                 // play games until the match ends
                 simulateSingleMatch(mc, iGame, outputGamelog);
                 iGame++;
             }
+            System.out.flush();
+            return;
+        }
+
+        SimulationSummary summary = new SimulationSummary(names);
+        if (threads > 1) {
+            simulateParallel(rules, decks, names, type, nGames, threads, seed, outputGamelog, countTriggers, summary);
         } else {
+            Match mc = new Match(rules, pp, "Test");
             for (int iGame = 0; iGame < nGames; iGame++) {
-                simulateSingleMatch(mc, iGame, outputGamelog);
+                StringBuilder out = new StringBuilder();
+                TriggerDispatchCounter dispatches = countTriggers ? new TriggerDispatchCounter() : null;
+                summary.add(simulateGame(mc, iGame, seed == null ? null : seed + iGame, outputGamelog, dispatches, null, out));
+                summary.addTriggerDispatches(dispatches);
+                System.out.print(out);
             }
         }
 
+        System.out.println();
+        System.out.println(summary);
+        if (summaryFile != null) {
+            try {
+                summary.write(summaryFile);
+            } catch (IOException e) {
+                System.err.println("Could not write summary to " + summaryFile + ": " + e.getMessage());
+            }
+        }
         System.out.flush();
     }
 
+    private static RegisteredPlayer createAiPlayer(Deck d, String name, int avatarIndex, GameType type) {
+        RegisteredPlayer rp;
+
+        if (type.equals(GameType.Commander)) {
+            rp = RegisteredPlayer.forCommander(d);
+        } else {
+            rp = new RegisteredPlayer(d);
+        }
+        rp.setPlayer(GamePlayerUtil.createAiPlayer(name, avatarIndex));
+        return rp;
+    }
+
+    /**
+     * Play independent games on a pool of worker threads. Every game gets its
+     * own Match, copies of the decks and a random seeded from the base seed
+     * and the game number, so a single game can be replayed on its own.
+     * A game that doesn't stop when asked to is counted as a timeout and
+     * keeps its worker, so the games after it run on fewer threads.
+     */
+    private static void simulateParallel(final GameRules rules, final List<Deck> decks, final List<String> names,
+            final GameType type, final int nGames, final int threads, final long seed,
+            final boolean outputGamelog, final boolean countTriggers, final SimulationSummary summary) {
+        Trigger.setConcurrentGames(true);
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        // counts down once the result of a game is in, whether it ended or was given up on
+        final CountDownLatch reported = new CountDownLatch(nGames);
+        final AtomicInteger abandoned = new AtomicInteger();
+        final Consumer<SimulationSummary.GameResult> onAbandoned = result -> {
+            summary.add(result);
+            abandoned.incrementAndGet();
+            reported.countDown();
+        };
+        for (int i = 0; i < nGames; i++) {
+            final int iGame = i;
+            pool.submit(() -> {
+                final List<RegisteredPlayer> players = new ArrayList<>();
+                for (int iPlayer = 0; iPlayer < decks.size(); iPlayer++) {
+                    players.add(createAiPlayer(new Deck(decks.get(iPlayer)), names.get(iPlayer), iPlayer, type));
+                }
+                final StringBuilder out = new StringBuilder();
+                final TriggerDispatchCounter dispatches = countTriggers ? new TriggerDispatchCounter() : null;
+                SimulationSummary.GameResult result;
+                try {
+                    result = simulateGame(new Match(rules, players, "Test"), iGame, seed + iGame, outputGamelog, dispatches, onAbandoned, out);
+                } catch (Exception | StackOverflowError e) {
+                    e.printStackTrace();
+                    result = new SimulationSummary.GameResult(1 + iGame, seed + iGame, SimulationSummary.Outcome.ERROR, null, 0, 0);
+                }
+                if (result == null) {
+                    // given up on and reported while it was still running
+                    return;
+                }
+                synchronized (System.out) {
+                    System.out.print(out);
+                }
+                summary.add(result);
+                summary.addTriggerDispatches(dispatches);
+                reported.countDown();
+            });
+        }
+        pool.shutdown();
+        try {
+            reported.await();
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (abandoned.get() > 0) {
+            System.out.println(Lang.nounWithNumeral(abandoned.get(), "game") + " did not stop and still hold their worker threads");
+        } else {
+            Trigger.setConcurrentGames(false);
+        }
+    }
+
     private static void argumentHelp() {
-        System.out.println("Syntax: forge.exe sim -d <deck1[.dck]> ... <deckX[.dck]> -D [D] -n [N] -m [M] -t [T] -p [P] -f [F] -q");
+        System.out.println("Syntax: forge.exe sim -d <deck1[.dck]> ... <deckX[.dck]> -D [D] -n [N] -m [M] -t [T] -p [P] -f [F] -j [J] -s [S] -o [O] -a [A] -c -q");
         System.out.println("\tsim - stands for simulation mode");
         System.out.println("\tdeck1 (or deck2,...,X) - constructed deck name or filename (has to be quoted when contains multiple words)");
         System.out.println("\tdeck is treated as file if it ends with a dot followed by three numbers or letters");
@@ -169,32 +315,81 @@ public class SimulateMatch {
         System.out.println("\tT - Type of tournament to run with all provided decks (Bracket, RoundRobin, Swiss)");
         System.out.println("\tP - Amount of players per match (used only with Tournaments, defaults to 2)");
         System.out.println("\tF - format of games, defaults to constructed");
+        System.out.println("\tJ - number of games to play at the same time, defaults to 1 (Only with N)");
+        System.out.println("\tS - seed for the random of each game, game X uses S + X - 1 (Optional, picked at random with J)");
+        System.out.println("\tA - how static abilities are checked: full (default), incremental or verify, which fails when incremental would differ from full");
+        System.out.println("\tO - file to write a summary of the results to, as JSON if it ends with .json and as CSV otherwise (Only with N)");
+        System.out.println("\tc - Count how many triggers were looked at for each event, shown with the summary (Only with N)");
         System.out.println("\tq - Quiet flag. Output just the game result, not the entire game log.");
     }
 
     public static void simulateSingleMatch(final Match mc, int iGame, boolean outputGamelog) {
+        StringBuilder out = new StringBuilder();
+        simulateGame(mc, iGame, null, outputGamelog, null, null, out);
+        System.out.print(out);
+    }
+
+    /**
+     * Play the next game of the match, appending its log to out instead of
+     * printing it so that games running at the same time don't mix their
+     * output.
+     *
+     * @param seed the seed for the random of the game, or null to use the shared random
+     * The game is played on the calling thread and asked to stop when it
+     * runs too long. If it doesn't stop either, it is reported as a timeout
+     * to onAbandoned, or only logged when that is null, and the thread stays
+     * with the game until it ends.
+     *
+     * @param dispatches where to count the trigger dispatches of the game, or null not to count them
+     * @return the result of the game, or null if it was given to onAbandoned
+     */
+    private static SimulationSummary.GameResult simulateGame(final Match mc, int iGame, final Long seed, boolean outputGamelog,
+            final TriggerDispatchCounter dispatches, final Consumer<SimulationSummary.GameResult> onAbandoned, StringBuilder out) {
         final StopWatch sw = new StopWatch();
         sw.start();
 
-        final Game g1 = mc.createGame();
-        // will run match in the same thread
+        final Random random = seed == null ? null : new Random(seed);
+        MyRandom.setThreadRandom(random);
+        final Game g1;
         try {
-            TimeLimitedCodeBlock.runWithTimeout(() -> {
-                mc.startGame(g1);
-                sw.stop();
-            }, 120, TimeUnit.SECONDS);
-        } catch (TimeoutException e) {
-            System.out.println("Stopping slow match as draw");
+            g1 = mc.createGame();
+        } finally {
+            MyRandom.setThreadRandom(null);
+        }
+        g1.getTriggerHandler().setDispatchCounter(dispatches);
+        SimulationSummary.Outcome outcome = null;
+        final GameWatch watch = new GameWatch(g1, () -> {
+            final String message = String.format("Game %d did not stop after %d ms.", 1 + iGame, sw.getTime());
+            synchronized (System.out) {
+                System.out.println(message);
+            }
+            if (onAbandoned != null) {
+                onAbandoned.accept(new SimulationSummary.GameResult(1 + iGame, seed == null ? 0 : seed,
+                        SimulationSummary.Outcome.TIMEOUT, null, 0, sw.getTime()));
+            }
+        });
+        MyRandom.setThreadRandom(random);
+        try {
+            mc.startGame(g1);
         } catch (Exception | StackOverflowError e) {
             e.printStackTrace();
+            outcome = SimulationSummary.Outcome.ERROR;
         } finally {
-            if (sw.isStarted()) {
-                sw.stop();
-            }
-            if (!g1.isGameOver()) {
-                g1.setGameOver(GameEndReason.Draw);
+            MyRandom.setThreadRandom(null);
+        }
+        sw.stop();
+        if (!watch.finish() && onAbandoned != null) {
+            return null;
+        }
+        if (watch.isTimedOut()) {
+            out.append("Stopping slow match as draw\n");
+            if (outcome == null) {
+                outcome = SimulationSummary.Outcome.TIMEOUT;
             }
         }
+        if (!g1.isGameOver()) {
+            g1.setGameOver(GameEndReason.Draw);
+        }
 
         List<GameLogEntry> log;
         if (outputGamelog) {
@@ -204,14 +399,81 @@ public class SimulateMatch {
         }
         Collections.reverse(log);
         for (GameLogEntry l : log) {
-            System.out.println(l);
+            out.append(l).append('\n');
         }
 
+        String winner = null;
         // If both players life totals to 0 in a single turn, the game should end in a draw
         if (g1.getOutcome().isDraw()) {
-            System.out.printf("\nGame Result: Game %d ended in a Draw! Took %d ms.%n", 1 + iGame, sw.getTime());
+            out.append(String.format("\nGame Result: Game %d ended in a Draw! Took %d ms.%n", 1 + iGame, sw.getTime()));
+            if (outcome == null) {
+                outcome = SimulationSummary.Outcome.DRAW;
+            }
         } else {
-            System.out.printf("\nGame Result: Game %d ended in %d ms. %s has won!\n%n", 1 + iGame, sw.getTime(), g1.getOutcome().getWinningLobbyPlayer().getName());
+            winner = g1.getOutcome().getWinningLobbyPlayer().getName();
+            out.append(String.format("\nGame Result: Game %d ended in %d ms. %s has won!\n%n", 1 + iGame, sw.getTime(), winner));
+            if (outcome == null) {
+                outcome = SimulationSummary.Outcome.WIN;
+            }
+        }
+        return new SimulationSummary.GameResult(1 + iGame, seed == null ? 0 : seed, outcome, winner,
+                g1.getPhaseHandler().getTurn(), sw.getTime());
+    }
+
+    /**
+     * Asks a game played on the current thread to stop once it has run for
+     * too long, and gives up on it when it doesn't.
+     */
+    private static final class GameWatch {
+        private final Game game;
+        private final Thread thread = Thread.currentThread();
+        private final ScheduledFuture<?> stop;
+        private final ScheduledFuture<?> giveUp;
+        private boolean timedOut;
+        private boolean finished;
+
+        GameWatch(final Game game, final Runnable onGiveUp) {
+            this.game = game;
+            stop = watchdog.schedule(this::stop, GAME_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            giveUp = watchdog.schedule(() -> {
+                synchronized (this) {
+                    if (finished) {
+                        return;
+                    }
+                    finished = true;
+                }
+                onGiveUp.run();
+            }, GAME_TIMEOUT_SECONDS + STOP_GRACE_SECONDS, TimeUnit.SECONDS);
+        }
+
+        private synchronized void stop() {
+            if (finished) {
+                return;
+            }
+            timedOut = true;
+            // the game ends itself before the next priority, the interrupt wakes it up if it waits
+            game.requestStop();
+            thread.interrupt();
+        }
+
+        /**
+         * Called by the thread of the game once it is over.
+         * @return false if the game had already been given up on
+         */
+        synchronized boolean finish() {
+            stop.cancel(false);
+            giveUp.cancel(false);
+            // the interrupt was for this game, not for whatever the thread does next
+            Thread.interrupted();
+            if (finished) {
+                return false;
+            }
+            finished = true;
+            return true;
+        }
+
+        synchronized boolean isTimedOut() {
+            return timedOut;
         }
     }
 
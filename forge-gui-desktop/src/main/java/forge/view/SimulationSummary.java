@@ -0,0 +1,211 @@
+package forge.view;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import forge.game.trigger.TriggerDispatchCounter;
+import forge.util.TextUtil;
+
+/**
+ * Collects the results of simulated games and writes them out as CSV or JSON.
+ */
+public class SimulationSummary {
+    public enum Outcome {
+        WIN, DRAW, TIMEOUT, ERROR
+    }
+
+    public static class GameResult {
+        final int game;
+        final long seed;
+        final Outcome outcome;
+        final String winner;
+        final int turns;
+        final long millis;
+
+        public GameResult(int game, long seed, Outcome outcome, String winner, int turns, long millis) {
+            this.game = game;
+            this.seed = seed;
+            this.outcome = outcome;
+            this.winner = winner;
+            this.turns = turns;
+            this.millis = millis;
+        }
+    }
+
+    private final List<String> players;
+    private final List<GameResult> results = new ArrayList<>();
+    // the trigger dispatches of all games, if they were counted
+    private TriggerDispatchCounter triggerDispatches;
+
+    public SimulationSummary(List<String> players) {
+        this.players = players;
+    }
+
+    public synchronized void add(GameResult result) {
+        results.add(result);
+    }
+
+    /**
+     * Add the trigger dispatches counted in a game, if they were counted.
+     */
+    public synchronized void addTriggerDispatches(TriggerDispatchCounter dispatches) {
+        if (dispatches == null) {
+            return;
+        }
+        if (triggerDispatches == null) {
+            triggerDispatches = new TriggerDispatchCounter();
+        }
+        triggerDispatches.add(dispatches);
+    }
+
+    public synchronized int count(Outcome outcome) {
+        int n = 0;
+        for (GameResult r : results) {
+            if (r.outcome == outcome) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    public synchronized Map<String, Integer> getWins() {
+        Map<String, Integer> wins = new LinkedHashMap<>();
+        for (String p : players) {
+            wins.put(p, 0);
+        }
+        for (GameResult r : results) {
+            if (r.outcome == Outcome.WIN) {
+                wins.merge(r.winner, 1, Integer::sum);
+            }
+        }
+        return wins;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder();
+        int games = results.size();
+        for (Map.Entry<String, Integer> e : getWins().entrySet()) {
+            sb.append(e.getKey()).append(": ").append(e.getValue()).append(" wins (")
+              .append(games == 0 ? 0 : 100 * e.getValue() / games).append("%)\n");
+        }
+        sb.append("Draws: ").append(count(Outcome.DRAW)).append(", timeouts: ").append(count(Outcome.TIMEOUT))
+          .append(", errors: ").append(count(Outcome.ERROR)).append('\n');
+        sb.append("Average length: ").append(String.format("%.1f", averageTurns())).append(" turns, ")
+          .append(averageMillis()).append(" ms");
+        if (triggerDispatches != null) {
+            sb.append("\nTrigger dispatches:\n").append(triggerDispatches);
+        }
+        return sb.toString();
+    }
+
+    private double averageTurns() {
+        if (results.isEmpty()) {
+            return 0;
+        }
+        long turns = 0;
+        for (GameResult r : results) {
+            turns += r.turns;
+        }
+        return (double) turns / results.size();
+    }
+
+    private long averageMillis() {
+        if (results.isEmpty()) {
+            return 0;
+        }
+        long millis = 0;
+        for (GameResult r : results) {
+            millis += r.millis;
+        }
+        return millis / results.size();
+    }
+
+    /**
+     * Write the summary to the given file, as JSON if its name ends with
+     * .json and as CSV (one line per game) otherwise.
+     */
+    public synchronized void write(File file) throws IOException {
+        try (PrintWriter out = new PrintWriter(file, "UTF-8")) {
+            if (file.getName().toLowerCase().endsWith(".json")) {
+                writeJson(out);
+            } else {
+                writeCsv(out);
+            }
+        }
+    }
+
+    private void writeCsv(PrintWriter out) {
+        out.println("game,seed,outcome,winner,turns,ms");
+        for (GameResult r : sortedResults()) {
+            out.println(TextUtil.concatNoSpace(String.valueOf(r.game), ",", String.valueOf(r.seed), ",",
+                    r.outcome.name(), ",", csv(r.winner), ",", String.valueOf(r.turns), ",", String.valueOf(r.millis)));
+        }
+    }
+
+    private void writeJson(PrintWriter out) {
+        out.println("{");
+        out.println("  \"games\": " + results.size() + ",");
+        out.println("  \"draws\": " + count(Outcome.DRAW) + ",");
+        out.println("  \"timeouts\": " + count(Outcome.TIMEOUT) + ",");
+        out.println("  \"errors\": " + count(Outcome.ERROR) + ",");
+        out.println("  \"averageTurns\": " + String.format("%.2f", averageTurns()) + ",");
+        out.println("  \"averageMs\": " + averageMillis() + ",");
+        out.println("  \"players\": [");
+        int i = 0;
+        Map<String, Integer> wins = getWins();
+        for (Map.Entry<String, Integer> e : wins.entrySet()) {
+            double rate = results.isEmpty() ? 0 : (double) e.getValue() / results.size();
+            out.print("    {\"name\": " + json(e.getKey()) + ", \"wins\": " + e.getValue()
+                    + ", \"winRate\": " + String.format("%.4f", rate) + "}");
+            out.println(++i < wins.size() ? "," : "");
+        }
+        out.println("  ],");
+        out.println("  \"results\": [");
+        List<GameResult> sorted = sortedResults();
+        for (i = 0; i < sorted.size(); i++) {
+            GameResult r = sorted.get(i);
+            out.print("    {\"game\": " + r.game + ", \"seed\": " + r.seed + ", \"outcome\": \"" + r.outcome
+                    + "\", \"winner\": " + (r.winner == null ? "null" : json(r.winner))
+                    + ", \"turns\": " + r.turns + ", \"ms\": " + r.millis + "}");
+            out.println(i + 1 < sorted.size() ? "," : "");
+        }
+        out.println("  ]");
+        out.println("}");
+    }
+
+    private List<GameResult> sortedResults() {
+        List<GameResult> sorted = new ArrayList<>(results);
+        sorted.sort((a, b) -> Integer.compare(a.game, b.game));
+        return sorted;
+    }
+
+    private static String csv(String s) {
+        if (s == null) {
+            return "";
+        }
+        if (s.contains(",") || s.contains("\"")) {
+            return "\"" + s.replace("\"", "\"\"") + "\"";
+        }
+        return s;
+    }
+
+    private static String json(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
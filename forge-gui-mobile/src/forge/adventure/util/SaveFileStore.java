@@ -0,0 +1,157 @@
+package forge.adventure.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Keeps the large sections of save files, like the biome map of the world, as
+ * files of their own named by the hash of their content. A save file only
+ * refers to them by their hash, so a section that didn't change since it was
+ * last saved isn't written again, and all save slots of a plane share it.
+ */
+public class SaveFileStore {
+    private static final String SUFFIX = ".section";
+
+    private final File dir;
+    //the hash of content that was written or read before, so it isn't hashed again while it's kept
+    private final Map<byte[], String> knownHashes = new WeakHashMap<>();
+
+    public SaveFileStore(String dir) {
+        this.dir = new File(dir);
+    }
+
+    public File getDir() {
+        return dir;
+    }
+
+    /**
+     * Write a section unless there is one with the same content already.
+     * @return the hash of the section, to read it with
+     */
+    public synchronized String write(byte[] content) throws IOException {
+        String hash = knownHashes.get(content);
+        if (hash == null) {
+            hash = hash(content);
+        }
+        File file = getFile(hash);
+        if (!file.exists()) {
+            dir.mkdirs();
+            File temp = File.createTempFile(hash, ".tmp", dir);
+            try (OutputStream out = new DeflaterOutputStream(new FileOutputStream(temp))) {
+                out.write(content);
+            } catch (IOException e) {
+                temp.delete();
+                throw e;
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        knownHashes.put(content, hash);
+        return hash;
+    }
+
+    public synchronized byte[] read(String hash) throws IOException {
+        try (InputStream in = new InflaterInputStream(new FileInputStream(getFile(hash)))) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1 << 16];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                content.write(buffer, 0, read);
+            }
+            byte[] result = content.toByteArray();
+            knownHashes.put(result, hash);
+            return result;
+        }
+    }
+
+    /**
+     * Delete all sections but the given ones, once no save file refers to them any more.
+     */
+    public synchronized void retainOnly(Set<String> hashes) {
+        File[] files = dir.listFiles();
+        if (files == null)
+            return;
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(SUFFIX) && !hashes.contains(name.substring(0, name.length() - SUFFIX.length()))) {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * @return data with the given sections, which are only read from their files once they are asked for,
+     * along with the content it already has
+     */
+    public SaveFileData open(Map<String, String> sections, SaveFileData content) {
+        SectionData data = new SectionData(this, sections);
+        if (content != null)
+            data.putAll(content);
+        return data;
+    }
+
+    private File getFile(String hash) {
+        return new File(dir, hash + SUFFIX);
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(content);
+            StringBuilder hash = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hash.append(String.format("%02x", b & 0xff));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Save file data whose sections are read once they're asked for.
+     */
+    private static class SectionData extends SaveFileData {
+        private final transient SaveFileStore store;
+        private final transient Map<String, String> sections;
+
+        SectionData(SaveFileStore store, Map<String, String> sections) {
+            this.store = store;
+            this.sections = new HashMap<>(sections);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return super.containsKey(key) || sections.containsKey(key);
+        }
+
+        @Override
+        public byte[] get(Object key) {
+            byte[] content = super.get(key);
+            if (content == null && sections.containsKey(key)) {
+                try {
+                    content = store.read(sections.get(key));
+                } catch (IOException e) {
+                    //the save can't be loaded without it
+                    throw new RuntimeException("Missing section " + key + " of the save file", e);
+                }
+                sections.remove(key);
+                put((String) key, content);
+            }
+            return content;
+        }
+    }
+}
@@ -22,15 +22,27 @@ import forge.adventure.util.Config;
 import forge.adventure.util.Paths;
 import forge.adventure.util.SaveFileContent;
 import forge.adventure.util.SaveFileData;
+import forge.util.ThreadUtil;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Class that will create the world from the configuration
+ *
+ * Biomes and terrain are generated for each chunk of the map in parallel, and
+ * the sprites of a chunk only once they are first asked for, except for the
+ * chunks around the player's start. Everything a chunk gets is made from the
+ * seed and the chunk's position, so it doesn't matter in which order or on
+ * which thread chunks are generated, or whether it's before or after a save.
  */
 public class World implements  Disposable, SaveFileContent {
     private WorldData data;
@@ -46,6 +58,17 @@ public class World implements  Disposable, SaveFileContent {
     private final Random random = new Random();
     private boolean worldDataLoaded=false;
     private Texture globalTexture = null;
+    private OpenSimplexNoise noise;
+    //chunks whose sprites were generated, the others are generated when first asked for
+    private boolean[][] spriteChunks;
+    //how many chunks around the start of the player get their sprites with the new world
+    private static final int START_SPRITE_CHUNKS = 2;
+    /**
+     * The parts of the saved world that only change when a new world is generated, see {@link WorldSave}
+     */
+    public static final String[] UNCHANGING_SAVE_DATA = { "biomeImage", "biomeMap", "terrainMap", "mapPoiIds" };
+    //the unchanging parts as they were last saved or loaded, so that they aren't serialized again
+    private SaveFileData unchangingData;
 
     public Random getRandom()
     {
@@ -92,6 +115,23 @@ public class World implements  Disposable, SaveFileContent {
         mapPoiIds = new PointOfInterestMap(getChunkSize(), this.data.tileSize, this.data.width / getChunkSize(),this.data.height / getChunkSize());
         mapPoiIds.load(saveFileData.readSubData("mapPoiIds"));
         seed=saveFileData.readLong("seed");
+        unchangingData = new SaveFileData();
+        for (String key : UNCHANGING_SAVE_DATA) {
+            byte[] content = saveFileData.get(key);
+            if (content == null) {
+                unchangingData = null;
+                break;
+            }
+            unchangingData.put(key, content);
+        }
+        noise = new OpenSimplexNoise(seed);
+        spriteChunks=(boolean[][])saveFileData.readObject("spriteChunks");
+        if(spriteChunks==null)//saved before sprites were generated lazily, so it has all of them
+        {
+            spriteChunks=new boolean[getWidthInChunks()][getHeightInChunks()];
+            for (boolean[] column : spriteChunks)
+                Arrays.fill(column, true);
+        }
     }
 
     @Override
@@ -99,14 +139,19 @@ public class World implements  Disposable, SaveFileContent {
 
         SaveFileData data=new SaveFileData();
 
-        data.store("biomeImage",biomeImage);
-        data.storeObject("biomeMap",biomeMap);
-        data.storeObject("terrainMap",terrainMap);
+        if (unchangingData == null) {
+            unchangingData = new SaveFileData();
+            unchangingData.store("biomeImage",biomeImage);
+            unchangingData.storeObject("biomeMap",biomeMap);
+            unchangingData.storeObject("terrainMap",terrainMap);
+            unchangingData.store("mapPoiIds",mapPoiIds.save());
+        }
+        data.putAll(unchangingData);
         data.store("width",width);
         data.store("height",height);
         data.store("mapObjectIds",mapObjectIds.save());
-        data.store("mapPoiIds",mapPoiIds.save());
         data.store("seed",seed);
+        data.storeObject("spriteChunks",spriteChunks);
 
 
         return data;
@@ -230,9 +275,9 @@ public class World implements  Disposable, SaveFileContent {
         if(seed==0) { seed=random.nextLong(); }
         this.seed=seed;
         random.setSeed(seed);
-        OpenSimplexNoise noise = new OpenSimplexNoise(seed);
+        noise = new OpenSimplexNoise(seed);
+        unchangingData = null;
 
-        float noiseZoom = data.noiseZoomBiome;
         width = data.width;
         height = data.height;
         //save at all data
@@ -250,60 +295,28 @@ public class World implements  Disposable, SaveFileContent {
         pix.setColor(1, 0, 0, 1);
         pix.fill();
 
-        int biomeIndex = -1;
-        for (BiomeData biome : data.GetBiomes()) {
-
-            biomeIndex++;
-            int biomeXStart = (int) Math.round(biome.startPointX * (double) width);
-            int biomeYStart = (int) Math.round(biome.startPointY * (double) height);
-            int biomeWidth = (int) Math.round(biome.width * (double) width);
-            int biomeHeight = (int) Math.round(biome.height * (double) height);
-
-            int beginX = Math.max(biomeXStart - biomeWidth / 2, 0);
-            int beginY = Math.max(biomeYStart - biomeHeight / 2, 0);
-            int endX = Math.min(biomeXStart + biomeWidth, width);
-            int endY = Math.min(biomeYStart + biomeHeight, height);
-            if (biome.width == 1.0 && biome.height == 1.0) {
-                beginX = 0;
-                beginY = 0;
-                endX = width;
-                endY = height;
+        //biomes and terrain of each chunk
+        final BiomeArea[] areas = new BiomeArea[data.GetBiomes().size()];
+        for (int i = 0; i < areas.length; i++) {
+            areas[i] = new BiomeArea(data.GetBiomes().get(i));
+        }
+        List<int[]> chunks = new ArrayList<>();
+        for (int chunkX = 0; chunkX * getChunkSize() < width; chunkX++) {
+            for (int chunkY = 0; chunkY * getChunkSize() < height; chunkY++) {
+                chunks.add(new int[] { chunkX, chunkY });
             }
-            for (int x = beginX; x < endX; x++) {
-                for (int y = beginY; y < endY; y++) {
-                    //value 0-1 based on noise
-                    float noiseValue = ((float)noise.eval(x / (float) width * noiseZoom, y / (float) height * noiseZoom) + 1) / 2f;
-                    noiseValue *= biome.noiseWeight;
-                    //value 0-1 based on dist to origin
-                    float distanceValue = ((float)Math.sqrt((x - biomeXStart) * (x - biomeXStart) + (y - biomeYStart) * (y - biomeYStart))) / (Math.max(biomeWidth, biomeHeight) / 2f);
-                    distanceValue *= biome.distWeight;
-                    if (noiseValue + distanceValue < 1.0 || biome.invertHeight && (1 - noiseValue) + distanceValue < 1.0) {
-                        Color color = biome.GetColor();
-                        float[] hsv = new float[3];
-                        color.toHsv(hsv);
-                        int count = (int) ((noiseValue - 0.5) * 10 / 4);
-                        //hsv[2]+=(count*0.2);
-                        color.fromHsv(hsv);
-                        pix.setColor(color.r, color.g, color.b, 1);
-                        pix.drawPixel(x, y);
-                        biomeMap[x][y] |= (1L << biomeIndex);
-                        int terrainCounter=1;
-                        if(biome.terrain==null)
-                            continue;
-                        for(BiomeTerrainData terrain:biome.terrain)
-                        {
-                            float terrainNoise = ((float)noise.eval(x / (float) width * (noiseZoom*terrain.resolution), y / (float) height * (noiseZoom*terrain.resolution)) + 1) / 2;
-                            if(terrainNoise>=terrain.min&&terrainNoise<=terrain.max)
-                            {
-                                terrainMap[x][y]=terrainCounter;
-                            }
-                            terrainCounter++;
-                        }
-                    }
+        }
+        generateChunks(chunks, (chunkX, chunkY) -> generateBiomes(chunkX, chunkY, areas));
 
+        //the last biome of a tile gives its color
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (biomeMap[x][y] != 0) {
+                    pix.drawPixel(x, y, areas[highestBiome(biomeMap[x][y])].color);
                 }
             }
         }
+        int biomeIndex = areas.length - 1;
 
         mapPoiIds = new PointOfInterestMap(getChunkSize(), data.tileSize, data.width / getChunkSize(),data.height / getChunkSize());
         List<PointOfInterest> towns = new ArrayList<>();
@@ -471,8 +484,169 @@ public class World implements  Disposable, SaveFileContent {
         }
 
         mapObjectIds = new SpritesDataMap(getChunkSize(), data.tileSize, data.width / getChunkSize());
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
+        //register all sprites up front, so that their ids don't depend on the order chunks are generated in
+        for (BiomeData biome : data.GetBiomes()) {
+            for (String name : biome.spriteNames) {
+                getSpriteKey(data.GetBiomeSprites().getSpriteData(name));
+            }
+        }
+        spriteChunks = new boolean[getWidthInChunks()][getHeightInChunks()];
+        int startChunkX = (int) (data.playerStartPosX * width) / getChunkSize();
+        int startChunkY = (int) (data.playerStartPosY * height) / getChunkSize();
+        List<int[]> startChunks = new ArrayList<>();
+        for (int chunkX = startChunkX - START_SPRITE_CHUNKS; chunkX <= startChunkX + START_SPRITE_CHUNKS; chunkX++) {
+            for (int chunkY = startChunkY - START_SPRITE_CHUNKS; chunkY <= startChunkY + START_SPRITE_CHUNKS; chunkY++) {
+                if (chunkX >= 0 && chunkY >= 0 && chunkX < spriteChunks.length && chunkY < spriteChunks[chunkX].length) {
+                    startChunks.add(new int[] { chunkX, chunkY });
+                    spriteChunks[chunkX][chunkY] = true;
+                }
+            }
+        }
+        generateChunks(startChunks, this::generateSprites);
+        biomeImage = pix;
+
+        WorldStage.getInstance().clearCache();
+        return this;
+    }
+
+    private interface ChunkGenerator {
+        void generate(int chunkX, int chunkY);
+    }
+
+    /**
+     * Generate the given chunks, on several threads if there are several cores.
+     * A chunk may only change the tiles and sprites within it.
+     * Throws a RuntimeException if a chunk fails or the calling thread is interrupted.
+     */
+    private static void generateChunks(List<int[]> chunks, ChunkGenerator generator) {
+        if (chunks.size() < 2 || !ThreadUtil.isMultiCoreSystem()) {
+            for (int[] chunk : chunks) {
+                generator.generate(chunk[0], chunk[1]);
+            }
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int[] chunk : chunks) {
+            tasks.add(() -> {
+                generator.generate(chunk[0], chunk[1]);
+                return null;
+            });
+        }
+        ExecutorService executor = ThreadUtil.getComputingPool(0.5f);
+        try {
+            for (Future<Void> task : executor.invokeAll(tasks)) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            // the chunks not generated would leave holes in the world, so don't go on with it
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("World generation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Where a biome is placed on the map, as taken from its data
+     */
+    private class BiomeArea {
+        private final BiomeData biome;
+        private final int color;
+        private final int xStart;
+        private final int yStart;
+        private final int width;
+        private final int height;
+        private final int beginX;
+        private final int beginY;
+        private final int endX;
+        private final int endY;
+
+        BiomeArea(BiomeData biome) {
+            this.biome = biome;
+            Color color = biome.GetColor();
+            float[] hsv = new float[3];
+            color.toHsv(hsv);
+            color.fromHsv(hsv);
+            this.color = Color.rgba8888(color.r, color.g, color.b, 1);
+            int mapWidth = World.this.width;
+            int mapHeight = World.this.height;
+            xStart = (int) Math.round(biome.startPointX * (double) mapWidth);
+            yStart = (int) Math.round(biome.startPointY * (double) mapHeight);
+            width = (int) Math.round(biome.width * (double) mapWidth);
+            height = (int) Math.round(biome.height * (double) mapHeight);
+            if (biome.width == 1.0 && biome.height == 1.0) {
+                beginX = 0;
+                beginY = 0;
+                endX = mapWidth;
+                endY = mapHeight;
+            } else {
+                beginX = Math.max(xStart - width / 2, 0);
+                beginY = Math.max(yStart - height / 2, 0);
+                endX = Math.min(xStart + width, mapWidth);
+                endY = Math.min(yStart + height, mapHeight);
+            }
+        }
+    }
+
+    private void generateBiomes(int chunkX, int chunkY, BiomeArea[] areas) {
+        float noiseZoom = data.noiseZoomBiome;
+        int chunkSize = getChunkSize();
+        int chunkEndX = Math.min((chunkX + 1) * chunkSize, width);
+        int chunkEndY = Math.min((chunkY + 1) * chunkSize, height);
+        for (int x = chunkX * chunkSize; x < chunkEndX; x++) {
+            for (int y = chunkY * chunkSize; y < chunkEndY; y++) {
+                for (int biomeIndex = 0; biomeIndex < areas.length; biomeIndex++) {
+                    BiomeArea area = areas[biomeIndex];
+                    if (x < area.beginX || y < area.beginY || x >= area.endX || y >= area.endY)
+                        continue;
+                    BiomeData biome = area.biome;
+                    //value 0-1 based on noise
+                    float noiseValue = ((float)noise.eval(x / (float) width * noiseZoom, y / (float) height * noiseZoom) + 1) / 2f;
+                    noiseValue *= biome.noiseWeight;
+                    //value 0-1 based on dist to origin
+                    float distanceValue = ((float)Math.sqrt((x - area.xStart) * (x - area.xStart) + (y - area.yStart) * (y - area.yStart))) / (Math.max(area.width, area.height) / 2f);
+                    distanceValue *= biome.distWeight;
+                    if (noiseValue + distanceValue < 1.0 || biome.invertHeight && (1 - noiseValue) + distanceValue < 1.0) {
+                        biomeMap[x][y] |= (1L << biomeIndex);
+                        int terrainCounter=1;
+                        if(biome.terrain==null)
+                            continue;
+                        for(BiomeTerrainData terrain:biome.terrain)
+                        {
+                            float terrainNoise = ((float)noise.eval(x / (float) width * (noiseZoom*terrain.resolution), y / (float) height * (noiseZoom*terrain.resolution)) + 1) / 2;
+                            if(terrainNoise>=terrain.min&&terrainNoise<=terrain.max)
+                            {
+                                terrainMap[x][y]=terrainCounter;
+                            }
+                            terrainCounter++;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private int getSpriteKey(BiomeSpriteData sprite) {
+        synchronized (mapObjectIds) {
+            String spriteKey = sprite.key();
+            if (!mapObjectIds.containsKey(spriteKey)) {
+                return mapObjectIds.put(spriteKey, sprite, data.GetBiomeSprites());
+            }
+            return mapObjectIds.intKey(spriteKey);
+        }
+    }
+
+    private void generateSprites(int chunkX, int chunkY) {
+        //each chunk has its own random numbers, so that they don't depend on which chunks were generated before
+        Random chunkRandom = new Random(seed ^ (chunkX * 0x9E3779B97F4A7C15L + chunkY * 0xC2B2AE3D27D4EB4FL));
+        float noiseZoom = data.noiseZoomBiome;
+        int chunkSize = getChunkSize();
+        int chunkEndX = Math.min((chunkX + 1) * chunkSize, width);
+        int chunkEndY = Math.min((chunkY + 1) * chunkSize, height);
+        for (int x = chunkX * chunkSize; x < chunkEndX; x++) {
+            for (int y = chunkY * chunkSize; y < chunkEndY; y++) {
                 int invertedHeight = height - y - 1;
                 int currentBiome = highestBiome(biomeMap[x][invertedHeight]);
                 if (currentBiome >= data.GetBiomes().size())
@@ -482,26 +656,14 @@ public class World implements  Disposable, SaveFileContent {
                     BiomeSpriteData sprite = data.GetBiomeSprites().getSpriteData(name);
                     double spriteNoise = (noise.eval(x / (double) width * noiseZoom*sprite.resolution, y / (double) invertedHeight * noiseZoom*sprite.resolution) + 1) / 2;
                     if (spriteNoise >= sprite.startArea && spriteNoise <= sprite.endArea) {
-                        if (random.nextFloat() <= sprite.density) {
-                            String spriteKey = sprite.key();
-                            int key;
-                            if (!mapObjectIds.containsKey(spriteKey)) {
-
-                                key = mapObjectIds.put(sprite.key(), sprite, data.GetBiomeSprites());
-                            } else {
-                                key = mapObjectIds.intKey(spriteKey);
-                            }
-                            mapObjectIds.putPosition(key, new Vector2((float) x * data.tileSize + (random.nextFloat() * data.tileSize), (float) y * data.tileSize + (random.nextFloat() * data.tileSize)));
-
+                        if (chunkRandom.nextFloat() <= sprite.density) {
+                            int key = getSpriteKey(sprite);
+                            mapObjectIds.putPosition(key, new Vector2((float) x * data.tileSize + (chunkRandom.nextFloat() * data.tileSize), (float) y * data.tileSize + (chunkRandom.nextFloat() * data.tileSize)));
                         }
                     }
                 }
             }
         }
-        biomeImage = pix;
-
-        WorldStage.getInstance().clearCache();
-        return this;
     }
 
     public int getWidthInTiles() {
@@ -537,6 +699,13 @@ public class World implements  Disposable, SaveFileContent {
     }
 
     public List<Pair<Vector2, Integer>> GetMapObjects(int chunkX, int chunkY) {
+        synchronized (this) {
+            if (chunkX >= 0 && chunkY >= 0 && chunkX < spriteChunks.length && chunkY < spriteChunks[chunkX].length
+                    && !spriteChunks[chunkX][chunkY]) {
+                generateSprites(chunkX, chunkY);
+                spriteChunks[chunkX][chunkY] = true;
+            }
+        }
         return mapObjectIds.positions(chunkX, chunkY);
     }
 
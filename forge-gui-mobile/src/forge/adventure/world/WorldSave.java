@@ -6,6 +6,7 @@ import forge.adventure.pointofintrest.PointOfInterestChanges;
 import forge.adventure.stage.WorldStage;
 import forge.adventure.util.Config;
 import forge.adventure.util.SaveFileData;
+import forge.adventure.util.SaveFileStore;
 import forge.adventure.util.SignalList;
 import forge.deck.Deck;
 import forge.deck.DeckgenUtil;
@@ -14,11 +15,19 @@ import forge.player.GamePlayerUtil;
 
 import java.io.*;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.InflaterInputStream;
 
 /**
  * Represents everything that will be saved, like the player and the world.
+ *
+ * The parts of the world that only change with a new world, like its biome map,
+ * are kept in a {@link SaveFileStore} next to the save files, which only refer
+ * to them. So saving again only writes what changed, and loading only reads the
+ * sections that are used.
  */
 public class WorldSave   {
 
@@ -33,6 +42,9 @@ public class WorldSave   {
 
 
     private final SignalList onLoadList=new SignalList();
+    private static SaveFileStore sectionStore;
+    //the sections the last save referred to, to know when some might no longer be used
+    private static Set<String> lastSections = new HashSet<>();
 
     public final World getWorld()
     {
@@ -68,7 +80,13 @@ public class WorldSave   {
                 currentSave.player.load(mainData.readSubData("player"));
                 GamePlayerUtil.getGuiPlayer().setName(currentSave.player.getName());
                 try {
-                    currentSave.world.load(mainData.readSubData("world"));
+                    SaveFileData worldData = mainData.readSubData("world");
+                    HashMap<String, String> worldSections = (HashMap<String, String>) mainData.readObject("worldSections");
+                    if (worldSections != null) {
+                        worldData = getSectionStore().open(worldSections, worldData);
+                        lastSections = new HashSet<>(worldSections.values());
+                    }
+                    currentSave.world.load(worldData);
                     currentSave.pointOfInterestChanges.load(mainData.readSubData("pointOfInterestChanges"));
                     WorldStage.getInstance().load(mainData.readSubData("worldStage"));
 
@@ -111,6 +129,41 @@ public class WorldSave   {
         return ForgeConstants.USER_ADVENTURE_DIR + Config.instance().getPlane();
     }
 
+    public static SaveFileStore getSectionStore() {
+        String dir = getSaveDir() + File.separator + "sections";
+        if (sectionStore == null || !sectionStore.getDir().equals(new File(dir)))
+            sectionStore = new SaveFileStore(dir);
+        return sectionStore;
+    }
+
+    /**
+     * Delete the sections no save file refers to any more, unless a save file can't be read.
+     */
+    private static void removeUnusedSections() {
+        Set<String> used = new HashSet<>();
+        File[] files = new File(getSaveDir()).listFiles();
+        if (files == null)
+            return;
+        for (File file : files) {
+            if (!isSafeFile(file.getName()))
+                continue;
+            try (FileInputStream fos = new FileInputStream(file);
+                 InflaterInputStream inf = new InflaterInputStream(fos);
+                 ObjectInputStream oos = new ObjectInputStream(inf)) {
+                WorldSaveHeader header = (WorldSaveHeader) oos.readObject();
+                header.dispose();
+                SaveFileData mainData = (SaveFileData) oos.readObject();
+                HashMap<String, String> worldSections = (HashMap<String, String>) mainData.readObject("worldSections");
+                if (worldSections != null)
+                    used.addAll(worldSections.values());
+            } catch (ClassNotFoundException | IOException e) {
+                e.printStackTrace();
+                return;
+            }
+        }
+        getSectionStore().retainOnly(used);
+    }
+
     public static String getSaveFile(int slot) {
         return ForgeConstants.USER_ADVENTURE_DIR + Config.instance().getPlane() + File.separator + filename(slot);
     }
@@ -146,6 +199,7 @@ public class WorldSave   {
         String fileName = WorldSave.getSaveFile(currentSlot);
         new File(getSaveDir()).mkdirs();
 
+        Set<String> sections;
         try {
             try(FileOutputStream fos =  new FileOutputStream(fileName);
                 DeflaterOutputStream def= new DeflaterOutputStream(fos);
@@ -155,17 +209,31 @@ public class WorldSave   {
                 oos.writeObject(header);
                 SaveFileData mainData=new SaveFileData();
                 mainData.store("player",currentSave.player.save());
-                mainData.store("world",currentSave.world.save());
+                SaveFileData worldData = currentSave.world.save();
+                HashMap<String, String> worldSections = new HashMap<>();
+                for (String key : World.UNCHANGING_SAVE_DATA) {
+                    byte[] content = worldData.remove(key);
+                    if (content != null)
+                        worldSections.put(key, getSectionStore().write(content));
+                }
+                mainData.store("world",worldData);
+                mainData.storeObject("worldSections",worldSections);
                 mainData.store("worldStage", WorldStage.getInstance().save());
                 mainData.store("pointOfInterestChanges",currentSave.pointOfInterestChanges.save());
 
                 oos.writeObject(mainData);
+                sections = new HashSet<>(worldSections.values());
             }
 
         } catch (IOException e) {
             e.printStackTrace();
             return false;
         }
+        //a new world was saved, so the sections of the last one may no longer be used
+        if (!sections.equals(lastSections)) {
+            lastSections = sections;
+            removeUnusedSections();
+        }
 
         Config.instance().getSettingData().lastActiveSave = WorldSave.filename(currentSlot);
         Config.instance().saveSettings();
@@ -3,15 +3,17 @@ package forge.deck;
 import java.io.File;
 import java.util.AbstractMap;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
-import org.apache.commons.lang3.ArrayUtils;
-
+import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
@@ -23,6 +25,7 @@ import forge.game.GameFormat;
 import forge.item.PaperCard;
 import forge.localinstance.properties.ForgeConstants;
 import forge.model.FModel;
+import forge.util.ThreadUtil;
 import forge.util.storage.IStorage;
 import forge.util.storage.StorageImmediatelySerialized;
 
@@ -31,7 +34,7 @@ import forge.util.storage.StorageImmediatelySerialized;
  */
 public final class CardRelationMatrixGenerator {
 
-    public static HashMap<String,HashMap<String,List<Map.Entry<PaperCard,Integer>>>> cardPools = new HashMap<>();
+    public static Map<String,Map<String,List<Map.Entry<PaperCard,Integer>>>> cardPools = new HashMap<>();
 
     public static Map<String, Map<String,List<List<String>>>> ldaPools = new HashMap<>();
     /**
@@ -40,6 +43,9 @@ public final class CardRelationMatrixGenerator {
     **/
     public static final int MIN_REQUIRED_CONNECTIONS = 14;
 
+    private static final Predicate<PaperCard> IS_NOT_BASIC_LAND = Predicates.compose(
+            Predicates.not(CardRulesPredicates.Presets.IS_BASIC_LAND_NOT_WASTES), PaperCard.FN_GET_RULES);
+
     public static boolean initialize(){
         return initializeFormat(DeckFormat.Commander) && initializeFormat(DeckFormat.Oathbreaker);
     }
@@ -47,7 +53,7 @@ public final class CardRelationMatrixGenerator {
     /** Try to load matrix .dat files, otherwise check for deck folders and build .dat, otherwise return false **/
     public static boolean initializeFormat(DeckFormat format){
         String formatName = format.toString();
-        HashMap<String,List<Map.Entry<PaperCard,Integer>>> formatMap = CardThemedMatrixIO.loadMatrix(formatName);
+        Map<String,List<Map.Entry<PaperCard,Integer>>> formatMap = CardThemedMatrixIO.loadMatrix(formatName);
         if (formatMap==null) {
             if (CardThemedMatrixIO.getMatrixFolder(formatName).exists()) {
                 if (formatName.equals(FModel.getFormats().getStandard().getName())){
@@ -77,64 +83,89 @@ public final class CardRelationMatrixGenerator {
                 , Predicates.compose(Predicates.not(CardRulesPredicates.Presets.IS_BASIC_LAND_NOT_WASTES), PaperCard.FN_GET_RULES));
         List<PaperCard> cardList = Lists.newArrayList(cards);
         cardList.add(FModel.getMagicDb().getCommonCards().getCard("Wastes"));
-        Map<String, Integer> cardIntegerMap = new HashMap<>();
+        final Map<String, Integer> cardIntegerMap = new HashMap<>();
         Map<Integer, PaperCard> integerCardMap = new HashMap<>();
         for (int i=0; i<cardList.size(); ++i){
             cardIntegerMap.put(cardList.get(i).getName(), i);
             integerCardMap.put(i, cardList.get(i));
         }
 
-        int[][] matrix = new int[cardList.size()][cardList.size()];
-
-        for (PaperCard card:cardList){
-            for (Deck deck:decks){
-                if (deck.getMain().contains(card)){
-                    for (PaperCard pairCard:Iterables.filter(deck.getMain().toFlatList(),
-                            Predicates.compose(Predicates.not(CardRulesPredicates.Presets.IS_BASIC_LAND_NOT_WASTES), PaperCard.FN_GET_RULES))){
-                        if (!pairCard.getName().equals(card.getName())){
-                            try {
-                                int old = matrix[cardIntegerMap.get(card.getName())][cardIntegerMap.get(pairCard.getName())];
-                                matrix[cardIntegerMap.get(card.getName())][cardIntegerMap.get(pairCard.getName())] = old + 1;
-                            }catch (NullPointerException ne){
-                                //Todo: Not sure what was failing here
-                            }
+        //count each card in a deck with every other card in it, once per copy of the other card
+        CoOccurrenceMatrix matrix = countDecks(Lists.newArrayList(decks), cardList.size(), new DeckCounter() {
+            @Override
+            public void count(Deck deck, CoOccurrenceMatrix matrix) {
+                Map<Integer, Integer> copies = countCards(deck, cardIntegerMap);
+                for (Integer card : copies.keySet()) {
+                    for (Map.Entry<Integer, Integer> pair : copies.entrySet()) {
+                        if (!pair.getKey().equals(card)) {
+                            matrix.add(card, pair.getKey(), pair.getValue());
                         }
                     }
                 }
             }
-        }
+        });
+
         HashMap<String,List<Map.Entry<PaperCard,Integer>>> cardPools = new HashMap<>();
-        for (PaperCard card:cardList){
-            int col=cardIntegerMap.get(card.getName());
-            int[] distances = matrix[col];
-            int max = Collections.max(Arrays.asList(ArrayUtils.toObject(distances)));
-            if (max>0) {
-                ArrayIndexComparator comparator = new ArrayIndexComparator(ArrayUtils.toObject(distances));
-                Integer[] indices = comparator.createIndexArray();
-                Arrays.sort(indices, comparator);
-                List<Map.Entry<PaperCard,Integer>> deckPool=new ArrayList<>();
-                int k=0;
-                boolean excludeThisCard=false;//if there are too few cards with at least one connection
-                for (int j=0;j<MIN_REQUIRED_CONNECTIONS;++k){
-                    if(distances[indices[cardList.size()-1-k]]==0){
-                        excludeThisCard = true;
-                        break;
-                    }
-                    PaperCard cardToAdd=integerCardMap.get(indices[cardList.size()-1-k]);
-                    if(!cardToAdd.getRules().getMainPart().getType().isLand()){//need x non-land cards
-                        ++j;
-                    }
-                    deckPool.add(new AbstractMap.SimpleEntry<>(cardToAdd, distances[indices[cardList.size() - 1 - k]]));
-                }
-                if(excludeThisCard){
-                    continue;
-                }
-                cardPools.put(card.getName(), deckPool);
+        for (Map.Entry<String, Integer> card : cardIntegerMap.entrySet()){
+            List<Map.Entry<PaperCard,Integer>> deckPool = getTopConnections(matrix, card.getValue(), integerCardMap);
+            if (deckPool != null) {
+                cardPools.put(card.getKey(), deckPool);
             }
         }
         return cardPools;
     }
 
+    /**
+     * @return the cards most often found with the given card, from the most
+     *         often on, until there are {@link #MIN_REQUIRED_CONNECTIONS}
+     *         non-land cards among them, or null if there aren't that many.
+     */
+    private static List<Map.Entry<PaperCard,Integer>> getTopConnections(final CoOccurrenceMatrix matrix, final int row,
+            Map<Integer, PaperCard> integerCardMap) {
+        //most often first, of those found as often the one with the higher index
+        final Comparator<Integer> byConnections = new Comparator<Integer>() {
+            @Override
+            public int compare(Integer card1, Integer card2) {
+                int c = Integer.compare(matrix.get(row, card2), matrix.get(row, card1));
+                return c != 0 ? c : Integer.compare(card2, card1);
+            }
+        };
+
+        //keep the non-land cards with the most connections, the head being the last one of them
+        int[] columns = matrix.getColumns(row);
+        PriorityQueue<Integer> nonLands = new PriorityQueue<>(MIN_REQUIRED_CONNECTIONS, byConnections.reversed());
+        List<Integer> lands = new ArrayList<>();
+        for (int col : columns) {
+            if (integerCardMap.get(col).getRules().getMainPart().getType().isLand()) {
+                lands.add(col);
+                continue;
+            }
+            nonLands.add(col);
+            if (nonLands.size() > MIN_REQUIRED_CONNECTIONS) {
+                nonLands.poll();
+            }
+        }
+        if (nonLands.size() < MIN_REQUIRED_CONNECTIONS) {
+            return null;
+        }
+
+        //the lands before the last non-land card come with it
+        List<Integer> pool = new ArrayList<>(nonLands);
+        Integer last = nonLands.peek();
+        for (Integer land : lands) {
+            if (byConnections.compare(land, last) < 0) {
+                pool.add(land);
+            }
+        }
+        pool.sort(byConnections);
+
+        List<Map.Entry<PaperCard,Integer>> deckPool = new ArrayList<>(pool.size());
+        for (Integer col : pool) {
+            deckPool.add(new AbstractMap.SimpleEntry<>(integerCardMap.get(col), matrix.get(row, col)));
+        }
+        return deckPool;
+    }
+
     public static HashMap<String,List<Map.Entry<PaperCard,Integer>>> initializeCommanderFormat(DeckFormat format){
         IStorage<Deck> decks = new StorageImmediatelySerialized<>("Generator",
                 new DeckStorage(new File(ForgeConstants.DECK_GEN_DIR, format.toString()),
@@ -146,9 +177,9 @@ public final class CardRelationMatrixGenerator {
                 , Predicates.compose(Predicates.not(CardRulesPredicates.Presets.IS_BASIC_LAND_NOT_WASTES), PaperCard.FN_GET_RULES));
         List<PaperCard> cardList = Lists.newArrayList(cards);
         cardList.add(FModel.getMagicDb().getCommonCards().getCard("Wastes"));
-        Map<String, Integer> cardIntegerMap = new HashMap<>();
+        final Map<String, Integer> cardIntegerMap = new HashMap<>();
         Map<Integer, PaperCard> integerCardMap = new HashMap<>();
-        Map<String, Integer> legendIntegerMap = new HashMap<>();
+        final Map<String, Integer> legendIntegerMap = new HashMap<>();
         Map<Integer, PaperCard> integerLegendMap = new HashMap<>();
         //generate lookups for cards to link card names to matrix columns
         for (int i=0; i<cardList.size(); ++i){
@@ -164,31 +195,24 @@ public final class CardRelationMatrixGenerator {
             legendIntegerMap.put(legends.get(i).getName(), i);
             integerLegendMap.put(i, legends.get(i));
         }
-        int[][] matrix = new int[legends.size()][cardList.size()];
-
-        //loop through commanders and decks
-        for (PaperCard legend:legends){
-            for (Deck deck:decks){
-                //if the deck has the commander
-                if (deck.getCommanders().contains(legend)){
-                    //update the matrix by incrementing the connectivity count for each card in the deck
-                    updateLegendMatrix(deck, legend, cardIntegerMap, legendIntegerMap, matrix);
-                }
+
+        //count the cards of each deck for its commanders
+        CoOccurrenceMatrix matrix = countDecks(Lists.newArrayList(decks), legends.size(), new DeckCounter() {
+            @Override
+            public void count(Deck deck, CoOccurrenceMatrix matrix) {
+                updateLegendMatrix(deck, cardIntegerMap, legendIntegerMap, matrix);
             }
-        }
+        });
 
         //convert the matrix into a map of pools for each commander
         HashMap<String,List<Map.Entry<PaperCard,Integer>>> cardPools = new HashMap<>();
         for (PaperCard card:legends){
-            int col=legendIntegerMap.get(card.getName());
-            int[] distances = matrix[col];
-            int max = Collections.max(Arrays.asList(ArrayUtils.toObject(distances)));
-            if (max>0) {
-                List<Map.Entry<PaperCard,Integer>> deckPool=new ArrayList<>();
-                for(int k=0;k<cardList.size(); k++){
-                    if(matrix[col][k]>0){
-                        deckPool.add(new AbstractMap.SimpleEntry<>(integerCardMap.get(k), matrix[col][k]));
-                    }
+            int row=legendIntegerMap.get(card.getName());
+            int[] columns = matrix.getColumns(row);
+            if (columns.length>0) {
+                List<Map.Entry<PaperCard,Integer>> deckPool=new ArrayList<>(columns.length);
+                for(int k : columns){
+                    deckPool.add(new AbstractMap.SimpleEntry<>(integerCardMap.get(k), matrix.get(row, k)));
                 }
                 cardPools.put(card.getName(), deckPool);
             }
@@ -196,57 +220,95 @@ public final class CardRelationMatrixGenerator {
         return cardPools;
     }
 
-    //update the matrix by incrementing the connectivity count for each card in the deck
-    public static void updateLegendMatrix(Deck deck, PaperCard legend, Map<String, Integer> cardIntegerMap,
-                             Map<String, Integer> legendIntegerMap, int[][] matrix){
-        for (PaperCard pairCard:Iterables.filter(deck.getMain().toFlatList(),
-                Predicates.compose(Predicates.not(CardRulesPredicates.Presets.IS_BASIC_LAND_NOT_WASTES), PaperCard.FN_GET_RULES))){
-            if (!pairCard.getName().equals(legend.getName())){
-                try {
-                    int old = matrix[legendIntegerMap.get(legend.getName())][cardIntegerMap.get(pairCard.getName())];
-                    matrix[legendIntegerMap.get(legend.getName())][cardIntegerMap.get(pairCard.getName())] = old + 1;
-                }catch (NullPointerException ne){
-                    //Todo: Not sure what was failing here
-                    ne.printStackTrace();
+    //update the matrix by incrementing the connectivity count for each card in the deck, for each of its commanders
+    private static void updateLegendMatrix(Deck deck, Map<String, Integer> cardIntegerMap,
+                             Map<String, Integer> legendIntegerMap, CoOccurrenceMatrix matrix){
+        Map<Integer, Integer> copies = null;
+        for (PaperCard legend : deck.getCommanders()) {
+            Integer row = legendIntegerMap.get(legend.getName());
+            if (row == null) {
+                continue;
+            }
+            if (copies == null) {
+                copies = countCards(deck, cardIntegerMap);
+            }
+            int legendCard = cardIntegerMap.get(legend.getName());
+            for (Map.Entry<Integer, Integer> pair : copies.entrySet()) {
+                if (pair.getKey() != legendCard) {
+                    matrix.add(row, pair.getKey(), pair.getValue());
+                }
+            }
+            //add partner commanders to matrix
+            for (PaperCard partner : deck.getCommanders()) {
+                Integer partnerCard = cardIntegerMap.get(partner.getName());
+                if (partnerCard != null && partnerCard != legendCard) {
+                    matrix.add(row, partnerCard, 1);
                 }
             }
-
         }
-        //add partner commanders to matrix
-        if(deck.getCommanders().size()>1){
-            for(PaperCard partner:deck.getCommanders()){
-                if(!partner.equals(legend)){
-                    int old = matrix[legendIntegerMap.get(legend.getName())][cardIntegerMap.get(partner.getName())];
-                    matrix[legendIntegerMap.get(legend.getName())][cardIntegerMap.get(partner.getName())] = old + 1;
+    }
+
+    /** @return the number of copies of each card of the main deck with a matrix column, basic lands left out. */
+    private static Map<Integer, Integer> countCards(Deck deck, Map<String, Integer> cardIntegerMap) {
+        Map<Integer, Integer> copies = new HashMap<>();
+        for (Map.Entry<PaperCard, Integer> entry : deck.getMain()) {
+            if (IS_NOT_BASIC_LAND.apply(entry.getKey())) {
+                Integer card = cardIntegerMap.get(entry.getKey().getName());
+                if (card != null) {
+                    Integer old = copies.get(card);
+                    copies.put(card, old == null ? entry.getValue() : old + entry.getValue());
                 }
             }
         }
+        return copies;
     }
 
-    public static class ArrayIndexComparator implements Comparator<Integer>
-    {
-        private final Integer[] array;
+    /** Adds what is counted for a deck to a matrix. */
+    private interface DeckCounter {
+        void count(Deck deck, CoOccurrenceMatrix matrix);
+    }
 
-        public ArrayIndexComparator(Integer[] array)
-        {
-            this.array = array;
+    /**
+     * Go through the decks once, counting them into a matrix with the given
+     * number of rows. On more than one core, the decks are split between
+     * threads that each count into a matrix of their own, which are added
+     * together at the end.
+     */
+    private static CoOccurrenceMatrix countDecks(final List<Deck> decks, final int numRows, final DeckCounter counter) {
+        final int maxParts = ThreadUtil.isMultiCoreSystem() ? Math.min(Runtime.getRuntime().availableProcessors(), Math.max(1, decks.size())) : 1;
+        final int decksPerPart = decks.size() / maxParts;
+        final List<Callable<CoOccurrenceMatrix>> tasks = new ArrayList<>();
+        for (int iPart = 0; iPart < maxParts; iPart++) {
+            final int from = iPart * decksPerPart;
+            final int till = iPart == maxParts - 1 ? decks.size() : from + decksPerPart;
+            tasks.add(new Callable<CoOccurrenceMatrix>() {
+                @Override
+                public CoOccurrenceMatrix call() {
+                    CoOccurrenceMatrix part = new CoOccurrenceMatrix(numRows);
+                    for (Deck deck : decks.subList(from, till)) {
+                        counter.count(deck, part);
+                    }
+                    return part;
+                }
+            });
         }
 
-        public Integer[] createIndexArray()
-        {
-            Integer[] indexes = new Integer[array.length];
-            for (int i = 0; i < array.length; i++)
-            {
-                indexes[i] = i; // Autoboxing
+        try {
+            if (maxParts == 1) {
+                return tasks.get(0).call();
             }
-            return indexes;
-        }
-
-        @Override
-        public int compare(Integer index1, Integer index2)
-        {
-            // Autounbox from Integer to int to use as array indexes
-            return array[index1].compareTo(array[index2]);
+            final ExecutorService executor = ThreadUtil.getComputingPool(0f);
+            final List<Future<CoOccurrenceMatrix>> parts = executor.invokeAll(tasks);
+            executor.shutdown();
+            CoOccurrenceMatrix matrix = parts.get(0).get();
+            for (int i = 1; i < parts.size(); i++) {
+                matrix.addAll(parts.get(i).get());
+            }
+            return matrix;
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        } catch (final Exception e) { // this clause comes from the single threaded branch
+            throw new RuntimeException(e);
         }
     }
 }
@@ -0,0 +1,131 @@
+package forge.deck;
+
+import java.util.Arrays;
+
+/**
+ * Counts of how often cards are found together in decks, as a sparse matrix
+ * with cards as rows and columns. Each row only keeps the cards that were
+ * counted with its card, in an open addressing map of primitive ints, so a
+ * matrix takes memory in proportion to the pairs found in the decks rather
+ * than to the number of cards squared.
+ *
+ * A matrix isn't thread safe. To count decks in parallel, count them into
+ * one matrix per thread and {@link #addAll add} those together.
+ */
+final class CoOccurrenceMatrix {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Row[] rows;
+
+    /** @param numRows the number of cards, or commanders, the rows are for */
+    CoOccurrenceMatrix(final int numRows) {
+        this.rows = new Row[numRows];
+    }
+
+    int getNumRows() {
+        return rows.length;
+    }
+
+    /** Add count to the entry of card col in the row of card row. */
+    void add(final int row, final int col, final int count) {
+        Row r = rows[row];
+        if (r == null) {
+            r = new Row();
+            rows[row] = r;
+        }
+        r.add(col, count);
+    }
+
+    /** @return the count of card col in the row of card row, 0 if it was never counted. */
+    int get(final int row, final int col) {
+        final Row r = rows[row];
+        return r == null ? 0 : r.get(col);
+    }
+
+    /** @return the cards counted in the row of card row, in ascending order. */
+    int[] getColumns(final int row) {
+        final Row r = rows[row];
+        if (r == null) {
+            return new int[0];
+        }
+        final int[] columns = r.getColumns();
+        Arrays.sort(columns);
+        return columns;
+    }
+
+    /** Add all counts of another matrix with the same rows to this one. */
+    void addAll(final CoOccurrenceMatrix other) {
+        for (int row = 0; row < other.rows.length; row++) {
+            final Row r = other.rows[row];
+            if (r == null) {
+                continue;
+            }
+            for (int i = 0; i < r.keys.length; i++) {
+                if (r.keys[i] != 0) {
+                    add(row, r.keys[i] - 1, r.values[i]);
+                }
+            }
+        }
+    }
+
+    /** An int to int map with linear probing, keeping card + 1 so that 0 marks an empty slot. */
+    private static final class Row {
+        private int[] keys = new int[INITIAL_CAPACITY];
+        private int[] values = new int[INITIAL_CAPACITY];
+        private int size;
+
+        private int slot(final int key) {
+            final int mask = keys.length - 1;
+            final int h = key * 0x9E3779B9;
+            int i = (h ^ (h >>> 16)) & mask;
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        void add(final int col, final int count) {
+            final int key = col + 1;
+            int i = slot(key);
+            if (keys[i] == 0) {
+                if ((size + 1) * 2 > keys.length) {
+                    grow();
+                    i = slot(key);
+                }
+                keys[i] = key;
+                size++;
+            }
+            values[i] += count;
+        }
+
+        int get(final int col) {
+            final int i = slot(col + 1);
+            return keys[i] == 0 ? 0 : values[i];
+        }
+
+        int[] getColumns() {
+            final int[] columns = new int[size];
+            int n = 0;
+            for (final int key : keys) {
+                if (key != 0) {
+                    columns[n++] = key - 1;
+                }
+            }
+            return columns;
+        }
+
+        private void grow() {
+            final int[] oldKeys = keys;
+            final int[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldValues.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    final int j = slot(oldKeys[i]);
+                    keys[j] = oldKeys[i];
+                    values[j] = oldValues[i];
+                }
+            }
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package forge.deck.io;
 
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 
 import forge.game.GameFormat;
@@ -22,6 +28,9 @@ public class CardThemedLDAIO {
     /** suffix for all gauntlet data files */
     public static final String SUFFIX_DATA = ".lda.dat";
     public static final String RAW_SUFFIX_DATA = ".raw.dat";
+    /** suffixes for the binary copies of the data files in the cache */
+    public static final String SUFFIX_BINARY = ".lda.bin";
+    public static final String RAW_SUFFIX_BINARY = ".raw.bin";
 
     public static void saveRawLDA(String format, List<Archetype> lda){
         File file = getRAWLDAFile(format);
@@ -31,13 +40,29 @@ public class CardThemedLDAIO {
             s.close();
         } catch (IOException e) {
             System.out.println("Error writing matrix data: " + e);
+            return;
         }
+        writeRawBinary(format, lda);
     }
 
+    /**
+     * Load the archetypes of a format from their binary copy in the cache, or
+     * if there is no up to date copy, from their data file, making a copy for
+     * next time.
+     */
     public static List<Archetype> loadRawLDA(String format){
+        ByteBuffer binary = DeckGenBinaryFile.map(getRAWLDABinaryFile(format), getRAWLDAFile(format), DeckGenBinaryFile.ARCHETYPES);
+        if (binary != null) {
+            try {
+                return readRawBinary(binary);
+            } catch (RuntimeException e) {
+                System.out.println("Error reading LDA data: " + e);
+            }
+        }
         try (FileInputStream fin = new FileInputStream(getRAWLDAFile(format));
              ObjectInputStream s = new ObjectInputStream(fin)) {
             List<Archetype> matrix = (List<Archetype>) s.readObject();
+            writeRawBinary(format, matrix);
             return matrix;
         } catch (Exception e){
             System.out.println("Error reading LDA data: " + e);
@@ -46,6 +71,33 @@ public class CardThemedLDAIO {
 
     }
 
+    // names, then each archetype as its name, deck count and pairs of card and probability
+    private static void writeRawBinary(String format, final List<Archetype> lda) {
+        DeckGenBinaryFile.write(getRAWLDABinaryFile(format), getRAWLDAFile(format), DeckGenBinaryFile.ARCHETYPES, new DeckGenBinaryFile.Content() {
+            @Override
+            public void write(DataOutputStream out, DeckGenBinaryFile.NameTable names) throws IOException {
+                out.writeInt(lda.size());
+                for (Archetype archetype : lda) {
+                    out.writeInt(names.id(archetype.getName()));
+                    out.writeInt(archetype.getDeckCount());
+                    writePairs(out, names, archetype.getCardProbabilities());
+                }
+            }
+        });
+    }
+
+    private static List<Archetype> readRawBinary(ByteBuffer buf) {
+        String[] names = DeckGenBinaryFile.readNames(buf);
+        int size = buf.getInt();
+        List<Archetype> lda = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = names[buf.getInt()];
+            int deckCount = buf.getInt();
+            lda.add(new Archetype(readPairs(buf, names), name, deckCount));
+        }
+        return lda;
+    }
+
     public static void saveLDA(String format, Map<String,List<List<Pair<String, Double>>>> map){
         File file = getLDAFile(format);
 
@@ -54,13 +106,26 @@ public class CardThemedLDAIO {
             s.writeObject(map);
         } catch (IOException e) {
             System.out.println("Error writing matrix data: " + e);
+            return;
         }
+        writeBinary(format, map);
     }
 
+    /**
+     * Load the card pools of a format from their binary copy in the cache,
+     * which is only read once the pools are first used. If there is no up to
+     * date copy, the pools are read from their data file and a copy is made
+     * for next time.
+     */
     public static Map<String,List<List<Pair<String, Double>>>> loadLDA(String format){
+        ByteBuffer binary = DeckGenBinaryFile.map(getLDABinaryFile(format), getLDAFile(format), DeckGenBinaryFile.LDA);
+        if (binary != null) {
+            return new MappedPools(binary);
+        }
         try (FileInputStream fin = new FileInputStream(getLDAFile(format));
              ObjectInputStream s = new ObjectInputStream(fin)) {
             Map<String,List<List<Pair<String, Double>>>> matrix = (Map<String,List<List<Pair<String, Double>>>>) s.readObject();
+            writeBinary(format, matrix);
             return matrix;
         } catch (Exception e){
             System.out.println("Error reading LDA data: " + e);
@@ -68,6 +133,111 @@ public class CardThemedLDAIO {
         }
     }
 
+    // names, then the topics as pairs of card and probability, then each card as its name and topics
+    private static void writeBinary(String format, final Map<String,List<List<Pair<String, Double>>>> map) {
+        DeckGenBinaryFile.write(getLDABinaryFile(format), getLDAFile(format), DeckGenBinaryFile.LDA, new DeckGenBinaryFile.Content() {
+            @Override
+            public void write(DataOutputStream out, DeckGenBinaryFile.NameTable names) throws IOException {
+                // the cards of a topic share the same list, so it's kept once
+                Map<List<Pair<String, Double>>, Integer> topics = new IdentityHashMap<>();
+                List<List<Pair<String, Double>>> topicList = new ArrayList<>();
+                for (List<List<Pair<String, Double>>> cardTopics : map.values()) {
+                    for (List<Pair<String, Double>> topic : cardTopics) {
+                        if (!topics.containsKey(topic)) {
+                            topics.put(topic, topicList.size());
+                            topicList.add(topic);
+                        }
+                    }
+                }
+                out.writeInt(topicList.size());
+                for (List<Pair<String, Double>> topic : topicList) {
+                    writePairs(out, names, topic);
+                }
+                out.writeInt(map.size());
+                for (Map.Entry<String, List<List<Pair<String, Double>>>> card : map.entrySet()) {
+                    out.writeInt(names.id(card.getKey()));
+                    out.writeInt(card.getValue().size());
+                    for (List<Pair<String, Double>> topic : card.getValue()) {
+                        out.writeInt(topics.get(topic));
+                    }
+                }
+            }
+        });
+    }
+
+    private static void writePairs(DataOutputStream out, DeckGenBinaryFile.NameTable names, List<Pair<String, Double>> pairs) throws IOException {
+        out.writeInt(pairs.size());
+        for (Pair<String, Double> pair : pairs) {
+            out.writeInt(names.id(pair.getLeft()));
+            out.writeDouble(pair.getRight());
+        }
+    }
+
+    private static List<Pair<String, Double>> readPairs(ByteBuffer buf, String[] names) {
+        int size = buf.getInt();
+        List<Pair<String, Double>> pairs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = names[buf.getInt()];
+            pairs.add(new ImmutablePair<>(name, buf.getDouble()));
+        }
+        return pairs;
+    }
+
+    /** Card pools read from their binary copy, which read each topic once it's first used. */
+    private static final class MappedPools extends DeckGenBinaryFile.MappedMap<List<List<Pair<String, Double>>>> {
+        private String[] names;
+        private ByteBuffer topicData;
+        private int[] topicPositions;
+        private List<Pair<String, Double>>[] topics;
+
+        MappedPools(ByteBuffer file) {
+            super(file);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Map<String, Integer> readIndex(ByteBuffer buf) {
+            names = DeckGenBinaryFile.readNames(buf);
+            topicData = buf.duplicate();
+            topicPositions = new int[buf.getInt()];
+            topics = new List[topicPositions.length];
+            for (int i = 0; i < topicPositions.length; i++) {
+                topicPositions[i] = buf.position();
+                int size = buf.getInt();
+                buf.position(buf.position() + size * 12);
+            }
+            int numCards = buf.getInt();
+            Map<String, Integer> index = newIndex(numCards);
+            for (int i = 0; i < numCards; i++) {
+                String name = names[buf.getInt()];
+                index.put(name, buf.position());
+                int size = buf.getInt();
+                buf.position(buf.position() + size * 4);
+            }
+            return index;
+        }
+
+        @Override
+        protected List<List<Pair<String, Double>>> readValue(ByteBuffer buf) {
+            int size = buf.getInt();
+            List<List<Pair<String, Double>>> cardTopics = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                cardTopics.add(getTopic(buf.getInt()));
+            }
+            return cardTopics;
+        }
+
+        private synchronized List<Pair<String, Double>> getTopic(int i) {
+            List<Pair<String, Double>> topic = topics[i];
+            if (topic == null) {
+                topicData.position(topicPositions[i]);
+                topic = Collections.unmodifiableList(readPairs(topicData, names));
+                topics[i] = topic;
+            }
+            return topic;
+        }
+    }
+
     public static File getLDAFile(final String name) {
         return new File(ForgeConstants.DECK_GEN_DIR, name + SUFFIX_DATA);
     }
@@ -76,6 +246,14 @@ public class CardThemedLDAIO {
         return new File(ForgeConstants.DECK_GEN_DIR, name + RAW_SUFFIX_DATA);
     }
 
+    public static File getLDABinaryFile(final String name) {
+        return DeckGenBinaryFile.getFile(name, SUFFIX_BINARY);
+    }
+
+    public static File getRAWLDABinaryFile(final String name) {
+        return DeckGenBinaryFile.getFile(name, RAW_SUFFIX_BINARY);
+    }
+
     public static File getMatrixFolder(final String name) {
         return new File(ForgeConstants.DECK_GEN_DIR, name);
     }
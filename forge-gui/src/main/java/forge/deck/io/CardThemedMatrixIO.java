@@ -1,15 +1,21 @@
 package forge.deck.io;
 
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import forge.StaticData;
 import forge.game.GameFormat;
 import forge.item.PaperCard;
 import forge.localinstance.properties.ForgeConstants;
@@ -21,21 +27,35 @@ public class CardThemedMatrixIO {
 
     /** suffix for all gauntlet data files */
     public static final String SUFFIX_DATA = ".dat";
+    /** suffix for the binary copies of the data files in the cache */
+    public static final String SUFFIX_BINARY = ".matrix.bin";
 
-    public static void saveMatrix(String format, HashMap<String,List<Map.Entry<PaperCard,Integer>>> map){
+    public static void saveMatrix(String format, Map<String,List<Map.Entry<PaperCard,Integer>>> map){
         File file = getMatrixFile(format);
         try (FileOutputStream f = new FileOutputStream(file);
              ObjectOutputStream s = new ObjectOutputStream(f)) {
-            s.writeObject(map);
+            s.writeObject(new HashMap<>(map));
         } catch (IOException e) {
             System.out.println("Error writing matrix data: " + e);
+            return;
         }
+        writeBinary(format, map);
     }
 
-    public static HashMap<String,List<Map.Entry<PaperCard,Integer>>> loadMatrix(String format){
+    /**
+     * Load the matrix of a format from its binary copy in the cache, which is
+     * only read once the matrix is first used. If there is no up to date copy,
+     * the matrix is read from its data file and a copy is made for next time.
+     */
+    public static Map<String,List<Map.Entry<PaperCard,Integer>>> loadMatrix(String format){
+        ByteBuffer binary = DeckGenBinaryFile.map(getMatrixBinaryFile(format), getMatrixFile(format), DeckGenBinaryFile.MATRIX);
+        if (binary != null) {
+            return new MappedMatrix(binary);
+        }
         try (FileInputStream fin = new FileInputStream(getMatrixFile(format));
              ObjectInputStream s = new ObjectInputStream(fin)){
             HashMap<String, List<Map.Entry<PaperCard,Integer>>> matrix = (HashMap<String, List<Map.Entry<PaperCard,Integer>>>) s.readObject();
+            writeBinary(format, matrix);
             return matrix;
         }catch (Exception e){
             System.out.println("Error reading matrix data: " + e);
@@ -43,10 +63,112 @@ public class CardThemedMatrixIO {
         }
     }
 
+    // names, then the cards as name, edition and art index, then each row as its name and pairs of card and count
+    private static void writeBinary(String format, final Map<String,List<Map.Entry<PaperCard,Integer>>> matrix) {
+        DeckGenBinaryFile.write(getMatrixBinaryFile(format), getMatrixFile(format), DeckGenBinaryFile.MATRIX, new DeckGenBinaryFile.Content() {
+            @Override
+            public void write(DataOutputStream out, DeckGenBinaryFile.NameTable names) throws IOException {
+                Map<PaperCard, Integer> cards = new LinkedHashMap<>();
+                for (List<Map.Entry<PaperCard,Integer>> row : matrix.values()) {
+                    for (Map.Entry<PaperCard,Integer> entry : row) {
+                        if (!cards.containsKey(entry.getKey())) {
+                            cards.put(entry.getKey(), cards.size());
+                        }
+                    }
+                }
+                out.writeInt(cards.size());
+                for (PaperCard card : cards.keySet()) {
+                    out.writeInt(names.id(card.getName()));
+                    out.writeInt(names.id(card.getEdition()));
+                    out.writeInt(card.getArtIndex());
+                }
+                out.writeInt(matrix.size());
+                for (Map.Entry<String, List<Map.Entry<PaperCard,Integer>>> row : matrix.entrySet()) {
+                    out.writeInt(names.id(row.getKey()));
+                    out.writeInt(row.getValue().size());
+                    for (Map.Entry<PaperCard,Integer> entry : row.getValue()) {
+                        out.writeInt(cards.get(entry.getKey()));
+                        out.writeInt(entry.getValue());
+                    }
+                }
+            }
+        });
+    }
+
+    /** A matrix read from its binary copy, which finds its cards in the card database when they're first used. */
+    private static final class MappedMatrix extends DeckGenBinaryFile.MappedMap<List<Map.Entry<PaperCard,Integer>>> {
+        private String[] names;
+        private int[] cardNames;
+        private int[] cardEditions;
+        private int[] cardArtIndices;
+        private PaperCard[] cards;
+
+        MappedMatrix(ByteBuffer file) {
+            super(file);
+        }
+
+        @Override
+        protected Map<String, Integer> readIndex(ByteBuffer buf) {
+            names = DeckGenBinaryFile.readNames(buf);
+            int numCards = buf.getInt();
+            cardNames = new int[numCards];
+            cardEditions = new int[numCards];
+            cardArtIndices = new int[numCards];
+            cards = new PaperCard[numCards];
+            for (int i = 0; i < numCards; i++) {
+                cardNames[i] = buf.getInt();
+                cardEditions[i] = buf.getInt();
+                cardArtIndices[i] = buf.getInt();
+            }
+            int numRows = buf.getInt();
+            Map<String, Integer> index = newIndex(numRows);
+            for (int i = 0; i < numRows; i++) {
+                String name = names[buf.getInt()];
+                index.put(name, buf.position());
+                int size = buf.getInt();
+                buf.position(buf.position() + size * 8);
+            }
+            return index;
+        }
+
+        @Override
+        protected List<Map.Entry<PaperCard,Integer>> readValue(ByteBuffer buf) {
+            int size = buf.getInt();
+            List<Map.Entry<PaperCard,Integer>> row = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                PaperCard card = getCard(buf.getInt());
+                int count = buf.getInt();
+                // cards that aren't in the database anymore are left out, as they couldn't be read from the data file either
+                if (card != null) {
+                    row.add(new AbstractMap.SimpleEntry<>(card, count));
+                }
+            }
+            return row;
+        }
+
+        private PaperCard getCard(int i) {
+            PaperCard card = cards[i];
+            if (card == null) {
+                String name = names[cardNames[i]];
+                String edition = names[cardEditions[i]];
+                card = StaticData.instance().getCommonCards().getCard(name, edition, cardArtIndices[i]);
+                if (card == null) {
+                    card = StaticData.instance().getVariantCards().getCard(name, edition, cardArtIndices[i]);
+                }
+                cards[i] = card;
+            }
+            return card;
+        }
+    }
+
     public static File getMatrixFile(final String name) {
         return new File(ForgeConstants.DECK_GEN_DIR, name + SUFFIX_DATA);
     }
 
+    public static File getMatrixBinaryFile(final String name) {
+        return DeckGenBinaryFile.getFile(name, SUFFIX_BINARY);
+    }
+
     public static File getMatrixFolder(final String name) {
         return new File(ForgeConstants.DECK_GEN_DIR, name);
     }
@@ -0,0 +1,245 @@
+package forge.deck.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import forge.localinstance.properties.ForgeConstants;
+
+/**
+ * The binary layout the deck generation data is kept in after it was read
+ * from its serialized .dat file once, so that later starts can map it instead
+ * of deserializing the whole object graph.
+ *
+ * A file has a header with its kind, the format {@link #VERSION} and the size
+ * and modification time of the .dat file it was made from, then a table of
+ * all the names in it, which the rest refers to by index. It isn't used when
+ * the version or the .dat file don't match, and is made again from the .dat
+ * file instead.
+ */
+final class DeckGenBinaryFile {
+    static final int MATRIX = 0x4647444D; // FGDM
+    static final int LDA = 0x4647444C; // FGDL
+    static final int ARCHETYPES = 0x46474441; // FGDA
+    /** Increment whenever the layout of any kind of file changes. */
+    private static final int VERSION = 1;
+
+    /** Writes the content of a file after its name table, using ids from it. */
+    interface Content {
+        void write(DataOutputStream out, NameTable names) throws IOException;
+    }
+
+    /** The names written to a file, in the order they were first used. */
+    static final class NameTable {
+        private final Map<String, Integer> ids = new LinkedHashMap<>();
+
+        int id(final String name) {
+            Integer id = ids.get(name);
+            if (id == null) {
+                id = ids.size();
+                ids.put(name, id);
+            }
+            return id;
+        }
+    }
+
+    private DeckGenBinaryFile() {
+    }
+
+    static File getFile(final String name, final String suffix) {
+        return new File(ForgeConstants.DECK_GEN_CACHE_DIR, name + suffix);
+    }
+
+    /**
+     * @return the contents of the file after its header, memory-mapped, or
+     *         null if there is no file, it is of another kind or version or
+     *         it was made from another source file.
+     */
+    static ByteBuffer map(final File file, final File source, final int kind) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            if (raf.readInt() != kind || raf.readInt() != VERSION
+                    || raf.readLong() != source.length() || raf.readLong() != source.lastModified()) {
+                return null;
+            }
+            final long start = raf.getFilePointer();
+            return raf.getChannel().map(FileChannel.MapMode.READ_ONLY, start, raf.length() - start);
+        } catch (final IOException e) {
+            System.out.println("Error reading deck generation data: " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Write a new file made from the given source file, replacing any
+     * existing one. Nothing is replaced if it can't be written.
+     */
+    static void write(final File file, final File source, final int kind, final Content content) {
+        final File dir = file.getAbsoluteFile().getParentFile();
+        File temp = null;
+        try {
+            // the content goes first, so that all names are known when the table is written
+            final NameTable names = new NameTable();
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                content.write(out, names);
+            }
+
+            dir.mkdirs();
+            temp = File.createTempFile(file.getName(), ".tmp", dir);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 1 << 16))) {
+                out.writeInt(kind);
+                out.writeInt(VERSION);
+                out.writeLong(source.length());
+                out.writeLong(source.lastModified());
+                out.writeInt(names.ids.size());
+                for (final String name : names.ids.keySet()) {
+                    writeString(out, name);
+                }
+                bytes.writeTo(out);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            System.out.println("Error writing deck generation data: " + e);
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    /** @return the name table at the position of the buffer. */
+    static String[] readNames(final ByteBuffer buf) {
+        final String[] names = new String[buf.getInt()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = readString(buf);
+        }
+        return names;
+    }
+
+    static String readString(final ByteBuffer buf) {
+        final byte[] bytes = new byte[buf.getInt()];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeString(final DataOutputStream out, final String s) throws IOException {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * A map from names to values kept in a mapped file, which only reads the
+     * file once it's first used and only makes a value when it's asked for.
+     * Values aren't kept, so they should be cheap to make from the file.
+     */
+    abstract static class MappedMap<V> extends AbstractMap<String, V> {
+        private final ByteBuffer file;
+        // the position of each value in the file
+        private Map<String, Integer> index;
+
+        MappedMap(final ByteBuffer file) {
+            this.file = file;
+        }
+
+        /**
+         * Read what is needed to make the values from the buffer, which is at
+         * the start of the file after its header, and return the position of
+         * each value.
+         */
+        protected abstract Map<String, Integer> readIndex(ByteBuffer buf);
+
+        /** @return the value at the position of the buffer. */
+        protected abstract V readValue(ByteBuffer buf);
+
+        private synchronized Map<String, Integer> getIndex() {
+            if (index == null) {
+                try {
+                    index = readIndex(file.duplicate());
+                } catch (final RuntimeException e) {
+                    System.out.println("Error reading deck generation data: " + e);
+                    index = Collections.emptyMap();
+                }
+            }
+            return index;
+        }
+
+        private V readValueAt(final int position) {
+            final ByteBuffer buf = file.duplicate();
+            buf.position(position);
+            return readValue(buf);
+        }
+
+        @Override
+        public V get(final Object key) {
+            final Integer position = getIndex().get(key);
+            return position == null ? null : readValueAt(position);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return getIndex().containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return getIndex().size();
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return Collections.unmodifiableSet(getIndex().keySet());
+        }
+
+        @Override
+        public Set<Map.Entry<String, V>> entrySet() {
+            return new AbstractSet<Map.Entry<String, V>>() {
+                @Override
+                public Iterator<Map.Entry<String, V>> iterator() {
+                    final Iterator<Map.Entry<String, Integer>> positions = getIndex().entrySet().iterator();
+                    return new Iterator<Map.Entry<String, V>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return positions.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<String, V> next() {
+                            final Map.Entry<String, Integer> next = positions.next();
+                            return new AbstractMap.SimpleImmutableEntry<>(next.getKey(), readValueAt(next.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return getIndex().size();
+                }
+            };
+        }
+
+        /** @return a new index for the given number of values. */
+        static Map<String, Integer> newIndex(final int size) {
+            return new HashMap<>(size * 4 / 3 + 1);
+        }
+    }
+}
@@ -34,6 +34,8 @@ import forge.localinstance.properties.ForgePreferences;
 import forge.localinstance.skin.FSkinProp;
 import forge.model.FModel;
 import forge.player.PlayerControllerHuman;
+import forge.trackable.TrackableDelta;
+import forge.trackable.TrackableDeltaDecoder;
 import forge.trackable.TrackableTypes;
 import forge.util.Localizer;
 
@@ -97,11 +99,16 @@ public abstract class AbstractGuiGame implements IGuiGame, IMayViewCards {
     protected abstract void updateCurrentPlayer(PlayerView player);
 
     private GameView gameView = null;
+    private TrackableDeltaDecoder gameViewDecoder = null;
+    private boolean gameViewOutOfSync = false;
     public final GameView getGameView() {
         return gameView;
     }
     @Override
     public void setGameView(final GameView gameView0) {
+        //deltas sent after a full game view are relative to it
+        gameViewDecoder = null;
+        gameViewOutOfSync = false;
         if (gameView == null || gameView0 == null) {
             if (gameView0 != null) {
                 gameView0.updateObjLookup();
@@ -115,6 +122,31 @@ public abstract class AbstractGuiGame implements IGuiGame, IMayViewCards {
         gameView.copyChangedProps(gameView0);
     }
 
+    @Override
+    public void applyGameViewDelta(final TrackableDelta delta) {
+        if (gameView == null || gameViewOutOfSync) {
+            //deltas still on their way are relative to the view we lost track of
+            return;
+        }
+        if (gameViewDecoder == null) {
+            gameViewDecoder = new TrackableDeltaDecoder(gameView);
+        }
+        if (!gameViewDecoder.apply(delta)) {
+            //missed a delta, so start over from a full game view
+            gameViewDecoder = null;
+            gameViewOutOfSync = true;
+            final IGameController controller = getGameController();
+            if (controller != null) {
+                controller.requestGameViewResync();
+            }
+        }
+    }
+
+    @Override
+    public void resendGameView() {
+        //local games share the game view with the game
+    }
+
     public final IGameController getGameController() {
         return getGameController(getCurrentPlayer());
     }
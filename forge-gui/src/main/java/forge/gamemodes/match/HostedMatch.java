@@ -14,7 +14,6 @@ import org.apache.commons.lang3.StringUtils;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.eventbus.Subscribe;
 
 import forge.LobbyPlayer;
 import forge.game.Game;
@@ -22,9 +21,11 @@ import forge.game.GameRules;
 import forge.game.GameType;
 import forge.game.GameView;
 import forge.game.Match;
+import forge.game.event.Event;
 import forge.game.event.GameEvent;
 import forge.game.event.GameEventSubgameEnd;
 import forge.game.event.GameEventSubgameStart;
+import forge.game.event.IEventSubscriber;
 import forge.game.event.IGameEventVisitor;
 import forge.game.player.Player;
 import forge.game.player.PlayerView;
@@ -133,8 +134,8 @@ public class HostedMatch {
             title = TextUtil.concatNoSpace("Multiplayer Game (", String.valueOf(sortedPlayers.size()), " players)");
         }
         this.match = new Match(gameRules, sortedPlayers, title);
-        this.match.subscribeToEvents(SoundSystem.instance);
-        this.match.subscribeToEvents(visitor);
+        this.match.subscribeToEvents(Event.class, SoundSystem.instance);
+        this.match.subscribeToEvents(Event.class, visitor);
         startGame();
     }
 
@@ -160,11 +161,11 @@ public class HostedMatch {
             if (game.getMatch().getOutcomes().isEmpty()) {
                 qc.getCards().resetNewList();
             }
-            game.subscribeToEvents(qc); // this one listens to player's mulligans ATM
+            game.subscribeToEvents(GameEvent.class, qc); // this one listens to player's mulligans ATM
         }
 
-        game.subscribeToEvents(SoundSystem.instance);
-        game.subscribeToEvents(visitor);
+        game.subscribeToEvents(Event.class, SoundSystem.instance);
+        game.subscribeToEvents(Event.class, visitor);
 
         final FCollectionView<Player> players = game.getPlayers();
         final String[] avatarIndices = FModel.getPreferences().getPref(FPref.UI_AVATARS).split(",");
@@ -205,7 +206,7 @@ public class HostedMatch {
                 gui.setGameView(gameView);
                 gui.setOriginalGameController(p.getView(), humanController);
 
-                game.subscribeToEvents(new FControlGameEventHandler(humanController));
+                game.subscribeToEvents(GameEvent.class, new FControlGameEventHandler(humanController));
                 playersPerGui.add(gui, p.getView());
 
                 if (gameControllers != null ) {
@@ -247,7 +248,7 @@ public class HostedMatch {
                     // Create FControlGamePlayback in game thread to allow pausing
                     playbackControl = new FControlGamePlayback(humanControllers.get(0));
                     playbackControl.setGame(game);
-                    game.subscribeToEvents(playbackControl);
+                    game.subscribeToEvents(GameEvent.class, playbackControl);
                 }
                 // Actually start the game!
                 match.startGame(game, startGameHook);
@@ -290,7 +291,7 @@ public class HostedMatch {
     public void registerSpectator(final IGuiGame gui, final PlayerControllerHuman humanController) {
         gui.setSpectator(humanController);
         gui.openView(null);
-        game.subscribeToEvents(new FControlGameEventHandler(humanController));
+        game.subscribeToEvents(GameEvent.class, new FControlGameEventHandler(humanController));
         humanControllers.add(humanController);
     }
 
@@ -341,7 +342,7 @@ public class HostedMatch {
         return isMatchOver;
     }
 
-    private final class MatchUiEventVisitor extends IGameEventVisitor.Base<Void> implements IUiEventVisitor<Void> {
+    private final class MatchUiEventVisitor extends IGameEventVisitor.Base<Void> implements IUiEventVisitor<Void>, IEventSubscriber<Event> {
         @Override
         public Void visit(final UiEventBlockerAssigned event) {
             for (final PlayerControllerHuman humanController : humanControllers) {
@@ -371,8 +372,8 @@ public class HostedMatch {
         @Override
         public Void visit(final GameEventSubgameStart event) {
             subGameCount++;
-            event.subgame.subscribeToEvents(SoundSystem.instance);
-            event.subgame.subscribeToEvents(visitor);
+            event.subgame.subscribeToEvents(Event.class, SoundSystem.instance);
+            event.subgame.subscribeToEvents(Event.class, visitor);
 
             final GameView gameView = event.subgame.getView();
 
@@ -390,7 +391,7 @@ public class HostedMatch {
                             gui.openView(new TrackableCollection<>(p.getView()));
                             gui.setGameView(null);
                             gui.setGameView(gameView);
-                            event.subgame.subscribeToEvents(new FControlGameEventHandler(humanController));
+                            event.subgame.subscribeToEvents(GameEvent.class, new FControlGameEventHandler(humanController));
                             gui.message(event.message);
                         }
                     }
@@ -439,20 +440,14 @@ public class HostedMatch {
             return null;
         }
 
-        @Subscribe
-        public void receiveEvent(final UiEvent evt) {
-            try {
-                evt.visit(this);
-            } catch (Exception e) {
-                System.out.println(e.getMessage());
-                e.printStackTrace();
-            }
-        }
-
-        @Subscribe
-        public void receiveGameEvent(final GameEvent evt) {
+        @Override
+        public void receive(final Event evt) {
             try {
-                evt.visit(this);
+                if (evt instanceof GameEvent) {
+                    ((GameEvent) evt).visit(this);
+                } else if (evt instanceof UiEvent) {
+                    ((UiEvent) evt).visit(this);
+                }
             } catch (Exception e) {
                 System.out.println(e.getMessage());
                 e.printStackTrace();
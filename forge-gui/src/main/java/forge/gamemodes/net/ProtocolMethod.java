@@ -22,6 +22,7 @@ import forge.interfaces.IGameController;
 import forge.localinstance.skin.FSkinProp;
 import forge.player.PlayerZoneUpdates;
 import forge.trackable.TrackableCollection;
+import forge.trackable.TrackableDelta;
 import forge.util.ITriggerEvent;
 import forge.util.ReflectionUtil;
 
@@ -31,6 +32,7 @@ import forge.util.ReflectionUtil;
 public enum ProtocolMethod {
     // Server -> Client
     setGameView         (Mode.SERVER, Void.TYPE, GameView.class),
+    applyGameViewDelta  (Mode.SERVER, Void.TYPE, TrackableDelta.class),
     openView            (Mode.SERVER, Void.TYPE, TrackableCollection/*PlayerView*/.class),
     afterGameEnd        (Mode.SERVER, Void.TYPE),
     showCombat          (Mode.SERVER, Void.TYPE),
@@ -98,7 +100,8 @@ public enum ProtocolMethod {
     getActivateDescription    (Mode.CLIENT, String.class, CardView.class),
     concede                   (Mode.CLIENT, Void.TYPE),
     alphaStrike               (Mode.CLIENT, Void.TYPE),
-    reorderHand               (Mode.CLIENT, Void.TYPE, CardView.class, Integer.TYPE);
+    reorderHand               (Mode.CLIENT, Void.TYPE, CardView.class, Integer.TYPE),
+    requestGameViewResync     (Mode.CLIENT, Void.TYPE);
 
     private enum Mode {
         SERVER(IGuiGame.class),
@@ -7,10 +7,13 @@ public class LoginEvent implements NetEvent {
 
     private final String username;
     private final int avatarIndex, sleeveIndex;
-    public LoginEvent(final String username, final int avatarIndex, final int sleeveIndex) {
+    // whether the client can apply game view deltas; clients from before them don't send it, so it reads as false
+    private final boolean deltaSync;
+    public LoginEvent(final String username, final int avatarIndex, final int sleeveIndex, final boolean deltaSync) {
         this.username = username;
         this.avatarIndex = avatarIndex;
         this.sleeveIndex = sleeveIndex;
+        this.deltaSync = deltaSync;
     }
 
     @Override
@@ -28,4 +31,8 @@ public class LoginEvent implements NetEvent {
     public int getSleeveIndex() {
         return sleeveIndex;
     }
+
+    public boolean isDeltaSync() {
+        return deltaSync;
+    }
 }
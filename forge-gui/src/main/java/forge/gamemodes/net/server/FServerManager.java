@@ -329,6 +329,7 @@ public final class FServerManager {
             if (msg instanceof LoginEvent) {
                 final String username = ((LoginEvent) msg).getUsername();
                 client.setUsername(username);
+                client.setDeltaSync(((LoginEvent) msg).isDeltaSync());
                 broadcast(new MessageEvent(String.format("%s joined the room", username)));
                 updateLobbyState();
             } else if (msg instanceof UpdateLobbyPlayerEvent) {
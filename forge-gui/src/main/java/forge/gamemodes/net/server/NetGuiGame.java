@@ -22,17 +22,25 @@ import forge.gamemodes.match.AbstractGuiGame;
 import forge.gamemodes.net.GameProtocolSender;
 import forge.gamemodes.net.ProtocolMethod;
 import forge.item.PaperCard;
+import forge.localinstance.properties.ForgePreferences.FPref;
 import forge.localinstance.skin.FSkinProp;
+import forge.model.FModel;
 import forge.player.PlayerZoneUpdate;
 import forge.player.PlayerZoneUpdates;
 import forge.trackable.TrackableCollection;
+import forge.trackable.TrackableDelta;
+import forge.trackable.TrackableDeltaEncoder;
 import forge.util.ITriggerEvent;
 
 public class NetGuiGame extends AbstractGuiGame {
 
     private final GameProtocolSender sender;
-    public NetGuiGame(final IToClient client) {
+    private final boolean deltaSync;
+    private TrackableDeltaEncoder gameViewEncoder;
+    public NetGuiGame(final RemoteClient client) {
         this.sender = new GameProtocolSender(client);
+        // only send deltas when the host wants to and the client said it can apply them
+        this.deltaSync = FModel.getPreferences().getPrefBoolean(FPref.UI_NETPLAY_DELTA_SYNC) && client.isDeltaSync();
     }
 
     private void send(final ProtocolMethod method, final Object... args) {
@@ -43,12 +51,38 @@ public class NetGuiGame extends AbstractGuiGame {
         return sender.sendAndWait(method, args);
     }
 
-    public void updateGameView() {
-        send(ProtocolMethod.setGameView, getGameView());
+    public synchronized void updateGameView() {
+        if (gameViewEncoder == null) {
+            if (deltaSync && getGameView() != null) {
+                // from now on only send what changed since the view below
+                gameViewEncoder = new TrackableDeltaEncoder(getGameView());
+            }
+            send(ProtocolMethod.setGameView, getGameView());
+            return;
+        }
+        final TrackableDelta delta = gameViewEncoder.encode();
+        if (delta != null) {
+            send(ProtocolMethod.applyGameViewDelta, delta);
+        }
+    }
+
+    @Override
+    public synchronized void resendGameView() {
+        // the client missed a delta and dropped the ones after it
+        resetGameViewEncoder();
+        updateGameView();
+    }
+
+    private synchronized void resetGameViewEncoder() {
+        if (gameViewEncoder != null) {
+            gameViewEncoder.dispose();
+            gameViewEncoder = null;
+        }
     }
 
     @Override
     public void setGameView(final GameView gameView) {
+        resetGameViewEncoder();
         super.setGameView(gameView);
         updateGameView();
     }
@@ -56,6 +90,8 @@ public class NetGuiGame extends AbstractGuiGame {
     @Override
     public void openView(final TrackableCollection<PlayerView> myPlayers) {
         send(ProtocolMethod.openView, myPlayers);
+        // the client starts over with a new game view when opening the match
+        resetGameViewEncoder();
         updateGameView();
     }
 
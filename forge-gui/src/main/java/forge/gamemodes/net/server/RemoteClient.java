@@ -12,6 +12,7 @@ public final class RemoteClient implements IToClient {
     private final Channel channel;
     private String username;
     private int index;
+    private boolean deltaSync;
     private ReplyPool replies = new ReplyPool();
     public RemoteClient(final Channel channel) {
         this.channel = channel;
@@ -50,6 +51,16 @@ public final class RemoteClient implements IToClient {
         this.index = index;
     }
 
+    /**
+     * @return whether the client said it can apply game view deltas when it logged in
+     */
+    public boolean isDeltaSync() {
+        return deltaSync;
+    }
+    public void setDeltaSync(final boolean deltaSync) {
+        this.deltaSync = deltaSync;
+    }
+
     ReplyPool getReplyPool() {
         return replies;
     }
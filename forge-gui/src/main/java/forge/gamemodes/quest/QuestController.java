@@ -27,7 +27,6 @@ import java.util.Map;
 import java.util.TreeMap;
 
 import com.google.common.collect.Lists;
-import com.google.common.eventbus.Subscribe;
 
 import forge.card.CardEdition;
 import forge.deck.Deck;
@@ -35,6 +34,7 @@ import forge.deck.DeckGroup;
 import forge.game.GameFormat;
 import forge.game.event.GameEvent;
 import forge.game.event.GameEventMulligan;
+import forge.game.event.IEventSubscriber;
 import forge.gamemodes.quest.bazaar.QuestBazaarManager;
 import forge.gamemodes.quest.bazaar.QuestItemType;
 import forge.gamemodes.quest.bazaar.QuestPetStorage;
@@ -58,7 +58,7 @@ import forge.util.storage.StorageBase;
  * TODO: Write javadoc for this type.
  *
  */
-public class QuestController {
+public class QuestController implements IEventSubscriber<GameEvent> {
     private QuestData model;
     // gadgets
 
@@ -550,8 +550,8 @@ public class QuestController {
         return unlocksAvaliable > unlocksSpent ? Math.min(unlocksAvaliable - unlocksSpent, cntLocked) : 0;
     }
 
-    @Subscribe
-    public void receiveGameEvent(GameEvent ev) { // Receives events only during quest games
+    @Override
+    public void receive(GameEvent ev) { // Receives events only during quest games
         if (ev instanceof GameEventMulligan) {
             GameEventMulligan mev = (GameEventMulligan) ev;
             // First mulligan is free
@@ -5,7 +5,6 @@ import java.util.Map.Entry;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.eventbus.Subscribe;
 
 import forge.game.Game;
 import forge.game.card.Card;
@@ -26,7 +25,7 @@ import forge.player.PlayerZoneUpdates;
 import forge.util.Lang;
 import forge.util.maps.MapOfLists;
 
-public class FControlGameEventHandler extends IGameEventVisitor.Base<Void> {
+public class FControlGameEventHandler extends IGameEventVisitor.Base<Void> implements IEventSubscriber<GameEvent> {
     private final PlayerControllerHuman humanController;
     private final IGuiGame matchController;
     private final Set<CardView> cardsUpdate = new HashSet<>();
@@ -133,8 +132,8 @@ public class FControlGameEventHandler extends IGameEventVisitor.Base<Void> {
         }
     };
 
-    @Subscribe
-    public void receiveGameEvent(final GameEvent ev) {
+    @Override
+    public void receive(final GameEvent ev) {
         ev.visit(this);
     }
 
@@ -4,8 +4,6 @@ import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import com.google.common.eventbus.Subscribe;
-
 import forge.game.Game;
 import forge.game.card.CardView;
 import forge.game.event.GameEvent;
@@ -17,12 +15,13 @@ import forge.game.event.GameEventPlayerPriority;
 import forge.game.event.GameEventSpellAbilityCast;
 import forge.game.event.GameEventSpellResolved;
 import forge.game.event.GameEventTurnPhase;
+import forge.game.event.IEventSubscriber;
 import forge.game.event.IGameEventVisitor;
 import forge.gamemodes.match.input.InputPlaybackControl;
 import forge.gui.FThreads;
 import forge.player.PlayerControllerHuman;
 
-public class FControlGamePlayback extends IGameEventVisitor.Base<Void> {
+public class FControlGamePlayback extends IGameEventVisitor.Base<Void> implements IEventSubscriber<GameEvent> {
     private InputPlaybackControl inputPlayback;
     private final AtomicBoolean paused = new AtomicBoolean(false);
 
@@ -52,8 +51,8 @@ public class FControlGamePlayback extends IGameEventVisitor.Base<Void> {
         inputPlayback = new InputPlaybackControl(game, this);
     }
 
-    @Subscribe
-    public void receiveGameEvent(final GameEvent ev) {
+    @Override
+    public void receive(final GameEvent ev) {
         ev.visit(this);
     }
 
@@ -167,9 +167,9 @@ public final class FModel {
 
         //load card database
         final CardStorageReader reader = new CardStorageReader(ForgeConstants.CARD_DATA_DIR, progressBarBridge,
-                FModel.getPreferences().getPrefBoolean(FPref.LOAD_CARD_SCRIPTS_LAZILY));
+                FModel.getPreferences().getPrefBoolean(FPref.LOAD_CARD_SCRIPTS_LAZILY), ForgeConstants.CARD_SNAPSHOT_FILE);
         final CardStorageReader tokenReader = new CardStorageReader(ForgeConstants.TOKEN_DATA_DIR, progressBarBridge,
-                FModel.getPreferences().getPrefBoolean(FPref.LOAD_CARD_SCRIPTS_LAZILY));
+                FModel.getPreferences().getPrefBoolean(FPref.LOAD_CARD_SCRIPTS_LAZILY), ForgeConstants.TOKEN_SNAPSHOT_FILE);
         CardStorageReader customReader;
         try {
            customReader  = new CardStorageReader(ForgeConstants.USER_CUSTOM_CARDS_DIR, progressBarBridge,false);
@@ -182,7 +182,7 @@ public final class FModel {
         } catch (Exception e) {
             customTokenReader = null;
         }
-        magicDb = new StaticData(reader, tokenReader, customReader, customTokenReader, ForgeConstants.EDITIONS_DIR,
+        magicDb = new StaticData(reader, tokenReader, customReader, customTokenReader, ForgeConstants.EDITIONS_DIR, ForgeConstants.EDITION_SNAPSHOT_FILE,
                                  ForgeConstants.USER_CUSTOM_EDITIONS_DIR, ForgeConstants.BLOCK_DATA_DIR, ForgeConstants.SETLOOKUP_DIR,
                                  FModel.getPreferences().getPref(FPref.UI_PREFERRED_ART),
                                  FModel.getPreferences().getPrefBoolean(FPref.UI_LOAD_UNKNOWN_CARDS),
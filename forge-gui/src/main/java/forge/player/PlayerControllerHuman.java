@@ -3261,6 +3261,11 @@ public class PlayerControllerHuman extends PlayerController implements IGameCont
         player.updateZoneForView(hand);
     }
 
+    @Override
+    public void requestGameViewResync() {
+        getGui().resendGameView();
+    }
+
     @Override
     public String chooseCardName(SpellAbility sa, List<ICardFace> faces, String message) {
         ICardFace face = getGui().one(message, faces);
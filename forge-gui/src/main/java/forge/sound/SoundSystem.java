@@ -1,7 +1,8 @@
 package forge.sound;
 
-import com.google.common.eventbus.Subscribe;
+import forge.game.event.Event;
 import forge.game.event.GameEvent;
+import forge.game.event.IEventSubscriber;
 import forge.gui.GuiBase;
 import forge.gui.events.UiEvent;
 import forge.localinstance.properties.ForgeConstants;
@@ -16,7 +17,7 @@ import java.util.*;
 /**
  * Manages playback of all sounds for the client.
  */
-public class SoundSystem {
+public class SoundSystem implements IEventSubscriber<Event> {
     public static final SoundSystem instance = new SoundSystem();
 
     public static final int DELAY = 30;
@@ -159,7 +160,15 @@ public class SoundSystem {
         fetchResource(type).stop();
     }
 
-    @Subscribe
+    @Override
+    public void receive(final Event evt) {
+        if (evt instanceof GameEvent) {
+            receiveEvent((GameEvent) evt);
+        } else if (evt instanceof UiEvent) {
+            receiveEvent((UiEvent) evt);
+        }
+    }
+
     public void receiveEvent(final GameEvent evt) {
         final SoundEffectType effect = evt.visit(visualizer);
         if (null == effect) {
@@ -175,7 +184,6 @@ public class SoundSystem {
         }
     }
 
-    @Subscribe
     public void receiveEvent(final UiEvent evt) {
         final SoundEffectType effect = evt.visit(visualizer);
         if (null != effect) {
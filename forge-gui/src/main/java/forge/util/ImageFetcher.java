@@ -161,6 +161,7 @@ public abstract class ImageFetcher {
             public void run() {
                 FThreads.assertExecutedByEdt(true);
 
+                onImageFetched(imageKey);
                 for (Callback o : currentFetches.get(destPath)) {
                     o.onImageFetched();
                 }
@@ -176,6 +177,10 @@ public abstract class ImageFetcher {
 
     protected abstract Runnable getDownloadTask(String[] toArray, String destPath, Runnable notifyObservers);
 
+    /** Called on the EDT once the image for the given key was downloaded, before the callbacks waiting for it. */
+    protected void onImageFetched(String imageKey) {
+    }
+
     public interface Callback {
         void onImageFetched();
     }
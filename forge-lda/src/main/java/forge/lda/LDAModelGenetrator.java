@@ -31,7 +31,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import java.io.File;
 import java.util.*;
 
-import static forge.lda.lda.inference.InferenceMethod.CGS;
+import static forge.lda.lda.inference.InferenceMethod.SPARSE_CGS;
 
 /**
  * Created by maustin on 09/05/2017.
@@ -41,8 +41,15 @@ public final class LDAModelGenetrator {
     public static Map<String, Map<String,List<List<Pair<String, Double>>>>> ldaPools = new HashMap<>();
     public static Map<String, List<Archetype>> ldaArchetypes = new HashMap<>();
 
+    /** How many threads the models are trained with, more than one samples the decks in parallel. */
+    public static int numThreads = 1;
 
+    /**
+     * Train the models of all formats that don't have them yet.
+     * @param args the number of threads to train with, all processors if not given
+     */
     public static final void main(String[] args){
+        numThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
         GuiBase.setInterface(new GuiDesktop());
         FModel.initialize(null, new Function<ForgePreferences, Void>()  {
             @Override
@@ -166,9 +173,10 @@ public final class LDAModelGenetrator {
         //estimate number of topics to attempt to find using power law
         final int numTopics = Float.valueOf(347f*dataset.getNumDocs()/(2892f + dataset.getNumDocs())).intValue();
         System.out.println("Num Topics = " + numTopics);
-        LDA lda = new LDA(0.1, 0.1, numTopics, dataset, CGS);
+        LDA lda = new LDA(0.1, 0.1, numTopics, dataset, SPARSE_CGS);
+        lda.setNumThreads(numThreads);
         lda.run();
-        System.out.println(lda.computePerplexity(dataset));
+        System.out.println("Perplexity = " + lda.computePerplexity(dataset));
 
         //sort decks by topic
         Map<Integer,List<Deck>> topicDecks = new HashMap<>();
@@ -76,6 +76,18 @@ public class LDA {
         return dataset.get(vocabID).toString();
     }
 
+    /**
+     * Set the number of threads to sample with, if the inference method can
+     * use more than one.
+     * @param numThreads
+     */
+    public void setNumThreads(final int numThreads) {
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException();
+        }
+        properties.setNumThreads(numThreads);
+    }
+
     /**
      * Run model inference.
      */
@@ -0,0 +1,541 @@
+/*
+* Copyright 2015 Kohei Yamamoto
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package forge.lda.lda.inference.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import forge.lda.dataset.BagOfWords;
+import forge.lda.dataset.Vocabulary;
+import forge.lda.lda.LDA;
+import forge.lda.lda.inference.Inference;
+import forge.lda.lda.inference.InferenceProperties;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * Collapsed Gibbs sampling over flat count arrays, drawing each topic with the
+ * bucket decomposition of SparseLDA [Yao, Mimno and McCallum 2009].
+ *
+ * The full conditional of {@link CollapsedGibbsSampler},
+ * (n_dt + alpha_t) (n_tw + beta) / (n_t + V beta), is split into
+ * alpha_t beta / (n_t + V beta), which hardly changes and is summed once per
+ * document, n_dt beta / (n_t + V beta), which only has to be summed over the
+ * topics in the document, and (n_dt + alpha_t) n_tw / (n_t + V beta), which
+ * only has to be summed over the topics the word is assigned to. Decks only
+ * have a few dozen distinct cards and each card is in few topics, so a topic
+ * is drawn without going through all of them.
+ *
+ * The topics are drawn from the same distribution as by
+ * {@link CollapsedGibbsSampler}, starting from the same assignment, with a
+ * random number generator seeded from the properties.
+ *
+ * With more than one thread in the properties, the documents are split
+ * between the threads, which sample them against their own copy of the
+ * word-topic counts and add what they changed together after each iteration
+ * (AD-LDA [Newman et al. 2009]). The threads don't see each other's changes
+ * during an iteration, so this only approximates sampling all documents one
+ * after the other, which makes hardly a difference with many documents.
+ */
+public class SparseGibbsSampler implements Inference {
+    private LDA lda;
+    private int numTopics;
+    private int numVocabs;
+    private int numIteration;
+    private int numThreads;
+
+    private static final long DEFAULT_SEED = 0L;
+    private static final int DEFAULT_NUM_ITERATION = 100;
+
+    private double[] alpha;
+    private double sumAlpha;
+    private double beta;
+    private double betaSum;
+
+    // the words of all documents one after the other, document d being docStart[d] until docStart[d + 1]
+    private int[] docStart;
+    private int[] words;
+    private int[] assignments;
+
+    // n_dt at d * numTopics + t, n_tw at w * numTopics + t, n_t at t
+    private int[] docTopicCount;
+    private int[] wordTopicCount;
+    private int[] topicCount;
+
+    // the topics with n_tw > 0 for each word, at w * numTopics, wordTopicsSize[w] of them
+    private int[] wordTopics;
+    private int[] wordTopicsSize;
+
+    private Worker[] workers;
+
+    // ready for Gibbs sampling
+    private boolean ready;
+
+    public SparseGibbsSampler() {
+        ready = false;
+    }
+
+    @Override
+    public void setUp(LDA lda, InferenceProperties properties) {
+        if (properties == null) {
+            setUp(lda);
+            return;
+        }
+
+        final long seed = properties.seed() != null ? properties.seed() : DEFAULT_SEED;
+        final int threads = properties.numThreads() != null ? properties.numThreads() : 1;
+        initialize(lda, seed, threads);
+        this.numIteration
+            = properties.numIteration() != null ? properties.numIteration() : DEFAULT_NUM_ITERATION;
+        this.ready = true;
+    }
+
+    @Override
+    public void setUp(LDA lda) {
+        if (lda == null) throw new NullPointerException();
+
+        initialize(lda, DEFAULT_SEED, 1);
+        this.numIteration = DEFAULT_NUM_ITERATION;
+        this.ready = true;
+    }
+
+    private void initialize(LDA lda, long seed, int threads) {
+        assert lda != null;
+        this.lda = lda;
+
+        final BagOfWords bow = lda.getBow();
+        final int numDocs = bow.getNumDocs();
+        this.numTopics = lda.getNumTopics();
+        this.numVocabs = bow.getNumVocabs();
+
+        this.alpha = new double[numTopics];
+        for (int t = 0; t < numTopics; ++t) {
+            alpha[t] = lda.getAlpha(t);
+        }
+        this.sumAlpha = lda.getSumAlpha();
+        this.beta = lda.getBeta();
+        this.betaSum = beta * numVocabs;
+
+        this.docStart = new int[numDocs + 1];
+        for (int d = 0; d < numDocs; ++d) {
+            docStart[d + 1] = docStart[d] + bow.getWords(d).size();
+        }
+        this.words = new int[docStart[numDocs]];
+        this.assignments = new int[words.length];
+        this.docTopicCount = new int[numDocs * numTopics];
+        this.wordTopicCount = new int[numVocabs * numTopics];
+        this.topicCount = new int[numTopics];
+        this.wordTopics = new int[numVocabs * numTopics];
+        this.wordTopicsSize = new int[numVocabs];
+
+        // the same assignment as TopicAssignment makes, every document from a generator with the same seed
+        for (int d = 0; d < numDocs; ++d) {
+            final Random init = new Random(seed);
+            int i = docStart[d];
+            for (Integer w : bow.getWords(d)) {
+                final int t = init.nextInt(numTopics);
+                words[i] = w;
+                assignments[i] = t;
+                ++docTopicCount[d * numTopics + t];
+                if (wordTopicCount[w * numTopics + t]++ == 0) {
+                    wordTopics[w * numTopics + wordTopicsSize[w]++] = t;
+                }
+                ++topicCount[t];
+                ++i;
+            }
+        }
+
+        // no more threads than documents, each gets about the same number of words
+        this.numThreads = Math.max(1, Math.min(threads, numDocs));
+        this.workers = new Worker[numThreads];
+        if (numThreads == 1) {
+            workers[0] = new Worker(0, numDocs, new Random(seed), false);
+        } else {
+            int firstDoc = 0;
+            for (int p = 0; p < numThreads; ++p) {
+                int lastDoc = firstDoc;
+                final long end = (long) words.length * (p + 1) / numThreads;
+                while (lastDoc < numDocs && (docStart[lastDoc + 1] <= end || p == numThreads - 1)) {
+                    ++lastDoc;
+                }
+                workers[p] = new Worker(firstDoc, lastDoc, new Random(seed + p), true);
+                firstDoc = lastDoc;
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getNumIteration() {
+        return numIteration;
+    }
+
+    public void setNumIteration(final int numIteration) {
+        this.numIteration = numIteration;
+    }
+
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    @Override
+    public void run() {
+        if (!ready) {
+            throw new IllegalStateException("instance has not set up yet");
+        }
+
+        final ExecutorService executor = numThreads > 1 ? Executors.newFixedThreadPool(numThreads) : null;
+        try {
+            final long start = System.nanoTime();
+            for (int i = 1; i <= numIteration; ++i) {
+                System.out.println("Iteration " + i + ".");
+                if (executor == null) {
+                    runSampling();
+                } else {
+                    runSampling(executor);
+                }
+            }
+            final double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d iterations on %d thread(s) in %.1fs, %.2f iterations per second.%n",
+                    numIteration, numThreads, seconds, numIteration / seconds);
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Run one sweep of sparse collapsed Gibbs sampling over all documents.
+     */
+    void runSampling() {
+        for (Worker worker : workers) {
+            worker.run();
+        }
+        if (numThreads > 1) {
+            merge();
+        }
+    }
+
+    /**
+     * Run one sweep with each thread sampling its own documents, then merge
+     * the word-topic counts of the threads.
+     */
+    void runSampling(ExecutorService executor) {
+        final List<Future<?>> futures = new ArrayList<>(numThreads);
+        for (Worker worker : workers) {
+            futures.add(executor.submit(worker));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("sampling was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("sampling failed", e.getCause());
+        }
+        merge();
+    }
+
+    /** Add the changes each worker made to its copy of the counts to the shared counts. */
+    private void merge() {
+        for (int i = 0; i < wordTopicCount.length; ++i) {
+            final int count = wordTopicCount[i];
+            int merged = count;
+            for (Worker worker : workers) {
+                merged += worker.wordTopicCount[i] - count;
+            }
+            wordTopicCount[i] = merged;
+        }
+        for (int t = 0; t < numTopics; ++t) {
+            final int count = topicCount[t];
+            int merged = count;
+            for (Worker worker : workers) {
+                merged += worker.topicCount[t] - count;
+            }
+            topicCount[t] = merged;
+        }
+        for (int w = 0; w < numVocabs; ++w) {
+            final int offset = w * numTopics;
+            int size = 0;
+            for (int t = 0; t < numTopics; ++t) {
+                if (wordTopicCount[offset + t] > 0) {
+                    wordTopics[offset + size++] = t;
+                }
+            }
+            wordTopicsSize[w] = size;
+        }
+    }
+
+    /**
+     * Samples a range of documents. A worker of its own thread keeps its own
+     * word-topic and topic counts, copied from the shared ones before each
+     * sweep; the doc-topic counts and assignments of its documents are only
+     * changed by it, so it uses the shared ones.
+     */
+    private final class Worker implements Runnable {
+        private final int firstDoc;
+        private final int lastDoc;
+        private final Random random;
+        private final boolean copy;
+
+        private final int[] wordTopicCount;
+        private final int[] topicCount;
+        private final int[] wordTopics;
+        private final int[] wordTopicsSize;
+
+        // the topics with n_dt > 0 for the document being sampled
+        private final int[] docTopics = new int[numTopics];
+        private int docTopicsSize;
+
+        // per topic 1 / (n_t + V beta), and (n_dt + alpha_t) / (n_t + V beta) for the document being sampled
+        private final double[] denominator = new double[numTopics];
+        private final double[] coefficient = new double[numTopics];
+        private final double[] weights = new double[numTopics];
+        private double smoothingMass;
+        private double docMass;
+
+        Worker(int firstDoc, int lastDoc, Random random, boolean copy) {
+            this.firstDoc = firstDoc;
+            this.lastDoc = lastDoc;
+            this.random = random;
+            this.copy = copy;
+            final SparseGibbsSampler sampler = SparseGibbsSampler.this;
+            this.wordTopicCount = copy ? new int[sampler.wordTopicCount.length] : sampler.wordTopicCount;
+            this.topicCount = copy ? new int[numTopics] : sampler.topicCount;
+            this.wordTopics = copy ? new int[sampler.wordTopics.length] : sampler.wordTopics;
+            this.wordTopicsSize = copy ? new int[numVocabs] : sampler.wordTopicsSize;
+        }
+
+        @Override
+        public void run() {
+            if (copy) {
+                final SparseGibbsSampler sampler = SparseGibbsSampler.this;
+                System.arraycopy(sampler.wordTopicCount, 0, wordTopicCount, 0, wordTopicCount.length);
+                System.arraycopy(sampler.topicCount, 0, topicCount, 0, numTopics);
+                System.arraycopy(sampler.wordTopics, 0, wordTopics, 0, wordTopics.length);
+                System.arraycopy(sampler.wordTopicsSize, 0, wordTopicsSize, 0, numVocabs);
+            }
+
+            // summed again each sweep, so that rounding errors of the updates don't add up
+            smoothingMass = 0.0;
+            for (int t = 0; t < numTopics; ++t) {
+                denominator[t] = 1.0 / (topicCount[t] + betaSum);
+                smoothingMass += alpha[t] * beta * denominator[t];
+            }
+
+            for (int d = firstDoc; d < lastDoc; ++d) {
+                sampleDocument(d);
+            }
+        }
+
+        private void sampleDocument(final int d) {
+            final int docOffset = d * numTopics;
+            docTopicsSize = 0;
+            docMass = 0.0;
+            for (int t = 0; t < numTopics; ++t) {
+                final int n = docTopicCount[docOffset + t];
+                if (n > 0) {
+                    docTopics[docTopicsSize++] = t;
+                    docMass += n * beta * denominator[t];
+                }
+                coefficient[t] = (alpha[t] + n) * denominator[t];
+            }
+
+            for (int i = docStart[d]; i < docStart[d + 1]; ++i) {
+                final int w = words[i];
+                final int oldTopic = assignments[i];
+
+                removeFromTopic(docOffset, oldTopic);
+                if (--docTopicCount[docOffset + oldTopic] == 0) {
+                    removeTopic(docTopics, 0, docTopicsSize--, oldTopic);
+                }
+                if (--wordTopicCount[w * numTopics + oldTopic] == 0) {
+                    removeTopic(wordTopics, w * numTopics, wordTopicsSize[w]--, oldTopic);
+                }
+                --topicCount[oldTopic];
+                addToTopic(docOffset, oldTopic);
+
+                final int newTopic = sampleTopic(docOffset, w);
+
+                removeFromTopic(docOffset, newTopic);
+                if (docTopicCount[docOffset + newTopic]++ == 0) {
+                    docTopics[docTopicsSize++] = newTopic;
+                }
+                if (wordTopicCount[w * numTopics + newTopic]++ == 0) {
+                    wordTopics[w * numTopics + wordTopicsSize[w]++] = newTopic;
+                }
+                ++topicCount[newTopic];
+                addToTopic(docOffset, newTopic);
+
+                assignments[i] = newTopic;
+            }
+        }
+
+        private int sampleTopic(final int docOffset, final int w) {
+            final int wordOffset = w * numTopics;
+            final int numWordTopics = wordTopicsSize[w];
+            double wordMass = 0.0;
+            for (int k = 0; k < numWordTopics; ++k) {
+                final int t = wordTopics[wordOffset + k];
+                final double weight = coefficient[t] * wordTopicCount[wordOffset + t];
+                weights[k] = weight;
+                wordMass += weight;
+            }
+
+            double u = random.nextDouble() * (smoothingMass + docMass + wordMass);
+            if (u < wordMass) {
+                for (int k = 0; k < numWordTopics; ++k) {
+                    u -= weights[k];
+                    if (u <= 0.0) {
+                        return wordTopics[wordOffset + k];
+                    }
+                }
+                return wordTopics[wordOffset + numWordTopics - 1];
+            }
+            u -= wordMass;
+            if (u < docMass && docTopicsSize > 0) {
+                for (int k = 0; k < docTopicsSize; ++k) {
+                    final int t = docTopics[k];
+                    u -= docTopicCount[docOffset + t] * beta * denominator[t];
+                    if (u <= 0.0) {
+                        return t;
+                    }
+                }
+                return docTopics[docTopicsSize - 1];
+            }
+            u -= docMass;
+            for (int t = 0; t < numTopics; ++t) {
+                u -= alpha[t] * beta * denominator[t];
+                if (u <= 0.0) {
+                    return t;
+                }
+            }
+            return numTopics - 1;
+        }
+
+        /** Take the share of topic t out of the cached masses, before its counts change. */
+        private void removeFromTopic(final int docOffset, final int t) {
+            smoothingMass -= alpha[t] * beta * denominator[t];
+            docMass -= docTopicCount[docOffset + t] * beta * denominator[t];
+        }
+
+        /** Put the share of topic t back into the cached masses, after its counts changed. */
+        private void addToTopic(final int docOffset, final int t) {
+            final int n = docTopicCount[docOffset + t];
+            denominator[t] = 1.0 / (topicCount[t] + betaSum);
+            smoothingMass += alpha[t] * beta * denominator[t];
+            docMass += n * beta * denominator[t];
+            coefficient[t] = (alpha[t] + n) * denominator[t];
+        }
+    }
+
+    private static void removeTopic(final int[] topics, final int offset, final int size, final int t) {
+        for (int k = offset; k < offset + size; ++k) {
+            if (topics[k] == t) {
+                topics[k] = topics[offset + size - 1];
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get the count of topicID assigned to docID.
+     * @param docID
+     * @param topicID
+     * @return the count of topicID assigned to docID
+     */
+    int getDTCount(final int docID, final int topicID) {
+        if (!ready) throw new IllegalStateException();
+        if (docID < 0 || docStart.length - 1 <= docID || topicID < 0 || numTopics <= topicID) {
+            throw new IllegalArgumentException();
+        }
+        return docTopicCount[docID * numTopics + topicID];
+    }
+
+    /**
+     * Get the count of vocabID assigned to topicID.
+     * @param topicID
+     * @param vocabID
+     * @return the count of vocabID assigned to topicID
+     */
+    int getTVCount(final int topicID, final int vocabID) {
+        if (!ready) throw new IllegalStateException();
+        if (topicID < 0 || numTopics <= topicID || vocabID < 0 || numVocabs <= vocabID) {
+            throw new IllegalArgumentException();
+        }
+        return wordTopicCount[vocabID * numTopics + topicID];
+    }
+
+    /**
+     * Get the sum of counts of vocabs assigned to topicID.
+     * @param topicID
+     * @return the sum of counts of vocabs assigned to topicID
+     * @throws IllegalArgumentException topicID < 0 || #topic <= topicID
+     */
+    int getTSumCount(final int topicID) {
+        if (topicID < 0 || numTopics <= topicID) {
+            throw new IllegalArgumentException();
+        }
+        return topicCount[topicID];
+    }
+
+    @Override
+    public double getTheta(final int docID, final int topicID) {
+        if (!ready) throw new IllegalStateException();
+        if (docID < 0 || docStart.length - 1 <= docID || topicID < 0 || numTopics <= topicID) {
+            throw new IllegalArgumentException();
+        }
+        final int docLength = docStart[docID + 1] - docStart[docID];
+        return (docTopicCount[docID * numTopics + topicID] + alpha[topicID]) / (docLength + sumAlpha);
+    }
+
+    @Override
+    public double getPhi(int topicID, int vocabID) {
+        if (!ready) throw new IllegalStateException();
+        if (topicID < 0 || numTopics <= topicID || vocabID < 0) {
+            throw new IllegalArgumentException();
+        }
+        final int count = vocabID < numVocabs ? wordTopicCount[vocabID * numTopics + topicID] : 0;
+        return (count + beta) / (topicCount[topicID] + betaSum);
+    }
+
+    @Override
+    public List<Pair<String, Double>> getVocabsSortedByPhi(int topicID) {
+        if (topicID < 0 || numTopics <= topicID) {
+            throw new IllegalArgumentException();
+        }
+
+        List<Pair<String, Double>> vocabProbPairs = new ArrayList<>();
+        for (Vocabulary v : lda.getVocabularies().getVocabularyList()) {
+            vocabProbPairs.add(new ImmutablePair<String, Double>(v.toString(), getPhi(topicID, v.id())));
+        }
+        vocabProbPairs.sort((p1, p2) -> Double.compare(p2.getRight(), p1.getRight()));
+        return Collections.unmodifiableList(vocabProbPairs);
+    }
+}